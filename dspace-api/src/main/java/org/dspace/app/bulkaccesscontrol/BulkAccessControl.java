@@ -20,7 +20,6 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,6 +56,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResultStream;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.SearchUtils;
@@ -344,38 +344,34 @@ public class BulkAccessControl extends DSpaceRunnable<BulkAccessControlScriptCon
      * @throws SQLException if something goes wrong in the database
      * @throws SearchServiceException if a search error occurs
      * @throws AuthorizeException if an authorization error occurs
+     * @throws IOException if the stream of the search results can't be closed
      */
     private void updateItemsAndBitstreamsPolices(BulkAccessControlInput accessControl)
-        throws SQLException, SearchServiceException, AuthorizeException {
-
-        int counter = 0;
-        int start = 0;
-        int limit = 20;
+        throws SQLException, SearchServiceException, AuthorizeException, IOException {
 
         String query = buildSolrQuery(uuids);
 
-        Iterator<Item> itemIterator = findItems(query, start, limit);
-
-        while (itemIterator.hasNext()) {
+        // the ids are streamed from solr, the items are loaded one at a time
+        try (DiscoverResultStream.ResourceIDs itemIterator =
+                 searchService.streamSearchIDs(context, null, buildDiscoveryQuery(query))) {
 
-            Item item = context.reloadEntity(itemIterator.next());
+            while (itemIterator.hasNext()) {
 
-            if (Objects.nonNull(accessControl.getItem())) {
-                updateItemPolicies(item, accessControl);
-            }
+                Item item = itemService.find(context, itemIterator.next());
+                if (item == null) {
+                    continue;
+                }
 
-            if (Objects.nonNull(accessControl.getBitstream())) {
-                updateBitstreamsPolicies(item, accessControl);
-            }
+                if (Objects.nonNull(accessControl.getItem())) {
+                    updateItemPolicies(item, accessControl);
+                }
 
-            context.commit();
-            context.uncacheEntity(item);
-            counter++;
+                if (Objects.nonNull(accessControl.getBitstream())) {
+                    updateBitstreamsPolicies(item, accessControl);
+                }
 
-            if (counter == limit) {
-                counter = 0;
-                start += limit;
-                itemIterator = findItems(query, start, limit);
+                context.commit();
+                context.uncacheEntity(item);
             }
         }
     }
@@ -397,27 +393,10 @@ public class BulkAccessControl extends DSpaceRunnable<BulkAccessControlScriptCon
         return StringUtils.joinWith(" OR ", query);
     }
 
-    private Iterator<Item> findItems(String query, int start, int limit)
-        throws SearchServiceException {
-
-        DiscoverQuery discoverQuery = buildDiscoveryQuery(query, start, limit);
-
-        return searchService.search(context, discoverQuery)
-                            .getIndexableObjects()
-                            .stream()
-                            .map(indexableObject ->
-                                ((IndexableItem) indexableObject).getIndexedObject())
-                            .collect(Collectors.toList())
-                            .iterator();
-    }
-
-    private DiscoverQuery buildDiscoveryQuery(String query, int start, int limit) {
+    private DiscoverQuery buildDiscoveryQuery(String query) {
         DiscoverQuery discoverQuery = new DiscoverQuery();
         discoverQuery.setDSpaceObjectFilter(IndexableItem.TYPE);
         discoverQuery.setQuery(query);
-        discoverQuery.setStart(start);
-        discoverQuery.setMaxResults(limit);
-        discoverQuery.setSortField("search.resourceid", DiscoverQuery.SORT_ORDER.asc);
         return discoverQuery;
     }
 
@@ -156,98 +156,7 @@ public class DSpaceCSV implements Serializable {
 
             // Read the heading line
             String head = input.readLine();
-            String[] headingElements = head.split(escapedFieldSeparator);
-            int columnCounter = 0;
-            for (String element : headingElements) {
-                columnCounter++;
-
-                // Remove surrounding quotes if there are any
-                if (element.startsWith("\"") && element.endsWith("\"")) {
-                    element = element.substring(1, element.length() - 1);
-                }
-
-                // Store the heading
-                if ("collection".equals(element)) {
-                    // Store the heading
-                    headings.add(element);
-                }   else if ("rowName".equals(element)) {
-                    // Store the heading
-                    headings.add(element);
-                } else if ("action".equals(element)) { // Store the action
-                    // Store the heading
-                    headings.add(element);
-                } else if (!"id".equals(element)) {
-                    String authorityPrefix = "";
-                    if (Strings.CS.startsWith(element, "[authority]")) {
-                        element = StringUtils.substringAfter(element, "[authority]");
-                        AuthorityValue authorityValueType = authorityValueService.getAuthorityValueType(element);
-                        if (authorityValueType != null) {
-                            String authorityType = authorityValueType.getAuthorityType();
-                            authorityPrefix = element.substring(0, authorityType.length() + 1);
-                            element = element.substring(authorityPrefix.length());
-                        }
-                    }
-
-                    // Verify that the heading is valid in the metadata registry
-                    String[] clean = element.split("\\[");
-                    String[] parts = clean[0].split("\\.");
-                    // Check language if present, if it's ANY then throw an exception
-                    if (clean.length > 1 && clean[1].equals(Item.ANY + "]")) {
-                        throw new MetadataImportInvalidHeadingException("Language ANY (*) was found in the heading " +
-                                                                                "of the metadata value to import, " +
-                                                                                "this should never be the case",
-                                                                        MetadataImportInvalidHeadingException.ENTRY,
-                                                                        columnCounter);
-
-                    }
-
-                    if (parts.length < 2) {
-                        throw new MetadataImportInvalidHeadingException(element,
-                                                                        MetadataImportInvalidHeadingException.ENTRY,
-                                                                        columnCounter);
-                    }
-
-                    String metadataSchema = parts[0];
-                    String metadataElement = parts[1];
-                    String metadataQualifier = null;
-                    if (parts.length > 2) {
-                        metadataQualifier = parts[2];
-                    }
-
-                    // Check that the scheme exists
-                    if (!Strings.CS.equals(metadataSchema, MetadataSchemaEnum.RELATION.getName())) {
-                        MetadataSchema foundSchema = metadataSchemaService.find(c, metadataSchema);
-                        if (foundSchema == null) {
-                            throw new MetadataImportInvalidHeadingException(clean[0],
-                                                                            MetadataImportInvalidHeadingException
-                                                                                .SCHEMA,
-                                                                            columnCounter);
-                        }
-
-                        // Check that the metadata element exists in the schema
-                        MetadataField foundField = metadataFieldService
-                            .findByElement(c, foundSchema, metadataElement, metadataQualifier);
-                        if (foundField == null) {
-                            throw new MetadataImportInvalidHeadingException(clean[0],
-                                                                            MetadataImportInvalidHeadingException
-                                                                                .ELEMENT,
-                                                                            columnCounter);
-                        }
-                    }
-
-                    // Verify there isn’t already a header that is the same; if it already exists,
-                    // throw MetadataImportInvalidHeadingException
-                    String header = authorityPrefix + element;
-                    if (headings.contains(header)) {
-                        throw new MetadataImportInvalidHeadingException("Duplicate heading found: " + header,
-                                                                        MetadataImportInvalidHeadingException.ENTRY,
-                                                                        columnCounter);
-                    }
-
-                    // Store the heading
-                    headings.add(authorityPrefix + element);
-                }
-            }
+            addHeadings(head.split(escapedFieldSeparator), c);
 
             // Read each subsequent line
             StringBuilder lineBuilder = new StringBuilder();
@@ -299,6 +208,107 @@ public class DSpaceCSV implements Serializable {
         }
     }
 
+    /**
+     * Validate the headings of a CSV file against the metadata registry and store them
+     *
+     * @param headingElements the elements of the heading line
+     * @param c The DSpace Context
+     * @throws Exception thrown if a heading is invalid
+     */
+    protected void addHeadings(String[] headingElements, Context c) throws Exception {
+        int columnCounter = 0;
+        for (String element : headingElements) {
+            columnCounter++;
+
+            // Remove surrounding quotes if there are any
+            if (element.startsWith("\"") && element.endsWith("\"")) {
+                element = element.substring(1, element.length() - 1);
+            }
+
+            // Store the heading
+            if ("collection".equals(element)) {
+                // Store the heading
+                headings.add(element);
+            }   else if ("rowName".equals(element)) {
+                // Store the heading
+                headings.add(element);
+            } else if ("action".equals(element)) { // Store the action
+                // Store the heading
+                headings.add(element);
+            } else if (!"id".equals(element)) {
+                String authorityPrefix = "";
+                if (Strings.CS.startsWith(element, "[authority]")) {
+                    element = StringUtils.substringAfter(element, "[authority]");
+                    AuthorityValue authorityValueType = authorityValueService.getAuthorityValueType(element);
+                    if (authorityValueType != null) {
+                        String authorityType = authorityValueType.getAuthorityType();
+                        authorityPrefix = element.substring(0, authorityType.length() + 1);
+                        element = element.substring(authorityPrefix.length());
+                    }
+                }
+
+                // Verify that the heading is valid in the metadata registry
+                String[] clean = element.split("\\[");
+                String[] parts = clean[0].split("\\.");
+                // Check language if present, if it's ANY then throw an exception
+                if (clean.length > 1 && clean[1].equals(Item.ANY + "]")) {
+                    throw new MetadataImportInvalidHeadingException("Language ANY (*) was found in the heading " +
+                                                                            "of the metadata value to import, " +
+                                                                            "this should never be the case",
+                                                                    MetadataImportInvalidHeadingException.ENTRY,
+                                                                    columnCounter);
+
+                }
+
+                if (parts.length < 2) {
+                    throw new MetadataImportInvalidHeadingException(element,
+                                                                    MetadataImportInvalidHeadingException.ENTRY,
+                                                                    columnCounter);
+                }
+
+                String metadataSchema = parts[0];
+                String metadataElement = parts[1];
+                String metadataQualifier = null;
+                if (parts.length > 2) {
+                    metadataQualifier = parts[2];
+                }
+
+                // Check that the scheme exists
+                if (!Strings.CS.equals(metadataSchema, MetadataSchemaEnum.RELATION.getName())) {
+                    MetadataSchema foundSchema = metadataSchemaService.find(c, metadataSchema);
+                    if (foundSchema == null) {
+                        throw new MetadataImportInvalidHeadingException(clean[0],
+                                                                        MetadataImportInvalidHeadingException
+                                                                            .SCHEMA,
+                                                                        columnCounter);
+                    }
+
+                    // Check that the metadata element exists in the schema
+                    MetadataField foundField = metadataFieldService
+                        .findByElement(c, foundSchema, metadataElement, metadataQualifier);
+                    if (foundField == null) {
+                        throw new MetadataImportInvalidHeadingException(clean[0],
+                                                                        MetadataImportInvalidHeadingException
+                                                                            .ELEMENT,
+                                                                        columnCounter);
+                    }
+                }
+
+                // Verify there isn’t already a header that is the same; if it already exists,
+                // throw MetadataImportInvalidHeadingException
+                String header = authorityPrefix + element;
+                if (headings.contains(header)) {
+                    throw new MetadataImportInvalidHeadingException("Duplicate heading found: " + header,
+                                                                    MetadataImportInvalidHeadingException.ENTRY,
+                                                                    columnCounter);
+                }
+
+                // Store the heading
+                headings.add(authorityPrefix + element);
+            }
+        }
+    }
+
     /**
      * Initialise this class with values from dspace.cfg
      */
@@ -583,8 +593,26 @@ public class DSpaceCSV implements Serializable {
             i++;
         }
 
+        // The last column is empty when the line ends with a field separator
+        if (last && headings.size() < bits.size()) {
+            bits.set(headings.size(), "");
+        }
+
+        lines.add(toCSVLine(bits));
+        counter++;
+    }
+
+    /**
+     * Convert the unquoted fields of a CSV line to a DSpaceCSVLine, the first field being the item id ('+' for a new
+     * item) and the others the values of the columns of the headings, separated by the value separator.
+     *
+     * @param fields The fields of the line
+     * @return The line
+     * @throws Exception Thrown if the line has more columns than the headings
+     */
+    protected DSpaceCSVLine toCSVLine(List<String> fields) throws Exception {
         // Add elements to a DSpaceCSVLine
-        String id = parts[0].replaceAll("\"", "");
+        String id = fields.get(0).replaceAll("\"", "");
         DSpaceCSVLine csvLine;
 
         // Is this an existing item, or a new item (where id = '+')
@@ -602,14 +630,9 @@ public class DSpaceCSV implements Serializable {
         }
 
         // Add the rest of the parts
-        i = 0;
-        for (String part : bits) {
+        int i = 0;
+        for (String part : fields) {
             if (i > 0) {
-                // Is this a last empty item?
-                if (last && (i == headings.size())) {
-                    part = "";
-                }
-
                 // Make sure we register that this column was there
                 if (headings.size() < i) {
                     throw new MetadataImportInvalidHeadingException("",
@@ -626,8 +649,7 @@ public class DSpaceCSV implements Serializable {
             }
             i++;
         }
-        lines.add(csvLine);
-        counter++;
+        return csvLine;
     }
 
     /**
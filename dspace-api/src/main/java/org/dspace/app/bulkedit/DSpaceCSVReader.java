@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkedit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import org.dspace.core.Context;
+
+/**
+ * Reader of a CSV file in the format of {@link DSpaceCSV}, returning the lines one at a time instead of holding the
+ * whole file in memory. The fields are parsed according to RFC 4180: they may be quoted, contain the field separator,
+ * line breaks and quotes escaped by doubling them.
+ * <p>
+ * The headings are read and validated against the metadata registry when the reader is created, they are available
+ * from {@link #getCSV()}, which holds no line.
+ *
+ * @see MetadataImport
+ */
+public class DSpaceCSVReader implements Closeable {
+
+    /**
+     * The headings and separators of the file
+     */
+    private final DSpaceCSV csv;
+
+    private final CSVReader reader;
+
+    /**
+     * Create a reader, reading and validating the heading line of the file
+     *
+     * @param inputStream the input stream to read from
+     * @param c The DSpace Context
+     * @throws Exception thrown if the file can't be read or the headings are invalid
+     */
+    public DSpaceCSVReader(InputStream inputStream, Context c) throws Exception {
+        csv = new DSpaceCSV(false);
+        if (csv.fieldSeparator.length() != 1) {
+            inputStream.close();
+            throw new IllegalArgumentException("The field separator must be a single character to stream the file: "
+                                                   + csv.fieldSeparator);
+        }
+        reader = new CSVReaderBuilder(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
+            .withCSVParser(new RFC4180ParserBuilder().withSeparator(csv.fieldSeparator.charAt(0)).build())
+            .build();
+        try {
+            String[] headingElements = reader.readNext();
+            if (headingElements == null) {
+                throw new MetadataImportInvalidHeadingException("", MetadataImportInvalidHeadingException.MISSING, 1);
+            }
+            csv.addHeadings(headingElements, c);
+        } catch (Exception e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the headings and separators of the file
+     */
+    public DSpaceCSV getCSV() {
+        return csv;
+    }
+
+    /**
+     * Read the next line of the file, the blank lines are skipped
+     *
+     * @return the line, null at the end of the file
+     * @throws Exception thrown if the file can't be read or the line is invalid
+     */
+    public DSpaceCSVLine readLine() throws Exception {
+        String[] fields;
+        do {
+            try {
+                fields = reader.readNext();
+            } catch (CsvValidationException e) {
+                throw new IOException("Invalid CSV line " + reader.getLinesRead() + ": " + e.getMessage(), e);
+            }
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.length == 1 && fields[0].isBlank());
+        return csv.toCSVLine(Arrays.asList(fields));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -12,19 +12,25 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.DefaultParser.Builder;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.IteratorUtils;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataDSpaceCsvExportServiceImpl;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
+import org.dspace.content.service.ItemService;
 import org.dspace.content.service.MetadataDSpaceCsvExportService;
 import org.dspace.core.Context;
+import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResultStream;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchService;
 import org.dspace.discovery.SearchUtils;
@@ -59,6 +65,7 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
     private DiscoveryConfigurationService discoveryConfigurationService;
     private CommunityService communityService;
     private CollectionService collectionService;
+    private ItemService itemService;
     private DiscoverQueryBuilder queryBuilder;
 
     @Override
@@ -79,6 +86,7 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
         discoveryConfigurationService = SearchUtils.getConfigurationService();
         communityService = ContentServiceFactory.getInstance().getCommunityService();
         collectionService = ContentServiceFactory.getInstance().getCollectionService();
+        itemService = ContentServiceFactory.getInstance().getItemService();
         queryBuilder = SearchUtils.getQueryBuilder();
 
         if (commandLine.hasOption('h')) {
@@ -143,9 +151,21 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
             "Item", 10, Long.getLong("0"), null, SortOption.DESCENDING);
         handler.logDebug("creating iterator");
 
-        Iterator<Item> itemIterator = searchService.iteratorSearch(context, dso, discoverQuery);
-        handler.logDebug("creating dspacecsv");
-        DSpaceCSV dSpaceCSV = metadataDSpaceCsvExportService.export(context, itemIterator, true, handler);
+        DSpaceCSV dSpaceCSV;
+        // the ids of the matches are streamed from solr, the items are loaded as they are exported
+        try (DiscoverResultStream resultStream = searchService.streamSearch(context, dso, discoverQuery)) {
+            Iterator<Item> itemIterator = IteratorUtils.filteredIterator(
+                IteratorUtils.transformedIterator(resultStream, document -> findItem(context, document)),
+                Objects::nonNull);
+            handler.logDebug("creating dspacecsv");
+            dSpaceCSV = metadataDSpaceCsvExportService.export(context, itemIterator, true, handler);
+        } catch (SQLRuntimeException e) {
+            // an item of the stream could not be loaded
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw e;
+        }
         handler.logDebug("writing to file " + getFileNameOrExportFile());
         handler.writeFilestream(context, getFileNameOrExportFile(), dSpaceCSV.getInputStream(), EXPORT_CSV);
         context.restoreAuthSystemState();
@@ -153,6 +173,14 @@ public class MetadataExportSearch extends DSpaceRunnable<MetadataExportSearchScr
 
     }
 
+    private Item findItem(Context context, Map<String, Object> document) {
+        try {
+            return itemService.find(context, DiscoverResultStream.getResourceID(document));
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
     protected void loghelpinfo() {
         handler.logInfo("metadata-export");
     }
@@ -7,8 +7,10 @@
  */
 package org.dspace.app.bulkedit;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Enumeration;
@@ -23,6 +25,8 @@ import java.util.UUID;
 
 import jakarta.annotation.Nullable;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -59,6 +63,10 @@ import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.LogHelper;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
@@ -67,6 +75,7 @@ import org.dspace.scripts.DSpaceRunnable;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.UUIDUtils;
 import org.dspace.utils.DSpace;
 import org.dspace.workflow.WorkflowException;
 import org.dspace.workflow.WorkflowItem;
@@ -128,6 +137,13 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      */
     protected HashMap<String, HashMap<String, ArrayList<String>>> entityRelationMap = new HashMap<>();
 
+    /**
+     * Index of the referenced values of the imported rows, replacing the csvRefMap and csvRowMap in a streamed import.
+     *
+     * @see #runStreamingImport(Context, boolean, boolean, boolean, boolean, File)
+     */
+    protected MetadataImportReferenceIndex referenceIndex;
+
 
     /**
      * Collection of errors generated during relation validation process.
@@ -146,6 +162,8 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
     private boolean change = false;
     private boolean help = false;
     protected boolean validateOnly;
+    private boolean stream = false;
+    private File checkpointDirectory = null;
 
     /**
      * Logger
@@ -198,6 +216,21 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         if (authorityControlled == null) {
             setAuthorizedMetadataFields();
         }
+
+        if (stream) {
+            try {
+                int changeCounter = runStreamingImport(c, !validateOnly, useWorkflow, workflowNotify, useTemplate,
+                                                       validateOnly ? null : checkpointDirectory);
+                handler.logInfo(changeCounter + " item(s) " + (validateOnly ? "would be changed" : "changed"));
+                c.restoreAuthSystemState();
+                c.complete();
+            } catch (Exception e) {
+                c.abort();
+                throw e;
+            }
+            return;
+        }
+
         // Read commandLines from the CSV file
         try {
 
@@ -336,6 +369,17 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         }
         validateOnly = commandLine.hasOption('v');
 
+        // Options for streamed imports
+        stream = commandLine.hasOption('b');
+        checkpointDirectory = null;
+        if (commandLine.hasOption('c')) {
+            if (!stream) {
+                throw new ParseException("Invalid option 'c': (checkpoint) can only be specified with the 'b' (stream) "
+                                             + "option.");
+            }
+            checkpointDirectory = new File(commandLine.getOptionValue('c'));
+        }
+
         // Is this a silent run?
         change = false;
     }
@@ -376,269 +420,513 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
         }
 
         for (DSpaceCSVLine line : toImport) {
-            // Resolve target references to other items
-            populateRefAndRowMap(line, line.getID());
-            line = resolveEntityRefs(c, line);
-            // Get the DSpace item to compare with
-            UUID id = line.getID();
+            BulkEditChange whatHasChanged = importLine(c, line, change, useWorkflow, workflowNotify, useTemplate);
+            if (whatHasChanged != null) {
+                changes.add(whatHasChanged);
+            }
+
+            if (change && (rowCount % configurationService.getIntProperty("bulkedit.change.commit.count", 100) == 0)) {
+                c.commit();
+                handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
+            }
+            // keep track of current rows processed
+            rowCount++;
+        }
+        if (change) {
+            c.commit();
+        }
+
+        c.setMode(Context.Mode.READ_ONLY);
+
 
-            // Is there an action column?
-            if (csv.hasActions() && (!"".equals(line.getAction())) && (id == null)) {
-                throw new MetadataImportException("'action' not allowed for new items!");
+        // Return the changes
+        if (!change) {
+            validateExpressedRelations(c);
+        }
+        return changes;
+    }
+
+    /**
+     * Run a streamed import, for files too large to be held in memory and imported in a single transaction. The file
+     * is read twice, row by row: a first pass collects the entity target references of the relation columns, so that
+     * only the referenced values of the imported rows are recorded, in an index on disk (see
+     * {@link MetadataImportReferenceIndex}), the second pass imports the rows. The changes are committed and the loaded objects uncached every
+     * bulkedit.stream.commit.count rows, the checkpoint being updated around each commit (see
+     * {@link MetadataImportCheckpoint}). Discovery is not updated while the rows are imported (the
+     * bulkedit.stream.dispatcher event dispatcher is used), the changed items are indexed in a single batched pass at
+     * the end. If the import fails, the items of the committed rows are indexed before reporting the failure when
+     * the import is not resumable, otherwise the checkpoint is kept and they are indexed once the resumed import
+     * completes.
+     * <p>
+     * Unlike {@link #runImport(Context, boolean, boolean, boolean, boolean)}, the changes are not returned, the
+     * number of items is not limited by bulkedit.import.max.items and the relationship types of the relations are
+     * only checked when the relationships are created.
+     *
+     * @param change              Whether or not to write the changes to the database
+     * @param useWorkflow         Whether the workflows should be used when creating new items
+     * @param workflowNotify      If the workflows should be used, whether to send notifications or not
+     * @param useTemplate         Use collection template if create new item
+     * @param checkpointDirectory The directory of the checkpoint used to resume an interrupted import, if null the
+     *                            import is not resumable
+     * @return the number of changed items
+     * @throws Exception if something goes wrong, the rows committed before are kept
+     */
+    public int runStreamingImport(Context c, boolean change, boolean useWorkflow, boolean workflowNotify,
+                                  boolean useTemplate, @Nullable File checkpointDirectory) throws Exception {
+        // Collect the references first, so that only the referenced values are indexed
+        MetadataImportReferenceIndex.References references = new MetadataImportReferenceIndex.References();
+        int numItems = 0;
+        try (DSpaceCSVReader reader = openReader(c)) {
+            DSpaceCSVLine line;
+            while ((line = reader.readLine()) != null) {
+                references.collect(line);
+                numItems++;
             }
+        }
 
-            WorkspaceItem wsItem = null;
-            WorkflowItem wfItem = null;
-            Item item = null;
+        int commitCount = configurationService.getIntProperty("bulkedit.stream.commit.count", 1000);
+        File directory = checkpointDirectory != null ? checkpointDirectory
+            : Files.createTempDirectory("metadata-import").toFile();
+        int changeCounter = 0;
+        try (MetadataImportCheckpoint checkpoint = new MetadataImportCheckpoint(directory, filename, references,
+                                                                                 uuid -> itemExists(c, uuid));
+             DSpaceCSVReader reader = openReader(c)) {
+            csv = reader.getCSV();
+            referenceIndex = checkpoint.getReferenceIndex();
+            int committedRows = checkpoint.getCommittedRows();
+            if (committedRows > 0) {
+                handler.logInfo("Resuming the import of " + filename + " after row " + committedRows + " of "
+                                    + numItems);
+            }
 
-            // Is this an existing item?
-            if (id != null) {
-                // Get the item
-                item = itemService.find(c, id);
-                if (item == null) {
-                    throw new MetadataImportException("Unknown item ID " + id);
+            if (change) {
+                c.setDispatcher(configurationService.getProperty("bulkedit.stream.dispatcher", "bulkedit"));
+            }
+            c.setMode(Context.Mode.BATCH_EDIT);
+            try {
+                rowCount = 1;
+                DSpaceCSVLine line;
+                while ((line = reader.readLine()) != null) {
+                    if (rowCount > committedRows) {
+                        BulkEditChange whatHasChanged = importLine(c, line, change, useWorkflow, workflowNotify,
+                                                                   useTemplate);
+                        if (whatHasChanged != null) {
+                            changeCounter++;
+                            addChangedItems(checkpoint, whatHasChanged);
+                        }
+                        if (rowCount % commitCount == 0) {
+                            if (change) {
+                                commit(c, checkpoint, rowCount);
+                                handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit",
+                                                                    "lineNumber=" + rowCount));
+                            }
+                            c.clear();
+                        }
+                    }
+                    rowCount++;
                 }
 
-                // Record changes
-                BulkEditChange whatHasChanged = new BulkEditChange(item);
+                if (change) {
+                    commit(c, checkpoint, rowCount - 1);
+                }
+            } catch (Exception e) {
+                if (change) {
+                    handleStreamingImportFailure(c, checkpoint, checkpointDirectory, e);
+                }
+                throw e;
+            }
+
+            if (change) {
+                c.clear();
+                c.setMode(Context.Mode.READ_ONLY);
+                reindexChangedItems(c, checkpoint);
+                checkpoint.delete();
+            } else {
+                c.setMode(Context.Mode.READ_ONLY);
+            }
+        } finally {
+            referenceIndex = null;
+            if (checkpointDirectory == null) {
+                FileUtils.deleteQuietly(directory);
+            }
+        }
+        return changeCounter;
+    }
+
+    /**
+     * Commit the rows imported since the last commit, recording them in the checkpoint
+     */
+    private void commit(Context c, MetadataImportCheckpoint checkpoint, int rows) throws Exception {
+        checkpoint.prepare(rows);
+        c.commit();
+        checkpoint.commit();
+    }
 
-                // Has it moved collection?
-                List<String> collections = line.get("collection");
-                if (collections != null) {
-                    // Sanity check we're not orphaning it
-                    if (collections.size() == 0) {
-                        throw new MetadataImportException("Missing collection from item " + item.getHandle());
+    /**
+     * Handle the failure of a streamed import, once the rows committed before are kept: index their items if the
+     * import is not resumable, otherwise tell how to resume it.
+     */
+    private void handleStreamingImportFailure(Context c, MetadataImportCheckpoint checkpoint,
+                                              @Nullable File checkpointDirectory, Exception e) {
+        if (checkpointDirectory != null) {
+            handler.logError("The import of " + filename + " failed after the " + checkpoint.getCommittedRows()
+                                 + " committed row(s), run it again with -c " + checkpointDirectory
+                                 + " to resume it, the changed items are indexed once it completes");
+            return;
+        }
+        try {
+            c.rollback();
+            c.setMode(Context.Mode.READ_ONLY);
+            reindexChangedItems(c, checkpoint);
+        } catch (Exception reindexError) {
+            e.addSuppressed(reindexError);
+        }
+    }
+
+    /**
+     * @return whether an item exists in the database
+     */
+    private boolean itemExists(Context c, UUID uuid) {
+        try {
+            return itemService.find(c, uuid) != null;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Open a reader of the imported file
+     */
+    private DSpaceCSVReader openReader(Context c) throws Exception {
+        Optional<InputStream> optionalFileStream = handler.getFileStream(c, filename);
+        if (optionalFileStream.isEmpty()) {
+            throw new IllegalArgumentException("Error reading file, the file couldn't be found for filename: " +
+                                                   filename);
+        }
+        return new DSpaceCSVReader(optionalFileStream.get(), c);
+    }
+
+    /**
+     * Record the items to index again after a change: the changed item and, as their virtual metadata derives from
+     * the relationships, the targets of the added and removed relations.
+     */
+    private void addChangedItems(MetadataImportCheckpoint checkpoint, BulkEditChange whatHasChanged) {
+        if (whatHasChanged.getItem() != null) {
+            checkpoint.addChangedItem(whatHasChanged.getItem().getID());
+            if (whatHasChanged.isNewItem()) {
+                checkpoint.addCreatedItem(whatHasChanged.getItem().getID());
+            } else if (whatHasChanged.isDeleted()) {
+                checkpoint.addDeletedItem(whatHasChanged.getItem().getID());
+            }
+        }
+        for (List<BulkEditMetadataValue> values : List.of(whatHasChanged.getAdds(), whatHasChanged.getRemoves())) {
+            for (BulkEditMetadataValue dcv : values) {
+                if (Strings.CS.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
+                    UUID uuid = UUIDUtils.fromString(StringUtils.substringBefore(dcv.getValue(), "::virtual::"));
+                    if (uuid != null) {
+                        checkpoint.addChangedItem(uuid);
                     }
-                    List<Collection> actualCollections = item.getCollections();
-                    compare(c, item, collections, actualCollections, whatHasChanged, change);
                 }
+            }
+        }
+    }
 
-                // Iterate through each metadata element in the csv line
-                for (String md : line.keys()) {
-                    // Get the values we already have
-                    if (!"id".equals(md)) {
-                        // Get the values from the CSV
-                        String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
-                        // Remove authority unless the md is not authority controlled
-                        if (!isAuthorityControlledField(md)) {
-                            for (int i = 0; i < fromCSV.length; i++) {
-                                int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
-                                if (pos > -1) {
-                                    fromCSV[i] = fromCSV[i].substring(0, pos);
-                                }
-                            }
+    /**
+     * Index the items changed by a streamed import, including the items changed by the previous runs of a resumed
+     * import, in batches of bulkedit.stream.commit.count items. The expunged items are removed from the index.
+     */
+    protected void reindexChangedItems(Context c, MetadataImportCheckpoint checkpoint) throws Exception {
+        IndexingService indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexingService.class.getName(), IndexingService.class);
+        int commitCount = configurationService.getIntProperty("bulkedit.stream.commit.count", 1000);
+        List<UUID> changedItems = new ArrayList<>(checkpoint.getChangedItems());
+        handler.logInfo("Indexing " + changedItems.size() + " changed item(s)");
+
+        indexingService.startBatch();
+        try {
+            for (List<UUID> chunk : ListUtils.partition(changedItems, Math.max(1, commitCount))) {
+                for (UUID uuid : chunk) {
+                    Item item = itemService.find(c, uuid);
+                    if (item == null) {
+                        indexingService.unIndexContent(c, IndexableItem.TYPE + "-" + uuid, false);
+                    } else {
+                        for (IndexableObject indexableObject
+                            : IndexObjectFactoryFactory.getInstance().getIndexableObjects(c, item)) {
+                            indexingService.indexContent(c, indexableObject, true, false);
                         }
-                        // Compare
-                        compareAndUpdate(c, item, fromCSV, change, md, whatHasChanged, line);
                     }
                 }
+                c.clear();
+            }
+        } finally {
+            indexingService.endBatch();
+        }
+        indexingService.commit();
+    }
 
-                if (csv.hasActions()) {
-                    // Perform the action
-                    String action = line.getAction();
-                    if ("".equals(action)) {
-                        // Do nothing
-                    } else if ("expunge".equals(action)) {
-                        // Does the configuration allow deletes?
-                        if (!configurationService.getBooleanProperty("bulkedit.allowexpunge", false)) {
-                            throw new MetadataImportException("'expunge' action denied by configuration");
-                        }
+    /**
+     * Import a line of the CSV: compare the item of the line with the values of the CSV, and optionally update it.
+     * New items are created when the changes are written.
+     *
+     * @param line           The line to import, in which the entity target references are not resolved yet
+     * @param change         Whether or not to write the changes to the database
+     * @param useWorkflow    Whether the workflows should be used when creating new items
+     * @param workflowNotify If the workflows should be used, whether to send notifications or not
+     * @param useTemplate    Use collection template if create new item
+     * @return the changes of the item, null if the item of the line did not change
+     * @throws MetadataImportException  if something goes wrong
+     */
+    protected BulkEditChange importLine(Context c, DSpaceCSVLine line, boolean change, boolean useWorkflow,
+                                        boolean workflowNotify, boolean useTemplate)
+        throws MetadataImportException, SQLException, AuthorizeException, WorkflowException, IOException {
+        BulkEditChange result = null;
+        // Resolve target references to other items
+        if (referenceIndex == null) {
+            populateRefAndRowMap(line, line.getID());
+        }
+        line = resolveEntityRefs(c, line);
+        // Get the DSpace item to compare with
+        UUID id = line.getID();
 
-                        // Remove the item
+        // Is there an action column?
+        if (csv.hasActions() && (!"".equals(line.getAction())) && (id == null)) {
+            throw new MetadataImportException("'action' not allowed for new items!");
+        }
 
-                        if (change) {
-                            itemService.delete(c, item);
-                        }
+        WorkspaceItem wsItem = null;
+        WorkflowItem wfItem = null;
+        Item item = null;
 
-                        whatHasChanged.setDeleted();
-                    } else if ("withdraw".equals(action)) {
-                        // Withdraw the item
-                        if (!item.isWithdrawn()) {
-                            if (change) {
-                                itemService.withdraw(c, item);
-                            }
-                            whatHasChanged.setWithdrawn();
-                        }
-                    } else if ("reinstate".equals(action)) {
-                        // Reinstate the item
-                        if (item.isWithdrawn()) {
-                            if (change) {
-                                itemService.reinstate(c, item);
+        // Is this an existing item?
+        if (id != null) {
+            // Get the item
+            item = itemService.find(c, id);
+            if (item == null) {
+                throw new MetadataImportException("Unknown item ID " + id);
+            }
+
+            // Record changes
+            BulkEditChange whatHasChanged = new BulkEditChange(item);
+
+            // Has it moved collection?
+            List<String> collections = line.get("collection");
+            if (collections != null) {
+                // Sanity check we're not orphaning it
+                if (collections.size() == 0) {
+                    throw new MetadataImportException("Missing collection from item " + item.getHandle());
+                }
+                List<Collection> actualCollections = item.getCollections();
+                compare(c, item, collections, actualCollections, whatHasChanged, change);
+            }
+
+            // Iterate through each metadata element in the csv line
+            for (String md : line.keys()) {
+                // Get the values we already have
+                if (!"id".equals(md)) {
+                    // Get the values from the CSV
+                    String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
+                    // Remove authority unless the md is not authority controlled
+                    if (!isAuthorityControlledField(md)) {
+                        for (int i = 0; i < fromCSV.length; i++) {
+                            int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
+                            if (pos > -1) {
+                                fromCSV[i] = fromCSV[i].substring(0, pos);
                             }
-                            whatHasChanged.setReinstated();
                         }
-                    } else {
-                        // Unknown action!
-                        throw new MetadataImportException("Unknown action: " + action);
                     }
+                    // Compare
+                    compareAndUpdate(c, item, fromCSV, change, md, whatHasChanged, line);
                 }
+            }
 
-                // Only record if changes have been made
-                if (whatHasChanged.hasChanges()) {
-                    changes.add(whatHasChanged);
-                }
-            } else {
-                // This is marked as a new item, so no need to compare
+            if (csv.hasActions()) {
+                // Perform the action
+                String action = line.getAction();
+                if ("".equals(action)) {
+                    // Do nothing
+                } else if ("expunge".equals(action)) {
+                    // Does the configuration allow deletes?
+                    if (!configurationService.getBooleanProperty("bulkedit.allowexpunge", false)) {
+                        throw new MetadataImportException("'expunge' action denied by configuration");
+                    }
 
-                // First check a user is set, otherwise this can't happen
-                if (c.getCurrentUser() == null) {
-                    throw new MetadataImportException(
-                        "When adding new items, a user must be specified with the -e option");
+                    // Remove the item
+
+                    if (change) {
+                        itemService.delete(c, item);
+                    }
+
+                    whatHasChanged.setDeleted();
+                } else if ("withdraw".equals(action)) {
+                    // Withdraw the item
+                    if (!item.isWithdrawn()) {
+                        if (change) {
+                            itemService.withdraw(c, item);
+                        }
+                        whatHasChanged.setWithdrawn();
+                    }
+                } else if ("reinstate".equals(action)) {
+                    // Reinstate the item
+                    if (item.isWithdrawn()) {
+                        if (change) {
+                            itemService.reinstate(c, item);
+                        }
+                        whatHasChanged.setReinstated();
+                    }
+                } else {
+                    // Unknown action!
+                    throw new MetadataImportException("Unknown action: " + action);
                 }
+            }
 
-                // Iterate through each metadata element in the csv line
-                BulkEditChange whatHasChanged = new BulkEditChange();
-                for (String md : line.keys()) {
-                    // Get the values we already have
-                    if (!"id".equals(md) && !"rowName".equals(md)) {
-                        // Get the values from the CSV
-                        String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
-
-                        // Remove authority unless the md is not authority controlled
-                        if (!isAuthorityControlledField(md)) {
-                            for (int i = 0; i < fromCSV.length; i++) {
-                                int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
-                                if (pos > -1) {
-                                    fromCSV[i] = fromCSV[i].substring(0, pos);
-                                }
+            // Only record if changes have been made
+            if (whatHasChanged.hasChanges()) {
+                result = whatHasChanged;
+            }
+        } else {
+            // This is marked as a new item, so no need to compare
+
+            // First check a user is set, otherwise this can't happen
+            if (c.getCurrentUser() == null) {
+                throw new MetadataImportException(
+                    "When adding new items, a user must be specified with the -e option");
+            }
+
+            // Iterate through each metadata element in the csv line
+            BulkEditChange whatHasChanged = new BulkEditChange();
+            for (String md : line.keys()) {
+                // Get the values we already have
+                if (!"id".equals(md) && !"rowName".equals(md)) {
+                    // Get the values from the CSV
+                    String[] fromCSV = line.get(md).toArray(new String[line.get(md).size()]);
+
+                    // Remove authority unless the md is not authority controlled
+                    if (!isAuthorityControlledField(md)) {
+                        for (int i = 0; i < fromCSV.length; i++) {
+                            int pos = fromCSV[i].indexOf(csv.getAuthoritySeparator());
+                            if (pos > -1) {
+                                fromCSV[i] = fromCSV[i].substring(0, pos);
                             }
                         }
-
-                        // Add all the values from the CSV line
-                        add(c, fromCSV, md, whatHasChanged);
                     }
-                }
 
-                // Check it has an owning collection
-                List<String> collections = line.get("collection");
-                if (collections == null || collections.isEmpty()) {
-                    throw new MetadataImportException(
-                        "New items must have a 'collection' assigned in the form of a handle");
+                    // Add all the values from the CSV line
+                    add(c, fromCSV, md, whatHasChanged);
                 }
+            }
 
-                // Check collections are really collections
-                ArrayList<Collection> check = new ArrayList<Collection>();
-                Collection collection;
-                for (String handle : collections) {
-                    try {
-                        // Resolve the handle to the collection
-                        collection = (Collection) handleService.resolveToObject(c, handle);
-
-                        // Check it resolved OK
-                        if (collection == null) {
-                            throw new MetadataImportException(
-                                "'" + handle + "' is not a Collection! You must specify a valid collection for " +
-                                    "new items");
-                        }
+            // Check it has an owning collection
+            List<String> collections = line.get("collection");
+            if (collections == null || collections.isEmpty()) {
+                throw new MetadataImportException(
+                    "New items must have a 'collection' assigned in the form of a handle");
+            }
 
-                        // Check for duplicate
-                        if (check.contains(collection)) {
-                            throw new MetadataImportException(
-                                "Duplicate collection assignment detected in new item! " + handle);
-                        } else {
-                            check.add(collection);
-                        }
-                    } catch (Exception ex) {
+            // Check collections are really collections
+            ArrayList<Collection> check = new ArrayList<Collection>();
+            Collection collection;
+            for (String handle : collections) {
+                try {
+                    // Resolve the handle to the collection
+                    collection = (Collection) handleService.resolveToObject(c, handle);
+
+                    // Check it resolved OK
+                    if (collection == null) {
                         throw new MetadataImportException(
-                            "'" + handle + "' is not a Collection! You must specify a valid collection for new " +
-                                "items",
-                            ex);
+                            "'" + handle + "' is not a Collection! You must specify a valid collection for " +
+                                "new items");
                     }
-                }
 
-                // Record the addition to collections
-                boolean first = true;
-                for (String handle : collections) {
-                    Collection extra = (Collection) handleService.resolveToObject(c, handle);
-                    if (first) {
-                        whatHasChanged.setOwningCollection(extra);
+                    // Check for duplicate
+                    if (check.contains(collection)) {
+                        throw new MetadataImportException(
+                            "Duplicate collection assignment detected in new item! " + handle);
                     } else {
-                        whatHasChanged.registerNewMappedCollection(extra);
+                        check.add(collection);
                     }
-                    first = false;
+                } catch (Exception ex) {
+                    throw new MetadataImportException(
+                        "'" + handle + "' is not a Collection! You must specify a valid collection for new " +
+                            "items",
+                        ex);
                 }
+            }
 
-                // Create the new item?
-                if (change) {
-                    // Create the item
-                    String collectionHandle = line.get("collection").get(0);
-                    collection = (Collection) handleService.resolveToObject(c, collectionHandle);
-                    wsItem = workspaceItemService.create(c, collection, useTemplate);
-                    item = wsItem.getItem();
-
-                    // Add the metadata to the item
-                    for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
-                        if (!Strings.CS.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
-                            itemService.addMetadata(c, item, dcv.getSchema(),
-                                                    dcv.getElement(),
-                                                    dcv.getQualifier(),
-                                                    dcv.getLanguage(),
-                                                    dcv.getValue(),
-                                                    dcv.getAuthority(),
-                                                    dcv.getConfidence());
-                        }
+            // Record the addition to collections
+            boolean first = true;
+            for (String handle : collections) {
+                Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                if (first) {
+                    whatHasChanged.setOwningCollection(extra);
+                } else {
+                    whatHasChanged.registerNewMappedCollection(extra);
+                }
+                first = false;
+            }
+
+            // Create the new item?
+            if (change) {
+                // Create the item
+                String collectionHandle = line.get("collection").get(0);
+                collection = (Collection) handleService.resolveToObject(c, collectionHandle);
+                wsItem = workspaceItemService.create(c, collection, useTemplate);
+                item = wsItem.getItem();
+
+                // Add the metadata to the item
+                for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
+                    if (!Strings.CS.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
+                        itemService.addMetadata(c, item, dcv.getSchema(),
+                                                dcv.getElement(),
+                                                dcv.getQualifier(),
+                                                dcv.getLanguage(),
+                                                dcv.getValue(),
+                                                dcv.getAuthority(),
+                                                dcv.getConfidence());
                     }
-                    //Add relations after all metadata has been processed
-                    for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
-                        if (Strings.CS.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
-                            addRelationship(c, item, dcv.getElement(), dcv.getValue());
-                        }
+                }
+                //Add relations after all metadata has been processed
+                for (BulkEditMetadataValue dcv : whatHasChanged.getAdds()) {
+                    if (Strings.CS.equals(dcv.getSchema(), MetadataSchemaEnum.RELATION.getName())) {
+                        addRelationship(c, item, dcv.getElement(), dcv.getValue());
                     }
+                }
 
 
-                    // Should the workflow be used?
-                    if (useWorkflow) {
-                        WorkflowService workflowService = WorkflowServiceFactory.getInstance().getWorkflowService();
-                        if (workflowNotify) {
-                            wfItem = workflowService.start(c, wsItem);
-                        } else {
-                            wfItem = workflowService.startWithoutNotify(c, wsItem);
-                        }
+                // Should the workflow be used?
+                if (useWorkflow) {
+                    WorkflowService workflowService = WorkflowServiceFactory.getInstance().getWorkflowService();
+                    if (workflowNotify) {
+                        wfItem = workflowService.start(c, wsItem);
                     } else {
-                        // Add provenance info
-                        String provenance = installItemService.getSubmittedByProvenanceMessage(c, wsItem.getItem());
-                        itemService.addMetadata(c, item, MetadataSchemaEnum.DC.getName(),
-                                "description", "provenance", "en", provenance);
-                        // Install the item
-                        installItemService.installItem(c, wsItem);
+                        wfItem = workflowService.startWithoutNotify(c, wsItem);
                     }
+                } else {
+                    // Add provenance info
+                    String provenance = installItemService.getSubmittedByProvenanceMessage(c, wsItem.getItem());
+                    itemService.addMetadata(c, item, MetadataSchemaEnum.DC.getName(),
+                            "description", "provenance", "en", provenance);
+                    // Install the item
+                    installItemService.installItem(c, wsItem);
+                }
 
-                    // Add to extra collections
-                    if (line.get("collection").size() > 0) {
-                        for (int i = 1; i < collections.size(); i++) {
-                            String handle = collections.get(i);
-                            Collection extra = (Collection) handleService.resolveToObject(c, handle);
-                            collectionService.addItem(c, extra, item);
-                        }
+                // Add to extra collections
+                if (line.get("collection").size() > 0) {
+                    for (int i = 1; i < collections.size(); i++) {
+                        String handle = collections.get(i);
+                        Collection extra = (Collection) handleService.resolveToObject(c, handle);
+                        collectionService.addItem(c, extra, item);
                     }
-
-                    whatHasChanged.setItem(item);
                 }
 
-                // Record the changes
-                changes.add(whatHasChanged);
+                whatHasChanged.setItem(item);
             }
 
-            if (change && (rowCount % configurationService.getIntProperty("bulkedit.change.commit.count", 100) == 0)) {
-                c.commit();
-                handler.logInfo(LogHelper.getHeader(c, "metadata_import_commit", "lineNumber=" + rowCount));
-            }
-            populateRefAndRowMap(line, item == null ? null : item.getID());
-            // keep track of current rows processed
-            rowCount++;
+            // Record the changes
+            result = whatHasChanged;
         }
-        if (change) {
-            c.commit();
-        }
-
-        c.setMode(Context.Mode.READ_ONLY);
-
 
-        // Return the changes
-        if (!change) {
-            validateExpressedRelations(c);
-        }
-        return changes;
+        populateRefAndRowMap(line, item == null ? null : item.getID());
+        return result;
     }
 
     /**
@@ -1461,8 +1749,10 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
                         String uuid = resolveEntityRef(c, val).toString();
                         newLine.add(key, uuid);
                         //Entity refs have been resolved / placeholdered
-                        //Populate the EntityRelationMap
-                        populateEntityRelationMap(uuid, key, originId.toString());
+                        //Populate the EntityRelationMap, the relations of a streamed import are not validated
+                        if (referenceIndex == null) {
+                            populateEntityRelationMap(uuid, key, originId.toString());
+                        }
                     }
                 } else {
                     newLine.add(key, null);
@@ -1522,10 +1812,17 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      * been processed so far which has a known (minted) UUID for its item. This is used to help complete
      * the resolution after the row number has been determined.
      *
+     * In a streamed import, the lines are recorded in the {@link #referenceIndex} instead.
+     *
      * @param line the csv line.
      * @param uuid the uuid of the item, which may be null if it has not been minted yet.
+     * @throws IOException if the reference index of a streamed import can't be written
      */
-    private void populateRefAndRowMap(DSpaceCSVLine line, @Nullable UUID uuid) {
+    private void populateRefAndRowMap(DSpaceCSVLine line, @Nullable UUID uuid) throws IOException {
+        if (referenceIndex != null) {
+            referenceIndex.add(line, uuid != null ? uuid : new UUID(0, rowCount));
+            return;
+        }
         if (uuid != null) {
             csvRowMap.put(rowCount, uuid);
         } else {
@@ -1647,8 +1944,17 @@ public class MetadataImport extends DSpaceRunnable<MetadataImportScriptConfigura
      *
      * @param mdValueRef the metadataValue reference to search for.
      * @return the set of matching lines as UUIDs.
+     * @throws MetadataImportException if the reference index of a streamed import can't be read
      */
-    private Set<UUID> getMatchingCSVUUIDs(String mdValueRef) {
+    private Set<UUID> getMatchingCSVUUIDs(String mdValueRef) throws MetadataImportException {
+        if (referenceIndex != null) {
+            try {
+                return referenceIndex.find(mdValueRef);
+            } catch (IOException e) {
+                throw new MetadataImportException("Error in CSV row " + rowCount + ":\n" +
+                                                      "Error reading the reference index: " + mdValueRef, e);
+            }
+        }
         Set<UUID> set = new HashSet<>();
         if (csvRefMap.containsKey(mdValueRef)) {
             for (Integer rowNum : csvRefMap.get(mdValueRef)) {
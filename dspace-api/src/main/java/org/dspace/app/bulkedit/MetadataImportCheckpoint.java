@@ -0,0 +1,330 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkedit;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Checkpoint of a streamed {@link MetadataImport}, stored in a directory, allowing to resume an interrupted import
+ * after the last committed row. The directory holds:
+ * <ul>
+ *     <li>checkpoint.properties: the name of the imported file, the number of committed rows and the length of the
+ *     other files once they were committed</li>
+ *     <li>references: the {@link MetadataImportReferenceIndex} of the committed rows</li>
+ *     <li>changed-items: the UUIDs of the items changed by the committed rows, indexed again at the end of the
+ *     import</li>
+ * </ul>
+ * The files can't be written in the database transaction, so each commit of the import is recorded in two steps:
+ * {@link #prepare(int)}, right before the commit of the database transaction, appends the entries of the rows to
+ * the files and records them as pending, along with the items created and deleted by the rows, and
+ * {@link #commit()}, right after the commit of the database transaction, records them as committed. When an import
+ * interrupted between the two steps is resumed, the pending rows are committed if their created items exist, or
+ * their deleted items do not exist anymore, in the database. Otherwise, they are imported again, as are the rows
+ * of an interrupted database transaction: without created or deleted items, importing the rows again is
+ * idempotent, the values and states of their items being compared with the current ones.
+ */
+public class MetadataImportCheckpoint implements Closeable {
+
+    private static final String CHECKPOINT_FILE = "checkpoint.properties";
+
+    private static final String REFERENCES_FILE = "references";
+
+    private static final String CHANGED_ITEMS_FILE = "changed-items";
+
+    private static final String PENDING = "pending.";
+
+    private final File directory;
+
+    private final String filename;
+
+    private int committedRows;
+
+    /**
+     * The length of the references and changed-items files once the rows were committed
+     */
+    private long committedReferences;
+
+    private long committedChangedItems;
+
+    private final MetadataImportReferenceIndex referenceIndex;
+
+    /**
+     * The UUIDs of the items changed since the last commit
+     */
+    private final Set<UUID> changedItems = new LinkedHashSet<>();
+
+    /**
+     * The UUIDs of the items created and deleted since the last commit
+     */
+    private final Set<UUID> createdItems = new LinkedHashSet<>();
+
+    private final Set<UUID> deletedItems = new LinkedHashSet<>();
+
+    /**
+     * The state recorded by {@link #prepare(int)}, waiting for {@link #commit()}
+     */
+    private Properties pending;
+
+    private final DataOutputStream changedItemsOutput;
+
+    /**
+     * Open the checkpoint of the import of a file, starting a new one if the directory holds no checkpoint
+     *
+     * @param directory  the directory of the checkpoint, created if it does not exist
+     * @param filename   the name of the imported file
+     * @param references the references found in the imported file, see {@link MetadataImportReferenceIndex}
+     * @param itemExists tells whether an item exists in the database, used to find whether the pending rows of an
+     *                   interrupted import were committed
+     * @throws IOException             if the files of the checkpoint can't be read or written
+     * @throws MetadataImportException if the directory holds the checkpoint of another file
+     */
+    public MetadataImportCheckpoint(File directory, String filename, MetadataImportReferenceIndex.References references,
+                                    Predicate<UUID> itemExists) throws IOException, MetadataImportException {
+        this.directory = directory;
+        this.filename = filename;
+        FileUtils.forceMkdir(directory);
+
+        File referencesFile = new File(directory, REFERENCES_FILE);
+        File changedItemsFile = new File(directory, CHANGED_ITEMS_FILE);
+        File checkpointFile = new File(directory, CHECKPOINT_FILE);
+        if (checkpointFile.exists()) {
+            Properties checkpoint = new Properties();
+            try (InputStream input = new FileInputStream(checkpointFile)) {
+                checkpoint.load(input);
+            }
+            if (!filename.equals(checkpoint.getProperty("file"))) {
+                throw new MetadataImportException("The checkpoint in " + directory + " is the checkpoint of the "
+                                                      + "import of " + checkpoint.getProperty("file")
+                                                      + ", not of " + filename);
+            }
+            String prefix = isCommitted(checkpoint, itemExists) ? PENDING : "";
+            committedRows = Integer.parseInt(checkpoint.getProperty(prefix + "rows", "0"));
+            // Drop the entries of the rows which were not committed
+            truncate(referencesFile, checkpoint.getProperty(prefix + REFERENCES_FILE));
+            truncate(changedItemsFile, checkpoint.getProperty(prefix + CHANGED_ITEMS_FILE));
+        } else {
+            // Rows which were not committed may have left entries
+            FileUtils.deleteQuietly(referencesFile);
+            FileUtils.deleteQuietly(changedItemsFile);
+            committedRows = 0;
+        }
+
+        referenceIndex = new MetadataImportReferenceIndex(referencesFile, references);
+        // Drop an incomplete UUID left by an interrupted commit
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(changedItemsFile, "rw")) {
+            randomAccessFile.setLength(randomAccessFile.length() - randomAccessFile.length() % 16);
+        }
+        changedItemsOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(changedItemsFile,
+                                                                                                true)));
+        committedReferences = referencesFile.length();
+        committedChangedItems = changedItemsFile.length();
+        if (checkpointFile.exists()) {
+            // Record the resolution of the pending rows
+            store();
+        }
+    }
+
+    /**
+     * @return the number of committed rows, including the rows of the previous runs of the import
+     */
+    public int getCommittedRows() {
+        return committedRows;
+    }
+
+    /**
+     * @return the index of the referenced values of the imported rows
+     */
+    public MetadataImportReferenceIndex getReferenceIndex() {
+        return referenceIndex;
+    }
+
+    /**
+     * Record an item changed by the current row
+     *
+     * @param uuid the UUID of the item
+     */
+    public void addChangedItem(UUID uuid) {
+        changedItems.add(uuid);
+    }
+
+    /**
+     * Record an item created by the current row
+     *
+     * @param uuid the UUID of the item
+     */
+    public void addCreatedItem(UUID uuid) {
+        createdItems.add(uuid);
+    }
+
+    /**
+     * Record an item deleted by the current row
+     *
+     * @param uuid the UUID of the item
+     */
+    public void addDeletedItem(UUID uuid) {
+        deletedItems.add(uuid);
+    }
+
+    /**
+     * Store the state of the import as pending, before the given number of rows is committed to the database
+     *
+     * @param rows the number of rows to commit
+     * @throws IOException if the files of the checkpoint can't be written
+     */
+    public void prepare(int rows) throws IOException {
+        for (UUID uuid : changedItems) {
+            changedItemsOutput.writeLong(uuid.getMostSignificantBits());
+            changedItemsOutput.writeLong(uuid.getLeastSignificantBits());
+        }
+        changedItemsOutput.flush();
+        changedItems.clear();
+
+        pending = new Properties();
+        pending.setProperty(PENDING + "rows", String.valueOf(rows));
+        pending.setProperty(PENDING + REFERENCES_FILE, String.valueOf(new File(directory, REFERENCES_FILE).length()));
+        pending.setProperty(PENDING + CHANGED_ITEMS_FILE,
+                            String.valueOf(new File(directory, CHANGED_ITEMS_FILE).length()));
+        pending.setProperty(PENDING + "created", join(createdItems));
+        pending.setProperty(PENDING + "deleted", join(deletedItems));
+        createdItems.clear();
+        deletedItems.clear();
+        store();
+    }
+
+    /**
+     * Store the state of the import once the rows of the last {@link #prepare(int)} are committed to the database
+     *
+     * @throws IOException if the files of the checkpoint can't be written
+     */
+    public void commit() throws IOException {
+        committedRows = Integer.parseInt(pending.getProperty(PENDING + "rows"));
+        committedReferences = Long.parseLong(pending.getProperty(PENDING + REFERENCES_FILE));
+        committedChangedItems = Long.parseLong(pending.getProperty(PENDING + CHANGED_ITEMS_FILE));
+        pending = null;
+        store();
+    }
+
+    /**
+     * Read the UUIDs of the items changed by the committed rows, including the rows of the previous runs and the
+     * pending rows, whose commit may have failed after the database transaction was committed. Indexing the items
+     * of rows which were not committed is harmless, their current state is indexed.
+     *
+     * @return the UUIDs, without duplicates
+     * @throws IOException if the file can't be read
+     */
+    public Set<UUID> getChangedItems() throws IOException {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(new File(directory, CHANGED_ITEMS_FILE))))) {
+            while (true) {
+                uuids.add(new UUID(input.readLong(), input.readLong()));
+            }
+        } catch (EOFException e) {
+            return uuids;
+        }
+    }
+
+    /**
+     * Remove the files of the checkpoint, once the import is complete
+     *
+     * @throws IOException if the files can't be removed
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(new File(directory, CHECKPOINT_FILE).toPath());
+        Files.deleteIfExists(new File(directory, REFERENCES_FILE).toPath());
+        Files.deleteIfExists(new File(directory, CHANGED_ITEMS_FILE).toPath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            referenceIndex.close();
+        } finally {
+            changedItemsOutput.close();
+        }
+    }
+
+    /**
+     * Store the checkpoint file, replacing it atomically
+     */
+    private void store() throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("file", filename);
+        checkpoint.setProperty("rows", String.valueOf(committedRows));
+        checkpoint.setProperty(REFERENCES_FILE, String.valueOf(committedReferences));
+        checkpoint.setProperty(CHANGED_ITEMS_FILE, String.valueOf(committedChangedItems));
+        if (pending != null) {
+            checkpoint.putAll(pending);
+        }
+        File temporaryFile = new File(directory, CHECKPOINT_FILE + ".tmp");
+        try (OutputStream output = new FileOutputStream(temporaryFile)) {
+            checkpoint.store(output, "Checkpoint of the metadata import of " + filename);
+        }
+        Files.move(temporaryFile.toPath(), new File(directory, CHECKPOINT_FILE).toPath(),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Find whether the pending rows of a checkpoint were committed to the database: the database transaction is
+     * atomic, so they were if any of their created items exists or any of their deleted items does not exist
+     */
+    private static boolean isCommitted(Properties checkpoint, Predicate<UUID> itemExists) {
+        if (checkpoint.getProperty(PENDING + "rows") == null) {
+            return false;
+        }
+        return split(checkpoint.getProperty(PENDING + "created")).stream().anyMatch(itemExists)
+            || split(checkpoint.getProperty(PENDING + "deleted")).stream().anyMatch(itemExists.negate());
+    }
+
+    /**
+     * Truncate a file to its committed length, if known
+     */
+    private static void truncate(File file, String length) throws IOException {
+        if (length != null && file.exists()) {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(Math.min(randomAccessFile.length(), Long.parseLong(length)));
+            }
+        }
+    }
+
+    private static String join(Set<UUID> uuids) {
+        return uuids.stream().map(UUID::toString).collect(Collectors.joining(","));
+    }
+
+    private static Set<UUID> split(String uuids) {
+        Set<UUID> result = new LinkedHashSet<>();
+        for (String uuid : StringUtils.split(StringUtils.defaultString(uuids), ',')) {
+            result.add(UUID.fromString(uuid));
+        }
+        return result;
+    }
+}
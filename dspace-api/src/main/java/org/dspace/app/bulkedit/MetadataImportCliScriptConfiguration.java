@@ -20,6 +20,10 @@ public class MetadataImportCliScriptConfiguration extends MetadataImportScriptCo
         Options options = super.getOptions();
         options.addOption("e", "email", true, "email address or user id of user (required if adding new items)");
         options.getOption("e").setRequired(true);
+        options.addOption("c", "checkpoint", true,
+                          "checkpoint - with the 'b' (stream) option, directory of the checkpoint of the import. An "
+                              + "interrupted import run again with the same directory resumes after the last "
+                              + "committed row");
         super.options = options;
         return options;
     }
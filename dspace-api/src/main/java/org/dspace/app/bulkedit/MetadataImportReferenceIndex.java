@@ -0,0 +1,296 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.bulkedit;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * Index of the items imported by a streamed {@link MetadataImport}, used to resolve the indirect entity target
+ * references ({@code rowName:VALUE} or {@code schema.element[.qualifier]:VALUE}) to items of previous rows.
+ * <p>
+ * Unlike the in-memory maps of a regular import, which hold every value of every row, the index only records the
+ * values which are referenced somewhere in the file (see {@link References}, collected on a first pass over the
+ * file), and keeps them on disk. The entries are appended to a file as they are added, each entry linking to the
+ * previous entry of a value with the same 64-bit fingerprint. Only the fingerprints of the references, and of the
+ * recorded values with the position of their last entry, are held in memory, 16 bytes or so per value.
+ * <p>
+ * The file is kept by the {@link MetadataImportCheckpoint}, so that a resumed import can resolve the references to
+ * the rows committed by the previous run. The checkpoint truncates the file to the entries of the committed rows.
+ */
+public class MetadataImportReferenceIndex implements Closeable {
+
+    /**
+     * The length of the fixed part of an entry: the position of the previous entry and the UUID, then the length of
+     * the value
+     */
+    private static final int HEADER_LENGTH = 3 * Long.BYTES + Short.BYTES;
+
+    private static final long NONE = -1;
+
+    /**
+     * The fingerprints of the references found in the file, the only values recorded in the index
+     */
+    private final References references;
+
+    /**
+     * The position of the last entry of each fingerprint of the recorded values
+     */
+    private final FingerprintTable lastEntries = new FingerprintTable();
+
+    private final FileChannel channel;
+
+    /**
+     * Open an index, loading the entries already stored in the given file
+     *
+     * @param file       the file storing the index, created if it does not exist
+     * @param references the references found in the file to import
+     * @throws IOException if the file can't be read or written
+     */
+    public MetadataImportReferenceIndex(File file, References references) throws IOException {
+        this.references = references;
+        long length = load(file);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        // Drop an incomplete entry left by an interrupted import
+        channel.truncate(length);
+    }
+
+    /**
+     * Record the item of a line, under each of its values which is referenced in the file
+     *
+     * @param line the line
+     * @param uuid the UUID of the item of the line
+     * @throws IOException if the file can't be written
+     */
+    public void add(DSpaceCSVLine line, UUID uuid) throws IOException {
+        for (String key : line.keys()) {
+            if (key.contains(".") && !key.split("\\.")[0].equalsIgnoreCase("relation") ||
+                key.equalsIgnoreCase("rowName")) {
+                for (String value : line.get(key)) {
+                    String valueKey = key + ":" + value;
+                    if (references.contains(valueKey) && !find(valueKey).contains(uuid)) {
+                        append(valueKey, uuid);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the items of the previous rows matching a reference
+     *
+     * @param reference the reference, of the form rowName:VALUE or schema.element[.qualifier]:VALUE
+     * @return the UUIDs of the matching items
+     * @throws IOException if the file can't be read
+     */
+    public Set<UUID> find(String reference) throws IOException {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        long position = lastEntries.get(fingerprint(reference), NONE);
+        while (position != NONE) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            long previous = header.getLong();
+            UUID uuid = new UUID(header.getLong(), header.getLong());
+            ByteBuffer value = ByteBuffer.allocate(Short.BYTES + Short.toUnsignedInt(header.getShort(24)));
+            readFully(value, position + HEADER_LENGTH - Short.BYTES);
+            // Another value may have the same fingerprint
+            if (reference.equals(new DataInputStream(new ByteArrayInputStream(value.array())).readUTF())) {
+                uuids.add(uuid);
+            }
+            position = previous;
+        }
+        return uuids;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Append an entry to the file
+     */
+    private void append(String valueKey, UUID uuid) throws IOException {
+        long fingerprint = fingerprint(valueKey);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + valueKey.length());
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(lastEntries.get(fingerprint, NONE));
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+            output.writeUTF(valueKey);
+        }
+        long position = channel.size();
+        ByteBuffer entry = ByteBuffer.wrap(bytes.toByteArray());
+        while (entry.hasRemaining()) {
+            channel.write(entry, position + entry.position());
+        }
+        lastEntries.put(fingerprint, position);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated entry at " + position + " of the reference index");
+            }
+        }
+    }
+
+    /**
+     * Load the positions of the entries of the file
+     *
+     * @param file the file
+     * @return the length of the complete entries of the file
+     * @throws IOException if the file can't be read
+     */
+    private long load(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        long length = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                input.readLong();
+                input.readLong();
+                input.readLong();
+                String valueKey = input.readUTF();
+                lastEntries.put(fingerprint(valueKey), length);
+                // 3 longs, then the length of the modified UTF-8 string and the string itself
+                length += HEADER_LENGTH + utfLength(valueKey);
+            }
+        } catch (EOFException e) {
+            return length;
+        }
+    }
+
+    /**
+     * @return the length of the given string in the modified UTF-8 encoding of {@link DataOutputStream#writeUTF}
+     */
+    private static int utfLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c > 0x07FF) {
+                length += 3;
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return the 64-bit fingerprint of a value, never 0
+     */
+    private static long fingerprint(String value) {
+        long fingerprint = MurmurHash3.hash128x64(value.getBytes(StandardCharsets.UTF_8))[0];
+        return fingerprint != 0 ? fingerprint : 1;
+    }
+
+    /**
+     * The references found in a file to import, kept as fingerprints. A value with the fingerprint of a reference
+     * is recorded in the index even if it is not referenced, which is harmless.
+     */
+    public static class References {
+
+        private final FingerprintTable fingerprints = new FingerprintTable();
+
+        /**
+         * Add the references of the relation columns of a line
+         *
+         * @param line the line, as read from the file
+         */
+        public void collect(DSpaceCSVLine line) {
+            for (String key : line.keys()) {
+                if (key.split("\\.")[0].equalsIgnoreCase("relation")) {
+                    for (String value : line.get(key)) {
+                        if (value.contains(":") && !value.contains("::virtual::")) {
+                            fingerprints.put(fingerprint(value), 0);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param value a value, of the form rowName:VALUE or schema.element[.qualifier]:VALUE
+         * @return true if the value may be referenced
+         */
+        public boolean contains(String value) {
+            return fingerprints.get(fingerprint(value), NONE) != NONE;
+        }
+    }
+
+    /**
+     * Open addressing hash table of fingerprints, never 0, with a value each
+     */
+    private static final class FingerprintTable {
+
+        private long[] keys = new long[16];
+
+        private long[] values = new long[16];
+
+        private int size = 0;
+
+        private long get(long key, long absent) {
+            int mask = keys.length - 1;
+            for (int i = (int) (key ^ key >>> 32) & mask; keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return absent;
+        }
+
+        private void put(long key, long value) {
+            if (2 * (size + 1) > keys.length) {
+                long[] oldKeys = keys;
+                long[] oldValues = values;
+                keys = new long[oldKeys.length * 2];
+                values = new long[oldKeys.length * 2];
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != 0) {
+                        put(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            int mask = keys.length - 1;
+            int i = (int) (key ^ key >>> 32) & mask;
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+    }
+}
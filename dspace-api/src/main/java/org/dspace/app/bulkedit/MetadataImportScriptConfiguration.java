@@ -50,6 +50,10 @@ public class MetadataImportScriptConfiguration<T extends MetadataImport> extends
                               "validate - just validate the csv, don't run the import");
             options.addOption("t", "template", false,
                               "template - when adding new items, use the collection template (if it exists)");
+            options.addOption("b", "stream", false,
+                              "stream - for very large files, read the file row by row and commit the changes every "
+                                  + "bulkedit.stream.commit.count rows, without confirmation. The changed items are "
+                                  + "indexed at the end of the import");
             options.addOption("h", "help", false, "help");
 
             super.options = options;
@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemexport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.Bitstream;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+
+/**
+ * Reader of the content of bitstreams in the background, used by a zip export to read the next bitstreams from the
+ * bitstore while the current ones are compressed and written.
+ * <p>
+ * The contents are held in memory until written, within a memory budget: a bitstream which does not fit in the
+ * remaining budget is not prefetched, and is streamed from the bitstore when written. The bitstreams are opened
+ * by the calling thread, with its {@link Context}, only their content is read by the background threads.
+ */
+public class BitstreamPrefetcher implements Closeable {
+
+    private final BitstreamService bitstreamService;
+
+    /**
+     * The background threads, null if prefetching is disabled
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The bytes which can still be held in memory
+     */
+    private long available;
+
+    /**
+     * The streams opened and not read yet, closed with the prefetcher
+     */
+    private final Set<InputStream> openStreams = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param bitstreamService the bitstream service
+     * @param threads          the number of background threads, 0 to disable prefetching
+     * @param memoryBudget     the maximum number of bytes held in memory
+     */
+    public BitstreamPrefetcher(BitstreamService bitstreamService, int threads, long memoryBudget) {
+        this.bitstreamService = bitstreamService;
+        this.executor = threads > 0 ? Executors.newFixedThreadPool(threads) : null;
+        this.available = memoryBudget;
+    }
+
+    /**
+     * Start reading the content of a bitstream in the background, if it fits in the memory budget
+     *
+     * @param c         DSpace context, used to open the bitstream
+     * @param bitstream the bitstream
+     * @return the content being read, null if the bitstream is not prefetched
+     * @throws IOException        if the bitstream can't be opened
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if the bitstream can't be read by the current user
+     */
+    public Prefetched prefetch(Context c, Bitstream bitstream) throws IOException, SQLException, AuthorizeException {
+        long size = bitstream.getSizeBytes();
+        // the content is read into a single array
+        if (executor == null || size > Integer.MAX_VALUE - 8 || !reserve(size)) {
+            return null;
+        }
+        InputStream is;
+        try {
+            is = bitstreamService.retrieve(c, bitstream);
+        } catch (IOException | SQLException | AuthorizeException | RuntimeException e) {
+            release(size);
+            throw e;
+        }
+        openStreams.add(is);
+        return new Prefetched(executor.submit(() -> {
+            try (is) {
+                return is.readAllBytes();
+            } finally {
+                openStreams.remove(is);
+            }
+        }), size);
+    }
+
+    private synchronized boolean reserve(long size) {
+        if (size > available) {
+            return false;
+        }
+        available -= size;
+        return true;
+    }
+
+    private synchronized void release(long size) {
+        available += size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        for (InputStream is : openStreams) {
+            is.close();
+        }
+    }
+
+    /**
+     * The content of a bitstream read in the background
+     */
+    public class Prefetched {
+
+        private final Future<byte[]> content;
+
+        /**
+         * The bytes reserved in the memory budget
+         */
+        private final long size;
+
+        private Prefetched(Future<byte[]> content, long size) {
+            this.content = content;
+            this.size = size;
+        }
+
+        /**
+         * Write the content, waiting for it to be read if needed, then release its memory
+         *
+         * @param out the stream to write to
+         * @throws IOException if the content can't be read or written
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            try {
+                out.write(content.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading a bitstream");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            } finally {
+                release(size);
+            }
+        }
+    }
+}
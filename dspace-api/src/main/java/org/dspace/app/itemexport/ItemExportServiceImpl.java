@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -15,25 +16,34 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import jakarta.mail.MessagingException;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
@@ -201,15 +211,36 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, Item i, File destDir, boolean migrate)
         throws Exception {
+        // Save each of the schemas into it's own metadata file
+        for (String schema : getMetadataSchemas(i)) {
+            writeMetadata(c, schema, i, destDir, migrate);
+        }
+    }
+
+    /**
+     * Discover the different schemas in use by the metadata of an item
+     *
+     * @param i DSpace Item
+     * @return the names of the schemas
+     */
+    protected Set<String> getMetadataSchemas(Item i) {
         Set<String> schemas = new HashSet<>();
         List<MetadataValue> dcValues = itemService.getMetadata(i, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
         for (MetadataValue metadataValue : dcValues) {
             schemas.add(metadataValue.getMetadataField().getMetadataSchema().getName());
         }
+        return schemas;
+    }
 
-        // Save each of the schemas into it's own metadata file
-        for (String schema : schemas) {
-            writeMetadata(c, schema, i, destDir, migrate);
+    /**
+     * @param schema schema
+     * @return the name of the metadata file of the given schema
+     */
+    protected String getMetadataFileName(String schema) {
+        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
+            return "dublin_core.xml";
+        } else {
+            return "metadata_" + schema + ".xml";
         }
     }
 
@@ -225,101 +256,106 @@ public class ItemExportServiceImpl implements ItemExportService {
      */
     protected void writeMetadata(Context c, String schema, Item i,
                                  File destDir, boolean migrate) throws Exception {
-        String filename;
-        if (schema.equals(MetadataSchemaEnum.DC.getName())) {
-            filename = "dublin_core.xml";
-        } else {
-            filename = "metadata_" + schema + ".xml";
-        }
-
-        File outFile = new File(destDir, filename);
+        File outFile = new File(destDir, getMetadataFileName(schema));
 
         logInfo("Attempting to create file " + outFile);
 
         if (outFile.createNewFile()) {
-            BufferedOutputStream out = new BufferedOutputStream(
-                new FileOutputStream(outFile));
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outFile))) {
+                writeMetadata(c, schema, i, out, migrate);
+            }
+        } else {
+            throw new Exception("Cannot create dublin_core.xml in " + destDir);
+        }
+    }
 
-            List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
-                                                                      Item.ANY);
+    /**
+     * output the item's metadata of the given schema to a stream, in the format of dublin_core.xml
+     *
+     * @param c       DSpace context
+     * @param schema  schema
+     * @param i       DSpace Item
+     * @param out     the stream, left open
+     * @param migrate Whether to use the migrate option or not
+     * @throws Exception if error
+     */
+    protected void writeMetadata(Context c, String schema, Item i,
+                                 OutputStream out, boolean migrate) throws Exception {
+        List<MetadataValue> dcorevalues = itemService.getMetadata(i, schema, Item.ANY, Item.ANY,
+                                                                  Item.ANY);
 
-            // XML preamble
-            byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
-                .getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        // XML preamble
+        byte[] utf8 = "<?xml version=\"1.0\" encoding=\"utf-8\" standalone=\"no\"?>\n"
+            .getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
-            utf8 = dcTag.getBytes("UTF-8");
-            out.write(utf8, 0, utf8.length);
+        String dcTag = "<dublin_core schema=\"" + schema + "\">\n";
+        utf8 = dcTag.getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
 
-            String dateIssued = null;
-            String dateAccessioned = null;
+        String dateIssued = null;
+        String dateAccessioned = null;
 
-            for (MetadataValue dcv : dcorevalues) {
-                MetadataField metadataField = dcv.getMetadataField();
-                String qualifier = metadataField.getQualifier();
+        for (MetadataValue dcv : dcorevalues) {
+            MetadataField metadataField = dcv.getMetadataField();
+            String qualifier = metadataField.getQualifier();
 
-                if (qualifier == null) {
-                    qualifier = "none";
-                }
+            if (qualifier == null) {
+                qualifier = "none";
+            }
 
-                String language = dcv.getLanguage();
+            String language = dcv.getLanguage();
 
-                if (language != null) {
-                    language = " language=\"" + language + "\"";
-                } else {
-                    language = "";
-                }
+            if (language != null) {
+                language = " language=\"" + language + "\"";
+            } else {
+                language = "";
+            }
 
-                utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
-                    + "qualifier=\"" + qualifier + "\""
-                    + language + ">"
-                    + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-
-                if (!migrate ||
-                    (migrate && !(
-                        ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
-                            ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
-                            ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
-                                (dcv.getValue() != null && dcv.getValue().startsWith(
-                                    handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
-                            ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
-                            ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
-                    out.write(utf8, 0, utf8.length);
-                }
+            utf8 = ("  <dcvalue element=\"" + metadataField.getElement() + "\" "
+                + "qualifier=\"" + qualifier + "\""
+                + language + ">"
+                + Utils.addEntities(dcv.getValue()) + "</dcvalue>\n")
+                .getBytes("UTF-8");
 
-                // Store the date issued and accession to see if they are different
-                // because we need to keep date.issued if they are, when migrating
-                if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
-                    dateIssued = dcv.getValue();
-                }
-                if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
-                    dateAccessioned = dcv.getValue();
-                }
+            if (!migrate ||
+                (migrate && !(
+                    ("date".equals(metadataField.getElement()) && "issued".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier)) ||
+                        ("date".equals(metadataField.getElement()) && "available".equals(qualifier)) ||
+                        ("identifier".equals(metadataField.getElement()) && "uri".equals(qualifier) &&
+                            (dcv.getValue() != null && dcv.getValue().startsWith(
+                                handleService.getCanonicalPrefix() + handleService.getPrefix() + "/"))) ||
+                        ("description".equals(metadataField.getElement()) && "provenance".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "extent".equals(qualifier)) ||
+                        ("format".equals(metadataField.getElement()) && "mimetype".equals(qualifier))))) {
+                out.write(utf8, 0, utf8.length);
             }
 
-            // When migrating, only keep date.issued if it is different to date.accessioned
-            if (migrate &&
-                (dateIssued != null) &&
-                (dateAccessioned != null) &&
-                !dateIssued.equals(dateAccessioned)) {
-                utf8 = ("  <dcvalue element=\"date\" "
-                    + "qualifier=\"issued\">"
-                    + Utils.addEntities(dateIssued) + "</dcvalue>\n")
-                    .getBytes("UTF-8");
-                out.write(utf8, 0, utf8.length);
+            // Store the date issued and accession to see if they are different
+            // because we need to keep date.issued if they are, when migrating
+            if (("date".equals(metadataField.getElement()) && "issued".equals(qualifier))) {
+                dateIssued = dcv.getValue();
             }
+            if (("date".equals(metadataField.getElement()) && "accessioned".equals(qualifier))) {
+                dateAccessioned = dcv.getValue();
+            }
+        }
 
-            utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        // When migrating, only keep date.issued if it is different to date.accessioned
+        if (migrate &&
+            (dateIssued != null) &&
+            (dateAccessioned != null) &&
+            !dateIssued.equals(dateAccessioned)) {
+            utf8 = ("  <dcvalue element=\"date\" "
+                + "qualifier=\"issued\">"
+                + Utils.addEntities(dateIssued) + "</dcvalue>\n")
+                .getBytes("UTF-8");
             out.write(utf8, 0, utf8.length);
-
-            out.close();
-        } else {
-            throw new Exception("Cannot create dublin_core.xml in " + destDir);
         }
+
+        utf8 = "</dublin_core>\n".getBytes("UTF-8");
+        out.write(utf8, 0, utf8.length);
     }
 
     /**
@@ -365,22 +401,32 @@ public class ItemExportServiceImpl implements ItemExportService {
         File outFile = new File(destDir, "collections");
         if (outFile.createNewFile()) {
             try (PrintWriter out = new PrintWriter(new FileWriter(outFile))) {
-                Collection owningCollection = item.getOwningCollection();
-                // The owning collection is null for workspace and workflow items
-                if (owningCollection != null) {
-                    out.println(owningCollection.getHandle());
-                }
-                for (Collection collection : item.getCollections()) {
-                    if (!collection.equals(owningCollection)) {
-                        out.println(collection.getHandle());
-                    }
-                }
+                writeCollections(item, out);
             }
         } else {
             throw new IOException("Cannot create 'collections' in " + destDir);
         }
     }
 
+    /**
+     * Write the content of the 'collections' file, the "owning" Collection first.
+     *
+     * @param item list collections holding this Item.
+     * @param out  write the handles here.
+     */
+    protected void writeCollections(Item item, PrintWriter out) {
+        Collection owningCollection = item.getOwningCollection();
+        // The owning collection is null for workspace and workflow items
+        if (owningCollection != null) {
+            out.println(owningCollection.getHandle());
+        }
+        for (Collection collection : item.getCollections()) {
+            if (!collection.equals(owningCollection)) {
+                out.println(collection.getHandle());
+            }
+        }
+    }
+
     /**
      * Create both the bitstreams and the contents file. Any bitstreams that
      * were originally registered will be marked in the contents file as such.
@@ -407,24 +453,10 @@ public class ItemExportServiceImpl implements ItemExportService {
                 // bundles can have multiple bitstreams now...
                 List<Bitstream> bitstreams = bundle.getBitstreams();
 
-                String bundleName = bundle.getName();
-
                 for (Bitstream bitstream : bitstreams) {
                     String myName = bitstream.getName();
                     String oldName = myName;
 
-                    String description = bitstream.getDescription();
-                    if (!StringUtils.isEmpty(description)) {
-                        description = "\tdescription:" + description;
-                    } else {
-                        description = "";
-                    }
-
-                    String primary = "";
-                    if (bitstream.equals(bundle.getPrimaryBitstream())) {
-                        primary = "\tprimary:true ";
-                    }
-
                     int myPrefix = 1; // only used with name conflict
 
                     boolean isDone = false; // done when bitstream is finally
@@ -463,16 +495,7 @@ public class ItemExportServiceImpl implements ItemExportService {
                     }
 
                     // write the manifest file entry
-                    if (bitstreamService.isRegisteredBitstream(bitstream)) {
-                        out.println("-r -s " + bitstream.getStoreNumber()
-                                        + " -f " + myName +
-                                        "\tbundle:" + bundleName +
-                                        primary + description);
-                    } else {
-                        out.println(myName + "\tbundle:" + bundleName +
-                                        primary + description);
-                    }
-
+                    out.println(getContentsLine(bundle, bitstream, myName));
                 }
             }
 
@@ -483,37 +506,225 @@ public class ItemExportServiceImpl implements ItemExportService {
         }
     }
 
+    /**
+     * Get the line of the contents file of a bitstream. Bitstreams that were originally registered are marked as
+     * such.
+     *
+     * @param bundle    the bundle of the bitstream
+     * @param bitstream the bitstream
+     * @param name      the name of the exported file of the bitstream
+     * @return the line
+     */
+    protected String getContentsLine(Bundle bundle, Bitstream bitstream, String name) {
+        String description = bitstream.getDescription();
+        if (!StringUtils.isEmpty(description)) {
+            description = "\tdescription:" + description;
+        } else {
+            description = "";
+        }
+
+        String primary = "";
+        if (bitstream.equals(bundle.getPrimaryBitstream())) {
+            primary = "\tprimary:true ";
+        }
+
+        if (bitstreamService.isRegisteredBitstream(bitstream)) {
+            return "-r -s " + bitstream.getStoreNumber() + " -f " + name + "\tbundle:" + bundle.getName()
+                + primary + description;
+        } else {
+            return name + "\tbundle:" + bundle.getName() + primary + description;
+        }
+    }
+
     @Override
     public void exportAsZip(Context context, Iterator<Item> items,
                             String destDirName, String zipFileName,
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception {
-        String workDir = getExportWorkDirectory() +
-            System.getProperty("file.separator") +
-            zipFileName;
-
-        File wkDir = new File(workDir);
-        if (!wkDir.exists() && !wkDir.mkdirs()) {
-            logError("Unable to create working directory");
-        }
-
         File dnDir = new File(destDirName);
         if (!dnDir.exists() && !dnDir.mkdirs()) {
             logError("Unable to create destination directory");
         }
 
-        try {
-            // export the items using normal export method (this exports items to our workDir)
-            exportItem(context, items, workDir, seqStart, migrate, excludeBitstreams);
+        // stream the items straight into the zip file, without a working directory
+        File zipFile = new File(dnDir, zipFileName);
+        File tempFile = new File(dnDir, zipFileName + "_tmp");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+            exportAsZip(context, items, out, seqStart, migrate, excludeBitstreams);
+        } catch (Exception e) {
+            Files.deleteIfExists(tempFile.toPath());
+            throw e;
+        }
+        Files.move(tempFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
 
-            // now zip up the workDir directory created above
-            zip(workDir, destDirName + System.getProperty("file.separator") + zipFileName);
-        } finally {
-            // Cleanup workDir created above, if it still exists
-            if (wkDir.exists()) {
-                deleteDirectory(wkDir);
+    @Override
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        try (ZipOutputStream zip = new ZipOutputStream(CloseShieldOutputStream.wrap(out))) {
+            zip.setLevel(9);
+            exportItemsToZip(context, items, zip, "", seqStart, migrate, excludeBitstreams);
+        }
+    }
+
+    /**
+     * Export items as Simple Archive Format entries of a zip stream, one directory of entries per item. The
+     * entries are streamed from the database and the bitstore, nothing is written to disk.
+     * <p>
+     * If org.dspace.app.itemexport.prefetch.threads is positive, the bitstreams of the next items are read by as
+     * many threads in the background while the current item is written, within the memory budget of
+     * org.dspace.app.itemexport.prefetch.memory megabytes. The bitstreams which do not fit the budget are streamed
+     * from the bitstore when written.
+     *
+     * @param c                 DSpace context
+     * @param items             the items to export
+     * @param zip               the zip stream
+     * @param entryPrefix       the prefix of the names of the entries, e.g. a directory ending with a slash
+     * @param seqStart          the number of the directory of the first item
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    protected void exportItemsToZip(Context c, Iterator<Item> items, ZipOutputStream zip, String entryPrefix,
+                                    int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception {
+        int threads = configurationService.getIntProperty("org.dspace.app.itemexport.prefetch.threads", 0);
+        long memory = configurationService.getLongProperty("org.dspace.app.itemexport.prefetch.memory", 64)
+            * 1024 * 1024;
+        logInfo("Beginning export");
+        try (BitstreamPrefetcher prefetcher = new BitstreamPrefetcher(bitstreamService, threads, memory)) {
+            // the items whose bitstreams are being prefetched, waiting to be written
+            Deque<ZipItem> pending = new ArrayDeque<>();
+            int mySequenceNumber = seqStart;
+            int counter = SUBDIR_LIMIT - 1;
+            int subDirSuffix = 0;
+            String fullPrefix = entryPrefix;
+            while (items.hasNext()) {
+                if (SUBDIR_LIMIT > 0 && ++counter == SUBDIR_LIMIT) {
+                    fullPrefix = entryPrefix + subDirSuffix++ + "/";
+                    counter = 0;
+                }
+                Item item = items.next();
+                logInfo("Exporting Item " + item.getID() +
+                            (item.getHandle() != null ? ", handle " + item.getHandle() : "") +
+                            " to " + fullPrefix + mySequenceNumber);
+                pending.add(prepareZipItem(c, item, fullPrefix + mySequenceNumber + "/", migrate,
+                                           excludeBitstreams, prefetcher));
+                mySequenceNumber++;
+                while (pending.size() > threads) {
+                    writeZipItem(c, pending.poll(), zip);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeZipItem(c, pending.poll(), zip);
+            }
+        }
+    }
+
+    /**
+     * Prepare the entries of an item: the metadata, contents, collections and handle files are written in
+     * memory, the reading of the bitstreams is started if they can be prefetched.
+     *
+     * @param c                 DSpace context
+     * @param item              the item
+     * @param itemDir           the directory of the entries of the item, ending with a slash
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @param prefetcher        the prefetcher of the bitstreams
+     * @return the entries of the item
+     * @throws Exception if error
+     */
+    protected ZipItem prepareZipItem(Context c, Item item, String itemDir, boolean migrate,
+                                     boolean excludeBitstreams, BitstreamPrefetcher prefetcher) throws Exception {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (String schema : getMetadataSchemas(item)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writeMetadata(c, schema, item, out, migrate);
+            files.put(itemDir + getMetadataFileName(schema), out.toByteArray());
+        }
+
+        List<ZipBitstream> bitstreams = new ArrayList<>();
+        // the bitstreams must not replace the metadata, contents, collections and handle files
+        Set<String> names = new HashSet<>(List.of("contents", "collections", "handle"));
+        for (String file : files.keySet()) {
+            names.add(file.substring(itemDir.length()));
+        }
+        StringWriter contents = new StringWriter();
+        try (PrintWriter out = new PrintWriter(contents)) {
+            for (Bundle bundle : item.getBundles()) {
+                for (Bitstream bitstream : bundle.getBitstreams()) {
+                    String myName = bitstream.getName();
+                    // keep prepending numbers to the name until unique, as in a directory export
+                    for (int myPrefix = 1; !excludeBitstreams && !names.add(myName); myPrefix++) {
+                        myName = myPrefix + "_" + bitstream.getName();
+                    }
+                    if (!excludeBitstreams) {
+                        bitstreams.add(new ZipBitstream(itemDir + myName, bitstream,
+                                                        prefetcher.prefetch(c, bitstream)));
+                    }
+                    out.println(getContentsLine(bundle, bitstream, myName));
+                }
             }
         }
+        files.put(itemDir + "contents", contents.toString().getBytes(StandardCharsets.UTF_8));
+
+        StringWriter collections = new StringWriter();
+        try (PrintWriter out = new PrintWriter(collections)) {
+            writeCollections(item, out);
+        }
+        files.put(itemDir + "collections", collections.toString().getBytes(StandardCharsets.UTF_8));
+
+        if (!migrate && item.getHandle() != null) {
+            files.put(itemDir + "handle", (item.getHandle() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new ZipItem(item, files, bitstreams);
+    }
+
+    /**
+     * Write the entries of an item to the zip stream, then uncache the item
+     *
+     * @param c       DSpace context
+     * @param zipItem the entries of the item
+     * @param zip     the zip stream
+     * @throws Exception if error
+     */
+    protected void writeZipItem(Context c, ZipItem zipItem, ZipOutputStream zip) throws Exception {
+        for (Map.Entry<String, byte[]> file : zipItem.files().entrySet()) {
+            zip.putNextEntry(new ZipEntry(file.getKey()));
+            zip.write(file.getValue());
+            zip.closeEntry();
+        }
+        for (ZipBitstream bitstream : zipItem.bitstreams()) {
+            zip.putNextEntry(new ZipEntry(bitstream.name()));
+            if (bitstream.prefetched() != null) {
+                bitstream.prefetched().writeTo(zip);
+            } else {
+                try (InputStream is = bitstreamService.retrieve(c, bitstream.bitstream())) {
+                    is.transferTo(zip);
+                }
+            }
+            zip.closeEntry();
+        }
+        c.uncacheEntity(zipItem.item());
+    }
+
+    /**
+     * The entries of an item exported to a zip stream
+     *
+     * @param item       the item
+     * @param files      the content of the metadata, contents, collections and handle files, by entry name
+     * @param bitstreams the bitstreams
+     */
+    protected record ZipItem(Item item, Map<String, byte[]> files, List<ZipBitstream> bitstreams) {
+    }
+
+    /**
+     * A bitstream exported to a zip stream
+     *
+     * @param name       the name of the entry
+     * @param bitstream  the bitstream
+     * @param prefetched the content read in the background, null to stream it from the bitstore
+     */
+    protected record ZipBitstream(String name, Bitstream bitstream, BitstreamPrefetcher.Prefetched prefetched) {
     }
 
     @Override
@@ -683,43 +894,35 @@ public class ItemExportServiceImpl implements ItemExportService {
 
                         String fileName = assembleFileName("item", eperson,
                                                            LocalDate.now());
-                        String workParentDir = getExportWorkDirectory()
-                            + System.getProperty("file.separator")
-                            + fileName;
                         String downloadDir = getExportDownloadDirectory(eperson);
                         File dnDir = new File(downloadDir);
                         if (!dnDir.exists() && !dnDir.mkdirs()) {
                             logError("Unable to create download directory");
                         }
 
-                        Iterator<String> iter = itemsMap.keySet().iterator();
-                        while (iter.hasNext()) {
-                            String keyName = iter.next();
-                            List<UUID> uuids = itemsMap.get(keyName);
-                            List<Item> items = new ArrayList<>();
-                            for (UUID uuid : uuids) {
-                                items.add(itemService.find(context, uuid));
-                            }
-                            iitems = items.iterator();
-
-                            String workDir = workParentDir
-                                + System.getProperty("file.separator")
-                                + keyName;
+                        // stream the items straight into the zip file, one directory per key
+                        File zipFile = new File(dnDir, fileName + ".zip");
+                        File tempFile = new File(dnDir, fileName + ".zip_tmp");
+                        try (ZipOutputStream zip = new ZipOutputStream(
+                            new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                            zip.setLevel(9);
+                            Iterator<String> iter = itemsMap.keySet().iterator();
+                            while (iter.hasNext()) {
+                                String keyName = iter.next();
+                                List<UUID> uuids = itemsMap.get(keyName);
+                                List<Item> items = new ArrayList<>();
+                                for (UUID uuid : uuids) {
+                                    items.add(itemService.find(context, uuid));
+                                }
+                                iitems = items.iterator();
 
-                            File wkDir = new File(workDir);
-                            if (!wkDir.exists() && !wkDir.mkdirs()) {
-                                logError("Unable to create working directory");
+                                exportItemsToZip(context, iitems, zip, keyName + "/", 1, migrate, false);
                             }
-
-
-                            // export the items using normal export method
-                            exportItem(context, iitems, workDir, 1, migrate, false);
+                        } catch (Exception e) {
+                            Files.deleteIfExists(tempFile.toPath());
+                            throw e;
                         }
-
-                        // now zip up the export directory created above
-                        zip(workParentDir, downloadDir
-                            + System.getProperty("file.separator")
-                            + fileName + ".zip");
+                        Files.move(tempFile.toPath(), zipFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                         // email message letting user know the file is ready for
                         // download
                         emailSuccessMessage(context, eperson, fileName + ".zip");
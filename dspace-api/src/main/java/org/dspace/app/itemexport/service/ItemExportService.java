@@ -8,6 +8,7 @@
 package org.dspace.app.itemexport.service;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.List;
@@ -68,6 +69,21 @@ public interface ItemExportService {
                             int seqStart, boolean migrate,
                             boolean excludeBitstreams) throws Exception;
 
+    /**
+     * Method to perform an export as a zip stream, streaming the Simple Archive Format entries of each item from
+     * the bitstore into the stream, without writing them to disk first.
+     *
+     * @param context           The DSpace Context
+     * @param items             The items to export
+     * @param out               The stream to write the zip to, left open
+     * @param seqStart          The first number in the sequence
+     * @param migrate           Whether to use the migrate option or not
+     * @param excludeBitstreams Whether to exclude bitstreams or not
+     * @throws Exception if error
+     */
+    public void exportAsZip(Context context, Iterator<Item> items, OutputStream out,
+                            int seqStart, boolean migrate, boolean excludeBitstreams) throws Exception;
+
     /**
      * Convenience method to create export a single Community, Collection, or
      * Item
@@ -40,6 +40,7 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -108,6 +109,8 @@ import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.event.DetailType;
+import org.dspace.event.Event;
 import org.dspace.handle.service.HandleService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
@@ -192,6 +195,13 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
     protected boolean useWorkflow = false;
     protected boolean useWorkflowSendEmail = false;
     protected boolean isQuiet = false;
+    protected int threads = 1;
+
+    /**
+     * The content files of the item imported by the current thread which were stored ahead by a parallel import,
+     * see {@link ParallelItemImporter}
+     */
+    protected final ThreadLocal<ParallelItemImporter.StagedBitstreams> stagedBitstreams = new ThreadLocal<>();
 
     //remember which folder item was imported from
     Map<String, Item> itemFolderMap = null;
@@ -287,6 +297,9 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
             Arrays.sort(dircontents, ComparatorUtils.naturalComparator());
 
+            // the items to import in parallel, with their collections
+            Map<String, List<Collection>> parallelItems = threads > 1 && !isTest ? new LinkedHashMap<>() : null;
+
             for (int i = 0; i < dircontents.length; i++) {
                 if (skipItems.containsKey(dircontents[i])) {
                     logInfo("Skipping import of " + dircontents[i]);
@@ -315,12 +328,29 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                         clist = mycollections;
                     }
 
+                    if (parallelItems != null) {
+                        parallelItems.put(dircontents[i], clist);
+                        continue;
+                    }
+
                     Item item = addItem(c, clist, sourceDir, dircontents[i], mapOut, template);
 
                     itemFolderMap.put(dircontents[i], item);
 
                     c.uncacheEntity(item);
-                    logInfo(i + " " + dircontents[i]);
+                    logItemImported(i, dircontents[i]);
+                }
+            }
+
+            if (parallelItems != null && !parallelItems.isEmpty()) {
+                boolean stageBitstreams = configurationService
+                    .getBooleanProperty("org.dspace.app.batchitemimport.stage-bitstreams", true);
+                Map<String, UUID> importedItems = new ParallelItemImporter(this, threads, stageBitstreams)
+                    .importItems(c, sourceDir, parallelItems, mapOut, template);
+                for (Map.Entry<String, UUID> importedItem : importedItems.entrySet()) {
+                    Item item = itemService.find(c, importedItem.getValue());
+                    itemFolderMap.put(importedItem.getKey(), item);
+                    c.uncacheEntity(item);
                 }
             }
 
@@ -721,6 +751,10 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
 
     /**
      * item? try and add it to the archive.
+     * <p>
+     * Called concurrently by the workers of a {@link ParallelItemImporter}: the settings of the import are only
+     * read, the state of the item is kept in the given Context and in {@link #stagedBitstreams}, which belong to
+     * the calling thread, and the logging is synchronized.
      *
      * @param c             current Context
      * @param mycollections - add item to these Collections.
@@ -747,14 +781,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
             myitem = wi.getItem();
         }
 
-        // normalize and validate path to make sure itemname doesn't contain path traversal
-        Path itemPath = new File(path + File.separatorChar + itemname + File.separatorChar)
-            .toPath().normalize();
-        if (!itemPath.startsWith(path)) {
-            throw new IOException("Illegal item metadata path: '" + itemPath);
-        }
-        // Normalization chops off the last separator, and we need to put it back
-        String itemPathDir = itemPath.toString() + File.separatorChar;
+        String itemPathDir = getItemPathDir(path, itemname);
 
         // now fill out dublin core for item
         loadMetadata(c, myitem, itemPathDir);
@@ -830,6 +857,24 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         return myitem;
     }
 
+    /**
+     * Get the directory of an item, making sure that the item name doesn't contain path traversal
+     *
+     * @param path     directory containing the item directories
+     * @param itemname name of the item directory
+     * @return the normalized directory of the item, ending with a separator
+     * @throws IOException if the item directory is outside of the given directory
+     */
+    protected String getItemPathDir(String path, String itemname) throws IOException {
+        Path itemPath = new File(path + File.separatorChar + itemname + File.separatorChar)
+            .toPath().normalize();
+        if (!itemPath.startsWith(path)) {
+            throw new IOException("Illegal item metadata path: '" + itemPath);
+        }
+        // Normalization chops off the last separator, and we need to put it back
+        return itemPath.toString() + File.separatorChar;
+    }
+
     // remove, given the actual item
     protected void deleteItem(Context c, Item myitem) throws Exception {
         if (!isTest) {
@@ -1487,8 +1532,13 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
                 targetBundle = bundles.iterator().next();
             }
 
-            // now add the bitstream
-            bs = bitstreamService.create(c, targetBundle, bis);
+            // now add the bitstream, unless a parallel import already stored it
+            bs = findStagedBitstream(c, fullpath);
+            if (bs != null) {
+                attachStagedBitstream(c, i, targetBundle, bs);
+            } else {
+                bs = bitstreamService.create(c, targetBundle, bis);
+            }
 
             bs.setName(c, fileName);
 
@@ -1510,6 +1560,58 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         bis.close();
     }
 
+    /**
+     * Store a content file of an item ahead of its import, for a parallel import, see {@link ParallelItemImporter}
+     *
+     * @param c           DSpace Context
+     * @param itemPathDir the directory of the item
+     * @param fileName    the name of the content file, as in the contents file
+     * @return the bitstream, not attached to a bundle yet
+     * @throws Exception if the file is outside the directory of the item, or can't be stored
+     */
+    Bitstream storeContentFile(Context c, String itemPathDir, String fileName) throws Exception {
+        validateFilePath(itemPathDir, fileName);
+        String fullpath = itemPathDir + File.separatorChar + fileName;
+        try (InputStream is = new BufferedInputStream(new FileInputStream(fullpath))) {
+            return bitstreamService.create(c, is);
+        }
+    }
+
+    /**
+     * Find the bitstream of a content file stored ahead by a parallel import, see {@link ParallelItemImporter}
+     *
+     * @param c        DSpace Context
+     * @param fullpath the full path of the content file
+     * @return the bitstream, or null if the file was not stored ahead
+     * @throws SQLException if database error
+     * @throws IOException  if the content files of the item could not be stored
+     */
+    protected Bitstream findStagedBitstream(Context c, String fullpath) throws SQLException, IOException {
+        ParallelItemImporter.StagedBitstreams staged = stagedBitstreams.get();
+        UUID bitstreamId = staged != null ? staged.take(fullpath) : null;
+        return bitstreamId != null ? bitstreamService.find(c, bitstreamId) : null;
+    }
+
+    /**
+     * Attach a bitstream stored ahead by a parallel import to its bundle, restoring it as it is marked as deleted
+     * until then, with the same events as {@link BitstreamService#create(Context, Bundle, InputStream)}
+     *
+     * @param c      DSpace Context
+     * @param item   the item of the bundle
+     * @param bundle the bundle
+     * @param bs     the staged bitstream
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    protected void attachStagedBitstream(Context c, Item item, Bundle bundle, Bitstream bs)
+        throws SQLException, AuthorizeException {
+        bs.setDeleted(false);
+        bundleService.addBitstream(c, bundle, bs);
+        c.addEvent(new Event(Event.CREATE, Constants.BITSTREAM, bs.getID(), Constants.ITEM, item.getID(),
+                             bs.getChecksum(), DetailType.BITSTREAM_CHECKSUM,
+                             bitstreamService.getIdentifiers(c, bs)));
+    }
+
     /**
      * Register the bitstream file into DSpace
      *
@@ -2417,16 +2519,43 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         this.isQuiet = isQuiet;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     @Override
     public void setHandler(DSpaceRunnableHandler handler) {
         this.handler = handler;
     }
 
+    /**
+     * Log the import of an item
+     *
+     * @param index    the index of the item directory
+     * @param itemname the name of the item directory
+     */
+    void logItemImported(int index, String itemname) {
+        logInfo(index + " " + itemname);
+    }
+
+    /**
+     * Log the failed import of an item by a parallel import, see {@link ParallelItemImporter}
+     *
+     * @param itemname the name of the item directory
+     * @param e        the error
+     */
+    void logItemFailed(String itemname, Exception e) {
+        logError("Unable to import " + itemname, e);
+    }
+
     private void logInfo(String message) {
         logInfo(message, null);
     }
 
-    private void logInfo(String message, Exception e) {
+    // the logging methods are synchronized as the handler is shared by the workers of a parallel import
+
+    private synchronized void logInfo(String message, Exception e) {
         if (handler != null) {
             handler.logInfo(message);
             return;
@@ -2443,7 +2572,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         logDebug(message, null);
     }
 
-    private void logDebug(String message, Exception e) {
+    private synchronized void logDebug(String message, Exception e) {
         if (handler != null) {
             handler.logDebug(message);
             return;
@@ -2460,7 +2589,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         logWarn(message, null);
     }
 
-    private void logWarn(String message, Exception e) {
+    private synchronized void logWarn(String message, Exception e) {
         if (handler != null) {
             handler.logWarning(message);
             return;
@@ -2477,7 +2606,7 @@ public class ItemImportServiceImpl implements ItemImportService, InitializingBea
         logError(message, null);
     }
 
-    private void logError(String message, Exception e) {
+    private synchronized void logError(String message, Exception e) {
         if (handler != null) {
             if (e != null) {
                 handler.logError(message, e);
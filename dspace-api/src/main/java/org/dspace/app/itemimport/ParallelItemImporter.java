@@ -0,0 +1,413 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.itemimport;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+
+/**
+ * Parallel import of the items of a Simple Archive Format directory, used by
+ * {@link ItemImportServiceImpl#addItems} when more than one thread is configured.
+ * <p>
+ * The items are imported by a pool of workers, each with its own {@link Context}, which commits each item in its
+ * own transaction. Ahead of the workers, a staging stage stores the content files of the next items to the
+ * bitstore, so that the copy of the files overlaps with the metadata and install steps of the workers, which only
+ * attach the stored bitstreams to their bundles (see {@link ItemImportServiceImpl#findStagedBitstream}). The staged
+ * bitstreams are marked as deleted until they are attached, in the transaction of the item, so that the bitstreams
+ * of the failed or skipped items are reclaimed by the {@code cleanup} script.
+ * <p>
+ * The lines of the map file are written in the order of the item directories, as soon as all the previous items
+ * are imported. When an item fails, the items in progress are completed, the lines of all the committed items are
+ * written and the error is thrown, so that {@code --resume} skips exactly the committed items.
+ */
+class ParallelItemImporter {
+
+    /**
+     * Marker of the end of the items, one per worker
+     */
+    private static final ItemTask END = new ItemTask(-1, null, null, null);
+
+    private final ItemImportServiceImpl itemImportService;
+
+    private final int threads;
+
+    private final boolean stageBitstreams;
+
+    /**
+     * The first error of the import, the remaining items are skipped once set
+     */
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    /**
+     * The UUIDs of the imported items, by directory name
+     */
+    private final Map<String, UUID> importedItems = new ConcurrentHashMap<>();
+
+    /**
+     * The map file lines of the completed items waiting for the previous items, by index, null for a failed item
+     */
+    private final TreeMap<Integer, String> completedLines = new TreeMap<>();
+
+    /**
+     * The index of the next line to write to the map file
+     */
+    private int nextLine = 0;
+
+    private PrintWriter mapOut;
+
+    /**
+     * @param itemImportService the service importing each item
+     * @param threads           the number of workers
+     * @param stageBitstreams   whether to store the content files ahead of the workers
+     */
+    ParallelItemImporter(ItemImportServiceImpl itemImportService, int threads, boolean stageBitstreams) {
+        this.itemImportService = itemImportService;
+        this.threads = threads;
+        this.stageBitstreams = stageBitstreams;
+    }
+
+    /**
+     * Import the given item directories
+     *
+     * @param c         the context of the import, whose current user is the submitter of the items
+     * @param sourceDir the directory of the item directories
+     * @param items     the collections of each item directory to import, in the order of the directories
+     * @param mapOut    the map file, null if none
+     * @param template  whether to use the template item of the collection as starting point
+     * @return the UUIDs of the imported items, by directory name
+     * @throws Exception the first error of the workers, once the items in progress are complete
+     */
+    Map<String, UUID> importItems(Context c, String sourceDir, Map<String, List<Collection>> items,
+                                  PrintWriter mapOut, boolean template) throws Exception {
+        this.mapOut = mapOut;
+        UUID submitterId = c.getCurrentUser() != null ? c.getCurrentUser().getID() : null;
+        // The queue holds the items waiting for a worker, the staging stage runs at most that far ahead
+        BlockingQueue<ItemTask> tasks = new ArrayBlockingQueue<>(threads);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ExecutorService stagers = stageBitstreams ? Executors.newFixedThreadPool(threads) : null;
+        List<Future<?>> workerResults = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                workerResults.add(workers.submit(() -> {
+                    work(tasks, submitterId, sourceDir, template);
+                    return null;
+                }));
+            }
+            int index = 0;
+            for (Map.Entry<String, List<Collection>> item : items.entrySet()) {
+                if (failure.get() != null) {
+                    break;
+                }
+                String dirName = item.getKey();
+                List<UUID> collectionIds = item.getValue().stream().map(DSpaceObject::getID).toList();
+                StagedBitstreams staged = null;
+                if (stagers != null) {
+                    staged = new StagedBitstreams(
+                        CompletableFuture.supplyAsync(() -> stage(sourceDir, dirName), stagers));
+                }
+                if (!offer(tasks, new ItemTask(index++, dirName, collectionIds, staged), workerResults)) {
+                    break;
+                }
+            }
+        } finally {
+            try {
+                stopWorkers(tasks, workers, workerResults);
+            } finally {
+                if (stagers != null) {
+                    stagers.shutdown();
+                    stagers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+                }
+                writeRemainingLines();
+            }
+        }
+        for (Future<?> workerResult : workerResults) {
+            workerResult.get();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return importedItems;
+    }
+
+    /**
+     * Queue a task for the workers, waiting while the queue is full, unless all the workers stopped
+     *
+     * @return false if the task was not queued as all the workers stopped
+     */
+    private static boolean offer(BlockingQueue<ItemTask> tasks, ItemTask task, List<Future<?>> workerResults)
+        throws InterruptedException {
+        while (!tasks.offer(task, 1, TimeUnit.SECONDS)) {
+            if (workerResults.stream().allMatch(Future::isDone)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Send the end marker to each running worker, then wait for the workers to complete their items. The workers
+     * are interrupted if the wait is interrupted.
+     */
+    private static void stopWorkers(BlockingQueue<ItemTask> tasks, ExecutorService workers,
+                                    List<Future<?>> workerResults) throws InterruptedException {
+        workers.shutdown();
+        try {
+            for (int i = 0; i < workerResults.size(); i++) {
+                if (!offer(tasks, END, workerResults)) {
+                    break;
+                }
+            }
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Import the items of the queue until the end marker, with a context of the worker
+     */
+    private void work(BlockingQueue<ItemTask> tasks, UUID submitterId, String sourceDir, boolean template)
+        throws Exception {
+        Context wc = null;
+        try {
+            wc = new Context(Context.Mode.BATCH_EDIT);
+            wc.setCurrentUser(submitterId != null ? itemImportService.ePersonService.find(wc, submitterId) : null);
+            wc.turnOffAuthorisationSystem();
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        }
+        try {
+            ItemTask task;
+            while ((task = tasks.take()) != END) {
+                if (failure.get() != null) {
+                    completeLine(task.index(), null);
+                    continue;
+                }
+                try {
+                    importItem(wc, task, sourceDir, template);
+                } catch (Exception e) {
+                    // the rollback failed, the context of the worker is not usable anymore
+                    failure.compareAndSet(null, e);
+                    completeLine(task.index(), null);
+                }
+            }
+        } finally {
+            if (wc != null && wc.isValid()) {
+                wc.restoreAuthSystemState();
+                wc.complete();
+            }
+        }
+    }
+
+    /**
+     * Import an item and commit it
+     */
+    private void importItem(Context wc, ItemTask task, String sourceDir, boolean template) throws Exception {
+        StringWriter mapLine = new StringWriter();
+        itemImportService.stagedBitstreams.set(task.staged());
+        try {
+            List<Collection> collections = new ArrayList<>();
+            for (UUID collectionId : task.collectionIds()) {
+                collections.add(itemImportService.collectionService.find(wc, collectionId));
+            }
+            Item item;
+            try (PrintWriter out = new PrintWriter(mapLine)) {
+                item = itemImportService.addItem(wc, collections, sourceDir, task.dirName(), out, template);
+            }
+            UUID itemId = item.getID();
+            wc.commit();
+            importedItems.put(task.dirName(), itemId);
+            itemImportService.logItemImported(task.index(), task.dirName());
+        } catch (Exception e) {
+            wc.rollback();
+            failure.compareAndSet(null, e);
+            itemImportService.logItemFailed(task.dirName(), e);
+            completeLine(task.index(), null);
+            return;
+        } finally {
+            itemImportService.stagedBitstreams.remove();
+            wc.clear();
+        }
+        completeLine(task.index(), mapLine.toString().strip());
+    }
+
+    /**
+     * Record the map file line of a completed item, then write the lines of the items completed in a row
+     *
+     * @param index the index of the item
+     * @param line  the line, null if the item was not imported
+     */
+    private synchronized void completeLine(int index, String line) {
+        completedLines.put(index, line);
+        while (!completedLines.isEmpty() && completedLines.firstKey() == nextLine) {
+            String nextMapLine = completedLines.pollFirstEntry().getValue();
+            if (mapOut != null && nextMapLine != null && !nextMapLine.isEmpty()) {
+                mapOut.println(nextMapLine);
+            }
+            nextLine++;
+        }
+        if (mapOut != null) {
+            mapOut.flush();
+        }
+    }
+
+    /**
+     * Write the lines of the items committed after a failed item, which are not written otherwise
+     */
+    private synchronized void writeRemainingLines() {
+        for (String line : completedLines.values()) {
+            if (mapOut != null && line != null && !line.isEmpty()) {
+                mapOut.println(line);
+            }
+        }
+        completedLines.clear();
+        if (mapOut != null) {
+            mapOut.flush();
+        }
+    }
+
+    /**
+     * Store the content files listed in the contents file of an item, in a transaction of their own. The bitstreams
+     * are marked as deleted, the worker restores them when it attaches them to the item.
+     *
+     * @return the UUIDs of the stored bitstreams, by full path of their file as computed by
+     * {@link ItemImportServiceImpl#processContentFileEntry}
+     */
+    private Map<String, UUID> stage(String sourceDir, String dirName) {
+        Context sc = null;
+        try {
+            String itemPathDir = itemImportService.getItemPathDir(sourceDir, dirName);
+            Set<String> fileNames = readContentFileNames(itemPathDir);
+            if (fileNames.isEmpty()) {
+                return Map.of();
+            }
+            sc = new Context(Context.Mode.BATCH_EDIT);
+            Map<String, UUID> staged = new HashMap<>();
+            for (String fileName : fileNames) {
+                Bitstream bs = itemImportService.storeContentFile(sc, itemPathDir, fileName);
+                bs.setDeleted(true);
+                staged.put(itemPathDir + File.separatorChar + fileName, bs.getID());
+            }
+            sc.complete();
+            return staged;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to store the content files of " + dirName + ": "
+                                                + e.getMessage(), e);
+        } finally {
+            if (sc != null && sc.isValid()) {
+                sc.abort();
+            }
+        }
+    }
+
+    /**
+     * Read the names of the conventionally imported files of the contents file of an item, the registered files
+     * are left to the workers
+     */
+    private Set<String> readContentFileNames(String itemPathDir) throws IOException {
+        File contentsFile = new File(itemPathDir + File.separatorChar + "contents");
+        Set<String> fileNames = new LinkedHashSet<>();
+        if (itemImportService.isExcludeContent || !contentsFile.exists()) {
+            return fileNames;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(contentsFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.trim().startsWith("-r ")) {
+                    continue;
+                }
+                int bitstreamEndIndex = line.indexOf('\t');
+                fileNames.add(bitstreamEndIndex == -1 ? line : line.substring(0, bitstreamEndIndex));
+            }
+        }
+        return fileNames;
+    }
+
+    /**
+     * An item to import
+     *
+     * @param index         the index of the item, in the order of the directories
+     * @param dirName       the name of the directory of the item
+     * @param collectionIds the UUIDs of the collections of the item, the owning collection first
+     * @param staged        the content files of the item stored by the staging stage, null if not staged
+     */
+    private record ItemTask(int index, String dirName, List<UUID> collectionIds, StagedBitstreams staged) {
+    }
+
+    /**
+     * The content files of an item stored by the staging stage, handed out to the worker importing the item
+     */
+    static final class StagedBitstreams {
+
+        private final Future<Map<String, UUID>> stored;
+
+        /**
+         * The full paths of the bitstreams handed out to the worker
+         */
+        private final Set<String> taken = new HashSet<>();
+
+        private StagedBitstreams(Future<Map<String, UUID>> stored) {
+            this.stored = stored;
+        }
+
+        /**
+         * Take the bitstream stored for a file, waiting for the staging stage if needed. Each bitstream is taken
+         * once, a file listed twice is stored again. The bitstreams which are not taken remain deleted.
+         *
+         * @param fullpath the full path of the file
+         * @return the UUID of the bitstream, null if the file was not staged or already taken
+         * @throws IOException if the staging stage failed to store the files of the item
+         */
+        UUID take(String fullpath) throws IOException {
+            UUID bitstreamId = get().get(fullpath);
+            return bitstreamId != null && taken.add(fullpath) ? bitstreamId : null;
+        }
+
+        private Map<String, UUID> get() throws IOException {
+            try {
+                return stored.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the staged content files");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+}
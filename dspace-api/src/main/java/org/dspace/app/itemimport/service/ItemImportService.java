@@ -244,6 +244,13 @@ public interface ItemImportService {
      */
     public void setQuiet(boolean isQuiet);
 
+    /**
+     * Set the number of items imported in parallel by {@link #addItems}, each in its own transaction
+     *
+     * @param threads the number of items, 1 to import the items one after the other in the given context
+     */
+    public void setThreads(int threads);
+
     /**
      * Set the DSpace Runnable Handler
      * @param handler
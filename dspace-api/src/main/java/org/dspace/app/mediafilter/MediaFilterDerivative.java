@@ -0,0 +1,171 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.content.Bitstream;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record of the ledger of the derivative bitstreams of the media filters. There is one record
+ * per source bitstream and filter, telling the outcome of the last filtering of the source bitstream: the
+ * derivative produced from the content with the given checksum, or no derivative if the filtering was
+ * unsuccessful. {@code filter-media} uses the records to select the bitstreams which lack a current derivative
+ * without loading the bundles of every item.
+ * <p>
+ * A record is current while the checksum of the source bitstream is unchanged and, for a filtered bitstream, the
+ * derivative bitstream is not deleted, so that unsuccessful filterings are only tried again once the content
+ * changes, or when the filtering is forced. The records are removed with their source bitstream.
+ *
+ * @see MediaFilterServiceImpl
+ */
+@Entity
+@Table(name = "media_filter_derivative")
+public class MediaFilterDerivative implements ReloadableEntity<Integer> {
+
+    /**
+     * The outcome of the filtering of the source bitstream.
+     */
+    public enum Outcome {
+        FILTERED,
+        UNSUCCESSFUL
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_filter_derivative_id_seq")
+    @SequenceGenerator(name = "media_filter_derivative_id_seq", sequenceName = "media_filter_derivative_id_seq",
+        allocationSize = 1)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id", nullable = false)
+    private Bitstream source;
+
+    /**
+     * The name of the filter, see {@link MediaFilterServiceImpl#getFilterKey(FormatFilter)}.
+     */
+    @Column(name = "filter", length = 256)
+    private String filter;
+
+    /**
+     * The checksum of the source bitstream when it was filtered.
+     */
+    @Column(name = "source_checksum", length = 64)
+    private String sourceChecksum;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome")
+    private Outcome outcome;
+
+    /**
+     * The derivative bitstream, null if the filtering was unsuccessful or once it is removed from the database.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "derivative_id")
+    private Bitstream derivative;
+
+    /**
+     * The time at which the derivative bitstream was recorded.
+     */
+    @Column(name = "filtered")
+    private Instant filtered;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public void setID(Integer id) {
+        this.id = id;
+    }
+
+    public Bitstream getSource() {
+        return source;
+    }
+
+    public void setSource(Bitstream source) {
+        this.source = source;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    public String getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    public void setSourceChecksum(String sourceChecksum) {
+        this.sourceChecksum = sourceChecksum;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Bitstream getDerivative() {
+        return derivative;
+    }
+
+    public void setDerivative(Bitstream derivative) {
+        this.derivative = derivative;
+    }
+
+    public Instant getFiltered() {
+        return filtered;
+    }
+
+    public void setFiltered(Instant filtered) {
+        this.filtered = filtered;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        MediaFilterDerivative other = (MediaFilterDerivative) obj;
+        return Objects.equals(id, other.id);
+    }
+
+    @Override
+    public String toString() {
+        return "MediaFilterDerivative [id=" + id + ", filter=" + filter + ", sourceChecksum=" + sourceChecksum
+            + ", outcome=" + outcome + "]";
+    }
+}
@@ -0,0 +1,370 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.util.ThrowableUtils;
+
+/**
+ * Concurrent execution of the media filters, used by {@link MediaFilterServiceImpl} when the filters run on more
+ * than one thread.
+ * <p>
+ * The main thread walks the items, checks which bitstreams need to be filtered and opens them, then submits them to
+ * the pool of threads of their filter, waiting while the pool is full. The threads of a filter write its result to a
+ * temporary file, and the results are stored as derivative bitstreams by a single committer thread, with its own
+ * {@link Context}, which commits them in batches.
+ * <p>
+ * The number of threads, the timeout and the memory used by a filter are configured by the
+ * {@code filter.<class name>.concurrent.*} properties, defaulting to {@code filter.concurrent.*}.
+ */
+class MediaFilterPipeline implements Closeable {
+
+    /**
+     * Marker of the end of the results
+     */
+    private static final FilterResult END = new FilterResult(null, null, null, null, null);
+
+    private final MediaFilterServiceImpl mediaFilterService;
+
+    private final Map<FormatFilter, FilterPool> pools = new IdentityHashMap<>();
+
+    private final BlockingQueue<FilterResult> results;
+
+    /**
+     * Interrupts the filters running for longer than their timeout
+     */
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor();
+
+    private final Thread committer;
+
+    private final int commitBatch;
+
+    /**
+     * The error which stopped the committer, no more result is stored once set
+     */
+    private volatile Throwable committerError;
+
+    /**
+     * Start the pools of the filters and the committer
+     *
+     * @param mediaFilterService   the media filter service, storing the results
+     * @param configurationService the configuration service
+     * @param filters              the filters to run
+     * @param threads              the default number of threads of each filter
+     */
+    MediaFilterPipeline(MediaFilterServiceImpl mediaFilterService, ConfigurationService configurationService,
+                        List<FormatFilter> filters, int threads) {
+        this.mediaFilterService = mediaFilterService;
+        this.commitBatch = Math.max(1, configurationService.getIntProperty("filter.concurrent.commit-batch", 100));
+        int defaultTimeout = configurationService.getIntProperty("filter.concurrent.timeout", 0);
+        int totalThreads = 0;
+        for (FormatFilter filter : filters) {
+            String prefix = "filter." + filter.getClass().getName() + ".concurrent.";
+            int filterThreads = Math.max(1, configurationService.getIntProperty(prefix + "threads", threads));
+            long memory = configurationService.getLongProperty(prefix + "memory", 0) * 1024 * 1024;
+            if (memory > 0) {
+                // the threads of a filter may use up to half of the heap
+                long maxThreads = Math.max(1, Runtime.getRuntime().maxMemory() / 2 / memory);
+                filterThreads = (int) Math.min(filterThreads, maxThreads);
+            }
+            int timeout = configurationService.getIntProperty(prefix + "timeout", defaultTimeout);
+            pools.put(filter, new FilterPool(filter, filterThreads, timeout));
+            totalThreads += filterThreads;
+        }
+        results = new ArrayBlockingQueue<>(Math.max(1, totalThreads));
+        committer = new Thread(this::storeResults, "media-filter-committer");
+        committer.start();
+    }
+
+    /**
+     * Submit the filtering of a bitstream, waiting while the pool of the filter is full. The source stream is closed
+     * once filtered.
+     *
+     * @param item         the item of the bitstream, with its handle loaded
+     * @param source       the bitstream
+     * @param formatFilter the filter
+     * @param sourceStream the content of the bitstream
+     * @throws IOException if the results can't be stored anymore, or the wait is interrupted
+     */
+    void submit(Item item, Bitstream source, FormatFilter formatFilter, InputStream sourceStream)
+        throws IOException {
+        FilterPool pool = pools.get(formatFilter);
+        try {
+            if (committerError != null) {
+                throw new IOException("The results of the filters can't be stored: " + committerError.getMessage(),
+                                      committerError);
+            }
+            pool.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sourceStream.close();
+            throw new InterruptedIOException("Interrupted while waiting for the filter " + pool.name);
+        } catch (IOException e) {
+            sourceStream.close();
+            throw e;
+        }
+        // the item belongs to the session of the calling thread, only plain values are used by the other threads
+        UUID itemId = item.getID();
+        String itemHandle = item.getHandle();
+        UUID sourceId = source.getID();
+        pool.executor.execute(() -> filter(pool, itemId, itemHandle, sourceId, sourceStream));
+    }
+
+    /**
+     * Run a filter on a bitstream, on a thread of the pool of the filter. The item passed to the filter, as
+     * required by {@link FormatFilter#getDestinationStream}, is loaded in a read-only {@link Context} of the thread,
+     * open while the filter runs. A result without file is sent to the committer when the filtering is
+     * unsuccessful, so that the outcome is recorded in the ledger of the derivatives.
+     */
+    private void filter(FilterPool pool, UUID itemId, String itemHandle, UUID sourceId, InputStream sourceStream) {
+        Watch watch = new Watch(sourceStream);
+        ScheduledFuture<?> timeout = pool.timeout > 0
+            ? watchdog.schedule(watch::expire, pool.timeout, TimeUnit.SECONDS) : null;
+        Path file = null;
+        Path resultFile = null;
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try (sourceStream;
+             InputStream destStream = pool.filter.getDestinationStream(
+                 mediaFilterService.itemService.find(context, itemId), sourceStream, mediaFilterService.isVerbose)) {
+            if (destStream == null) {
+                if (!mediaFilterService.isQuiet) {
+                    mediaFilterService.logInfo("SKIPPED: bitstream " + sourceId + " (item: " + itemHandle
+                                                   + ") because filtering was unsuccessful");
+                }
+            } else {
+                file = Files.createTempFile("media-filter-", ".tmp");
+                Files.copy(destStream, file, StandardCopyOption.REPLACE_EXISTING);
+                if (!watch.finish()) {
+                    resultFile = file;
+                    file = null;
+                }
+            }
+        } catch (Exception e) {
+            if (!watch.finish()) {
+                mediaFilterService.logError("ERROR filtering, skipping bitstream " + sourceId + " (item: "
+                                                + itemHandle + ") with " + pool.name + ": "
+                                                + ThrowableUtils.formatCauseChain(e));
+            }
+        } catch (OutOfMemoryError oome) {
+            mediaFilterService.logError("!!! OutOfMemoryError !!!");
+            mediaFilterService.logError("ERROR filtering, skipping bitstream " + sourceId + " (item: "
+                                            + itemHandle + ") with " + pool.name);
+        } finally {
+            if (watch.finish()) {
+                mediaFilterService.logError("TIMEOUT: bitstream " + sourceId + " (item: " + itemHandle
+                                                + ") was not filtered by " + pool.name + " within " + pool.timeout
+                                                + " seconds, skipping it");
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            // clear an interrupt of the watchdog
+            Thread.interrupted();
+            context.abort();
+            deleteQuietly(file);
+            try {
+                results.put(new FilterResult(itemId, itemHandle, sourceId, pool.filter, resultFile));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                deleteQuietly(resultFile);
+            }
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Store the results, on the committer thread
+     */
+    private void storeResults() {
+        Context context = new Context(Context.Mode.BATCH_EDIT);
+        context.turnOffAuthorisationSystem();
+        try {
+            int uncommitted = 0;
+            FilterResult result;
+            while ((result = results.take()) != END) {
+                try {
+                    if (mediaFilterService.storeFilterResult(context, result.itemId(), result.sourceId(),
+                                                             result.filter(), result.file())) {
+                        uncommitted++;
+                    }
+                } catch (Exception e) {
+                    mediaFilterService.logError("ERROR storing the result of the filtering of bitstream "
+                                                    + result.sourceId() + " (item: " + result.itemHandle() + "): "
+                                                    + ThrowableUtils.formatCauseChain(e));
+                } finally {
+                    deleteQuietly(result.file());
+                }
+                if (uncommitted >= commitBatch) {
+                    context.commit();
+                    context.clear();
+                    uncommitted = 0;
+                }
+            }
+            context.complete();
+        } catch (Throwable e) {
+            committerError = e;
+            mediaFilterService.logError("ERROR storing the results of the filters: "
+                                            + ThrowableUtils.formatCauseChain(e));
+            context.abort();
+            discardResults();
+        }
+    }
+
+    /**
+     * Delete the remaining results once the committer is stopped, until the end of the filtering
+     */
+    private void discardResults() {
+        try {
+            FilterResult result;
+            while ((result = results.take()) != END) {
+                deleteQuietly(result.file());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait for the submitted bitstreams to be filtered and their results to be committed
+     *
+     * @throws IOException if the committer failed, or the wait is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            for (FilterPool pool : pools.values()) {
+                pool.executor.shutdown();
+            }
+            for (FilterPool pool : pools.values()) {
+                pool.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+            results.put(END);
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (FilterPool pool : pools.values()) {
+                pool.executor.shutdownNow();
+            }
+            committer.interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the filters");
+        } finally {
+            watchdog.shutdownNow();
+        }
+        if (committerError != null) {
+            throw new IOException("The results of the filters can't be stored: " + committerError.getMessage(),
+                                  committerError);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // the temporary directory is cleaned by the system
+            }
+        }
+    }
+
+    /**
+     * The threads running a filter
+     */
+    private static final class FilterPool {
+
+        private final FormatFilter filter;
+
+        private final String name;
+
+        private final ExecutorService executor;
+
+        /**
+         * The bitstreams which can still be submitted, twice the number of threads so that the next bitstreams are
+         * opened while the current ones are filtered
+         */
+        private final Semaphore permits;
+
+        /**
+         * The timeout of the filter in seconds, 0 for none
+         */
+        private final int timeout;
+
+        private FilterPool(FormatFilter filter, int threads, int timeout) {
+            this.filter = filter;
+            this.name = filter.getClass().getSimpleName();
+            this.executor = Executors.newFixedThreadPool(threads);
+            this.permits = new Semaphore(threads * 2);
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * The timeout of the filtering of a bitstream, which interrupts the filtering thread and closes the source
+     * stream, unless the filtering is finished first
+     */
+    private static final class Watch {
+
+        private final Thread thread = Thread.currentThread();
+
+        private final InputStream sourceStream;
+
+        private boolean finished;
+
+        private boolean expired;
+
+        private Watch(InputStream sourceStream) {
+            this.sourceStream = sourceStream;
+        }
+
+        private synchronized void expire() {
+            if (!finished) {
+                finished = true;
+                expired = true;
+                thread.interrupt();
+                IOUtils.closeQuietly(sourceStream);
+            }
+        }
+
+        /**
+         * @return true if the timeout expired before the end of the filtering
+         */
+        private synchronized boolean finish() {
+            finished = true;
+            return expired;
+        }
+    }
+
+    /**
+     * The result of a filter, stored in a temporary file, or without file if the filtering was unsuccessful
+     */
+    private record FilterResult(UUID itemId, String itemHandle, UUID sourceId, FormatFilter filter, Path file) {
+    }
+}
@@ -63,6 +63,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private int threads = 0;
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -119,6 +120,19 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                       .getIntProperty("filter.concurrent.threads", 0);
+        if (commandLine.hasOption('T')) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue('T'));
+            } catch (NumberFormatException e) {
+                threads = -1;
+            }
+            if (threads < 0) {
+                throw new ParseException("Invalid number of threads: " + commandLine.getOptionValue('T'));
+            }
+        }
+
 
     }
 
@@ -133,6 +147,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setForce(isForce);
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
+        mediaFilterService.setThreads(threads);
         mediaFilterService.setMax2Process(max2Process);
 
         //initialize an array of our enabled filters
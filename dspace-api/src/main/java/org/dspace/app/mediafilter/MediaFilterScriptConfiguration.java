@@ -53,6 +53,9 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption(pluginOption);
 
         options.addOption("d", "fromdate", true, "Process only item from specified last modified date");
+        options.addOption("T", "threads", true,
+            "number of threads running each filter, 0 to filter on a single thread\n" +
+                "(default: filter.concurrent.threads in dspace.cfg)");
 
         Option skipOption = Option.builder("s")
                                   .longOpt("skip")
@@ -7,19 +7,29 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Strings;
+import org.dspace.app.mediafilter.dao.MediaFilterDerivativeDAO;
 import org.dspace.app.mediafilter.service.MediaFilterService;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
@@ -30,12 +40,15 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DCDate;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataSchemaEnum;
 import org.dspace.content.service.BitstreamFormatService;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.BundleService;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.SelfNamedPlugin;
@@ -75,6 +88,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected ItemService itemService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected MetadataFieldService metadataFieldService;
+    @Autowired(required = true)
+    protected MediaFilterDerivativeDAO mediaFilterDerivativeDAO;
 
     protected DSpaceRunnableHandler handler;
 
@@ -97,6 +114,13 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
 
+    protected int threads = 0; // number of threads of each filter, 0 to filter on the calling thread
+
+    /**
+     * The concurrent filtering in progress, null if the filters run on the calling thread
+     */
+    protected MediaFilterPipeline pipeline = null;
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -115,13 +139,59 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
+        runFilters(() -> processAllItems(context));
+    }
+
+    @Override
+    public void applyFiltersCommunity(Context context, Community community) throws Exception {
+        runFilters(() -> processCommunity(context, community));
+    }
+
+    @Override
+    public void applyFiltersCollection(Context context, Collection collection) throws Exception {
+        runFilters(() -> processCollection(context, collection));
+    }
+
+    @Override
+    public void applyFiltersItem(Context c, Item item) throws Exception {
+        runFilters(() -> processItem(c, item));
+    }
+
+    /**
+     * Run the filters on the items found by a task: on several threads, for the whole task, if the filters run
+     * concurrently, otherwise on the calling thread
+     *
+     * @param task the task walking the items
+     * @throws Exception if abnormal error, or if the results of the filters can't be stored
+     */
+    protected void runFilters(FilterTask task) throws Exception {
+        if (threads <= 0) {
+            task.run();
+            return;
+        }
+        try (MediaFilterPipeline started = new MediaFilterPipeline(this, configurationService, filterClasses,
+                                                                   threads)) {
+            pipeline = started;
+            task.run();
+        } finally {
+            pipeline = null;
+        }
+    }
+
+    /**
+     * Apply the filters to all the items, or to those of the communities which are not in the skip-list
+     *
+     * @param context context
+     * @throws Exception if abnormal error
+     */
+    protected void processAllItems(Context context) throws Exception {
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
             List<Community> topLevelCommunities = communityService.findAllTop(context);
 
             for (Community topLevelCommunity : topLevelCommunities) {
-                applyFiltersCommunity(context, topLevelCommunity);
+                processCommunity(context, topLevelCommunity);
             }
         } else if (fromDate != null) {
             Iterator<Item> itemIterator =
@@ -130,19 +200,36 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
             while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+                processItem(context, itemIterator.next());
+            }
+        } else if (isLedgerEnabled()) {
+            //only process the items with a bitstream lacking a current derivative
+            for (UUID itemId : findItemsToFilter(context)) {
+                if (processed >= max2Process) {
+                    break;
+                }
+                Item item = itemService.find(context, itemId);
+                if (item != null) {
+                    processItem(context, item);
+                }
             }
         } else {
             //otherwise, just find every item and process
             Iterator<Item> itemIterator = itemService.findAll(context);
             while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+                processItem(context, itemIterator.next());
             }
         }
     }
 
-    @Override
-    public void applyFiltersCommunity(Context context, Community community)
+    /**
+     * Apply the filters to the items of a community and of its sub-communities, unless they are in the skip-list
+     *
+     * @param context   context
+     * @param community the community
+     * @throws Exception if abnormal error
+     */
+    protected void processCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
@@ -151,20 +238,26 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         if (!inSkipList(community.getHandle())) {
             List<Community> subcommunities = community.getSubcommunities();
             for (Community subcommunity : subcommunities) {
-                applyFiltersCommunity(context, subcommunity);
+                processCommunity(context, subcommunity);
             }
             // ensure that the community is attached to the current hibernate session
             // as we are committing after each item
             community = context.reloadEntity(community);
             List<Collection> collections = community.getCollections();
             for (Collection collection : collections) {
-                applyFiltersCollection(context, collection);
+                processCollection(context, collection);
             }
         }
     }
 
-    @Override
-    public void applyFiltersCollection(Context context, Collection collection)
+    /**
+     * Apply the filters to the items of a collection, unless it is in the skip-list
+     *
+     * @param context    context
+     * @param collection the collection
+     * @throws Exception if abnormal error
+     */
+    protected void processCollection(Context context, Collection collection)
         throws Exception {
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
@@ -173,13 +266,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
             while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+                processItem(context, itemIterator.next());
             }
         }
     }
 
-    @Override
-    public void applyFiltersItem(Context c, Item item) throws Exception {
+    /**
+     * Apply the filters to an item, unless it is in the skip-list, then commit
+     *
+     * @param c    context
+     * @param item the item
+     * @throws Exception if abnormal error
+     */
+    protected void processItem(Context c, Item item) throws Exception {
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
             //cache this item in MediaFilterManager
@@ -222,31 +321,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         // iterate through filter classes. A single format may be actioned
         // by more than one filter
         for (FormatFilter filterClass : filterClasses) {
-            //List fmts = (List)filterFormats.get(filterClasses[i].getClass().getName());
-            String pluginName = null;
-
-            //if this filter class is a SelfNamedPlugin,
-            //its list of supported formats is different for
-            //differently named "plugin"
-            if (SelfNamedPlugin.class.isAssignableFrom(filterClass.getClass())) {
-                //get plugin instance name for this media filter
-                pluginName = ((SelfNamedPlugin) filterClass).getPluginInstanceName();
-            }
-
-            //Get list of supported formats for the filter (and possibly named plugin)
-            //For SelfNamedPlugins, map key is:
-            //  <class-name><separator><plugin-name>
-            //For other MediaFilters, map key is just:
-            //  <class-name>
-            List<String> fmts = filterFormats.get(filterClass.getClass().getName() +
-                                                      (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
+            List<String> fmts = getConfiguredFormats(filterClass);
 
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
-                    // only update item if bitstream not skipped
-                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
-                        itemService.update(context, myItem); // Make sure new bitstream has a sequence
-                        // number
+                    if (applyFilter(context, myItem, myBitstream, filterClass)) {
                         filtered = true;
                     }
                 } catch (Exception e) {
@@ -258,50 +337,12 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 // Filter implements self registration, so check to see if it should be applied
                 // given the formats it claims to support
                 SelfRegisterInputFormats srif = (SelfRegisterInputFormats) filterClass;
-                boolean applyFilter = false;
-
-                // Check MIME type
-                String[] mimeTypes = srif.getInputMIMETypes();
-                if (mimeTypes != null) {
-                    for (String mimeType : mimeTypes) {
-                        if (mimeType.equalsIgnoreCase(myBitstream.getFormat(context).getMIMEType())) {
-                            applyFilter = true;
-                        }
-                    }
-                }
-
-                // Check description
-                if (!applyFilter) {
-                    String[] descriptions = srif.getInputDescriptions();
-                    if (descriptions != null) {
-                        for (String desc : descriptions) {
-                            if (desc.equalsIgnoreCase(myBitstream.getFormat(context).getShortDescription())) {
-                                applyFilter = true;
-                            }
-                        }
-                    }
-                }
-
-                // Check extensions
-                if (!applyFilter) {
-                    String[] extensions = srif.getInputExtensions();
-                    if (extensions != null) {
-                        for (String ext : extensions) {
-                            List<String> formatExtensions = myBitstream.getFormat(context).getExtensions();
-                            if (formatExtensions != null && formatExtensions.contains(ext)) {
-                                applyFilter = true;
-                            }
-                        }
-                    }
-                }
+                boolean applyFilter = isSelfRegisteredFormat(srif, myBitstream.getFormat(context));
 
                 // Filter claims to handle this type of file, so attempt to apply it
                 if (applyFilter) {
                     try {
-                        // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
-                            itemService.update(context, myItem); // Make sure new bitstream has a sequence
-                            // number
+                        if (applyFilter(context, myItem, myBitstream, filterClass)) {
                             filtered = true;
                         }
                     } catch (Exception e) {
@@ -315,54 +356,128 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return filtered;
     }
 
-    @Override
-    public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
-        throws Exception {
-        //do pre-processing of this bitstream, and if it fails, skip this bitstream!
-        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
-            return false;
+    /**
+     * Get the list of supported formats configured for a filter (and possibly named plugin)
+     *
+     * @param formatFilter the filter
+     * @return the short descriptions of the formats
+     */
+    private List<String> getConfiguredFormats(FormatFilter formatFilter) {
+        String pluginName = null;
+
+        //if this filter class is a SelfNamedPlugin,
+        //its list of supported formats is different for
+        //differently named "plugin"
+        if (SelfNamedPlugin.class.isAssignableFrom(formatFilter.getClass())) {
+            //get plugin instance name for this media filter
+            pluginName = ((SelfNamedPlugin) formatFilter).getPluginInstanceName();
         }
 
-        boolean overWrite = isForce;
-
-        // get bitstream filename, calculate destination filename
-        String newName = formatFilter.getFilteredName(source.getName());
+        //For SelfNamedPlugins, map key is:
+        //  <class-name><separator><plugin-name>
+        //For other MediaFilters, map key is just:
+        //  <class-name>
+        return filterFormats.get(formatFilter.getClass().getName() +
+                                     (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
+    }
 
-        // check if destination bitstream exists
-        Bundle existingBundle = null;
-        List<Bitstream> existingBitstreams = new ArrayList<>();
-        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+    /**
+     * Check whether a filter implementing self registration claims to support a format
+     *
+     * @param srif   the filter
+     * @param format the format
+     * @return true if the MIME type, the description or an extension of the format is supported by the filter
+     */
+    private boolean isSelfRegisteredFormat(SelfRegisterInputFormats srif, BitstreamFormat format) {
+        // Check MIME type
+        String[] mimeTypes = srif.getInputMIMETypes();
+        if (mimeTypes != null) {
+            for (String mimeType : mimeTypes) {
+                if (mimeType.equalsIgnoreCase(format.getMIMEType())) {
+                    return true;
+                }
+            }
+        }
 
-        if (!bundles.isEmpty()) {
-            // only finds the last matching bundle and all matching bitstreams in the proper bundle(s)
-            for (Bundle bundle : bundles) {
-                List<Bitstream> bitstreams = bundle.getBitstreams();
+        // Check description
+        String[] descriptions = srif.getInputDescriptions();
+        if (descriptions != null) {
+            for (String desc : descriptions) {
+                if (desc.equalsIgnoreCase(format.getShortDescription())) {
+                    return true;
+                }
+            }
+        }
 
-                for (Bitstream bitstream : bitstreams) {
-                    if (bitstream.getName().trim().equals(newName.trim())) {
-                        existingBundle = bundle;
-                        existingBitstreams.add(bitstream);
-                    }
+        // Check extensions
+        String[] extensions = srif.getInputExtensions();
+        if (extensions != null) {
+            List<String> formatExtensions = format.getExtensions();
+            for (String ext : extensions) {
+                if (formatExtensions != null && formatExtensions.contains(ext)) {
+                    return true;
                 }
             }
         }
+        return false;
+    }
 
-        // if exists and overwrite = false, exit
-        if (!overWrite && (!existingBitstreams.isEmpty())) {
-            if (!isQuiet) {
+    /**
+     * Apply a filter to a bitstream, or submit it to the concurrent filtering if it is started
+     *
+     * @param context      context
+     * @param item         item containing bitstream to process
+     * @param source       source bitstream to process
+     * @param formatFilter FormatFilter to perform filtering
+     * @return true if the bitstream was filtered or submitted, false if it was skipped
+     * @throws Exception if abnormal error
+     */
+    protected boolean applyFilter(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        if (isLedgerEnabled() && !isForce && hasCurrentDerivative(context, source, formatFilter)) {
+            if (isVerbose) {
                 logInfo("SKIPPED: bitstream " + source.getID()
-                                       + " (item: " + item.getHandle() + ") because '" + newName + "' already exists");
+                            + " (item: " + item.getHandle() + ") because its derivative is current");
             }
-
             return false;
         }
+        if (pipeline != null) {
+            return submitBitstream(context, item, source, formatFilter);
+        }
+        boolean filtered;
+        try {
+            filtered = processBitstream(context, item, source, formatFilter);
+        } catch (Exception e) {
+            recordUnsuccessfulQuietly(context, source, formatFilter);
+            throw e;
+        }
+        // only update item if bitstream not skipped
+        if (filtered) {
+            itemService.update(context, item); // Make sure new bitstream has a sequence number
+            return true;
+        }
+        return false;
+    }
 
-        if (isVerbose) {
-            logInfo("PROCESSING: bitstream " + source.getID()
-                                   + " (item: " + item.getHandle() + ")");
+    @Override
+    public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        //do pre-processing of this bitstream, and if it fails, skip this bitstream!
+        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+            recordUnsuccessful(context, source, formatFilter);
+            return false;
         }
 
-        logInfo("File: " + newName);
+        // get bitstream filename, calculate destination filename
+        String newName = formatFilter.getFilteredName(source.getName());
+
+        // check if destination bitstream exists
+        Map<Bitstream, Bundle> existingBitstreams = findExistingDerivatives(item, formatFilter, newName);
+
+        // if exists and overwrite = false, exit
+        if (isSkipped(context, item, source, formatFilter, newName, existingBitstreams)) {
+            return false;
+        }
 
         // start filtering of the bitstream, using try with resource to close all InputStreams properly
         try (
@@ -377,46 +492,20 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                     logInfo("SKIPPED: bitstream " + source.getID()
                             + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
                 }
+                recordUnsuccessful(context, source, formatFilter);
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
-
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+            storeDerivative(context, item, source, formatFilter, newName, destStream);
 
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
             logError(formatBitstreamDetails(item.getHandle(), source));
+            recordUnsuccessful(context, source, formatFilter);
         }
 
         // we are overwriting, so remove old bitstream
-        for (Bitstream existingBitstream : existingBitstreams) {
-            bundleService.removeBitstream(context, existingBundle, existingBitstream);
-        }
+        removeDerivatives(context, existingBitstreams);
 
         if (!isQuiet) {
             logInfo("FILTERED: bitstream " + source.getID()
@@ -426,6 +515,329 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Check whether a bitstream needs to be filtered, then submit it to the concurrent filtering. The derivative
+     * bitstream is stored later by {@link #storeFilterResult}.
+     *
+     * @param context      context
+     * @param item         item containing bitstream to process
+     * @param source       source bitstream to process
+     * @param formatFilter FormatFilter to perform filtering
+     * @return true if the bitstream was submitted, false if it was skipped
+     * @throws Exception if abnormal error
+     */
+    protected boolean submitBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
+        throws Exception {
+        if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+            recordUnsuccessful(context, source, formatFilter);
+            return false;
+        }
+
+        String newName = formatFilter.getFilteredName(source.getName());
+        if (isSkipped(context, item, source, formatFilter, newName,
+                      findExistingDerivatives(item, formatFilter, newName))) {
+            return false;
+        }
+
+        pipeline.submit(item, source, formatFilter, bitstreamService.retrieve(context, source));
+        return true;
+    }
+
+    /**
+     * Store the result of the concurrent filtering of a bitstream as its derivative bitstream, replacing the
+     * existing ones, or record that the filtering was unsuccessful when there is no result. Called by the committer
+     * thread of the filtering, with its own context.
+     *
+     * @param context      the context of the committer
+     * @param itemId       the UUID of the item containing the source bitstream
+     * @param sourceId     the UUID of the source bitstream
+     * @param formatFilter the filter which produced the result
+     * @param file         the file holding the result, null if the filtering was unsuccessful
+     * @return true if the result was stored, false if the item or the source bitstream was deleted
+     * @throws Exception if abnormal error
+     */
+    protected boolean storeFilterResult(Context context, UUID itemId, UUID sourceId, FormatFilter formatFilter,
+                                        Path file) throws Exception {
+        Item item = itemService.find(context, itemId);
+        Bitstream source = bitstreamService.find(context, sourceId);
+        if (item == null || source == null || source.isDeleted()) {
+            return false;
+        }
+        if (file == null) {
+            recordUnsuccessful(context, source, formatFilter);
+            return true;
+        }
+
+        String newName = formatFilter.getFilteredName(source.getName());
+        Map<Bitstream, Bundle> existingBitstreams = findExistingDerivatives(item, formatFilter, newName);
+        try (InputStream destStream = Files.newInputStream(file)) {
+            storeDerivative(context, item, source, formatFilter, newName, destStream);
+        }
+        removeDerivatives(context, existingBitstreams);
+        itemService.update(context, item); // Make sure new bitstream has a sequence number
+
+        if (!isQuiet) {
+            logInfo("FILTERED: bitstream " + source.getID()
+                        + " (item: " + item.getHandle() + ") and created '" + newName + "'");
+        }
+        return true;
+    }
+
+    /**
+     * Find the existing derivative bitstreams of a filter, by name, in the bundles of the filter
+     *
+     * @param item         item containing bitstreams
+     * @param formatFilter formatFilter
+     * @param newName      the name of the derivative bitstream
+     * @return the derivative bitstreams, with their bundle
+     * @throws SQLException If something goes wrong in the database
+     */
+    private Map<Bitstream, Bundle> findExistingDerivatives(Item item, FormatFilter formatFilter, String newName)
+        throws SQLException {
+        Map<Bitstream, Bundle> existingBitstreams = new LinkedHashMap<>();
+        for (Bundle bundle : itemService.getBundles(item, formatFilter.getBundleName())) {
+            for (Bitstream bitstream : bundle.getBitstreams()) {
+                if (bitstream.getName().trim().equals(newName.trim())) {
+                    existingBitstreams.put(bitstream, bundle);
+                }
+            }
+        }
+        return existingBitstreams;
+    }
+
+    /**
+     * Check whether a bitstream is skipped because its derivative bitstream exists and filtering is not forced
+     *
+     * @return true if the bitstream is skipped
+     * @throws SQLException If something goes wrong in the database
+     */
+    private boolean isSkipped(Context context, Item item, Bitstream source, FormatFilter formatFilter, String newName,
+                              Map<Bitstream, Bundle> existingBitstreams) throws SQLException {
+        if (!isForce && !existingBitstreams.isEmpty() && !isStale(context, source, formatFilter)) {
+            if (!isQuiet) {
+                logInfo("SKIPPED: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") because '" + newName + "' already exists");
+            }
+            return true;
+        }
+
+        if (isVerbose) {
+            logInfo("PROCESSING: bitstream " + source.getID()
+                                   + " (item: " + item.getHandle() + ")");
+        }
+
+        logInfo("File: " + newName);
+        return false;
+    }
+
+    /**
+     * Create the derivative bitstream of a source bitstream, in the bundle of the filter
+     *
+     * @param context      context
+     * @param item         item containing the source bitstream
+     * @param source       the source bitstream
+     * @param formatFilter the filter which produced the derivative
+     * @param newName      the name of the derivative bitstream
+     * @param destStream   the content of the derivative bitstream
+     * @throws Exception if abnormal error
+     */
+    private void storeDerivative(Context context, Item item, Bitstream source, FormatFilter formatFilter,
+                                 String newName, InputStream destStream) throws Exception {
+        List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
+
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+
+        recordDerivative(context, source, formatFilter, b);
+    }
+
+    private void removeDerivatives(Context context, Map<Bitstream, Bundle> existingBitstreams)
+        throws SQLException, AuthorizeException, IOException {
+        for (Map.Entry<Bitstream, Bundle> existingBitstream : existingBitstreams.entrySet()) {
+            bundleService.removeBitstream(context, existingBitstream.getValue(), existingBitstream.getKey());
+        }
+    }
+
+    /**
+     * @return true if the ledger of the derivative bitstreams is used to select the bitstreams to filter
+     */
+    protected boolean isLedgerEnabled() {
+        return configurationService.getBooleanProperty("filter.ledger.enabled", false);
+    }
+
+    /**
+     * Get the name of a filter in the ledger of the derivative bitstreams: its class name, followed by its plugin
+     * name for a SelfNamedPlugin, as in the configuration of the filters
+     *
+     * @param formatFilter the filter
+     * @return the name of the filter
+     */
+    protected String getFilterKey(FormatFilter formatFilter) {
+        String key = formatFilter.getClass().getName();
+        if (formatFilter instanceof SelfNamedPlugin selfNamedPlugin
+            && selfNamedPlugin.getPluginInstanceName() != null) {
+            key += FILTER_PLUGIN_SEPARATOR + selfNamedPlugin.getPluginInstanceName();
+        }
+        return key;
+    }
+
+    /**
+     * Find the archived items with an original bitstream lacking a current derivative of one of the filters, or
+     * with an original bitstream supported by one of the filters when filtering is forced
+     *
+     * @param context context
+     * @return the UUIDs of the items
+     * @throws SQLException If something goes wrong in the database
+     */
+    protected List<UUID> findItemsToFilter(Context context) throws SQLException {
+        Map<String, Set<String>> inputFormats = new LinkedHashMap<>();
+        for (FormatFilter formatFilter : filterClasses) {
+            Set<String> formats = new LinkedHashSet<>();
+            List<String> configuredFormats = getConfiguredFormats(formatFilter);
+            if (configuredFormats != null) {
+                formats.addAll(configuredFormats);
+            }
+            if (formatFilter instanceof SelfRegisterInputFormats srif) {
+                for (BitstreamFormat format : bitstreamFormatService.findAll(context)) {
+                    if (isSelfRegisteredFormat(srif, format)) {
+                        formats.add(format.getShortDescription());
+                    }
+                }
+            }
+            if (!formats.isEmpty()) {
+                inputFormats.computeIfAbsent(getFilterKey(formatFilter), key -> new LinkedHashSet<>())
+                            .addAll(formats);
+            }
+        }
+        MetadataField bundleNameField = metadataFieldService.findByElement(context, MetadataSchemaEnum.DC.getName(),
+                                                                           "title", null);
+        return mediaFilterDerivativeDAO.findItemsToFilter(context, bundleNameField, "ORIGINAL", inputFormats,
+                                                          isForce);
+    }
+
+    /**
+     * Check in the ledger whether a bitstream has a current outcome of a filter: a derivative which is not deleted,
+     * or an unsuccessful filtering, of the content with the current checksum of the bitstream
+     *
+     * @param context      context
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @return true if the outcome is current
+     * @throws SQLException If something goes wrong in the database
+     */
+    protected boolean hasCurrentDerivative(Context context, Bitstream source, FormatFilter formatFilter)
+        throws SQLException {
+        MediaFilterDerivative record =
+            mediaFilterDerivativeDAO.findBySourceAndFilter(context, source, getFilterKey(formatFilter));
+        if (record == null || !Objects.equals(record.getSourceChecksum(), source.getChecksum())) {
+            return false;
+        }
+        return record.getOutcome() == MediaFilterDerivative.Outcome.UNSUCCESSFUL
+            || record.getDerivative() != null && !record.getDerivative().isDeleted();
+    }
+
+    /**
+     * Check in the ledger whether the existing derivative of a bitstream was produced from another content of the
+     * bitstream. An existing derivative which is not recorded yet, e.g. produced before the ledger was enabled, is
+     * considered current; it is recorded when the bitstream is filtered again.
+     *
+     * @param context      context
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @return true if the derivative has to be produced again
+     * @throws SQLException If something goes wrong in the database
+     */
+    private boolean isStale(Context context, Bitstream source, FormatFilter formatFilter) throws SQLException {
+        if (!isLedgerEnabled()) {
+            return false;
+        }
+        MediaFilterDerivative record =
+            mediaFilterDerivativeDAO.findBySourceAndFilter(context, source, getFilterKey(formatFilter));
+        return record != null && !Objects.equals(record.getSourceChecksum(), source.getChecksum());
+    }
+
+    /**
+     * Record the derivative of a bitstream in the ledger, replacing the previous record of the filter
+     *
+     * @param context      context
+     * @param source       the source bitstream
+     * @param formatFilter the filter which produced the derivative
+     * @param derivative   the derivative bitstream
+     * @throws SQLException If something goes wrong in the database
+     */
+    protected void recordDerivative(Context context, Bitstream source, FormatFilter formatFilter,
+                                    Bitstream derivative) throws SQLException {
+        record(context, source, formatFilter, MediaFilterDerivative.Outcome.FILTERED, derivative);
+    }
+
+    /**
+     * Record in the ledger that the filtering of a bitstream was unsuccessful, replacing the previous record of the
+     * filter, so that the bitstream is not filtered again until its content changes
+     *
+     * @param context      context
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @throws SQLException If something goes wrong in the database
+     */
+    protected void recordUnsuccessful(Context context, Bitstream source, FormatFilter formatFilter)
+        throws SQLException {
+        record(context, source, formatFilter, MediaFilterDerivative.Outcome.UNSUCCESSFUL, null);
+    }
+
+    private void recordUnsuccessfulQuietly(Context context, Bitstream source, FormatFilter formatFilter) {
+        try {
+            recordUnsuccessful(context, source, formatFilter);
+        } catch (Exception e) {
+            logError("ERROR recording the unsuccessful filtering of bitstream " + source.getID() + ": "
+                         + ThrowableUtils.formatCauseChain(e));
+        }
+    }
+
+    private void record(Context context, Bitstream source, FormatFilter formatFilter,
+                        MediaFilterDerivative.Outcome outcome, Bitstream derivative) throws SQLException {
+        String filterKey = getFilterKey(formatFilter);
+        MediaFilterDerivative record = mediaFilterDerivativeDAO.findBySourceAndFilter(context, source, filterKey);
+        boolean created = record == null;
+        if (created) {
+            record = new MediaFilterDerivative();
+            record.setSource(source);
+            record.setFilter(filterKey);
+        }
+        record.setSourceChecksum(source.getChecksum());
+        record.setOutcome(outcome);
+        record.setDerivative(derivative);
+        record.setFiltered(Instant.now());
+        if (created) {
+            mediaFilterDerivativeDAO.create(context, record);
+        } else {
+            mediaFilterDerivativeDAO.save(context, record);
+        }
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -539,14 +951,14 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return sb.toString();
     }
 
-    private void logInfo(String message) {
+    protected void logInfo(String message) {
         if (handler != null) {
             handler.logInfo(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message) {
+    protected void logError(String message) {
         if (handler != null) {
             handler.logError(message);
         } else {
@@ -605,4 +1017,17 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * The walk of the items to filter, see {@link #runFilters}
+     */
+    @FunctionalInterface
+    protected interface FilterTask {
+        void run() throws Exception;
+    }
 }
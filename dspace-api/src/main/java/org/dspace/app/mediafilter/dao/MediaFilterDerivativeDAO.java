@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.app.mediafilter.MediaFilterDerivative;
+import org.dspace.content.Bitstream;
+import org.dspace.content.MetadataField;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the MediaFilterDerivative object.
+ * The implementation of this class is responsible for all database calls for the MediaFilterDerivative object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface MediaFilterDerivativeDAO extends GenericDAO<MediaFilterDerivative> {
+
+    /**
+     * Returns the record of the last filtering of a source bitstream by a filter.
+     *
+     * @param  context      DSpace context object
+     * @param  source       the source bitstream
+     * @param  filter       the name of the filter
+     * @return              the record, null if the bitstream was never filtered by this filter
+     * @throws SQLException if an SQL error occurs
+     */
+    MediaFilterDerivative findBySourceAndFilter(Context context, Bitstream source, String filter)
+        throws SQLException;
+
+    /**
+     * Returns the archived items with a bitstream to filter: a bitstream of the given bundle, in one of the input
+     * formats of a filter, with no current record of this filter, i.e. no record with the checksum of the
+     * bitstream and either an unsuccessful outcome or a derivative which is not deleted.
+     *
+     * @param  context         DSpace context object
+     * @param  bundleNameField the metadata field of the names of the bundles
+     * @param  bundleName      the name of the bundle of the source bitstreams
+     * @param  filterFormats   the short descriptions of the input formats, by name of filter
+     * @param  force           true to return the items with a bitstream to filter even if it has a current
+     *                         derivative
+     * @return                 the UUIDs of the items, in ascending order
+     * @throws SQLException    if an SQL error occurs
+     */
+    List<UUID> findItemsToFilter(Context context, MetadataField bundleNameField, String bundleName,
+                                 Map<String, Set<String>> filterFormats, boolean force) throws SQLException;
+}
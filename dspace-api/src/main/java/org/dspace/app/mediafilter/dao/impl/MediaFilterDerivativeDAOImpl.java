@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.mediafilter.dao.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.persistence.Query;
+import org.dspace.app.mediafilter.MediaFilterDerivative;
+import org.dspace.app.mediafilter.dao.MediaFilterDerivativeDAO;
+import org.dspace.content.Bitstream;
+import org.dspace.content.MetadataField;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Implementation of {@link MediaFilterDerivativeDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class MediaFilterDerivativeDAOImpl extends AbstractHibernateDAO<MediaFilterDerivative>
+    implements MediaFilterDerivativeDAO {
+
+    @Override
+    public MediaFilterDerivative findBySourceAndFilter(Context context, Bitstream source, String filter)
+        throws SQLException {
+        Query query = createQuery(context, "FROM MediaFilterDerivative WHERE source = :source AND filter = :filter");
+        query.setParameter("source", source);
+        query.setParameter("filter", filter);
+        return singleResult(query);
+    }
+
+    @Override
+    public List<UUID> findItemsToFilter(Context context, MetadataField bundleNameField, String bundleName,
+                                        Map<String, Set<String>> filterFormats, boolean force)
+        throws SQLException {
+        if (filterFormats.isEmpty()) {
+            return new ArrayList<>();
+        }
+        StringBuilder hqlQueryString = new StringBuilder(
+            "SELECT DISTINCT item.id FROM Item item JOIN item.bundles bundle JOIN bundle.metadata bundleName " +
+                "JOIN bundle.bitstreams bitstream " +
+                "WHERE item.inArchive = true AND bundleName.metadataField = :bundle_name_field " +
+                "AND STR(bundleName.value) = :bundle_name AND bitstream.deleted = false AND (");
+        for (int i = 0; i < filterFormats.size(); i++) {
+            if (i > 0) {
+                hqlQueryString.append(" OR ");
+            }
+            hqlQueryString.append("(bitstream.bitstreamFormat.shortDescription IN (:formats_").append(i).append(')');
+            if (!force) {
+                hqlQueryString.append(" AND NOT EXISTS (SELECT record.id FROM MediaFilterDerivative record ")
+                              .append("LEFT JOIN record.derivative derivative ")
+                              .append("WHERE record.source = bitstream AND record.filter = :filter_")
+                              .append(i)
+                              .append(" AND record.sourceChecksum = bitstream.checksum")
+                              .append(" AND (record.outcome = :unsuccessful OR derivative.deleted = false))");
+            }
+            hqlQueryString.append(')');
+        }
+        hqlQueryString.append(") ORDER BY item.id");
+
+        Query query = createQuery(context, hqlQueryString.toString());
+        query.setParameter("bundle_name_field", bundleNameField);
+        query.setParameter("bundle_name", bundleName);
+        if (!force) {
+            query.setParameter("unsuccessful", MediaFilterDerivative.Outcome.UNSUCCESSFUL);
+        }
+        int i = 0;
+        for (Map.Entry<String, Set<String>> filter : filterFormats.entrySet()) {
+            query.setParameter("formats_" + i, filter.getValue());
+            if (!force) {
+                query.setParameter("filter_" + i, filter.getKey());
+            }
+            i++;
+        }
+        return query.getResultList();
+    }
+}
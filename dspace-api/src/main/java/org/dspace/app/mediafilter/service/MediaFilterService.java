@@ -152,4 +152,12 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the number of threads running each filter. Above 0, the bitstreams are filtered concurrently and their
+     * derivative bitstreams are committed in batches by a separate thread.
+     *
+     * @param threads the number of threads of each filter, 0 to filter on the calling thread
+     */
+    public void setThreads(int threads);
 }
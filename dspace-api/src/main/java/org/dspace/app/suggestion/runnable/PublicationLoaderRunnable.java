@@ -13,6 +13,7 @@ import java.util.List;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.app.suggestion.SolrSuggestionProvider;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.DCDate;
@@ -166,6 +167,8 @@ public class PublicationLoaderRunnable
         discoverQuery.addFilterQueries("search.resourcetype:Item");
         discoverQuery.addFilterQueries("dspace.entity.type:Person");
         discoverQuery.setSortField("lastModified", DiscoverQuery.SORT_ORDER.asc);
+        // all the researchers may be scanned, page them with a cursor
+        discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START);
 
         if (!filterQuery.isEmpty()) {
             discoverQuery.addFilterQueries(filterQuery);
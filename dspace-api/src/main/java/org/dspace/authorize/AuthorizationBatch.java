@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.content.DSpaceObject;
+import org.dspace.eperson.EPerson;
+
+/**
+ * The lookups shared by the authorization checks of a batch, see
+ * {@link org.dspace.authorize.service.AuthorizeService#startBatch(org.dspace.core.Context)}: the groups of each
+ * checked user, and whether the user administers each checked object or parent object.
+ */
+public class AuthorizationBatch {
+
+    /**
+     * The UUIDs of the groups of each user, by UUID of the user, null for the anonymous user
+     */
+    private final Map<UUID, Set<UUID>> memberGroups = new HashMap<>();
+
+    /**
+     * Whether a user administers an object, by UUID of the user and of the object
+     */
+    private final Map<Pair<UUID, UUID>, Boolean> adminObjects = new HashMap<>();
+
+    Set<UUID> getMemberGroups(EPerson ePerson) {
+        return memberGroups.get(getID(ePerson));
+    }
+
+    void setMemberGroups(EPerson ePerson, Set<UUID> groups) {
+        memberGroups.put(getID(ePerson), groups);
+    }
+
+    Boolean isAdmin(EPerson ePerson, DSpaceObject dso) {
+        return adminObjects.get(Pair.of(getID(ePerson), dso.getID()));
+    }
+
+    void setAdmin(EPerson ePerson, DSpaceObject dso, boolean admin) {
+        adminObjects.put(Pair.of(getID(ePerson), dso.getID()), admin);
+    }
+
+    private static UUID getID(EPerson ePerson) {
+        return ePerson != null ? ePerson.getID() : null;
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.GroupMembershipSnapshot;
+import org.dspace.eperson.GroupMembershipSnapshotProvider;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer evicting the decisions of the {@link AuthorizationDecisionCache} affected by the committed changes, and
+ * discarding the {@link GroupMembershipSnapshot} on the group changes.
+ * <p>
+ * Changes to items, bundles, bitstreams and epersons (including the changes of their policies, which fire a MODIFY
+ * event) evict the decisions depending on the subject and object of the event, as do the items added to or removed
+ * from a collection. Changes to groups, and the other changes of collections, communities and the site, may affect
+ * the decisions of any object (e.g. through group membership or ADMIN inheritance), so they clear the whole cache.
+ */
+public class AuthorizationCacheConsumer implements Consumer {
+
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
+    private GroupMembershipSnapshotProvider groupMembershipSnapshotProvider;
+
+    // When true the group membership snapshot is discarded
+    private boolean groupsChanged = false;
+
+    // When true all the decisions are evicted
+    private boolean clearAll = false;
+
+    // The objects whose decisions are evicted
+    private final Set<UUID> toEvict = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        authorizationDecisionCache = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
+            AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+        groupMembershipSnapshotProvider = DSpaceServicesFactory.getInstance().getServiceManager().getServiceByName(
+            GroupMembershipSnapshotProvider.class.getName(), GroupMembershipSnapshotProvider.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (event.getSubjectType() == Constants.GROUP) {
+            groupsChanged = true;
+        }
+        if (authorizationDecisionCache == null || !authorizationDecisionCache.isEnabled()) {
+            return;
+        }
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+            case Constants.BUNDLE:
+            case Constants.BITSTREAM:
+            case Constants.EPERSON:
+                toEvict.add(event.getSubjectID());
+                toEvict.add(event.getObjectID());
+                break;
+            case Constants.COLLECTION:
+                if (event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE) {
+                    // Mapping or moving an item only affects the item (and its bitstreams)
+                    toEvict.add(event.getObjectID());
+                    break;
+                }
+                // fall through
+            case Constants.COMMUNITY:
+                if (event.getEventType() == Event.MODIFY_METADATA || event.getEventType() == Event.CREATE) {
+                    toEvict.add(event.getSubjectID());
+                } else {
+                    clearAll = true;
+                }
+                break;
+            case Constants.GROUP:
+            case Constants.SITE:
+                clearAll = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (groupsChanged && groupMembershipSnapshotProvider != null) {
+            groupMembershipSnapshotProvider.invalidate();
+        }
+        groupsChanged = false;
+        if (clearAll) {
+            authorizationDecisionCache.evictAll();
+        } else {
+            toEvict.forEach(authorizationDecisionCache::evict);
+        }
+        clearAll = false;
+        toEvict.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+}
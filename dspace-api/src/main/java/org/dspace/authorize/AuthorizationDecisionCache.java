@@ -0,0 +1,261 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Node-wide cache of the authorization decisions taken by {@link AuthorizeServiceImpl}, shared by all the contexts
+ * (and so by all the requests) of this JVM. It complements the per-context cache of read-only contexts, so that e.g.
+ * the anonymous READ checks of browse and download requests do not hit the database on every request.
+ * <p>
+ * Decisions are keyed by object, action, eperson (or anonymous), the special groups of the current user and the use
+ * of ADMIN inheritance. Only the decisions on items, bitstreams, collections and communities are cached: the policy
+ * changes of bundles and of the site do not fire any event.
+ * <p>
+ * Entries are bounded in size and time by the "authorization.decisions" cache of config/ehcache.xml, and evicted by
+ * the {@link AuthorizationCacheConsumer} on the events of the objects they depend on. Instead of looking up the
+ * entries of an object, an eviction increments the stamp of the object (the stamps are striped by UUID) and an entry
+ * is only valid while the stamps it was created with are unchanged. As the stamps are read before the decision is
+ * computed, a decision based on data changed in the meantime is never served. Changes made by other processes (e.g.
+ * command line tools) are only seen once the entries expire.
+ * <p>
+ * The cache is disabled unless core.authorization.cache.enabled is true.
+ */
+public class AuthorizationDecisionCache {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationDecisionCache.class);
+
+    static final String CACHE_NAME = "authorization.decisions";
+
+    private static final int STRIPES = 4096;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("core.authorization.cache.enabled", false);
+    }
+
+    /**
+     * Look up the decision for the given check. Contexts with uncommitted events do not use the shared cache, as the
+     * decision may depend on their own uncommitted changes.
+     *
+     * @param context        the DSpace context
+     * @param dso            the object of the check
+     * @param action         the action of the check
+     * @param eperson        the eperson of the check, null for anonymous
+     * @param useInheritance whether ADMIN permissions on the parent objects are used
+     * @return               the pending decision, holding the cached result if any, or null if the check cannot be
+     *                       cached
+     * @throws SQLException  if database error
+     */
+    public Decision lookup(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance)
+        throws SQLException {
+        if (!(dso instanceof Item || dso instanceof Bitstream || dso instanceof Collection
+            || dso instanceof Community) || context.hasEvents() || !isEnabled()) {
+            return null;
+        }
+        // The special groups of the context only apply to its own user
+        Set<UUID> specialGroups = Objects.equals(eperson, context.getCurrentUser())
+            ? Set.copyOf(context.getSpecialGroupUuids()) : Set.of();
+        Key key = new Key(dso.getID(), action, eperson == null ? null : eperson.getID(), specialGroups,
+                          useInheritance);
+
+        Cache.ValueWrapper cached = getCache().get(key);
+        if (cached != null && cached.get() instanceof Entry entry && isValid(entry)) {
+            hits.increment();
+            return new Decision(key, entry.result());
+        }
+        misses.increment();
+
+        Set<UUID> dependencies = new LinkedHashSet<>();
+        dependencies.add(dso.getID());
+        if (eperson != null) {
+            dependencies.add(eperson.getID());
+        }
+        if (dso instanceof Bitstream bitstream) {
+            // The policies applied to a bitstream depend on the state of its items
+            for (Bundle bundle : bitstream.getBundles()) {
+                dependencies.add(bundle.getID());
+                for (Item item : bundle.getItems()) {
+                    dependencies.add(item.getID());
+                }
+            }
+        }
+        int[] slots = new int[dependencies.size()];
+        long[] slotStamps = new long[slots.length];
+        int i = 0;
+        for (UUID dependency : dependencies) {
+            slots[i] = slot(dependency);
+            slotStamps[i] = stamps.get(slots[i]);
+            i++;
+        }
+        return new Decision(key, new Entry(null, generation.get(), slots, slotStamps));
+    }
+
+    /**
+     * Cache the result of a decision looked up with {@link #lookup}, unless it was cached already or marked as not
+     * cacheable.
+     *
+     * @param decision the decision
+     * @param result   its result
+     */
+    public void store(Decision decision, boolean result) {
+        if (decision == null || decision.getResult() != null || !decision.cacheable) {
+            return;
+        }
+        Entry pending = decision.entry;
+        Entry entry = new Entry(result, pending.generation(), pending.slots(), pending.stamps());
+        // Skip the entries already evicted while the decision was computed
+        if (isValid(entry)) {
+            getCache().put(decision.key, entry);
+        }
+    }
+
+    /**
+     * Invalidate the decisions depending on the given object.
+     *
+     * @param id the UUID of the object (or eperson)
+     */
+    public void evict(UUID id) {
+        if (id != null) {
+            stamps.incrementAndGet(slot(id));
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Invalidate all the decisions.
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        evictions.increment();
+        getCache().clear();
+        if (log.isDebugEnabled()) {
+            log.debug("Authorization decision cache cleared ({} hits, {} misses, {} evictions)", getHits(),
+                      getMisses(), getEvictions());
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private boolean isValid(Entry entry) {
+        if (entry.generation() != generation.get()) {
+            return false;
+        }
+        for (int i = 0; i < entry.slots().length; i++) {
+            if (stamps.get(entry.slots()[i]) != entry.stamps()[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slot(UUID id) {
+        return (id.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private Cache getCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+    }
+
+    /**
+     * A decision looked up in the cache: either its cached result, or the state of the cache to store its result
+     * with once computed.
+     */
+    public static class Decision {
+
+        private final Key key;
+
+        private final Entry entry;
+
+        private final Boolean result;
+
+        private boolean cacheable = true;
+
+        private Decision(Key key, Boolean result) {
+            this.key = key;
+            this.entry = null;
+            this.result = result;
+        }
+
+        private Decision(Key key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.result = null;
+        }
+
+        /**
+         * @return the cached result, null if the decision was not cached
+         */
+        public Boolean getResult() {
+            return result;
+        }
+
+        /**
+         * Prevent the result from being cached, e.g. when it depends on the current time.
+         */
+        public void setNotCacheable() {
+            cacheable = false;
+        }
+    }
+
+    record Key(UUID dso, int action, UUID eperson, Set<UUID> specialGroups, boolean useInheritance)
+        implements Serializable {
+    }
+
+    record Entry(Boolean result, long generation, int[] slots, long[] stamps) implements Serializable {
+    }
+}
@@ -15,13 +15,18 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.service.AuthorizeService;
@@ -89,6 +94,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     private SearchService searchService;
     @Autowired(required = true)
     private ConfigurationService configurationService;
+    @Autowired(required = true)
+    private AuthorizationDecisionCache authorizationDecisionCache;
 
 
     protected AuthorizeServiceImpl() {
@@ -222,6 +229,61 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         return isAuthorized;
     }
 
+    @Override
+    public List<Boolean> authorizeActionBoolean(Context c, EPerson e, List<? extends DSpaceObject> objects, int a,
+                                                boolean useInheritance) throws SQLException {
+        // fetch at once the policies needed by the objects which were not checked yet in this context
+        if (!c.ignoreAuthorization() && (e == null || !isAdmin(c, e))) {
+            List<DSpaceObject> toFetch = new ArrayList<>();
+            for (DSpaceObject o : objects) {
+                if (o != null && c.getCachedAuthorizationResult(o, a, e) == null) {
+                    toFetch.add(o);
+                }
+            }
+            prefetchPolicies(c, toFetch, a);
+        }
+
+        List<Boolean> results = new ArrayList<>(objects.size());
+        for (DSpaceObject o : objects) {
+            results.add(authorize(c, o, a, e, useInheritance));
+        }
+        return results;
+    }
+
+    @Override
+    public void prefetchPolicies(Context c, java.util.Collection<? extends DSpaceObject> objects, int... actions)
+        throws SQLException {
+        if (c.ignoreAuthorization() || c.isReadOnly()) {
+            return;
+        }
+
+        // only read the policies which were not prefetched yet
+        Map<Pair<UUID, Integer>, List<ResourcePolicy>> policies = new HashMap<>();
+        Map<UUID, DSpaceObject> toFetch = new HashMap<>();
+        for (DSpaceObject o : objects) {
+            for (int action : actions) {
+                if (o != null && c.getCachedPolicies(o, action) == null) {
+                    policies.put(Pair.of(o.getID(), action), new ArrayList<>());
+                    toFetch.put(o.getID(), o);
+                }
+            }
+        }
+        if (toFetch.isEmpty()) {
+            return;
+        }
+
+        List<Integer> actionIds = Arrays.stream(actions).boxed().collect(Collectors.toList());
+        for (ResourcePolicy rp : resourcePolicyService.find(c, new ArrayList<>(toFetch.values()), actionIds)) {
+            List<ResourcePolicy> objectPolicies = policies.get(Pair.of(rp.getdSpaceObject().getID(), rp.getAction()));
+            if (objectPolicies != null) {
+                objectPolicies.add(rp);
+            }
+        }
+        for (Map.Entry<Pair<UUID, Integer>, List<ResourcePolicy>> entry : policies.entrySet()) {
+            c.cachePolicies(toFetch.get(entry.getKey().getLeft()), entry.getKey().getRight(), entry.getValue());
+        }
+    }
+
     /**
      * Check to see if the given user can perform the given action on the given
      * object. Always returns true if the ignore authorization flat is set in
@@ -257,6 +319,14 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        // If the decision was taken before by any context of this node
+        AuthorizationDecisionCache.Decision decision =
+            authorizationDecisionCache.lookup(c, o, action, e, useInheritance);
+        if (decision != null && decision.getResult() != null) {
+            c.cacheAuthorizedAction(o, action, e, decision.getResult(), null);
+            return decision.getResult();
+        }
+
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -264,6 +334,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
             // perform immediately isAdmin check as this is cheap
             if (isAdmin(c, e)) {
+                authorizationDecisionCache.store(decision, true);
                 return true;
             }
         }
@@ -296,7 +367,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             }
         }
 
-        for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
+        for (ResourcePolicy rp : getPoliciesForAuthorization(c, o, action)) {
 
             if (ignoreCustomPolicies
                 && ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType())) {
@@ -308,18 +379,25 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                 continue;
             }
 
+            // the decision changes over time, do not share it
+            if (decision != null && (rp.getStartDate() != null || rp.getEndDate() != null)) {
+                decision.setNotCacheable();
+            }
+
             // check policies for date validity
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
                     c.cacheAuthorizedAction(o, action, e, true, rp);
+                    authorizationDecisionCache.store(decision, true);
                     return true; // match
                 }
 
                 if ((rp.getGroup() != null)
-                    && groupService.isMember(c, e, rp.getGroup())) {
+                    && isMember(c, e, rp.getGroup())) {
                     // group was set, and eperson is a member
                     // of that group
                     c.cacheAuthorizedAction(o, action, e, true, rp);
+                    authorizationDecisionCache.store(decision, true);
                     return true;
                 }
             }
@@ -338,11 +416,13 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
             if (isAdmin(c, e, adminObject)) {
                 c.cacheAuthorizedAction(o, action, e, true, null);
+                authorizationDecisionCache.store(decision, true);
                 return true;
             }
         }
         // default authorization is denial
         c.cacheAuthorizedAction(o, action, e, false, null);
+        authorizationDecisionCache.store(decision, false);
         return false;
     }
 
@@ -382,6 +462,22 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return false;
         }
 
+        AuthorizationBatch batch = c.getAuthorizationBatch();
+        if (batch == null) {
+            return isObjectAdmin(c, e, o);
+        }
+        Boolean batchResult = batch.isAdmin(e, o);
+        if (batchResult == null) {
+            batchResult = isObjectAdmin(c, e, o);
+            batch.setAdmin(e, o, batchResult);
+        }
+        return batchResult;
+    }
+
+    /**
+     * Check whether a user, who is not a site administrator, administers an object or any of its parents
+     */
+    protected boolean isObjectAdmin(Context c, EPerson e, DSpaceObject o) throws SQLException {
         Boolean cachedResult = c.getCachedAuthorizationResult(o, Constants.ADMIN, e);
         if (cachedResult != null) {
             return cachedResult;
@@ -390,7 +486,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         //
         // First, check all Resource Policies directly on this object
         //
-        List<ResourcePolicy> policies = getPoliciesActionFilter(c, o, Constants.ADMIN);
+        List<ResourcePolicy> policies = getPoliciesForAuthorization(c, o, Constants.ADMIN);
 
         for (ResourcePolicy rp : policies) {
             // check policies for date validity
@@ -401,7 +497,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                 }
 
                 if ((rp.getGroup() != null)
-                    && groupService.isMember(c, e, rp.getGroup())) {
+                    && isMember(c, e, rp.getGroup())) {
                     // group was set, and eperson is a member
                     // of that group
                     c.cacheAuthorizedAction(o, Constants.ADMIN, e, true, rp);
@@ -457,10 +553,40 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         if (e == null) {
             return false; // anonymous users can't be admins....
         } else {
-            return groupService.isMember(c, e, c.getAdminGroup());
+            return isMember(c, e, c.getAdminGroup());
         }
     }
 
+    /**
+     * Check whether a user is a member of a group, using the groups of the user read once for the current batch of
+     * authorization checks, if any
+     */
+    protected boolean isMember(Context c, EPerson e, Group group) throws SQLException {
+        AuthorizationBatch batch = c.getAuthorizationBatch();
+        // the groups of a user checked by an anonymous context would wrongly include the special groups
+        if (batch == null || group == null || (e != null && c.getCurrentUser() == null)) {
+            return groupService.isMember(c, e, group);
+        }
+        Set<UUID> groups = batch.getMemberGroups(e);
+        if (groups == null) {
+            groups = groupService.allMemberGroupsSet(c, e).stream()
+                                 .map(Group::getID)
+                                 .collect(Collectors.toSet());
+            batch.setMemberGroups(e, groups);
+        }
+        return groups.contains(group.getID());
+    }
+
+    @Override
+    public void startBatch(Context c) {
+        c.setAuthorizationBatch(new AuthorizationBatch());
+    }
+
+    @Override
+    public void endBatch(Context c) {
+        c.setAuthorizationBatch(null);
+    }
+
     ///////////////////////////////////////////////
     // policy manipulation methods
     ///////////////////////////////////////////////
@@ -513,6 +639,16 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         return resourcePolicyService.find(c, o, actionID);
     }
 
+    /**
+     * Same as {@link #getPoliciesActionFilter(Context, DSpaceObject, int)}, but answered by the policies prefetched
+     * in the context if any. Only meant for the authorization checks, the policies are shared between them.
+     */
+    private List<ResourcePolicy> getPoliciesForAuthorization(Context c, DSpaceObject o, int actionID)
+        throws SQLException {
+        List<ResourcePolicy> policies = c.getCachedPolicies(o, actionID);
+        return policies != null ? policies : getPoliciesActionFilter(c, o, actionID);
+    }
+
     @Override
     public void inheritPolicies(Context c, DSpaceObject src, DSpaceObject dest)
         throws SQLException, AuthorizeException {
@@ -39,6 +39,19 @@ public interface ResourcePolicyDAO extends GenericDAO<ResourcePolicy> {
 
     public List<ResourcePolicy> findByDSoAndAction(Context context, DSpaceObject dso, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of several DSpaceObjects for some actions, with as few queries as possible. The eperson and
+     * group of the policies are fetched as well.
+     *
+     * @param context   DSpace context
+     * @param dsos      the DSpaceObjects
+     * @param actionIds the actions
+     * @return the policies of all the DSpaceObjects for the actions
+     * @throws SQLException if a database error occurs
+     */
+    public List<ResourcePolicy> findByDSosAndActions(Context context, List<? extends DSpaceObject> dsos,
+                                                     List<Integer> actionIds) throws SQLException;
+
     public void deleteByDsoAndTypeAndAction(Context context, DSpaceObject dSpaceObject, String type, int action)
         throws SQLException;
 
@@ -8,6 +8,7 @@
 package org.dspace.authorize.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,6 +22,7 @@ import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.ResourcePolicy_;
 import org.dspace.authorize.dao.ResourcePolicyDAO;
@@ -106,6 +108,21 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return list(context, criteriaQuery, false, ResourcePolicy.class, -1, -1);
     }
 
+    @Override
+    public List<ResourcePolicy> findByDSosAndActions(Context context, List<? extends DSpaceObject> dsos,
+                                                     List<Integer> actionIds) throws SQLException {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        for (List<? extends DSpaceObject> partition : ListUtils.partition(new ArrayList<>(dsos), 1000)) {
+            Query query = createQuery(context, "SELECT rp FROM ResourcePolicy rp " +
+                "LEFT JOIN FETCH rp.eperson LEFT JOIN FETCH rp.epersonGroup " +
+                "WHERE rp.dSpaceObject IN (:dsos) AND rp.actionId IN (:actionIds)");
+            query.setParameter("dsos", partition);
+            query.setParameter("actionIds", actionIds);
+            policies.addAll(query.getResultList());
+        }
+        return policies;
+    }
+
     @Override
     public List<ResourcePolicy> findByDSoAndActionAndType(Context context, DSpaceObject dso, int actionId, String type)
         throws SQLException {
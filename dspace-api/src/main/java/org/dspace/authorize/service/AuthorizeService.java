@@ -151,6 +151,60 @@ public interface AuthorizeService {
     public boolean authorizeActionBoolean(Context c, EPerson e, DSpaceObject o, int a, boolean useInheritance)
         throws SQLException;
 
+    /**
+     * Same as {@link #authorizeActionBoolean(Context, EPerson, DSpaceObject, int, boolean)} for several objects at
+     * once: the policies of all the objects for the action are read with a single query (see
+     * {@link #prefetchPolicies(Context, java.util.Collection, int...)}), and the checks which do not depend on the
+     * object (e.g. whether the user is a site administrator) are only done once.
+     *
+     * @param c              DSpace context
+     * @param e              EPerson to use in the check
+     * @param objects        the DSpaceObjects, null elements are never authorized
+     * @param a              action being attempted, from
+     *                       <code>org.dspace.core.Constants</code>
+     * @param useInheritance flag to say if ADMIN action on the current object or parent
+     *                       object can be used
+     * @return for each object in the same order, {@code true} if the requested user is
+     * authorized to perform the given action on it
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public List<Boolean> authorizeActionBoolean(Context c, EPerson e, List<? extends DSpaceObject> objects, int a,
+                                                boolean useInheritance)
+        throws SQLException;
+
+    /**
+     * Read with a single query the policies of several objects for some actions, and keep them in the context for
+     * the following authorization checks on these objects, instead of reading the policies of each object on its
+     * own. The prefetched policies are discarded when any policy is changed, when the context is committed or rolled
+     * back, and when it changes mode. Nothing is prefetched in READ_ONLY mode, which caches the authorization
+     * results instead.
+     *
+     * @param c       DSpace context
+     * @param objects the objects about to be checked, null elements are ignored
+     * @param actions the actions about to be checked, from <code>org.dspace.core.Constants</code>
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public void prefetchPolicies(Context c, java.util.Collection<? extends DSpaceObject> objects, int... actions)
+        throws SQLException;
+
+    /**
+     * Start a batch of authorization checks in the context, e.g. several features checked on several objects for a
+     * single request. Until {@link #endBatch(Context)}, the groups of each checked user are read once with a single
+     * query, instead of a query per checked group, and whether a user administers an object is only checked once
+     * per object, so the parents shared by the checked objects are not walked again. The batch doesn't see the
+     * changes made meanwhile to the group memberships and to the policies: it must only span read-only checks.
+     *
+     * @param c DSpace context
+     */
+    public void startBatch(Context c);
+
+    /**
+     * End the batch of authorization checks started by {@link #startBatch(Context)}, discarding its lookups
+     *
+     * @param c DSpace context
+     */
+    public void endBatch(Context c);
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
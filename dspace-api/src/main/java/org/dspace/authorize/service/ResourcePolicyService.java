@@ -61,6 +61,18 @@ public interface ResourcePolicyService {
 
     public List<ResourcePolicy> find(Context c, DSpaceObject o, int actionId) throws SQLException;
 
+    /**
+     * Find the policies of several DSpaceObjects for some actions at once
+     *
+     * @param c         DSpace context
+     * @param dsos      the DSpaceObjects
+     * @param actionIds the actions
+     * @return the policies of all the DSpaceObjects for the actions
+     * @throws SQLException if database error
+     */
+    public List<ResourcePolicy> find(Context c, List<? extends DSpaceObject> dsos, List<Integer> actionIds)
+        throws SQLException;
+
     /**
      * Retrieves all resource policies for a specific DSpace object filtered by action and policy type.
      * <p>
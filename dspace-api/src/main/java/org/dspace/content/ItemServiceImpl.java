@@ -36,6 +36,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.app.requestitem.RequestItem;
 import org.dspace.app.requestitem.service.RequestItemService;
 import org.dspace.app.util.AuthorizeUtil;
@@ -236,6 +237,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return null;
     }
 
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findByIDs(context, Item.class, ids);
+    }
+
     @Override
     public Item find(Context context, UUID id) throws SQLException {
         Item item = itemDAO.findByID(context, Item.class, id);
@@ -375,6 +381,17 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemIds(context);
+    }
+
+    @Override
+    public Map<UUID, Instant> findRegularItemLastModifiedDates(Context context, UUID after, int limit)
+        throws SQLException {
+        return itemDAO.findRegularItemLastModifiedDates(context, after, limit);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -2191,6 +2208,8 @@ prevent the generation of resource policy entry values with null dspace_object a
         discoverQuery.addDSpaceObjectFilter(IndexableWorkspaceItem.TYPE);
         discoverQuery.addDSpaceObjectFilter(IndexableWorkflowItem.TYPE);
         discoverQuery.addFilterQueries(query);
+        // the related items may be many, page them with a cursor
+        discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START);
 
         return new DiscoverResultItemIterator(c, discoverQuery, false);
     }
@@ -9,10 +9,13 @@ package org.dspace.content;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,7 +38,9 @@ import org.dspace.content.virtual.VirtualMetadataConfiguration;
 import org.dspace.content.virtual.VirtualMetadataPopulator;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.discovery.IndexFanoutService;
 import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.versioning.utils.RelationshipVersioningUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -43,6 +48,11 @@ public class RelationshipServiceImpl implements RelationshipService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of item ids per query of {@link #findItemIdsWithVirtualMetadataFrom}
+     */
+    private static final int RELATED_ITEMS_CHUNK_SIZE = 1000;
+
     @Autowired(required = true)
     protected RelationshipDAO relationshipDAO;
 
@@ -529,6 +539,22 @@ public class RelationshipServiceImpl implements RelationshipService {
         itemService.update(context, relatedItem);
     }
 
+    @Override
+    public Set<UUID> findItemIdsWithVirtualMetadataFrom(Context context, Collection<UUID> itemIds)
+        throws SQLException {
+        Set<String> virtualMetadataTypes = virtualMetadataPopulator.getMap().keySet();
+        Set<UUID> relatedItemIds = new HashSet<>();
+        if (virtualMetadataTypes.isEmpty()) {
+            return relatedItemIds;
+        }
+        List<UUID> ids = new ArrayList<>(itemIds);
+        for (int i = 0; i < ids.size(); i += RELATED_ITEMS_CHUNK_SIZE) {
+            relatedItemIds.addAll(relationshipDAO.findRelatedItemIds(
+                context, ids.subList(i, Math.min(ids.size(), i + RELATED_ITEMS_CHUNK_SIZE)), virtualMetadataTypes));
+        }
+        return relatedItemIds;
+    }
+
     private boolean isRelationshipValidToCreate(Context context, Relationship relationship) throws SQLException {
         RelationshipType relationshipType = relationship.getRelationshipType();
 
@@ -757,11 +783,17 @@ public class RelationshipServiceImpl implements RelationshipService {
             itemsToUpdate.add(relationship.getLeftItem());
             itemsToUpdate.add(relationship.getRightItem());
 
-            if (containsVirtualMetadata(relationship.getRelationshipType().getLeftwardType())) {
+            if (isIndexFanoutEnabled()) {
+                // the items related to the two items are indexed again in the background, once the two items
+                // are committed (see IndexFanoutService)
+                log.debug("Leaving the items related to the items of relationship {} to the index fan-out",
+                          relationship.getID());
+            } else if (containsVirtualMetadata(relationship.getRelationshipType().getLeftwardType())) {
                 findModifiedDiscoveryItemsForCurrentItem(context, relationship.getLeftItem(),
                                            itemsToUpdate, max, 0, maxDepth);
             }
-            if (containsVirtualMetadata(relationship.getRelationshipType().getRightwardType())) {
+            if (!isIndexFanoutEnabled()
+                && containsVirtualMetadata(relationship.getRelationshipType().getRightwardType())) {
                 findModifiedDiscoveryItemsForCurrentItem(context, relationship.getRightItem(),
                                             itemsToUpdate, max, 0, maxDepth);
             }
@@ -776,6 +808,12 @@ public class RelationshipServiceImpl implements RelationshipService {
         }
     }
 
+    private boolean isIndexFanoutEnabled() {
+        IndexFanoutService indexFanoutService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexFanoutService.class.getName(), IndexFanoutService.class);
+        return indexFanoutService != null && indexFanoutService.isEnabled();
+    }
+
     /**
      * Search for items whose metadata should be updated in discovery and adds them to itemsToUpdate
      * It starts from the given item, excludes items already in itemsToUpdate (they're already handled),
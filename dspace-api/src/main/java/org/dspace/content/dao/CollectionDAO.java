@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -65,4 +66,14 @@ public interface CollectionDAO extends DSpaceObjectLegacySupportDAO<Collection>
     int countRows(Context context) throws SQLException;
 
     List<Map.Entry<Collection, Long>> getCollectionsWithBitstreamSizesTotal(Context context) throws SQLException;
+
+    /**
+     * Find several collections by their UUIDs at once, with their metadata values.
+     * @param context          context
+     * @param clazz            the Collection class
+     * @param ids              the list of ids
+     * @return the collections found, in no particular order
+     * @throws SQLException
+     */
+    List<Collection> findByIDs(Context context, Class<Collection> clazz, List<UUID> ids) throws SQLException;
 }
@@ -9,6 +9,7 @@ package org.dspace.content.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.Community;
 import org.dspace.content.MetadataField;
@@ -41,4 +42,14 @@ public interface CommunityDAO extends DSpaceObjectLegacySupportDAO<Community> {
         throws SQLException;
 
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Find several communities by their UUIDs at once, with their metadata values.
+     * @param context          context
+     * @param clazz            the Community class
+     * @param ids              the list of ids
+     * @return the communities found, in no particular order
+     * @throws SQLException
+     */
+    List<Community> findByIDs(Context context, Class<Community> clazz, List<UUID> ids) throws SQLException;
 }
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.content.Collection;
@@ -48,6 +49,26 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all regular items (see {@link #findAllRegularItems(Context)}), ordered by UUID.
+     * @param context the DSpace context.
+     * @return ordered list of the UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
+    /**
+     * Find the last modified date of a page of regular items (see {@link #findAllRegularItems(Context)}), without
+     * loading the items themselves. The pages are ordered by UUID, the next page starting after the last UUID of the
+     * previous one.
+     * @param context the DSpace context.
+     * @param after   the UUID after which the page starts, null for the first page.
+     * @param limit   the maximum number of items of the page.
+     * @return the last modified date of the regular items of the page by UUID, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findRegularItemLastModifiedDates(Context context, UUID after, int limit) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -271,5 +292,13 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
 
-
+    /**
+     * Find several items by their UUIDs at once, with their metadata values.
+     * @param context          context
+     * @param clazz            the Item class
+     * @param ids              the list of ids
+     * @return the items found, in no particular order
+     * @throws SQLException
+     */
+    List<Item> findByIDs(Context context, Class<Item> clazz, List<UUID> ids) throws SQLException;
 }
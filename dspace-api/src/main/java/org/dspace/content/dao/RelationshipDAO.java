@@ -8,6 +8,7 @@
 package org.dspace.content.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -182,6 +183,21 @@ public interface RelationshipDAO extends GenericDAO<Relationship> {
     List<Relationship> findByTypeName(Context context, String typeName, Integer limit, Integer offset)
             throws SQLException;
 
+    /**
+     * Find the ids of the items related to the given items through a relationship whose type, on the side of the
+     * related item, is one of the given types (e.g. the types with virtual metadata). Only the relationships for
+     * which the related item is the relevant latest version are considered, and only the archived or withdrawn
+     * related items are returned. This runs a single query.
+     *
+     * @param context   context
+     * @param itemIds   the ids of the items
+     * @param typeNames the leftward or rightward types of the relationships, for the side of the related items
+     * @return the distinct ids of the related items, which may include some of the given items
+     * @throws SQLException if database error
+     */
+    List<UUID> findRelatedItemIds(Context context, Collection<UUID> itemIds, Collection<String> typeNames)
+        throws SQLException;
+
     /**
      * Count total number of relationships (rows in relationship table)
      *
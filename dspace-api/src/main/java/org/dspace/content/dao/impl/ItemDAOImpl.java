@@ -12,7 +12,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -87,6 +89,11 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
+        return new UUIDIterator<Item>(context, findAllRegularItemIds(context), Item.class, this);
+    }
+
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
         Query query = createQuery(
@@ -98,7 +105,32 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         );
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return uuids;
+    }
+
+    @Override
+    public Map<UUID, Instant> findRegularItemLastModifiedDates(Context context, UUID after, int limit)
+        throws SQLException {
+        // NOTE: Same items as findAllRegularItemIds
+        Query query = createQuery(
+            context,
+            "SELECT i.id, i.lastModified FROM Item as i " +
+            "LEFT JOIN Version as v ON i = v.item " +
+            "WHERE (i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL)) " +
+            (after != null ? "AND i.id > :after " : "") +
+            "ORDER BY i.id"
+        );
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<UUID, Instant> lastModifiedDates = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            lastModifiedDates.put((UUID) row[0], (Instant) row[1]);
+        }
+        return lastModifiedDates;
     }
 
     @Override
@@ -9,6 +9,7 @@ package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -363,6 +364,29 @@ public class RelationshipDAOImpl extends AbstractHibernateDAO<Relationship> impl
         return count(context, criteriaQuery, criteriaBuilder, relationshipRoot);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> findRelatedItemIds(Context context, Collection<UUID> itemIds, Collection<String> typeNames)
+        throws SQLException {
+        if (itemIds.isEmpty() || typeNames.isEmpty()) {
+            return List.of();
+        }
+        // the related item is on the right when the given item is on the left, and the other way around
+        Query query = createQuery(context,
+            "SELECT r.rightItem.id FROM Relationship r WHERE r.leftItem.id IN (:itemIds)"
+                + " AND r.relationshipType.rightwardType IN (:typeNames) AND r.latestVersionStatus <> :leftOnly"
+                + " AND (r.rightItem.inArchive = true OR r.rightItem.withdrawn = true)"
+                + " UNION"
+                + " SELECT r.leftItem.id FROM Relationship r WHERE r.rightItem.id IN (:itemIds)"
+                + " AND r.relationshipType.leftwardType IN (:typeNames) AND r.latestVersionStatus <> :rightOnly"
+                + " AND (r.leftItem.inArchive = true OR r.leftItem.withdrawn = true)");
+        query.setParameter("itemIds", itemIds);
+        query.setParameter("typeNames", typeNames);
+        query.setParameter("leftOnly", Relationship.LatestVersionStatus.LEFT_ONLY);
+        query.setParameter("rightOnly", Relationship.LatestVersionStatus.RIGHT_ONLY);
+        return query.getResultList();
+    }
+
     @Override
     public int countRows(Context context) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -63,6 +63,26 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
      */
     public T find(Context context, UUID uuid) throws SQLException;
 
+    /**
+     * Find several objects at once. The default implementation finds them one by one, the services able to
+     * load them with a single query override it.
+     *
+     * @param context - the context
+     * @param uuids     - uuids within table of typed dspace objects
+     * @return the dspace objects found, in no particular order. The uuids which do not exist are ignored.
+     * @throws SQLException only upon failure accessing the database.
+     */
+    public default List<T> findByIds(Context context, List<UUID> uuids) throws SQLException {
+        List<T> objects = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            T object = find(context, uuid);
+            if (object != null) {
+                objects.add(object);
+            }
+        }
+        return objects;
+    }
+
     /**
      * Get a proper name for the object. This may return <code>null</code>.
      * Name should be suitable for display in a user interface.
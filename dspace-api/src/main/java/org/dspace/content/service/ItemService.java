@@ -13,6 +13,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -140,6 +141,28 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all regular items (see {@link #findAllRegularItems(Context)}), ordered by UUID.
+     * This allows callers to split the regular items into contiguous UUID ranges, e.g. to process them in parallel.
+     * @param context the DSpace context.
+     * @return ordered list of the UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
+    /**
+     * Find the last modified date of a page of regular items (see {@link #findAllRegularItems(Context)}), without
+     * loading the items themselves. This allows callers to find the items changed since a given state (e.g. the
+     * search index) and only load those. The pages are ordered by UUID, the next page starting after the last UUID
+     * of the previous one.
+     * @param context the DSpace context.
+     * @param after   the UUID after which the page starts, null for the first page.
+     * @param limit   the maximum number of items of the page.
+     * @return the last modified date of the regular items of the page by UUID, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findRegularItemLastModifiedDates(Context context, UUID after, int limit) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
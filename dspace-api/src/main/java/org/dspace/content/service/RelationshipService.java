@@ -8,7 +8,9 @@
 package org.dspace.content.service;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -273,6 +275,20 @@ public interface RelationshipService extends DSpaceCRUDService<Relationship> {
      */
     public void updateItem(Context context, Item relatedItem) throws SQLException, AuthorizeException;
 
+    /**
+     * Find the items whose virtual metadata is derived from the given items, i.e. the items related to them through
+     * a relationship type with virtual metadata configured for the side of the related item. Only the archived or
+     * withdrawn items are returned. A single query is run for (chunks of) all the given items, the related items of
+     * the related items are not included.
+     *
+     * @param context           The relevant DSpace context
+     * @param itemIds           The ids of the items
+     * @return                  The ids of the items inheriting virtual metadata from the given items
+     * @throws SQLException     If something goes wrong
+     */
+    public Set<UUID> findItemIdsWithVirtualMetadataFrom(Context context, Collection<UUID> itemIds)
+        throws SQLException;
+
 
     /**
      * This method returns a list of Relationship objects for which the relationshipType property is equal to the given
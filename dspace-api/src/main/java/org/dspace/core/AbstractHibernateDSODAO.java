@@ -8,9 +8,12 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
@@ -51,6 +54,26 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find several DSOs by their UUIDs with one query per thousand of them, fetching their metadata values too.
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records.
+     * @param ids the UUIDs of the records.
+     * @return the records found, in no particular order.
+     * @throws SQLException
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> findByIDs(Context context, Class<T> clazz, List<UUID> ids) throws SQLException {
+        List<T> result = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += 1000) {
+            Query query = createQuery(context, "SELECT DISTINCT dso FROM " + clazz.getSimpleName() + " dso " +
+                "LEFT JOIN FETCH dso.metadata WHERE dso.id IN (:ids)");
+            query.setParameter("ids", ids.subList(from, Math.min(from + 1000, ids.size())));
+            result.addAll(query.getResultList());
+        }
+        return result;
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
@@ -11,10 +11,12 @@ import java.lang.ref.Cleaner;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -22,7 +24,9 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
+import org.dspace.authorize.AuthorizationBatch;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.exception.SQLRuntimeException;
@@ -146,6 +150,17 @@ public class Context implements AutoCloseable {
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * Resource policies prefetched for the authorization checks, by object UUID and action. Only used when the
+     * context is not in READ_ONLY mode, as the read-only cache keeps the authorization results instead
+     */
+    private final Map<Pair<UUID, Integer>, List<ResourcePolicy>> prefetchedPolicies = new HashMap<>();
+
+    /**
+     * Lookups shared by the authorization checks of the current batch, null outside of a batch
+     */
+    private AuthorizationBatch authorizationBatch;
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -894,6 +909,7 @@ public class Context implements AutoCloseable {
             //clear our read-only cache to prevent any inconsistencies
             readOnlyCache.clear();
         }
+        uncachePolicies();
 
         // When going to READ_ONLY, flush database changes to ensure that the current data is retrieved
         if (newMode == Mode.READ_ONLY && mode != Mode.READ_ONLY) {
@@ -1006,6 +1022,59 @@ public class Context implements AutoCloseable {
         }
     }
 
+    /**
+     * Get the resource policies of an object for an action, if they were prefetched in this context
+     *
+     * @param dspaceObject the object
+     * @param action       the action ID
+     * @return the policies, or null if they were not prefetched
+     */
+    public List<ResourcePolicy> getCachedPolicies(DSpaceObject dspaceObject, int action) {
+        if (isReadOnly()) {
+            return null;
+        }
+        return prefetchedPolicies.get(Pair.of(dspaceObject.getID(), action));
+    }
+
+    /**
+     * Keep the resource policies of an object for an action for the following authorization checks, until the
+     * policies are changed or the entities are detached from this context
+     *
+     * @param dspaceObject the object
+     * @param action       the action ID
+     * @param policies     all the policies of the object for the action
+     */
+    public void cachePolicies(DSpaceObject dspaceObject, int action, List<ResourcePolicy> policies) {
+        if (!isReadOnly()) {
+            prefetchedPolicies.put(Pair.of(dspaceObject.getID(), action), policies);
+        }
+    }
+
+    /**
+     * Forget all the prefetched resource policies
+     */
+    public void uncachePolicies() {
+        prefetchedPolicies.clear();
+    }
+
+    /**
+     * Get the lookups shared by the authorization checks of the current batch
+     *
+     * @return the current batch, or null outside of a batch
+     */
+    public AuthorizationBatch getAuthorizationBatch() {
+        return authorizationBatch;
+    }
+
+    /**
+     * Set the lookups shared by the authorization checks of the current batch
+     *
+     * @param authorizationBatch the batch, or null to end the current batch
+     */
+    public void setAuthorizationBatch(AuthorizationBatch authorizationBatch) {
+        this.authorizationBatch = authorizationBatch;
+    }
+
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedGroupMembership(group, eperson);
@@ -1040,6 +1109,8 @@ public class Context implements AutoCloseable {
      * @throws SQLException When reloading one of the entities fails.
      */
     private void reloadContextBoundEntities() throws SQLException {
+        // the prefetched policies are detached too
+        uncachePolicies();
         currentUser = reloadEntity(currentUser);
     }
 
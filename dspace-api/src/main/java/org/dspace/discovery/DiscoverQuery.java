@@ -37,6 +37,8 @@ public class DiscoverQuery {
     private final List<String> fieldPresentQueries;
     private boolean spellCheck;
     private boolean includeNotDiscoverableOrWithdrawn;
+    /** Build the item results from the fields stored in the index, without loading them from the database */
+    private boolean storedFieldsOnly;
 
     private int start = 0;
     private int maxResults = -1;
@@ -73,6 +75,11 @@ public class DiscoverQuery {
 
     private String discoveryConfigurationName;
 
+    /**
+     * The Solr cursor of the page to retrieve, null to page with the start offset
+     */
+    private String cursorMark;
+
     /**
      * The required authorizations user should have for the objects returned by the query.
      * The READ authorization (Constants.READ) is always required and does not need to be added here.
@@ -345,6 +352,21 @@ public class DiscoverQuery {
         this.spellCheck = spellCheck;
     }
 
+    public boolean isStoredFieldsOnly() {
+        return storedFieldsOnly;
+    }
+
+    /**
+     * Build the item results of this query from the fields stored in the index (see
+     * {@link org.dspace.discovery.indexobject.IndexableStoredItem}) instead of loading the items from the database.
+     * The other results are still loaded from the database.
+     *
+     * @param storedFieldsOnly true to skip loading the items from the database
+     */
+    public void setStoredFieldsOnly(boolean storedFieldsOnly) {
+        this.storedFieldsOnly = storedFieldsOnly;
+    }
+
     public void addYearRangeFacet(DiscoverySearchFilterFacet facet, FacetYearRange facetYearRange) {
         if (facetYearRange.isValid()) {
 
@@ -422,6 +444,28 @@ public class DiscoverQuery {
         this.discoveryConfigurationName = discoveryConfigurationName;
     }
 
+    /**
+     * Return the cursor of the page retrieved by this query
+     *
+     * @return the cursor, or null if the results are paged with the start offset
+     */
+    public String getCursorMark() {
+        return cursorMark;
+    }
+
+    /**
+     * Page the results of this query with a Solr cursor instead of the start offset, so that the cost of retrieving
+     * a page does not grow with its position. The first page is retrieved with
+     * {@link org.apache.solr.common.params.CursorMarkParams#CURSOR_MARK_START}, each next page with the
+     * {@link DiscoverResult#getNextCursorMark()} of the previous one. The start offset is ignored, and the search
+     * core unique key is added to the sort as tiebreaker.
+     *
+     * @param cursorMark the cursor of the page to retrieve, null to page with the start offset
+     */
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
+    }
+
     public boolean isIncludeNotDiscoverableOrWithdrawn() {
         return includeNotDiscoverableOrWithdrawn;
     }
@@ -43,6 +43,7 @@ public class DiscoverResult {
     private int searchTime;
     private Map<String, IndexableObjectHighlightResult> highlightedResults;
     private String spellCheckQuery;
+    private String nextCursorMark;
 
     public DiscoverResult() {
         indexableObjects = new ArrayList<IndexableObject>();
@@ -67,6 +68,19 @@ public class DiscoverResult {
         this.totalSearchResults = totalSearchResults;
     }
 
+    /**
+     * @return the cursor of the next page when the query was paged with a cursor (see
+     *         {@link DiscoverQuery#setCursorMark(String)}), equal to the cursor of the query once all the results have
+     *         been retrieved. Null if the query was paged with the start offset.
+     */
+    public String getNextCursorMark() {
+        return nextCursorMark;
+    }
+
+    public void setNextCursorMark(String nextCursorMark) {
+        this.nextCursorMark = nextCursorMark;
+    }
+
     public long getTotalEntries() {
         return totalEntries;
     }
@@ -0,0 +1,200 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.params.CommonParams;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Node-wide cache of the responses of the search core to the queries of {@link SolrServiceImpl}, so that e.g. the
+ * identical facet queries of the home and collection pages are not sent to Solr for every visitor.
+ * <p>
+ * The responses are keyed by the canonical form of the final Solr query, which includes the filters, facets, sort
+ * and scope of the {@link DiscoverQuery} as well as the authorization filter added for the current user by the
+ * search plugins. The Solr responses are cached rather than the {@link DiscoverResult}s, which hold the objects of
+ * a single context: the results are still built for each request, from the cached response.
+ * <p>
+ * Entries are bounded in size and time by the "discovery.results" cache of config/ehcache.xml, and all of them are
+ * invalidated on each commit of the search core made by this JVM. The documents made visible by the autocommit of
+ * the search core, or by other processes (e.g. command line tools), are only seen once the entries expire.
+ * <p>
+ * The cache is disabled unless discovery.search.cache.enabled is true, and only used by the discovery configurations
+ * with the cacheResults property set.
+ */
+public class DiscoverResultCache {
+
+    private static final Logger log = LogManager.getLogger(DiscoverResultCache.class);
+
+    static final String CACHE_NAME = "discovery.results";
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.search.cache.enabled", false);
+    }
+
+    /**
+     * @param query the query to run
+     * @return true if the cache is enabled and the discovery configuration of the query opted in
+     */
+    public boolean isCacheable(DiscoverQuery query) {
+        if (!isEnabled() || StringUtils.isBlank(query.getDiscoveryConfigurationName())) {
+            return false;
+        }
+        DiscoveryConfiguration discoveryConfiguration = SearchUtils.getConfigurationService()
+            .getDiscoveryConfiguration(query.getDiscoveryConfigurationName(), false);
+        return discoveryConfiguration != null && discoveryConfiguration.isCacheResults();
+    }
+
+    /**
+     * Look up the response to a query.
+     *
+     * @param solrQuery the final query sent to the search core
+     * @return the pending lookup, holding the cached response if any
+     */
+    public Lookup lookup(SolrQuery solrQuery) {
+        String key = canonicalKey(solrQuery);
+        Cache.ValueWrapper cached = getCache().get(key);
+        if (cached != null && cached.get() instanceof Entry entry && entry.generation() == generation.get()) {
+            hits.increment();
+            return new Lookup(key, entry.response(), entry.generation());
+        }
+        misses.increment();
+        // The generation is read before the query is sent, so that a response older than a commit is never stored
+        return new Lookup(key, null, generation.get());
+    }
+
+    /**
+     * Cache the response of a query looked up with {@link #lookup}, unless it was cached already or the search core
+     * was committed in the meantime.
+     *
+     * @param lookup   the lookup
+     * @param response the response of the search core
+     */
+    public void store(Lookup lookup, QueryResponse response) {
+        if (lookup == null || lookup.getResponse() != null || response == null
+            || lookup.generation != generation.get()) {
+            return;
+        }
+        getCache().put(lookup.key, new Entry(response, lookup.generation));
+    }
+
+    /**
+     * Invalidate all the responses, called on each commit of the search core.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        if (isEnabled()) {
+            getCache().clear();
+            if (log.isDebugEnabled()) {
+                log.debug("Discovery result cache cleared ({} hits, {} misses, {} invalidations)", getHits(),
+                          getMisses(), getInvalidations());
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Build the canonical form of a query: its parameters sorted by name, and the values of the parameters whose
+     * order does not matter (filter queries and returned fields) sorted too.
+     *
+     * @param solrQuery the query
+     * @return the key of the query
+     */
+    static String canonicalKey(SolrQuery solrQuery) {
+        StringBuilder key = new StringBuilder();
+        for (String name : new TreeSet<>(solrQuery.getParameterNames())) {
+            String[] values = solrQuery.getParams(name);
+            if (values == null) {
+                continue;
+            }
+            if (CommonParams.FQ.equals(name) || CommonParams.FL.equals(name)) {
+                values = values.clone();
+                Arrays.sort(values);
+            }
+            key.append(name);
+            for (String value : values) {
+                key.append('\u0000').append(value);
+            }
+            key.append('\n');
+        }
+        return key.toString();
+    }
+
+    private Cache getCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CACHE_NAME));
+    }
+
+    /**
+     * A query looked up in the cache: either its cached response, or the state of the cache to store its response
+     * with once received.
+     */
+    public static class Lookup {
+
+        private final String key;
+
+        private final QueryResponse response;
+
+        private final long generation;
+
+        private Lookup(String key, QueryResponse response, long generation) {
+            this.key = key;
+            this.response = response;
+            this.generation = generation;
+        }
+
+        /**
+         * @return the cached response, null if the query was not cached
+         */
+        public QueryResponse getResponse() {
+            return response;
+        }
+    }
+
+    record Entry(QueryResponse response, long generation) {
+    }
+}
@@ -18,6 +18,11 @@ import org.dspace.core.ReloadableEntity;
 
 /**
  * Implementation of {@link Iterator} to iterate over the discover search result.
+ * <p>
+ * The pages are retrieved with the start offset of the query, unless the caller sets the first cursor on the query
+ * ({@code discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START)}, see
+ * {@link DiscoverQuery#setCursorMark(String)}): then the cost of a page does not grow with its position, and the
+ * results are ordered by the sort of the query, then by the search core unique key.
  *
  * @param <T>  the type of the indexed object
  * @param <PK> the type of the id of the indexed object
@@ -94,7 +99,16 @@ public class DiscoverResultIterator<T extends ReloadableEntity, PK extends Seria
             return true;
         }
 
-        this.discoverQuery.setStart(iteratorCounter);
+        if (discoverQuery.getCursorMark() != null) {
+            String nextCursorMark = currentDiscoverResult.getNextCursorMark();
+            if (nextCursorMark == null || nextCursorMark.equals(discoverQuery.getCursorMark())) {
+                // the cursor did not move: all the results have been retrieved
+                return false;
+            }
+            discoverQuery.setCursorMark(nextCursorMark);
+        } else {
+            this.discoverQuery.setStart(iteratorCounter);
+        }
 
         if (uncacheEntitites) {
             uncacheEntitites();
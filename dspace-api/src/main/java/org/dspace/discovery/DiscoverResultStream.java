@@ -0,0 +1,250 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.io.SolrClientCache;
+import org.apache.solr.client.solrj.io.Tuple;
+import org.apache.solr.client.solrj.io.stream.SolrStream;
+import org.apache.solr.client.solrj.io.stream.StreamContext;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+
+/**
+ * Lazy iterator over all the documents matching a query of the search core, in the order of their unique id. Each
+ * document is returned as the values of the requested fields, always including {@link SearchUtils#RESOURCE_UNIQUE_ID}.
+ * <p>
+ * The documents are streamed by the /export handler of the search core, which reads the fields from their docValues
+ * and sends the whole match set in a single response, parsed as it is read: the memory used does not depend on the
+ * number of matches, and there is no paging overhead. The export handler requires all the requested fields to have
+ * docValues. When the search core is not reached over HTTP (e.g. the embedded core of the tests), or when
+ * discovery.search.export.enabled is false, the documents are read by pages of a Solr cursor instead.
+ * <p>
+ * The stream is closed once its last document is read, it must be closed by the callers that stop earlier.
+ */
+public class DiscoverResultStream implements Iterator<Map<String, Object>>, Closeable {
+
+    private static final Logger log = LogManager.getLogger(DiscoverResultStream.class);
+
+    static final String EXPORT_HANDLER = "/export";
+
+    private final SolrClient solrClient;
+
+    private final SolrQuery solrQuery;
+
+    private final SolrRequest.METHOD method;
+
+    private final boolean export;
+
+    private SolrStream solrStream;
+
+    private SolrClientCache solrClientCache;
+
+    private Iterator<SolrDocument> page;
+
+    private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+    private Map<String, Object> next;
+
+    private boolean done;
+
+    /**
+     * @param solrClient the client of the search core, null if it is not available
+     * @param solrQuery  the query, with its fields and its sort on the unique id, and the number of rows of the
+     *                   pages of the cursor
+     * @param method     the HTTP method of the requests of the cursor
+     * @param export     true to stream the documents from the /export handler, when the search core is reached over
+     *                   HTTP
+     */
+    public DiscoverResultStream(SolrClient solrClient, SolrQuery solrQuery, SolrRequest.METHOD method,
+                                boolean export) {
+        this.solrClient = solrClient;
+        this.solrQuery = solrQuery;
+        this.method = method;
+        this.export = export && solrClient instanceof HttpSolrClient;
+        // nothing to stream when the search core is not available
+        this.done = solrClient == null;
+    }
+
+    /**
+     * @param document a document of the stream
+     * @return the UUID of the object of the document, parsed from its unique id
+     */
+    public static UUID getResourceID(Map<String, Object> document) {
+        String uniqueId = (String) document.get(SearchUtils.RESOURCE_UNIQUE_ID);
+        return UUID.fromString(StringUtils.substringAfter(uniqueId, "-"));
+    }
+
+    /**
+     * @param document a document of the stream
+     * @return the type of the object of the document, parsed from its unique id
+     */
+    public static String getResourceType(Map<String, Object> document) {
+        return StringUtils.substringBefore((String) document.get(SearchUtils.RESOURCE_UNIQUE_ID), "-");
+    }
+
+    /**
+     * @return true if the documents are streamed by the /export handler rather than read with a cursor
+     */
+    public boolean isExport() {
+        return export;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = export ? readTuple() : readDocument();
+            } catch (IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException(e);
+            } catch (SolrServerException e) {
+                closeQuietly();
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            if (next == null) {
+                done = true;
+                closeQuietly();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map<String, Object> document = next;
+        next = null;
+        return document;
+    }
+
+    private Map<String, Object> readTuple() throws IOException {
+        if (solrStream == null) {
+            HttpSolrClient httpSolrClient = (HttpSolrClient) solrClient;
+            SolrQuery exportQuery = solrQuery.getCopy();
+            exportQuery.remove(CommonParams.ROWS);
+            exportQuery.set(CommonParams.QT, EXPORT_HANDLER);
+            // the connections of the stream are taken from the pool of the search core client
+            solrClientCache = new SolrClientCache(httpSolrClient.getHttpClient());
+            StreamContext streamContext = new StreamContext();
+            streamContext.setSolrClientCache(solrClientCache);
+            solrStream = new SolrStream(httpSolrClient.getBaseURL(), exportQuery);
+            solrStream.setStreamContext(streamContext);
+            solrStream.open();
+        }
+        Tuple tuple = solrStream.read();
+        if (tuple.EXCEPTION) {
+            throw new IOException(tuple.getException());
+        }
+        if (tuple.EOF) {
+            return null;
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        for (String field : solrQuery.getFields().split(",")) {
+            document.put(field, tuple.get(field));
+        }
+        return document;
+    }
+
+    private Map<String, Object> readDocument() throws IOException, SolrServerException {
+        if (page == null || !page.hasNext()) {
+            if (cursorMark == null) {
+                return null;
+            }
+            SolrQuery pageQuery = solrQuery.getCopy();
+            pageQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrClient.query(pageQuery, method);
+            page = response.getResults().iterator();
+            // the cursor is done when it does not move anymore
+            cursorMark = cursorMark.equals(response.getNextCursorMark()) ? null : response.getNextCursorMark();
+            if (!page.hasNext()) {
+                return null;
+            }
+        }
+        SolrDocument solrDocument = page.next();
+        Map<String, Object> document = new LinkedHashMap<>();
+        for (String field : solrQuery.getFields().split(",")) {
+            document.put(field, solrDocument.getFieldValue(field));
+        }
+        return document;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        next = null;
+        page = null;
+        try {
+            if (solrStream != null) {
+                solrStream.close();
+            }
+        } finally {
+            solrStream = null;
+            if (solrClientCache != null) {
+                solrClientCache.close();
+                solrClientCache = null;
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            log.warn("Unable to close the stream of the search core", e);
+        }
+    }
+
+    /**
+     * Lazy iterator over the UUIDs of the objects of a stream, see {@link #getResourceID(Map)}. Closing it closes
+     * the stream.
+     */
+    public static class ResourceIDs implements Iterator<UUID>, Closeable {
+
+        private final DiscoverResultStream stream;
+
+        public ResourceIDs(DiscoverResultStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return stream.hasNext();
+        }
+
+        @Override
+        public UUID next() {
+            return getResourceID(stream.next());
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
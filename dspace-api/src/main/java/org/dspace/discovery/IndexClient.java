@@ -7,6 +7,7 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.THREADS_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
@@ -69,6 +70,16 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        int threads = 1;
+        if (commandLine.hasOption(THREADS_OPTION)) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue(THREADS_OPTION));
+            } catch (NumberFormatException e) {
+                handler.handleException(String.format("%s is not a valid number of threads",
+                        commandLine.getOptionValue(THREADS_OPTION)));
+            }
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -103,7 +114,13 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (threads > 1) {
+                    handler.logInfo("Indexing items using " + threads + " threads");
+                }
+                final long buildStartTimeMillis = Instant.now().toEpochMilli();
+                indexer.createIndex(context, threads);
+                handler.logInfo("Index (re)built in "
+                        + (Instant.now().toEpochMilli() - buildStartTimeMillis) / 1000 + " seconds");
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
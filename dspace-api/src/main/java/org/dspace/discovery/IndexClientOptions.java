@@ -35,6 +35,7 @@ public enum IndexClientOptions {
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String THREADS_OPTION = "p";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -92,6 +93,9 @@ public enum IndexClientOptions {
         options.addOption("d", "delete", false,
                 "delete all records from existing index");
         options.addOption("b", "build", false, "(re)build index, wiping out current one if it exists");
+        options.addOption(THREADS_OPTION, "parallel", true,
+                          "number of threads used to index the items when (re)building the index with -b"
+                              + " (defaults to 1)");
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if up-to-date");
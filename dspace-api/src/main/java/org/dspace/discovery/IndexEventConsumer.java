@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bundle;
@@ -46,10 +47,21 @@ public class IndexEventConsumer implements Consumer {
     // unique search IDs to delete
     private Set<String> uniqueIdsToDelete = new HashSet<>();
 
+    // modified Items whose related Items may need indexing (virtual metadata)
+    private Set<UUID> fanoutItemIds = new HashSet<>();
+
     IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
+    IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                               .getServiceByName(IndexQueueService.class.getName(),
+                                                                                 IndexQueueService.class);
+
+    IndexFanoutService indexFanoutService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                 .getServiceByName(IndexFanoutService.class.getName(),
+                                                                                   IndexFanoutService.class);
+
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
     @Override
@@ -71,6 +83,7 @@ public class IndexEventConsumer implements Consumer {
             objectsToUpdate = new HashSet<>();
             uniqueIdsToDelete = new HashSet<>();
             createdItemsToUpdate = new HashSet<>();
+            fanoutItemIds = new HashSet<>();
         }
 
         int st = event.getSubjectType();
@@ -112,6 +125,12 @@ public class IndexEventConsumer implements Consumer {
             }
         }
 
+        // the discovery configurations of the Communities and Collections depend on their parents
+        if ((st == Constants.COMMUNITY || st == Constants.COLLECTION)
+            && (et == Event.ADD || et == Event.REMOVE || et == Event.DELETE)) {
+            SearchUtils.getConfigurationService().clearHierarchyCache();
+        }
+
         switch (et) {
             case Event.CREATE:
             case Event.MODIFY:
@@ -157,6 +176,12 @@ public class IndexEventConsumer implements Consumer {
                                               .getIndexFactoryByType(Constants.typeText[event.getSubjectType()]);
                         String detail = indexableObjectService.getType() + "-" + event.getSubjectID().toString();
                         uniqueIdsToDelete.add(detail);
+
+                        // the related items inheriting virtual metadata from a modified item are indexed again
+                        // in the background, once per transaction
+                        if (et != Event.CREATE && indexFanoutService != null && indexFanoutService.isEnabled()) {
+                            fanoutItemIds.add(subject.getID());
+                        }
                     }
 
                     objectsToUpdate.addAll(indexObjectServiceFactory.getIndexableObjects(ctx, subject));
@@ -216,10 +241,17 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (indexQueueService != null && indexQueueService.isEnabled()) {
+            enqueue(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
+        // Send the updated documents to the index in batches rather than one request per object
+        indexer.startBatch();
         try {
             for (String uid : uniqueIdsToDelete) {
                 try {
@@ -240,6 +272,11 @@ public class IndexEventConsumer implements Consumer {
                 indexObject(ctx, iu, true);
             }
         } finally {
+            try {
+                indexer.endBatch();
+            } catch (SearchServiceException e) {
+                log.error("Failed while sending the indexed objects to the index", e);
+            }
             if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
 
                 indexer.commit();
@@ -248,12 +285,48 @@ public class IndexEventConsumer implements Consumer {
                 objectsToUpdate.clear();
                 uniqueIdsToDelete.clear();
                 createdItemsToUpdate.clear();
+                fanoutItemIds.clear();
             }
 
             ctx.setMode(originalMode);
         }
     }
 
+    /**
+     * Add the objects to update and delete to the asynchronous index queue instead of updating the index. The queue
+     * records are part of the current transaction, so they are only persisted along with the changes which triggered
+     * them. The objects are indexed once committed, so the created items do not need a pre-db status. The deletions
+     * are queued first: when an object is both deleted and updated (e.g. a modified item), its update wins. The items
+     * related to the modified items are queued last, with a low priority (see {@link IndexFanoutService}).
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        try {
+            for (String uid : uniqueIdsToDelete) {
+                indexQueueService.enqueueDelete(ctx, uid);
+            }
+            Set<String> uniqueIdsToUpdate = new HashSet<>();
+            for (IndexableObject iu : objectsToUpdate) {
+                uniqueIdsToUpdate.add(iu.getUniqueIndexID());
+            }
+            for (IndexableObject iu : createdItemsToUpdate) {
+                uniqueIdsToUpdate.add(iu.getUniqueIndexID());
+            }
+            for (String uid : uniqueIdsToUpdate) {
+                if (uid != null) {
+                    indexQueueService.enqueueUpdate(ctx, uid);
+                }
+            }
+            if (!fanoutItemIds.isEmpty() && indexFanoutService != null && indexFanoutService.isEnabled()) {
+                indexFanoutService.schedule(ctx, fanoutItemIds, uniqueIdsToUpdate);
+            }
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+            fanoutItemIds.clear();
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
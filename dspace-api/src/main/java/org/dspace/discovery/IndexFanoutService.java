@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Context;
+
+/**
+ * Service scheduling the reindexing of the items whose virtual metadata is derived from changed items (e.g. the
+ * publications of a modified Person or OrgUnit). Rather than updating all the related items synchronously, the
+ * {@link IndexEventConsumer} collects the changed items of a transaction and hands them to this service, which
+ * computes the affected items with one query per level of relationships and adds them to the asynchronous index
+ * queue with a low priority (see {@link IndexQueueService}), once per transaction.
+ * <p>
+ * The fan-out is enabled by discovery.index.fanout.enabled, and requires the asynchronous index queue
+ * (discovery.index.async.enabled).
+ */
+public interface IndexFanoutService {
+
+    /**
+     * @return true if the related items are queued for a low priority update instead of being updated synchronously
+     */
+    boolean isEnabled();
+
+    /**
+     * Find the items whose virtual metadata is derived from the given items, directly or through other related items,
+     * up to discovery.index.fanout.maxdepth levels of relationships. The given items are not included.
+     *
+     * @param  context      DSpace context object
+     * @param  itemIds      the ids of the changed items
+     * @return              the ids of the affected items, at most discovery.index.fanout.max of them
+     * @throws SQLException if an SQL error occurs
+     */
+    Set<UUID> findAffectedItems(Context context, Collection<UUID> itemIds) throws SQLException;
+
+    /**
+     * Queue a low priority update of the items affected by the changes of the given items.
+     *
+     * @param  context         DSpace context object
+     * @param  itemIds         the ids of the changed items
+     * @param  queuedUniqueIds the unique index ids of the objects already queued in the transaction, not queued again
+     * @return                 the number of queued updates
+     * @throws SQLException    if an SQL error occurs
+     */
+    int schedule(Context context, Collection<UUID> itemIds, Collection<String> queuedUniqueIds) throws SQLException;
+
+    /**
+     * Count the low priority updates still to be processed.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of pending low priority records of the index queue
+     * @throws SQLException if an SQL error occurs
+     */
+    long countPending(Context context) throws SQLException;
+}
@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.service.RelationshipService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexFanoutService}.
+ * <p>
+ * The affected items are found level by level: each level is a single query on the relationship table for all the
+ * items of the previous level (see {@link RelationshipService#findItemIdsWithVirtualMetadataFrom}), up to
+ * discovery.index.fanout.maxdepth levels. At most discovery.index.fanout.max items are queued per transaction, the
+ * others are left for the next full reindex.
+ */
+public class IndexFanoutServiceImpl implements IndexFanoutService {
+
+    private static final Logger log = LogManager.getLogger(IndexFanoutServiceImpl.class);
+
+    @Autowired
+    private RelationshipService relationshipService;
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.fanout.enabled", false)
+            && indexQueueService.isEnabled();
+    }
+
+    @Override
+    public Set<UUID> findAffectedItems(Context context, Collection<UUID> itemIds) throws SQLException {
+        int maxDepth = configurationService.getIntProperty("discovery.index.fanout.maxdepth",
+            configurationService.getIntProperty("relationship.update.relateditems.maxdepth", 5));
+        int max = configurationService.getIntProperty("discovery.index.fanout.max", 100000);
+
+        Set<UUID> visited = new HashSet<>(itemIds);
+        Set<UUID> affected = new LinkedHashSet<>();
+        Set<UUID> level = new HashSet<>(itemIds);
+        for (int depth = 0; depth < maxDepth && !level.isEmpty(); depth++) {
+            Set<UUID> nextLevel = new HashSet<>();
+            for (UUID relatedItemId : relationshipService.findItemIdsWithVirtualMetadataFrom(context, level)) {
+                if (!visited.add(relatedItemId)) {
+                    continue;
+                }
+                if (affected.size() >= max) {
+                    log.warn("More than {} items are affected by the changes of {} items, the others are not "
+                                 + "indexed again", max, itemIds.size());
+                    return affected;
+                }
+                affected.add(relatedItemId);
+                nextLevel.add(relatedItemId);
+            }
+            level = nextLevel;
+        }
+        return affected;
+    }
+
+    @Override
+    public int schedule(Context context, Collection<UUID> itemIds, Collection<String> queuedUniqueIds)
+        throws SQLException {
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+        int queued = 0;
+        for (UUID itemId : findAffectedItems(context, itemIds)) {
+            String uniqueIndexId = IndexableItem.TYPE + "-" + itemId;
+            if (!queuedUniqueIds.contains(uniqueIndexId)) {
+                indexQueueService.enqueueUpdate(context, uniqueIndexId, IndexQueueEntry.PRIORITY_LOW);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            log.info("Queued the update of {} items related to {} changed items", queued, itemIds.size());
+        }
+        return queued;
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return indexQueueService.countPending(context, IndexQueueEntry.PRIORITY_LOW);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+
+/**
+ * Indexes one partition of the regular items (a contiguous range of item UUIDs) during a parallel (re)build of the
+ * discovery index. Each worker uses its own read-only {@link Context}, so that it can run in its own thread, and sends
+ * the documents it builds to the search core in batches using its own {@link SolrDocumentBuffer}.
+ * <p>
+ * The worker returns the number of items it indexed.
+ */
+public class IndexPartitionWorker implements Callable<Long> {
+
+    private static final Logger log = LogManager.getLogger(IndexPartitionWorker.class);
+
+    private final int partition;
+    private final int partitions;
+    private final List<UUID> itemIds;
+    private final ItemService itemService;
+    private final ItemIndexFactory itemIndexFactory;
+    private final SolrDocumentBuffer documentBuffer;
+    private final int progressInterval;
+
+    /**
+     * @param partition        the (1-based) number of the partition handled by this worker, used for logging
+     * @param partitions       the total number of partitions, used for logging
+     * @param itemIds          the UUIDs of the items to index
+     * @param itemService      the item service used to load the items
+     * @param itemIndexFactory the factory used to build the solr documents
+     * @param documentBuffer   the buffer used to send the documents to the search core
+     * @param progressInterval the number of items after which the progress of this worker is logged
+     */
+    public IndexPartitionWorker(int partition, int partitions, List<UUID> itemIds, ItemService itemService,
+                                ItemIndexFactory itemIndexFactory, SolrDocumentBuffer documentBuffer,
+                                int progressInterval) {
+        this.partition = partition;
+        this.partitions = partitions;
+        this.itemIds = itemIds;
+        this.itemService = itemService;
+        this.itemIndexFactory = itemIndexFactory;
+        this.documentBuffer = documentBuffer;
+        this.progressInterval = Math.max(1, progressInterval);
+    }
+
+    @Override
+    public Long call() throws SQLException, IOException {
+        final long startTimeMillis = Instant.now().toEpochMilli();
+        long processed = 0;
+        long indexed = 0;
+
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        try {
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(context, itemId);
+                if (item != null) {
+                    IndexableItem indexableItem = new IndexableItem(item);
+                    SolrInputDocument document = null;
+                    try {
+                        document = itemIndexFactory.buildDocument(context, indexableItem);
+                        itemIndexFactory.prepareDocument(context, indexableItem, document);
+                    } catch (IOException | SQLException | RuntimeException e) {
+                        document = null;
+                        log.error("Partition {}/{}: unable to build the solr document of item {}",
+                                  partition, partitions, itemId, e);
+                    }
+                    context.uncacheEntity(item);
+                    if (document != null) {
+                        documentBuffer.add(itemIndexFactory.getType(), document);
+                        indexed++;
+                    }
+                }
+                processed++;
+                if ((processed % 100) == 0) {
+                    context.uncacheEntities();
+                }
+                if ((processed % progressInterval) == 0) {
+                    logProgress(processed, indexed, startTimeMillis);
+                }
+            }
+            documentBuffer.flush();
+        } finally {
+            context.abort();
+        }
+
+        logProgress(processed, indexed, startTimeMillis);
+        return indexed;
+    }
+
+    private void logProgress(long processed, long indexed, long startTimeMillis) {
+        long elapsedMillis = Math.max(1, Instant.now().toEpochMilli() - startTimeMillis);
+        log.info("Partition {}/{}: processed {} of {} items, indexed {} ({} items/s)", partition, partitions,
+                 processed, itemIds.size(), indexed, String.format("%.1f", indexed * 1000.0 / elapsedMillis));
+    }
+}
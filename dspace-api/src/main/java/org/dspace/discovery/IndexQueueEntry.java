@@ -0,0 +1,187 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record of the asynchronous discovery index queue. Each record is a pending update or deletion
+ * of the document of an indexable object, identified by its unique index id (e.g. "Item-{uuid}"). The records are
+ * written in the same transaction as the changes which triggered them, claimed by a processing run for a limited
+ * time, and removed once the index has been updated.
+ *
+ * @see IndexQueueService
+ */
+@Entity
+@Table(name = "index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    /**
+     * The operation to perform on the document of the indexable object.
+     */
+    public enum Operation {
+        UPDATE,
+        DELETE
+    }
+
+    /**
+     * Priority of the records of the changed objects themselves.
+     */
+    public static final int PRIORITY_NORMAL = 0;
+
+    /**
+     * Priority of the records of the objects indexed again because of changes of related objects (see
+     * {@link IndexFanoutService}), processed once there are no records of normal priority left.
+     */
+    public static final int PRIORITY_LOW = 10;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "index_queue_id_seq")
+    @SequenceGenerator(name = "index_queue_id_seq", sequenceName = "index_queue_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The unique index id of the indexable object.
+     */
+    @Column(name = "unique_index_id")
+    private String uniqueIndexId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation")
+    private Operation operation;
+
+    /**
+     * The time at which the record was added to the queue.
+     */
+    @Column(name = "enqueued")
+    private Instant enqueued;
+
+    /**
+     * Processing attempts already made for this record.
+     */
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    /**
+     * The priority of the record, the records with the lowest value are processed first.
+     */
+    @Column(name = "priority")
+    private Integer priority = PRIORITY_NORMAL;
+
+    /**
+     * The processing run which claimed the record, null if it is not claimed.
+     */
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    /**
+     * The time until which the record is claimed, it can be claimed again afterwards.
+     */
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public void setID(Integer id) {
+        this.id = id;
+    }
+
+    public String getUniqueIndexId() {
+        return uniqueIndexId;
+    }
+
+    public void setUniqueIndexId(String uniqueIndexId) {
+        this.uniqueIndexId = uniqueIndexId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Instant getEnqueued() {
+        return enqueued;
+    }
+
+    public void setEnqueued(Instant enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        IndexQueueEntry other = (IndexQueueEntry) obj;
+        return Objects.equals(id, other.id);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexQueueEntry [id=" + id + ", uniqueIndexId=" + uniqueIndexId + ", operation=" + operation
+            + ", attempts=" + attempts + ", priority=" + priority + "]";
+    }
+}
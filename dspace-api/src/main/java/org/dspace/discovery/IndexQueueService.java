@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+
+/**
+ * Service managing the asynchronous discovery index queue. When asynchronous indexing is enabled
+ * (discovery.index.async.enabled), the {@link IndexEventConsumer} does not update the index itself but adds records
+ * to this queue, in the same transaction as the changes which triggered them. The queue is then processed by
+ * background workers (see {@link #processQueue(Context)}), so that the index is eventually updated even if the
+ * application is restarted in between.
+ */
+public interface IndexQueueService {
+
+    /**
+     * @return true if the index updates should be queued instead of being performed synchronously
+     */
+    boolean isEnabled();
+
+    /**
+     * Queue an update of the document of the given indexable object.
+     *
+     * @param  context       DSpace context object
+     * @param  uniqueIndexId the unique index id of the indexable object
+     * @throws SQLException  if an SQL error occurs
+     */
+    void enqueueUpdate(Context context, String uniqueIndexId) throws SQLException;
+
+    /**
+     * Queue an update of the document of the given indexable object, with the given priority.
+     *
+     * @param  context       DSpace context object
+     * @param  uniqueIndexId the unique index id of the indexable object
+     * @param  priority      the priority of the update, see {@link IndexQueueEntry#PRIORITY_NORMAL} and
+     *                       {@link IndexQueueEntry#PRIORITY_LOW}
+     * @throws SQLException  if an SQL error occurs
+     */
+    void enqueueUpdate(Context context, String uniqueIndexId, int priority) throws SQLException;
+
+    /**
+     * Queue the deletion of the document of the given indexable object.
+     *
+     * @param  context       DSpace context object
+     * @param  uniqueIndexId the unique index id of the indexable object
+     * @throws SQLException  if an SQL error occurs
+     */
+    void enqueueDelete(Context context, String uniqueIndexId) throws SQLException;
+
+    /**
+     * Process the oldest records of the queue, the records of normal priority first. The records are claimed first,
+     * and the claim committed, so that the concurrent runs process other records. The claimed records of the same
+     * indexable object are coalesced, so that each object is indexed (or removed from the index) only once,
+     * according to its latest record. The objects are split among the configured number of worker threads, each
+     * using its own context. The processed records are removed and the given context is committed.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of queue records consumed, 0 if the queue was empty
+     * @throws SQLException if an SQL error occurs
+     */
+    int processQueue(Context context) throws SQLException;
+
+    /**
+     * Count the pending records of the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of pending records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countPending(Context context) throws SQLException;
+
+    /**
+     * Count the pending records of the queue with the given priority.
+     *
+     * @param  context      DSpace context object
+     * @param  priority     the priority of the records
+     * @return              the number of pending records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countPending(Context context, int priority) throws SQLException;
+}
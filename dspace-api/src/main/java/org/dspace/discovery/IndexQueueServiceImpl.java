@@ -0,0 +1,296 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry.Operation;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ * <p>
+ * The queue is processed in chunks of discovery.index.async.chunk-size records, using discovery.index.async.workers
+ * threads. The records of a chunk are first claimed, and committed as such, for discovery.index.async.lease seconds,
+ * so that concurrent runs (e.g. on other nodes) process other records. The claimed records are only removed once the
+ * index has been updated and committed, so an update may be applied twice (e.g. after a crash, once the lease
+ * expired) but is never lost. A record which keeps failing is dropped after discovery.index.async.max-attempts
+ * attempts. The worker threads are created on first use and shared by all the runs.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueServiceImpl.class);
+
+    @Autowired
+    private IndexQueueDAO indexQueueDAO;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * The worker threads, created on first use
+     */
+    private ExecutorService executorService;
+
+    /**
+     * The number of worker threads of the executor service
+     */
+    private int workers;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.async.enabled", false);
+    }
+
+    @Override
+    public void enqueueUpdate(Context context, String uniqueIndexId) throws SQLException {
+        enqueue(context, uniqueIndexId, Operation.UPDATE, IndexQueueEntry.PRIORITY_NORMAL);
+    }
+
+    @Override
+    public void enqueueUpdate(Context context, String uniqueIndexId, int priority) throws SQLException {
+        enqueue(context, uniqueIndexId, Operation.UPDATE, priority);
+    }
+
+    @Override
+    public void enqueueDelete(Context context, String uniqueIndexId) throws SQLException {
+        enqueue(context, uniqueIndexId, Operation.DELETE, IndexQueueEntry.PRIORITY_NORMAL);
+    }
+
+    private void enqueue(Context context, String uniqueIndexId, Operation operation, int priority)
+        throws SQLException {
+        IndexQueueEntry entry = new IndexQueueEntry();
+        entry.setUniqueIndexId(uniqueIndexId);
+        entry.setOperation(operation);
+        entry.setEnqueued(Instant.now());
+        entry.setPriority(priority);
+        indexQueueDAO.create(context, entry);
+    }
+
+    @Override
+    public int processQueue(Context context) throws SQLException {
+        int chunkSize = configurationService.getIntProperty("discovery.index.async.chunk-size", 500);
+        int lease = configurationService.getIntProperty("discovery.index.async.lease", 600);
+        String owner = UUID.randomUUID().toString();
+        if (indexQueueDAO.claimOldest(context, owner, Instant.now().plusSeconds(lease), Math.max(1, chunkSize)) == 0) {
+            context.commit();
+            return 0;
+        }
+        context.commit();
+        List<IndexQueueEntry> entries = indexQueueDAO.findClaimed(context, owner);
+
+        // Coalesce the records of the same object, the latest one wins whatever its priority
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        for (IndexQueueEntry entry : entries.stream().sorted(Comparator.comparing(IndexQueueEntry::getID)).toList()) {
+            operations.put(entry.getUniqueIndexId(), entry.getOperation());
+        }
+
+        Set<String> failed = process(operations);
+        try {
+            indexingService.commit();
+        } catch (SearchServiceException e) {
+            // Release all the records, they are processed again on the next run
+            log.error("Unable to commit the index, the queue records will be processed again", e);
+            for (IndexQueueEntry entry : entries) {
+                release(context, entry);
+            }
+            context.commit();
+            return 0;
+        }
+
+        // Remove the processed records claimed by this run, the newer records of the same objects are left
+        Set<String> processed = new HashSet<>(operations.keySet());
+        processed.removeAll(failed);
+        if (!processed.isEmpty()) {
+            indexQueueDAO.deleteClaimed(context, owner, processed);
+        }
+        int maxAttempts = configurationService.getIntProperty("discovery.index.async.max-attempts", 3);
+        for (IndexQueueEntry entry : entries) {
+            if (failed.contains(entry.getUniqueIndexId())) {
+                entry.setAttempts(entry.getAttempts() == null ? 1 : entry.getAttempts() + 1);
+                if (entry.getAttempts() >= maxAttempts) {
+                    log.error("Giving up indexing {} after {} attempts", entry.getUniqueIndexId(),
+                              entry.getAttempts());
+                    indexQueueDAO.delete(context, entry);
+                } else {
+                    release(context, entry);
+                }
+            }
+        }
+        context.commit();
+
+        log.info("Processed {} index queue records ({} objects, {} failed)", entries.size(), operations.size(),
+                 failed.size());
+        return entries.size();
+    }
+
+    /**
+     * Release the claim of a record, so that it is processed again by the next run.
+     */
+    private void release(Context context, IndexQueueEntry entry) throws SQLException {
+        entry.setClaimedBy(null);
+        entry.setClaimedUntil(null);
+        indexQueueDAO.save(context, entry);
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return indexQueueDAO.countAll(context);
+    }
+
+    @Override
+    public long countPending(Context context, int priority) throws SQLException {
+        return indexQueueDAO.countByPriority(context, priority);
+    }
+
+    /**
+     * Update the index according to the given operations, splitting the objects among the worker threads.
+     *
+     * @param  operations the operation to perform on each object, by unique index id
+     * @return            the unique index ids of the objects which could not be processed
+     */
+    private Set<String> process(Map<String, Operation> operations) {
+        ExecutorService executorService = getExecutorService();
+        int workers = Math.max(1, Math.min(operations.size(), this.workers));
+        List<List<String>> partitions = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        int i = 0;
+        for (String uniqueIndexId : operations.keySet()) {
+            partitions.get(i++ % workers).add(uniqueIndexId);
+        }
+
+        Set<String> failed = new HashSet<>();
+        List<Future<Set<String>>> results = new ArrayList<>();
+        try {
+            for (List<String> partition : partitions) {
+                results.add(executorService.submit(() -> process(partition, operations)));
+            }
+            for (int p = 0; p < results.size(); p++) {
+                try {
+                    failed.addAll(results.get(p).get());
+                } catch (ExecutionException e) {
+                    log.error("Unable to process the index queue records", e.getCause());
+                    failed.addAll(partitions.get(p));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while processing the index queue", e);
+            failed.addAll(operations.keySet());
+            results.forEach(result -> result.cancel(true));
+        }
+        return failed;
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            workers = Math.max(1, configurationService.getIntProperty("discovery.index.async.workers", 4));
+            AtomicInteger count = new AtomicInteger();
+            executorService = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "index-queue-worker-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
+    /**
+     * Update the index for the given objects, using a new read-only context. Runs in a worker thread.
+     *
+     * @param  uniqueIndexIds the unique index ids of the objects to process
+     * @param  operations     the operation to perform on each object, by unique index id
+     * @return                the unique index ids of the objects which could not be processed
+     */
+    private Set<String> process(List<String> uniqueIndexIds, Map<String, Operation> operations)
+        throws SQLException {
+        Set<String> failed = new HashSet<>();
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        indexingService.startBatch();
+        try {
+            for (String uniqueIndexId : uniqueIndexIds) {
+                try {
+                    process(context, uniqueIndexId, operations.get(uniqueIndexId));
+                } catch (Exception e) {
+                    log.error("Failed while processing the index queue record of {}", uniqueIndexId, e);
+                    failed.add(uniqueIndexId);
+                }
+                context.uncacheEntities();
+            }
+        } finally {
+            try {
+                indexingService.endBatch();
+            } catch (SearchServiceException e) {
+                log.error("Failed while sending the indexed objects to the index", e);
+                failed.addAll(uniqueIndexIds);
+            }
+            context.abort();
+        }
+        return failed;
+    }
+
+    private void process(Context context, String uniqueIndexId, Operation operation) throws Exception {
+        if (operation == Operation.DELETE) {
+            indexingService.unIndexContent(context, uniqueIndexId, false);
+            return;
+        }
+        IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueIndexId);
+        if (indexFactory == null) {
+            log.warn("No index factory found for {}, skipping its index queue record", uniqueIndexId);
+            return;
+        }
+        String id = uniqueIndexId.substring(indexFactory.getType().length() + 1);
+        Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context, id);
+        if (indexableObject.isPresent()) {
+            indexingService.indexContent(context, indexableObject.get(), true);
+        } else {
+            // The object was deleted after the record was queued
+            indexingService.unIndexContent(context, uniqueIndexId, false);
+        }
+    }
+}
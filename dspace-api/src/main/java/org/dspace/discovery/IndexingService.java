@@ -60,6 +60,13 @@ public interface IndexingService {
 
     void createIndex(Context context) throws SQLException, IOException;
 
+    /**
+     * Create the full index using the given number of threads to index the items.
+     * @param context   The DSpace Context
+     * @param threads   The number of threads used to index the items
+     */
+    void createIndex(Context context, int threads) throws SQLException, IOException;
+
     void updateIndex(Context context);
 
     void updateIndex(Context context, boolean force);
@@ -72,6 +79,18 @@ public interface IndexingService {
 
     void commit() throws SearchServiceException;
 
+    /**
+     * Start buffering the documents indexed by the current thread, so that they are sent to the index in batches
+     * instead of one request per object. The buffered documents are sent on {@link #commit()}, when a batch is full
+     * and on {@link #endBatch()}.
+     */
+    void startBatch();
+
+    /**
+     * Send the documents buffered by the current thread to the index and stop buffering.
+     */
+    void endBatch() throws SearchServiceException;
+
     void optimize() throws SearchServiceException;
 
     void buildSpellCheck() throws SearchServiceException, IOException;
@@ -56,7 +56,8 @@ public interface SearchService {
 
     /**
      * Convenience method to call @see #search(Context, DSpaceObject, DiscoverQuery) and getting an iterator for the
-     * results
+     * results. The pages are retrieved with the start offset of the query, unless a cursor is set on the query
+     * (see {@link DiscoverQuery#setCursorMark(String)}).
      *
      * @param context   DSpace context object
      * @param dso       a DSpace object to use as a scope of the search
@@ -67,6 +68,37 @@ public interface SearchService {
     Iterator<Item> iteratorSearch(Context context, IndexableObject dso, DiscoverQuery query)
         throws SearchServiceException;
 
+    /**
+     * Stream all the documents matching a query, without paging: the filters, scope and authorization of the query
+     * apply as for {@link #search(Context, IndexableObject, DiscoverQuery)}, but its paging, sort, facets and
+     * highlighting are ignored. The documents are returned in the order of their unique id, as the values of the
+     * requested fields, see {@link DiscoverResultStream}.
+     *
+     * @param context   DSpace context object
+     * @param dso       a DSpace object to use as a scope of the search, may be null
+     * @param query     the discovery query object
+     * @param fields    the fields to return along with the unique id of the documents, which must have docValues
+     * @return          a lazy iterator over all the matching documents, to close if not read to the end
+     * @throws SearchServiceException   if search error
+     */
+    DiscoverResultStream streamSearch(Context context, IndexableObject dso, DiscoverQuery query, String... fields)
+        throws SearchServiceException;
+
+    /**
+     * Convenience method to call {@link #streamSearch(Context, IndexableObject, DiscoverQuery, String...)} and
+     * iterate over the UUIDs of the matching objects only, without loading them.
+     *
+     * @param context   DSpace context object
+     * @param dso       a DSpace object to use as a scope of the search, may be null
+     * @param query     the discovery query object, which should only match DSpace objects
+     * @return          a lazy iterator over the UUIDs of all the matching objects, to close if not read to the end
+     * @throws SearchServiceException   if search error
+     */
+    default DiscoverResultStream.ResourceIDs streamSearchIDs(Context context, IndexableObject dso,
+                                                             DiscoverQuery query) throws SearchServiceException {
+        return new DiscoverResultStream.ResourceIDs(streamSearch(context, dso, query));
+    }
+
 
     List<IndexableObject> search(Context context, String query, String orderfield, boolean ascending, int offset,
                                  int max, String... filterquery);
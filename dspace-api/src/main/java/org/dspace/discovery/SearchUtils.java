@@ -233,13 +233,13 @@ public class SearchUtils {
                                                                               List<Collection> collections, Item item)
         throws SQLException {
         Set<DiscoveryConfiguration> result = new HashSet<>();
+        DiscoveryConfigurationService configurationService = getConfigurationService();
 
         for (Collection collection : collections) {
-            addDiscoveryConfigurationForParents(context, result, prefix, collection);
+            result.addAll(configurationService.getDiscoveryConfigurationsForParents(context, prefix, collection));
         }
 
         //Add alwaysIndex configurations
-        DiscoveryConfigurationService configurationService = getConfigurationService();
         result.addAll(configurationService.getIndexAlwaysConfigurations());
 
         //Also add one for the default
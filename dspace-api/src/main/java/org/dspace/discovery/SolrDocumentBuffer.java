@@ -0,0 +1,168 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Buffers solr documents per index factory type and sends them to the search core in batches, instead of using one
+ * request per document. The documents of a type are sent once the buffer of that type holds {@code batchSize}
+ * documents, once its oldest document has been waiting for {@code maxWaitMillis}, or when the buffer is flushed.
+ * <p>
+ * All buffers created by the {@link SolrServiceImpl} share a {@link Semaphore} limiting the number of batch requests
+ * sent concurrently: when the search core is slow, the indexing threads wait for a permit instead of piling up more
+ * requests.
+ * <p>
+ * A buffer is not thread safe, it is meant to be used by a single indexing thread.
+ */
+public class SolrDocumentBuffer {
+
+    private static final Logger log = LogManager.getLogger(SolrDocumentBuffer.class);
+
+    private final SolrClient solr;
+    private final int batchSize;
+    private final long maxWaitMillis;
+    private final int commitWithinMillis;
+    private final Semaphore requestPermits;
+
+    private final Map<String, Batch> batches = new LinkedHashMap<>();
+
+    private long documentsSent = 0;
+    private long requestsSent = 0;
+
+    /**
+     * @param solr               the solr client of the search core
+     * @param batchSize          the maximum number of documents sent in a single request
+     * @param maxWaitMillis      the maximum time a document waits in the buffer before its batch is sent, a value of
+     *                           0 or less disables the time based flushing
+     * @param commitWithinMillis the commitWithin passed to the search core with each batch, a value of 0 or less
+     *                           leaves the commit to the caller (or the autoCommit of the core)
+     * @param requestPermits     limits the number of batch requests sent concurrently
+     */
+    public SolrDocumentBuffer(SolrClient solr, int batchSize, long maxWaitMillis, int commitWithinMillis,
+                              Semaphore requestPermits) {
+        this.solr = solr;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxWaitMillis = maxWaitMillis;
+        this.commitWithinMillis = commitWithinMillis > 0 ? commitWithinMillis : -1;
+        this.requestPermits = requestPermits;
+    }
+
+    /**
+     * Add a document to the buffer of the given type, sending the batch of that type if it is full or too old.
+     *
+     * @param type     the type of the index factory which built the document
+     * @param document the document to add
+     * @throws IOException if interrupted while waiting for the search core
+     */
+    public void add(String type, SolrInputDocument document) throws IOException {
+        Batch batch = batches.computeIfAbsent(type, t -> new Batch());
+        if (batch.documents.isEmpty()) {
+            batch.startTimeMillis = Instant.now().toEpochMilli();
+        }
+        batch.documents.add(document);
+        if (batch.documents.size() >= batchSize || (maxWaitMillis > 0
+                && Instant.now().toEpochMilli() - batch.startTimeMillis >= maxWaitMillis)) {
+            send(type, batch);
+        }
+    }
+
+    /**
+     * Remove the buffered documents with the given unique id, so that an object deleted from the index is not added
+     * back when the buffer is flushed.
+     *
+     * @param uniqueIndexID the unique id of the document
+     */
+    public void discard(String uniqueIndexID) {
+        for (Batch batch : batches.values()) {
+            batch.documents.removeIf(
+                document -> uniqueIndexID.equals(document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID)));
+        }
+    }
+
+    /**
+     * Send all buffered documents to the search core.
+     *
+     * @throws IOException if interrupted while waiting for the search core
+     */
+    public void flush() throws IOException {
+        for (Map.Entry<String, Batch> entry : batches.entrySet()) {
+            send(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return the number of documents sent to the search core by this buffer
+     */
+    public long getDocumentsSent() {
+        return documentsSent;
+    }
+
+    /**
+     * @return the number of requests sent to the search core by this buffer
+     */
+    public long getRequestsSent() {
+        return requestsSent;
+    }
+
+    private void send(String type, Batch batch) throws IOException {
+        if (batch.documents.isEmpty()) {
+            return;
+        }
+        List<SolrInputDocument> documents = new ArrayList<>(batch.documents);
+        batch.documents.clear();
+
+        try {
+            requestPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to send " + documents.size() + " "
+                                                 + type + " documents to the search core");
+        }
+        try {
+            solr.add(documents, commitWithinMillis);
+            requestsSent++;
+            documentsSent += documents.size();
+            log.debug("Sent a batch of {} {} documents to the search core", documents.size(), type);
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            // Retry the documents one by one, so that a single faulty document does not fail the whole batch
+            log.warn("Unable to send a batch of {} {} documents to the search core, sending them one by one",
+                     documents.size(), type, e);
+            for (SolrInputDocument document : documents) {
+                try {
+                    solr.add(document, commitWithinMillis);
+                    requestsSent++;
+                    documentsSent++;
+                } catch (IOException | SolrServerException | RuntimeException ex) {
+                    log.error("Error occurred while writing SOLR document {}",
+                              document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID), ex);
+                }
+            }
+        } finally {
+            requestPermits.release();
+        }
+    }
+
+    private static class Batch {
+        private final List<SolrInputDocument> documents = new ArrayList<>();
+        private long startTimeMillis;
+    }
+}
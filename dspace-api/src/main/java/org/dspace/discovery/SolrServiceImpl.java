@@ -27,6 +27,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
@@ -46,6 +51,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -58,6 +64,7 @@ import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.Email;
@@ -71,6 +78,8 @@ import org.dspace.discovery.configuration.DiscoverySortConfiguration;
 import org.dspace.discovery.indexobject.IndexableCollection;
 import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableStoredItem;
+import org.dspace.discovery.indexobject.StoredItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
@@ -121,6 +130,18 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected SolrSearchCore solrSearchCore;
     @Autowired
     protected ConfigurationService configurationService;
+    @Autowired
+    protected DiscoverResultCache discoverResultCache;
+
+    /**
+     * The document buffer of the batch started by the current thread, if any (see {@link #startBatch()})
+     */
+    private final ThreadLocal<SolrDocumentBuffer> documentBuffer = new ThreadLocal<>();
+
+    /**
+     * Limits the number of batch requests sent concurrently to the search core, shared by all document buffers
+     */
+    private Semaphore batchRequestPermits;
 
     protected SolrServiceImpl() {
 
@@ -169,7 +190,25 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected void update(Context context, IndexFactory indexableObjectService,
                           IndexableObject indexableObject) throws IOException, SQLException, SolrServerException {
         final SolrInputDocument solrInputDocument = indexableObjectService.buildDocument(context, indexableObject);
-        indexableObjectService.writeDocument(context, indexableObject, solrInputDocument);
+        write(context, indexableObjectService, indexableObject, solrInputDocument);
+    }
+
+    /**
+     * Write the given document to the index, or add it to the document buffer if the current thread started a batch.
+     * @param context                   The DSpace Context
+     * @param indexableObjectService    The service which built the document
+     * @param indexableObject           The indexed object
+     * @param solrInputDocument         The document to write
+     */
+    protected void write(Context context, IndexFactory indexableObjectService, IndexableObject indexableObject,
+                         SolrInputDocument solrInputDocument) throws IOException, SQLException, SolrServerException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer == null) {
+            indexableObjectService.writeDocument(context, indexableObject, solrInputDocument);
+        } else {
+            indexableObjectService.prepareDocument(context, indexableObject, solrInputDocument);
+            buffer.add(indexableObjectService.getType(), solrInputDocument);
+        }
     }
 
     /**
@@ -184,7 +223,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         if (preDB) {
             final SolrInputDocument solrInputDocument =
                     indexableObjectService.buildNewDocument(context, indexableObject);
-            indexableObjectService.writeDocument(context, indexableObject, solrInputDocument);
+            write(context, indexableObjectService, indexableObject, solrInputDocument);
         } else {
             update(context, indexableObjectService, indexableObject);
         }
@@ -222,9 +261,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             }
             String uniqueID = indexableObject.getUniqueIndexID();
             log.info("Try to delete uniqueID:" + uniqueID);
+            discardBufferedDocument(uniqueID);
             indexObjectServiceFactory.getIndexableObjectFactory(indexableObject).delete(indexableObject);
             if (commit) {
-                solrSearchCore.getSolr().commit();
+                commitSearchCore();
             }
         } catch (IOException | SolrServerException exception) {
             log.error(exception.getMessage(), exception);
@@ -257,6 +297,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         throws IOException {
 
         try {
+            discardBufferedDocument(searchUniqueID);
             if (solrSearchCore.getSolr() != null) {
                 IndexFactory index = indexObjectServiceFactory.getIndexableObjectFactory(searchUniqueID);
                 if (index != null) {
@@ -265,7 +306,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     log.warn("Object not found in Solr index: " + searchUniqueID);
                 }
                 if (commit) {
-                    solrSearchCore.getSolr().commit();
+                    commitSearchCore();
                 }
             }
         } catch (SolrServerException e) {
@@ -307,6 +348,96 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     }
 
+    /**
+     * create full index - wiping old index - using the given number of threads.
+     * The regular items are split into contiguous UUID ranges, one per thread, and each range is indexed by an
+     * {@link IndexPartitionWorker} using its own read-only context and batched writes to the search core. All other
+     * indexable objects are indexed sequentially using the given context.
+     *
+     * @param context context to use
+     * @param threads the number of threads used to index the items, a value of 1 or less falls back to
+     *                {@link #createIndex(Context)}
+     * @throws java.sql.SQLException passed through.
+     * @throws java.io.IOException passed through.
+     */
+    @Override
+    public void createIndex(Context context, int threads) throws SQLException, IOException {
+        if (threads <= 1) {
+            createIndex(context);
+            return;
+        }
+        boolean batchStarted = startBatchIfNeeded();
+        try {
+            for (IndexFactory indexableObjectService : indexObjectServiceFactory.getIndexFactories()) {
+                if (indexableObjectService instanceof ItemIndexFactory) {
+                    indexItemsInParallel(context, (ItemIndexFactory) indexableObjectService, threads);
+                } else {
+                    updateIndex(context, indexableObjectService, true);
+                }
+            }
+            endBatchIfStarted(batchStarted);
+            if (solrSearchCore.getSolr() != null) {
+                commitSearchCore();
+            }
+        } catch (SolrServerException | SearchServiceException e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            if (batchStarted) {
+                documentBuffer.remove();
+            }
+        }
+    }
+
+    /**
+     * Index all regular items using the given number of threads, see {@link #createIndex(Context, int)}
+     *
+     * @param context          the dspace context, only used to retrieve the item UUIDs
+     * @param itemIndexFactory the factory used to build the item documents
+     * @param threads          the number of threads (and partitions)
+     * @throws SQLException if database error
+     */
+    protected void indexItemsInParallel(Context context, ItemIndexFactory itemIndexFactory, int threads)
+        throws SQLException {
+        if (solrSearchCore.getSolr() == null) {
+            return;
+        }
+        final long startTimeMillis = Instant.now().toEpochMilli();
+        List<UUID> itemIds = contentServiceFactory.getItemService().findAllRegularItemIds(context);
+        int progressInterval = configurationService.getIntProperty("discovery.index.parallel.progress-interval",
+                                                                   1000);
+        int partitionSize = Math.max(1, (itemIds.size() + threads - 1) / threads);
+        int partitions = (itemIds.size() + partitionSize - 1) / partitionSize;
+        log.info("Indexing {} items in {} partitions", itemIds.size(), partitions);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                List<UUID> partition = itemIds.subList(i * partitionSize,
+                                                       Math.min(itemIds.size(), (i + 1) * partitionSize));
+                results.add(executorService.submit(
+                    new IndexPartitionWorker(i + 1, partitions, partition, contentServiceFactory.getItemService(),
+                                             itemIndexFactory, createDocumentBuffer(), progressInterval)));
+            }
+            long indexed = 0;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    indexed += results.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("Partition {}/{} failed, its items may be missing from the index", i + 1, partitions,
+                              e.getCause());
+                }
+            }
+            long seconds = Math.max(1, (Instant.now().toEpochMilli() - startTimeMillis) / 1000);
+            log.info("Indexed {} items in {} seconds ({} items/s)", indexed, seconds, indexed / seconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while indexing items in parallel", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
 
     /**
      * Iterates over all Items, Collections and Communities. And updates them in
@@ -340,30 +471,327 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     @Override
     public void updateIndex(Context context, boolean force, String type) {
+        boolean batchStarted = startBatchIfNeeded();
         try {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
-            int indexObject = 0;
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || Strings.CS.equals(indexableObjectService.getType(), type)) {
-                    final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
-                    while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
-                        indexObject++;
-                        if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
-                            context.uncacheEntities();
-                        }
-                    }
+                    updateIndex(context, indexableObjectService, force);
                 }
             }
+            endBatchIfStarted(batchStarted);
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                commitSearchCore();
             }
 
-        } catch (IOException | SQLException | SolrServerException e) {
+        } catch (IOException | SQLException | SolrServerException | SearchServiceException e) {
             log.error(e.getMessage(), e);
+        } finally {
+            if (batchStarted) {
+                documentBuffer.remove();
+            }
+        }
+    }
+
+    /**
+     * Incrementally update the index for all objects of the given index factory. The last indexed dates of the
+     * documents of its type are read from the index using a cursor, instead of querying the index for each object.
+     * Only the objects which are not indexed or were modified since they were indexed are (re)indexed.
+     * <p>
+     * The regular items are compared in a single pass with the documents, both being read in the order of their
+     * UUIDs: the last modified dates of the items by pages, and the documents by cursor, so that neither of them is
+     * held in memory and the unchanged items are not loaded. The other objects are few, the last indexed dates of
+     * their documents are kept in memory during the update.
+     * <p>
+     * The documents which are not matched by any object, and whose object no longer exists, are removed from the
+     * index in the same pass, so that a separate {@link #cleanIndex()} is not needed.
+     *
+     * @param context                the dspace context
+     * @param indexableObjectService the index factory of which all objects should be updated
+     * @throws SQLException        if database error
+     * @throws IOException         if the last indexed dates could not be read from the index
+     * @throws SolrServerException if the last indexed dates could not be read from the index
+     */
+    protected void updateIndexIncrementally(Context context, IndexFactory indexableObjectService)
+        throws SQLException, IOException, SolrServerException {
+        final String type = indexableObjectService.getType();
+        IndexedDocumentCursor documents = new IndexedDocumentCursor(type);
+
+        long indexed = 0;
+        long removed = 0;
+        if (indexableObjectService instanceof ItemIndexFactory) {
+            ItemService itemService = contentServiceFactory.getItemService();
+            SolrDocument document = documents.next();
+            UUID after = null;
+            Map<UUID, Instant> lastModifiedDates;
+            do {
+                lastModifiedDates = itemService.findRegularItemLastModifiedDates(context, after, 1000);
+                for (Map.Entry<UUID, Instant> entry : lastModifiedDates.entrySet()) {
+                    // the UUIDs are compared as strings, in the order of the database and of the index
+                    String id = entry.getKey().toString();
+                    while (document != null && getResourceId(document).compareTo(id) < 0) {
+                        removed += removeIfDeleted(context, indexableObjectService, document);
+                        document = documents.next();
+                    }
+                    boolean inIndex = document != null && getResourceId(document).equals(id);
+                    Instant lastIndexed = inIndex ? getLastIndexed(document) : null;
+                    if (inIndex) {
+                        document = documents.next();
+                    }
+                    if (requiresIndexing(inIndex, lastIndexed, entry.getValue())) {
+                        Item item = itemService.find(context, entry.getKey());
+                        if (item != null) {
+                            indexContent(context, new IndexableItem(item), true);
+                            context.uncacheEntity(item);
+                            indexed++;
+                        }
+                    }
+                    after = entry.getKey();
+                }
+                context.uncacheEntities();
+            } while (lastModifiedDates.size() == 1000);
+            while (document != null) {
+                removed += removeIfDeleted(context, indexableObjectService, document);
+                document = documents.next();
+            }
+        } else {
+            Map<String, Instant> lastIndexedDates = new HashMap<>();
+            SolrDocument document;
+            while ((document = documents.next()) != null) {
+                lastIndexedDates.put((String) document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID),
+                                     getLastIndexed(document));
+            }
+            final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+            while (indexableObjects.hasNext()) {
+                final IndexableObject indexableObject = indexableObjects.next();
+                String uniqueId = indexableObject.getUniqueIndexID();
+                boolean inIndex = lastIndexedDates.containsKey(uniqueId);
+                if (requiresIndexing(inIndex, lastIndexedDates.remove(uniqueId),
+                                     indexableObject.getLastModified())) {
+                    indexContent(context, indexableObject, true);
+                    indexed++;
+                }
+                context.uncacheEntity(indexableObject.getIndexedObject());
+            }
+            // The documents left were not matched by any object
+            for (String uniqueID : lastIndexedDates.keySet()) {
+                if (indexableObjectService.findIndexableObject(context, uniqueID.substring(type.length() + 1))
+                                          .isEmpty()) {
+                    log.info("Deleting: " + uniqueID);
+                    unIndexContent(context, uniqueID);
+                    removed++;
+                }
+            }
+        }
+        log.info("Incremental update of the {} {} documents: {} objects indexed, {} documents removed",
+                 documents.getCount(), type, indexed, removed);
+    }
+
+    /**
+     * Check whether an object needs to be (re)indexed, using the last indexed date read from the index.
+     *
+     * @param inIndex      true if the object has a document in the index
+     * @param lastIndexed  the last indexed date of the document, null if unknown
+     * @param lastModified the last modified date of the object
+     * @return true if the object is not indexed, or was modified since it was indexed
+     */
+    private boolean requiresIndexing(boolean inIndex, Instant lastIndexed, Instant lastModified) {
+        return lastModified == null || !inIndex || (lastIndexed != null && lastIndexed.isBefore(lastModified));
+    }
+
+    /**
+     * Remove a document which was not matched by any object, if its object no longer exists. A document whose object
+     * exists but was not matched (e.g. an item which is not a regular item) is kept.
+     *
+     * @return 1 if the document was removed, 0 otherwise
+     */
+    private int removeIfDeleted(Context context, IndexFactory indexableObjectService, SolrDocument document)
+        throws SQLException, IOException {
+        if (indexableObjectService.findIndexableObject(context, getResourceId(document)).isEmpty()) {
+            String uniqueID = (String) document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
+            log.info("Deleting: " + uniqueID);
+            unIndexContent(context, uniqueID);
+            return 1;
+        }
+        return 0;
+    }
+
+    private String getResourceId(SolrDocument document) {
+        return (String) document.getFieldValue(SearchUtils.RESOURCE_ID_FIELD);
+    }
+
+    private Instant getLastIndexed(SolrDocument document) {
+        return toInstant(document.getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+    }
+
+    /**
+     * Cursor over the resource ids and last indexed dates of all the documents of a type, in the order of their
+     * resource ids, read by pages. The documents can be indexed or removed while they are read.
+     */
+    private class IndexedDocumentCursor {
+
+        private final SolrQuery query;
+
+        private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+        private Iterator<SolrDocument> page = Collections.emptyIterator();
+
+        private boolean last;
+
+        private long count;
+
+        private IndexedDocumentCursor(String type) {
+            query = new SolrQuery("*:*");
+            query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + ClientUtils.escapeQueryChars(type));
+            query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
+                            SearchUtils.LAST_INDEXED_FIELD);
+            // the unique ids of a type are its name followed by the resource ids, so that they are sorted by
+            // resource id, and the unique key sort required by the cursor is enough
+            query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            query.setRows(1000);
+        }
+
+        /**
+         * @return the next document, null once all the documents are read
+         */
+        private SolrDocument next() throws IOException, SolrServerException {
+            while (!page.hasNext() && !last) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+                QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+                page = rsp.getResults().iterator();
+                last = cursorMark.equals(rsp.getNextCursorMark());
+                cursorMark = rsp.getNextCursorMark();
+            }
+            if (!page.hasNext()) {
+                return null;
+            }
+            count++;
+            return page.next();
+        }
+
+        /**
+         * @return the number of documents read
+         */
+        private long getCount() {
+            return count;
+        }
+    }
+
+    private Instant toInstant(Object value) {
+        // If it's a java.util.Date, convert to an Instant
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).toInstant();
+        }
+        return value instanceof Instant ? (Instant) value : null;
+    }
+
+    /**
+     * Start buffering the documents indexed by the current thread: they are sent to the search core in batches per
+     * index factory type (see {@link SolrDocumentBuffer}) until {@link #endBatch()} is called. The batch size, the
+     * maximum time a document is buffered, the commitWithin sent with each batch and the maximum number of concurrent
+     * batch requests are configured in discovery.cfg. Setting discovery.index.batch.size to 1 disables the batching.
+     */
+    @Override
+    public void startBatch() {
+        if (documentBuffer.get() == null && solrSearchCore.getSolr() != null
+                && configurationService.getIntProperty("discovery.index.batch.size", 100) > 1) {
+            documentBuffer.set(createDocumentBuffer());
+        }
+    }
+
+    /**
+     * Send the documents buffered by the current thread to the search core and stop buffering.
+     * @throws SearchServiceException if interrupted while sending the documents
+     */
+    @Override
+    public void endBatch() throws SearchServiceException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer != null) {
+            documentBuffer.remove();
+            flush(buffer);
+        }
+    }
+
+    /**
+     * Create a new document buffer, using the batch configuration and the shared request permits.
+     * @return a document buffer writing to the search core
+     */
+    protected SolrDocumentBuffer createDocumentBuffer() {
+        return new SolrDocumentBuffer(solrSearchCore.getSolr(),
+                                      configurationService.getIntProperty("discovery.index.batch.size", 100),
+                                      configurationService.getLongProperty("discovery.index.batch.max-wait", 5000),
+                                      configurationService.getIntProperty("discovery.index.batch.commit-within", -1),
+                                      getBatchRequestPermits());
+    }
+
+    private synchronized Semaphore getBatchRequestPermits() {
+        if (batchRequestPermits == null) {
+            batchRequestPermits = new Semaphore(Math.max(1, configurationService.getIntProperty(
+                "discovery.index.batch.max-concurrent-requests", 4)));
+        }
+        return batchRequestPermits;
+    }
+
+    private boolean startBatchIfNeeded() {
+        if (documentBuffer.get() != null) {
+            return false;
+        }
+        startBatch();
+        return true;
+    }
+
+    private void endBatchIfStarted(boolean batchStarted) throws SearchServiceException {
+        if (batchStarted) {
+            endBatch();
+        }
+    }
+
+    private void flush(SolrDocumentBuffer buffer) throws SearchServiceException {
+        try {
+            buffer.flush();
+        } catch (IOException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+    }
+
+    private void discardBufferedDocument(String uniqueIndexID) {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer != null) {
+            buffer.discard(uniqueIndexID);
+        }
+    }
+
+    /**
+     * Iterates over all objects of the given index factory and updates them in the index, without committing.
+     * Unless forced, the update is incremental (see {@link #updateIndexIncrementally(Context, IndexFactory)}).
+     *
+     * @param context                the dspace context
+     * @param indexableObjectService the index factory of which all objects should be updated
+     * @param force                  whether or not to force the reindexing
+     * @throws SQLException if database error
+     */
+    protected void updateIndex(Context context, IndexFactory indexableObjectService, boolean force)
+        throws SQLException {
+        if (!force && solrSearchCore.getSolr() != null) {
+            try {
+                updateIndexIncrementally(context, indexableObjectService);
+                return;
+            } catch (IOException | SolrServerException e) {
+                log.error("Unable to read the last indexed dates of the {} documents, checking each object instead",
+                          indexableObjectService.getType(), e);
+            }
+        }
+        int indexObject = 0;
+        final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+        while (indexableObjects.hasNext()) {
+            final IndexableObject indexableObject = indexableObjects.next();
+            indexContent(context, indexableObject, force);
+            context.uncacheEntity(indexableObject.getIndexedObject());
+            indexObject++;
+            if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
+                context.uncacheEntities();
+            }
         }
     }
 
@@ -399,27 +827,19 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             if (solrSearchCore.getSolr() == null) {
                 return;
             }
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0);  // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                                                                         solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
             int batch = 100;
 
-            // Now get actual Solr Documents in batches
+            // Get the Solr Documents in batches, using a cursor so that the deletions do not shift the batches
             SolrQuery query = new SolrQuery();
             query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
                             SearchUtils.RESOURCE_TYPE_FIELD);
             query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
             query.setQuery("*:*");
             query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            // Keep looping until the cursor does not move anymore
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
                 QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
                 SolrDocumentList docs = rsp.getResults();
 
@@ -440,7 +860,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     }
                 }
 
-                start += batch;
+                if (cursorMark.equals(rsp.getNextCursorMark())) {
+                    break;
+                }
+                cursorMark = rsp.getNextCursorMark();
             }
         } catch (IOException | SQLException | SolrServerException e) {
             log.error("Error cleaning discovery index: " + e.getMessage(), e);
@@ -579,17 +1002,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
             inIndex = true;
 
-            Object value = doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD);
-
-            // If it's a java.util.Date, convert to an Instant
-            if (value instanceof java.util.Date) {
-                value = ((java.util.Date) value).toInstant();
-            }
-
-            if (value instanceof Instant lastIndexed) {
-                if (lastIndexed.isBefore(lastModified)) {
-                    reindexItem = true;
-                }
+            Instant lastIndexed = toInstant(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+            if (lastIndexed != null && lastIndexed.isBefore(lastModified)) {
+                reindexItem = true;
             }
         }
 
@@ -734,6 +1149,12 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Override
     public DiscoverResult search(Context context, IndexableObject dso, DiscoverQuery discoveryQuery)
         throws SearchServiceException {
+        addScopeFilterQuery(dso, discoveryQuery);
+        return search(context, discoveryQuery);
+
+    }
+
+    protected void addScopeFilterQuery(IndexableObject dso, DiscoverQuery discoveryQuery) {
         if (dso != null) {
             if (dso instanceof IndexableCommunity) {
                 discoveryQuery.addFilterQueries("location:m" + dso.getID());
@@ -744,8 +1165,6 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     getUniqueIndexID());
             }
         }
-        return search(context, discoveryQuery);
-
     }
 
     @Override
@@ -754,6 +1173,30 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return new SearchIterator(context, dso, query);
     }
 
+    @Override
+    public DiscoverResultStream streamSearch(Context context, IndexableObject dso, DiscoverQuery discoveryQuery,
+                                             String... fields) throws SearchServiceException {
+        addScopeFilterQuery(dso, discoveryQuery);
+        SolrQuery solrQuery = resolveToSolrQuery(context, discoveryQuery);
+        // only the matches are streamed: no facets, highlighting or spellcheck, and the sort of the export handler
+        solrQuery.setFacet(false);
+        solrQuery.setHighlight(false);
+        solrQuery.remove("spellcheck");
+        solrQuery.remove(CursorMarkParams.CURSOR_MARK_PARAM);
+        solrQuery.setStart(null);
+        solrQuery.setFields(SearchUtils.RESOURCE_UNIQUE_ID);
+        for (String field : fields) {
+            if (!SearchUtils.RESOURCE_UNIQUE_ID.equals(field)) {
+                solrQuery.addField(field);
+            }
+        }
+        solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(configurationService.getIntProperty("discovery.search.export.batch-size", 1000));
+        return new DiscoverResultStream(solrSearchCore.getSolr(), solrQuery, solrSearchCore.REQUEST_METHOD,
+                                        configurationService.getBooleanProperty("discovery.search.export.enabled",
+                                                                                true));
+    }
+
     @Override
     public DiscoverResult search(Context context, DiscoverQuery discoveryQuery)
         throws SearchServiceException {
@@ -820,7 +1263,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 int offset = absoluteCursor;
                 // reset the position counter for getting element relativecursor on a page
                 relativeCursor = 0;
-                discoverQuery.setStart(offset);
+                if (discoverQuery.getCursorMark() != null) {
+                    discoverQuery.setCursorMark(discoverResult.getNextCursorMark());
+                } else {
+                    discoverQuery.setStart(offset);
+                }
                 try {
                     discoverResult = search(context, dso, discoverQuery);
                 } catch (SearchServiceException e) {
@@ -859,6 +1306,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
             solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
             solrQuery.addField(STATUS_FIELD);
+            if (discoveryQuery.isStoredFieldsOnly()) {
+                for (String fieldName : StoredItem.FIELDS) {
+                    solrQuery.addField(fieldName);
+                }
+            }
         }
 
         if (discoveryQuery.isSpellCheck()) {
@@ -902,6 +1354,15 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrQuery.addSort(discoveryQuery.getSortField(), order);
         }
 
+        if (discoveryQuery.getCursorMark() != null) {
+            // a cursor requires a sort on the unique key, which also makes the order of the ties stable
+            solrQuery.setStart(0);
+            if (!SearchUtils.RESOURCE_UNIQUE_ID.equals(discoveryQuery.getSortField())) {
+                solrQuery.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, discoveryQuery.getCursorMark());
+        }
+
         for (String property : discoveryQuery.getProperties().keySet()) {
             List<String> values = discoveryQuery.getProperties().get(property);
             solrQuery.add(property, values.toArray(new String[values.size()]));
@@ -993,6 +1454,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         int executionCount = 0;
         DiscoverResult result = null;
         SolrQuery solrQuery = resolveToSolrQuery(context, query);
+        boolean cacheable = discoverResultCache.isCacheable(query);
         // how many re-run of the query are allowed other than the first run
         int maxAttempts = configurationService.getIntProperty("discovery.removestale.attempts", 3);
         do {
@@ -1002,17 +1464,26 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             boolean skipLoadingResponse = false;
             // use zombieDocs to collect stale found objects
             List<String> zombieDocs = new ArrayList<>();
-            QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
-                          solrSearchCore.REQUEST_METHOD);
+            DiscoverResultCache.Lookup cached = cacheable ? discoverResultCache.lookup(solrQuery) : null;
+            QueryResponse solrQueryResponse = cached != null ? cached.getResponse() : null;
+            if (solrQueryResponse == null) {
+                solrQueryResponse = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
+                discoverResultCache.store(cached, solrQueryResponse);
+            }
             if (solrQueryResponse != null) {
                 result.setSearchTime(solrQueryResponse.getQTime());
                 result.setStart(query.getStart());
                 result.setMaxResults(query.getMaxResults());
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
+                result.setNextCursorMark(solrQueryResponse.getNextCursorMark());
 
                 List<String> searchFields = query.getSearchFields();
+                Map<String, IndexableObject> indexableObjects = findIndexableObjects(context,
+                    solrQueryResponse.getResults(), query.isStoredFieldsOnly());
                 for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                    IndexableObject indexableObject = indexableObjects.get(
+                        doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) + "-"
+                            + doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1076,7 +1547,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 log.info("ZombieDocs ");
                 zombieDocs.forEach(log::info);
                 solrSearchCore.getSolr().deleteById(zombieDocs);
-                solrSearchCore.getSolr().commit();
+                commitSearchCore();
             } else {
                 valid = true;
             }
@@ -1239,6 +1710,51 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the indexable objects of a page of solr documents, with a single query for each type of object instead of
+     * one query for each document.
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD fields MUST be present
+     * @param storedFieldsOnly
+     *            true to build the items from the fields stored in their documents (see {@link StoredItem#FIELDS})
+     *            instead of loading them from the database
+     * @return the indexable objects by type and identifier (e.g. {@code Item-<uuid>}), the objects which could not be
+     *         found are missing
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected Map<String, IndexableObject> findIndexableObjects(Context context, SolrDocumentList docs,
+                                                                boolean storedFieldsOnly) throws SQLException {
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            if (storedFieldsOnly && IndexableItem.TYPE.equals(type)) {
+                indexableObjects.put(type + "-" + id, new IndexableStoredItem(StoredItem.fromSolrDocument(doc)));
+            } else {
+                idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+            }
+        }
+        for (Map.Entry<String, List<String>> ids : idsByType.entrySet()) {
+            IndexFactory<IndexableObject, ?> indexableObjectService =
+                indexObjectServiceFactory.getIndexFactoryByType(ids.getKey());
+            Map<String, IndexableObject> found = indexableObjectService.findIndexableObjects(context, ids.getValue());
+            for (String id : ids.getValue()) {
+                IndexableObject indexableObject = found.get(id);
+                if (indexableObject != null) {
+                    indexableObjects.put(ids.getKey() + "-" + id, indexableObject);
+                } else {
+                    log.warn("Not able to retrieve object RESOURCE_ID:" + id + " - RESOURCE_TYPE_ID:" + ids.getKey());
+                }
+            }
+        }
+        return indexableObjects;
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1594,15 +2110,27 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     @Override
     public void commit() throws SearchServiceException {
+        SolrDocumentBuffer buffer = documentBuffer.get();
+        if (buffer != null) {
+            flush(buffer);
+        }
         try {
             if (solrSearchCore.getSolr() != null) {
-                solrSearchCore.getSolr().commit();
+                commitSearchCore();
             }
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Commit the search core, and invalidate the cached responses of the search core.
+     */
+    protected void commitSearchCore() throws SolrServerException, IOException {
+        solrSearchCore.getSolr().commit();
+        discoverResultCache.invalidate();
+    }
+
     @Override
     public String escapeQueryChars(String query) {
         // Use Solr's built in query escape tool
@@ -9,8 +9,10 @@ package org.dspace.discovery;
 
 import static org.dspace.discovery.SolrServiceImpl.SOLR_FIELD_SUFFIX_FACET_PREFIXES;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -21,6 +23,7 @@ import org.dspace.browse.BrowseException;
 import org.dspace.browse.BrowseIndex;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.authority.service.ChoiceAuthorityService;
 import org.dspace.content.authority.service.MetadataAuthorityService;
@@ -28,6 +31,7 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.sort.OrderFormat;
 import org.dspace.sort.SortException;
@@ -68,6 +72,9 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
         }
         Item item = ((IndexableItem) indexableObject).getIndexedObject();
         Collection collection = item.getOwningCollection();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        // Whether the metadata fields of the item have a choice authority, it is the same for all their values
+        Map<MetadataField, Boolean> choicesConfigured = new HashMap<>();
         // Get the currently configured browse indexes
         BrowseIndex[] bis;
         try {
@@ -99,6 +106,18 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
                 // value for lookup when partial search (the item mapper tool use it)
                 Set<String> distValuesForAC = new HashSet<>();
 
+                boolean ignoreAuthority = configurationService.getPropertyAsType(
+                    "discovery.browse.authority.ignore." + bi.getName(),
+                    configurationService.getPropertyAsType("discovery.browse.authority.ignore", Boolean.FALSE), true);
+                boolean ignorePrefered = configurationService.getPropertyAsType(
+                    "discovery.browse.authority.ignore-preferred." + bi.getName(),
+                    configurationService.getPropertyAsType("discovery.browse.authority.ignore-preferred",
+                                                           Boolean.FALSE), true);
+                boolean ignoreVariants = configurationService.getPropertyAsType(
+                    "discovery.browse.authority.ignore-variants." + bi.getName(),
+                    configurationService.getPropertyAsType("discovery.browse.authority.ignore-variants",
+                                                           Boolean.FALSE), true);
+
                 // now index the new details - but only if it's archived or
                 // withdrawn
                 if (item.isArchived() || item.isWithdrawn()) {
@@ -113,24 +132,16 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
                             int minConfidence = metadataAuthorityService
                                 .getMinConfidence(values.get(0).getMetadataField());
 
-                            boolean ignoreAuthority =
-                                DSpaceServicesFactory
-                                    .getInstance()
-                                    .getConfigurationService()
-                                    .getPropertyAsType("discovery.browse.authority.ignore." + bi.getName(),
-                                                       DSpaceServicesFactory.getInstance()
-                                                                            .getConfigurationService()
-                                                                            .getPropertyAsType(
-                                                                                    "discovery.browse.authority.ignore",
-                                                                                    Boolean.FALSE),
-                                                       true);
-
                             for (int x = 0; x < values.size(); x++) {
                                 MetadataValue val = values.get(x);
-                                boolean hasChoiceAuthority = choiceAuthorityService
+                                Boolean hasChoiceAuthority = choicesConfigured.get(val.getMetadataField());
+                                if (hasChoiceAuthority == null) {
+                                    hasChoiceAuthority = choiceAuthorityService
                                         .isChoicesConfigured(metadataAuthorityService
                                                 .makeFieldKey(val.getSchema(), val.getElement(), val.getQualifier())
                                                 .toString(), item.getType(), collection);
+                                    choicesConfigured.put(val.getMetadataField(), hasChoiceAuthority);
+                                }
 
                                 // Ensure that there is a value to index before
                                 // inserting it
@@ -165,14 +176,6 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
                                         distValuesForAC.add(val.getValue());
 
                                         String preferedLabel = null;
-                                        Boolean generalSetting = DSpaceServicesFactory.getInstance()
-                                                .getConfigurationService().getPropertyAsType(
-                                                        "discovery.browse.authority.ignore-preferred",
-                                                        Boolean.FALSE);
-                                        boolean ignorePrefered = DSpaceServicesFactory.getInstance()
-                                                .getConfigurationService().getPropertyAsType(
-                                                        "discovery.browse.authority.ignore-preferred." + bi.getName(),
-                                                        generalSetting, true);
                                         if (!ignorePrefered && hasChoiceAuthority) {
                                             try {
                                                 preferedLabel = choiceAuthorityService
@@ -184,20 +187,6 @@ public class SolrServiceMetadataBrowseIndexingPlugin implements SolrServiceIndex
                                             }
                                         }
                                         List<String> variants = null;
-
-                                        boolean ignoreVariants =
-                                            DSpaceServicesFactory
-                                                .getInstance()
-                                                .getConfigurationService()
-                                                .getPropertyAsType("discovery.browse.authority.ignore-variants."
-                                                                       + bi.getName(),
-                                                                   DSpaceServicesFactory
-                                                                       .getInstance()
-                                                                       .getConfigurationService()
-                                                                       .getPropertyAsType(
-                                                                           "discovery.browse.authority.ignore-variants",
-                                                                           Boolean.FALSE),
-                                                                   true);
                                         if (!ignoreVariants && hasChoiceAuthority) {
                                             try {
                                                 variants = choiceAuthorityService
@@ -10,6 +10,7 @@ package org.dspace.discovery;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -50,6 +51,11 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
     private static final Logger log =
             org.apache.logging.log4j.LogManager.getLogger(SolrServiceResourceRestrictionPlugin.class);
 
+    /**
+     * Parameter of the search request holding the canonical terms of the groups of the current user
+     */
+    static final String GROUP_TERMS_PARAM = "authzGroups";
+
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
     @Autowired(required = true)
@@ -122,19 +128,12 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
             if (!authorizeService.isAdmin(context)) {
 
                 EPerson currentUser = context.getCurrentUser();
-                StringBuilder epersonAndGroupClause = new StringBuilder();
-                if (currentUser != null) {
-                    epersonAndGroupClause.append("e").append(currentUser.getID());
-                }
                 //Retrieve all the groups the current user is a member of !
                 Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
-                for (Group group : groups) {
-                    if (!epersonAndGroupClause.isEmpty()) {
-                        epersonAndGroupClause.append(" OR g").append(group.getID());
-                    } else {
-                        epersonAndGroupClause.append("g").append(group.getID());
-                    }
-                }
+                String groupTerms = getGroupTerms(groups);
+                String epersonTerm = currentUser != null ? "e" + currentUser.getID() : null;
+                // The terms of the groups are passed as a parameter, dereferenced by the filters of each action
+                solrQuery.set(GROUP_TERMS_PARAM, groupTerms);
 
                 StringBuilder resourceQuery = new StringBuilder();
 
@@ -152,29 +151,30 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
                  */
                 if (actions.isEmpty()) {
                     // If no actions are included, we only check for read permissions
-                    resourceQuery.append("(read:(").append(epersonAndGroupClause).append("))").append( " OR ")
-                        .append("admin:(").append(epersonAndGroupClause).append(")");
+                    resourceQuery.append(getActionClause("read", epersonTerm)).append(" OR ")
+                        .append(getActionClause("admin", epersonTerm));
                 } else if (actions.contains(Constants.ADMIN)) {
                     // If the actions array contains the admin action, we only check for admin permissions
-                    resourceQuery.append("admin:(").append(epersonAndGroupClause).append(")");
+                    resourceQuery.append(getActionClause("admin", epersonTerm));
                 } else {
                     // If the actions array contains other actions, we check for read permissions and the actions passed
-                    resourceQuery.append("(read:(").append(epersonAndGroupClause).append(")");
+                    resourceQuery.append("(").append(getActionClause("read", epersonTerm));
                     for (int action : actions) {
                         String actionName = getIndexedActionName(action);
-                        resourceQuery.append(" AND ").append(actionName).append(":(").append(epersonAndGroupClause)
-                            .append(")");
+                        resourceQuery.append(" AND ").append(getActionClause(actionName, epersonTerm));
                     }
                     resourceQuery.append(")");
-                    resourceQuery.append(" OR ").append("admin:(")
-                        .append(epersonAndGroupClause).append(")");
+                    resourceQuery.append(" OR ").append(getActionClause("admin", epersonTerm));
                 }
 
                 // Add to the query the locations the user has administrative rights on to cover the cases of
                 // inherited permissions only if the inherit authorizations flag is enabled
                 if (discoveryQuery.isInheritAuthorizationsEnabled()) {
-                    String locations = searchService
-                        .createLocationQueryForAdministrableDSOs(epersonAndGroupClause.toString());
+                    String epersonAndGroupClause = groupTerms.replace(",", " OR ");
+                    if (epersonTerm != null) {
+                        epersonAndGroupClause = epersonTerm + " OR " + epersonAndGroupClause;
+                    }
+                    String locations = searchService.createLocationQueryForAdministrableDSOs(epersonAndGroupClause);
 
                     if (StringUtils.isNotBlank(locations)) {
                         resourceQuery.append(" OR ");
@@ -194,6 +194,41 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
         }
     }
 
+    /**
+     * Build the canonical list of the terms of a set of groups, sorted so that the same set of groups always gives
+     * the same filter, whatever its iteration order and whoever the user.
+     *
+     * @param groups the groups of the current user
+     * @return the comma separated terms of the groups
+     */
+    static String getGroupTerms(Set<Group> groups) {
+        return groups.stream()
+                     .map(group -> "g" + group.getID())
+                     .sorted()
+                     .distinct()
+                     .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Build the clause matching the documents on which the current user, or one of its groups, has an action.
+     * <p>
+     * The groups are matched by a {@code terms} query of the group terms parameter, wrapped in a {@code filter()} so
+     * that Solr caches it on its own in its filterCache: it is shared by all the searches of the users with the same
+     * groups, and does not count towards the maximum number of boolean clauses. The term of the user is matched
+     * beside it, outside the cached filter.
+     *
+     * @param field       the indexed action field
+     * @param epersonTerm the term of the current user, null if anonymous
+     * @return the clause of the action
+     */
+    static String getActionClause(String field, String epersonTerm) {
+        String groupClause = "filter({!terms f=" + field + " v=$" + GROUP_TERMS_PARAM + "})";
+        if (epersonTerm == null) {
+            return groupClause;
+        }
+        return "(" + groupClause + " OR " + field + ":" + epersonTerm + ")";
+    }
+
     /**
      * Get the action name used for solr indexing for the given action id
      *
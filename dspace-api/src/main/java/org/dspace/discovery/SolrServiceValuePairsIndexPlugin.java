@@ -13,14 +13,17 @@ import static org.dspace.discovery.SearchUtils.FILTER_SEPARATOR;
 import static org.dspace.discovery.SolrServiceImpl.SOLR_FIELD_SUFFIX_FACET_PREFIXES;
 
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.authority.ChoiceAuthority;
 import org.dspace.content.authority.DCInputAuthority;
@@ -104,13 +107,45 @@ public class SolrServiceValuePairsIndexPlugin implements SolrServiceIndexPlugin
         Item item = ((IndexableItem)object).getIndexedObject();
         try {
             Collection collection = (Collection) itemService.getParentObject(context, item);
+            Locale[] locales = I18nUtil.getSupportedLocales();
+            String separator = configurationService.getProperty("discovery.solr.facets.split.char", FILTER_SEPARATOR);
+            // the choice authority and search filters only depend on the metadata field, resolve them once per field
+            Map<MetadataField, Boolean> choicesConfigured = new HashMap<>();
+            Map<MetadataField, ChoiceAuthority> choiceAuthorities = new HashMap<>();
+            Map<MetadataField, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
+            List<DiscoveryConfiguration> discoveryConfigurations = null;
+            if (locales.length == 0) {
+                return;
+            }
             for (MetadataValue metadata : item.getItemService().getMetadata(item, Item.ANY, Item.ANY, Item.ANY,
                     Item.ANY)) {
-                for (Locale locale : I18nUtil.getSupportedLocales()) {
-                    String language = locale.getLanguage();
-                    if (cas.isChoicesConfigured(metadata.getMetadataField().toString(), item.getType(), collection)) {
-                        additionalIndex(collection, item, metadata, language, document);
+                MetadataField metadataField = metadata.getMetadataField();
+                Boolean configured = choicesConfigured.get(metadataField);
+                if (configured == null) {
+                    configured = cas.isChoicesConfigured(metadataField.toString(), item.getType(), collection);
+                    choicesConfigured.put(metadataField, configured);
+                }
+                if (!configured) {
+                    continue;
+                }
+                ChoiceAuthority choiceAuthority = choiceAuthorities.get(metadataField);
+                if (choiceAuthority == null) {
+                    choiceAuthority = cas.getAuthorityByFieldKeyCollection(metadataField.toString(), Constants.ITEM,
+                                                                           collection);
+                    choiceAuthorities.put(metadataField, choiceAuthority);
+                }
+                List<DiscoverySearchFilter> fieldSearchFilters = searchFilters.get(metadataField);
+                if (fieldSearchFilters == null) {
+                    if (discoveryConfigurations == null) {
+                        discoveryConfigurations = getAllDiscoveryConfiguration(item);
                     }
+                    fieldSearchFilters = findSearchFiltersByMetadataField(discoveryConfigurations,
+                                                                          metadataField.toString('.'));
+                    searchFilters.put(metadataField, fieldSearchFilters);
+                }
+                for (Locale locale : locales) {
+                    additionalIndex(choiceAuthority, fieldSearchFilters, metadata, locale.getLanguage(), separator,
+                                    document);
                 }
             }
 
@@ -122,21 +157,20 @@ public class SolrServiceValuePairsIndexPlugin implements SolrServiceIndexPlugin
     /**
      * Adds discovery field values for a specific metadata value in a given language.
      *
-     * @param collection the parent collection used to resolve the choice authority
-     * @param item the item being indexed
+     * @param choiceAuthority the choice authority of the metadata field
+     * @param searchFilters the search filters of the metadata field
      * @param metadataValue the metadata value to process
      * @param language the language code for the indexed fields
+     * @param separator the separator used in the field values
      * @param document the Solr document to add fields to
      */
-    private void additionalIndex(Collection collection, Item item, MetadataValue metadataValue, String language,
-            SolrInputDocument document) {
-        String metadataField = metadataValue.getMetadataField().toString('.');
-        List<DiscoverySearchFilter> searchFilters = findSearchFiltersByMetadataField(item, metadataField);
+    private void additionalIndex(ChoiceAuthority choiceAuthority, List<DiscoverySearchFilter> searchFilters,
+            MetadataValue metadataValue, String language, String separator, SolrInputDocument document) {
         String authority = metadataValue.getAuthority();
-        String value = getMetadataValue(collection, metadataValue, language);
+        String value = getMetadataValue(choiceAuthority, metadataValue, language);
         if (StringUtils.isNotBlank(value)) {
             for (DiscoverySearchFilter searchFilter : searchFilters) {
-                addDiscoveryFieldFields(language, document, value, authority, searchFilter);
+                addDiscoveryFieldFields(language, separator, document, value, authority, searchFilter);
             }
         }
     }
@@ -148,14 +182,12 @@ public class SolrServiceValuePairsIndexPlugin implements SolrServiceIndexPlugin
      * otherwise falls back to the raw metadata value. For DCInputAuthority fields,
      * always attempts to resolve the label from the authority.
      *
-     * @param collection the parent collection used to resolve the choice authority
+     * @param choiceAuthority the choice authority of the metadata field
      * @param metadataValue the metadata value to resolve
      * @param language the language for label resolution
      * @return the display label, or null if no suitable label can be found
      */
-    private String getMetadataValue(Collection collection, MetadataValue metadataValue, String language) {
-        String fieldKey = metadataValue.getMetadataField().toString();
-        ChoiceAuthority choiceAuthority = cas.getAuthorityByFieldKeyCollection(fieldKey, Constants.ITEM, collection);
+    private String getMetadataValue(ChoiceAuthority choiceAuthority, MetadataValue metadataValue, String language) {
         String authority = metadataValue.getAuthority();
         if (choiceAuthority instanceof DSpaceControlledVocabulary) {
             String label = StringUtils.isNotBlank(authority) ? choiceAuthority.getLabel(authority, language)
@@ -188,14 +220,14 @@ public class SolrServiceValuePairsIndexPlugin implements SolrServiceIndexPlugin
      * </ul>
      *
      * @param language the language code to prefix field names with
+     * @param separator the separator used in the field values
      * @param document the Solr document to add fields to
      * @param value the display value to index
      * @param authority the authority key (may be null or blank)
      * @param searchFilter the discovery search filter configuration
      */
-    private void addDiscoveryFieldFields(String language, SolrInputDocument document, String value, String authority,
-        DiscoverySearchFilter searchFilter) {
-        String separator = configurationService.getProperty("discovery.solr.facets.split.char", FILTER_SEPARATOR);
+    private void addDiscoveryFieldFields(String language, String separator, SolrInputDocument document, String value,
+        String authority, DiscoverySearchFilter searchFilter) {
         String fieldNameWithLanguage = language + "_" + searchFilter.getIndexFieldName();
         String valueLowerCase = value.toLowerCase();
 
@@ -232,12 +264,13 @@ public class SolrServiceValuePairsIndexPlugin implements SolrServiceIndexPlugin
      * {@link MultiLanguageDiscoverSearchFilterFacet} to allow for language-based
      * searches.
      *
-     * @param item the item being indexed (used to resolve discovery configuration)
+     * @param discoveryConfigurations the discovery configurations of the item being indexed
      * @param metadataField the metadata field key to search for (e.g., "dc.subject")
      * @return list of discovery search filters that include this metadata field
      */
-    private List<DiscoverySearchFilter> findSearchFiltersByMetadataField(Item item, String metadataField) {
-        return getAllDiscoveryConfiguration(item).stream()
+    private List<DiscoverySearchFilter> findSearchFiltersByMetadataField(
+        List<DiscoveryConfiguration> discoveryConfigurations, String metadataField) {
+        return discoveryConfigurations.stream()
             .flatMap(discoveryConfiguration -> discoveryConfiguration.getSearchFilters().stream())
             .filter(searchFilter -> searchFilter.getMetadataFields().contains(metadataField))
             .distinct()
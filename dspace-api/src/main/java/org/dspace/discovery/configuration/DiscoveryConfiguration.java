@@ -52,6 +52,7 @@ public class DiscoveryConfiguration implements InitializingBean {
     private DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration;
     private boolean spellCheckEnabled;
     private boolean indexAlways = false;
+    private boolean cacheResults = false;
 
     /**
      * The `indexAlways` property determines whether the configuration should
@@ -71,6 +72,21 @@ public class DiscoveryConfiguration implements InitializingBean {
         this.indexAlways = indexAlways;
     }
 
+    /**
+     * The `cacheResults` property determines whether the responses of the search core to the queries of this
+     * configuration are kept in the node-wide discovery result cache (see discovery.search.cache.enabled). The
+     * default value is false. It is meant for the configurations queried identically by many anonymous visitors,
+     * e.g. the facets of the home page.
+     * @return true if the responses to the queries of this configuration are cached.
+     */
+    public boolean isCacheResults() {
+        return cacheResults;
+    }
+
+    public void setCacheResults(boolean cacheResults) {
+        this.cacheResults = cacheResults;
+    }
+
     public String getId() {
         return id;
     }
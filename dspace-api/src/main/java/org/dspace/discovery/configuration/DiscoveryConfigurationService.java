@@ -9,7 +9,9 @@ package org.dspace.discovery.configuration;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.core.Context;
 import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.indexobject.IndexableDSpaceObject;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -47,6 +50,14 @@ public class DiscoveryConfigurationService {
      */
     private final Map<UUID, DiscoveryConfiguration> comColToDiscoveryConfigurationMap = new ConcurrentHashMap<>();
 
+    /**
+     * Discovery configurations of a Collection and all its parent Communities, cached by configuration prefix and
+     * Collection UUID. These are the configurations used to index the items of the Collection, this cache ensures we
+     * do not have to go up the hierarchy for every indexed item.
+     */
+    private final Map<String, Set<DiscoveryConfiguration>> collectionToIndexConfigurationsMap =
+        new ConcurrentHashMap<>();
+
     public Map<String, DiscoveryConfiguration> getMap() {
         return map;
     }
@@ -141,6 +152,38 @@ public class DiscoveryConfigurationService {
         return configuration;
     }
 
+    /**
+     * Retrieve the discovery configurations of the provided Collection and of all its parent Communities, as returned
+     * by {@link SearchUtils#addDiscoveryConfigurationForParents(Context, Set, String, DSpaceObject)}.
+     * @param context       - The database context
+     * @param prefix        - The prefix of the configuration names (e.g. "workspace"), null for none
+     * @param collection    - The Collection to retrieve the configurations for
+     * @return the discovery configurations of the Collection hierarchy
+     * @throws SQLException if database error
+     */
+    public Set<DiscoveryConfiguration> getDiscoveryConfigurationsForParents(Context context, String prefix,
+                                                                           Collection collection)
+        throws SQLException {
+        String key = prefix + ":" + collection.getID();
+        Set<DiscoveryConfiguration> configurations = collectionToIndexConfigurationsMap.get(key);
+        if (configurations == null) {
+            configurations = Collections.unmodifiableSet(
+                SearchUtils.addDiscoveryConfigurationForParents(context, new HashSet<>(), prefix, collection));
+            collectionToIndexConfigurationsMap.put(key, configurations);
+        }
+        return configurations;
+    }
+
+    /**
+     * Forget the configurations cached for the Communities and Collections, which are looked up in their parents.
+     * Called by the {@link org.dspace.discovery.IndexEventConsumer} when a Community or Collection is added to or
+     * removed from a parent, or deleted.
+     */
+    public void clearHierarchyCache() {
+        comColToDiscoveryConfigurationMap.clear();
+        collectionToIndexConfigurationsMap.clear();
+    }
+
     /**
      * Retrieve the Discovery Configuration for the provided name. When no configuration can be found for the name, the
      * default configuration will be returned.
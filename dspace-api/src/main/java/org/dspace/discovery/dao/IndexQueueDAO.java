@@ -0,0 +1,80 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.IndexQueueEntry;
+
+/**
+ * Database Access Object interface class for the IndexQueueEntry object.
+ * The implementation of this class is responsible for all database calls for the IndexQueueEntry object and is
+ * autowired by spring
+ * This class should only be accessed from a single service and should never be exposed outside of the API
+ */
+public interface IndexQueueDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Claims the oldest records of the queue with the highest priority, which are not claimed or whose claim
+     * expired, in a single statement. The records claimed at the same time by a concurrent transaction are skipped.
+     *
+     * @param  context      DSpace context object
+     * @param  owner        the identifier of the claiming run
+     * @param  until        the time until which the records are claimed
+     * @param  limit        the maximum number of records to claim
+     * @return              the number of claimed records
+     * @throws SQLException if an SQL error occurs
+     */
+    int claimOldest(Context context, String owner, Instant until, int limit) throws SQLException;
+
+    /**
+     * Returns the records claimed by the given run, in the order of their priority and of their addition to the
+     * queue.
+     *
+     * @param  context      DSpace context object
+     * @param  owner        the identifier of the claiming run
+     * @return              the claimed records
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findClaimed(Context context, String owner) throws SQLException;
+
+    /**
+     * Deletes the records of the given indexable objects claimed by the given run.
+     *
+     * @param  context        DSpace context object
+     * @param  owner          the identifier of the claiming run
+     * @param  uniqueIndexIds the unique index ids of the indexable objects
+     * @return                the number of deleted records
+     * @throws SQLException   if an SQL error occurs
+     */
+    int deleteClaimed(Context context, String owner, Collection<String> uniqueIndexIds) throws SQLException;
+
+    /**
+     * Count the records of the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+
+    /**
+     * Count the records of the queue with the given priority.
+     *
+     * @param  context      DSpace context object
+     * @param  priority     the priority of the records
+     * @return              the number of records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countByPriority(Context context, int priority) throws SQLException;
+}
@@ -0,0 +1,96 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.storage.rdbms.DatabaseUtils;
+
+/**
+ * Implementation of {@link IndexQueueDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class IndexQueueDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueDAO {
+
+    @Override
+    public int claimOldest(Context context, String owner, Instant until, int limit) throws SQLException {
+        if (StringUtils.containsIgnoreCase(context.getDbType(), DatabaseUtils.DBMS_POSTGRES)) {
+            return claimOldestSkippingLocked(context, owner, until, limit);
+        }
+        // The claim condition is repeated on the updated rows: a row claimed by a concurrent transaction is checked
+        // again once that transaction commits, and skipped
+        Query query = createQuery(context,
+            "UPDATE IndexQueueEntry SET claimedBy = :owner, claimedUntil = :until " +
+            "WHERE (claimedUntil IS NULL OR claimedUntil < :now) AND id IN (" +
+            "SELECT entry.id FROM IndexQueueEntry entry " +
+            "WHERE entry.claimedUntil IS NULL OR entry.claimedUntil < :now " +
+            "ORDER BY entry.priority, entry.id LIMIT :limit)");
+        query.setParameter("owner", owner);
+        query.setParameter("until", until);
+        query.setParameter("now", Instant.now());
+        query.setParameter("limit", limit);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Claim the oldest records, skipping the records locked by the concurrent claims instead of waiting for them, so
+     * that concurrent workers never claim the same records. PostgreSQL only.
+     */
+    private int claimOldestSkippingLocked(Context context, String owner, Instant until, int limit)
+        throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "UPDATE index_queue SET claimed_by = :owner, claimed_until = :until WHERE id IN (" +
+            "SELECT id FROM index_queue WHERE claimed_until IS NULL OR claimed_until < :now " +
+            "ORDER BY priority, id LIMIT :limit FOR UPDATE SKIP LOCKED)");
+        query.setParameter("owner", owner);
+        query.setParameter("until", until);
+        query.setParameter("now", Instant.now());
+        query.setParameter("limit", limit);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public List<IndexQueueEntry> findClaimed(Context context, String owner) throws SQLException {
+        Query query = createQuery(context, "FROM IndexQueueEntry WHERE claimedBy = :owner ORDER BY priority, id");
+        query.setParameter("owner", owner);
+        return query.getResultList();
+    }
+
+    @Override
+    public int deleteClaimed(Context context, String owner, Collection<String> uniqueIndexIds)
+        throws SQLException {
+        Query query = createQuery(context,
+            "DELETE FROM IndexQueueEntry WHERE claimedBy = :owner AND uniqueIndexId IN (:uniqueIndexIds)");
+        query.setParameter("owner", owner);
+        query.setParameter("uniqueIndexIds", uniqueIndexIds);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(entry) FROM IndexQueueEntry entry");
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public long countByPriority(Context context, int priority) throws SQLException {
+        Query query = createQuery(context,
+            "SELECT COUNT(entry) FROM IndexQueueEntry entry WHERE entry.priority = :priority");
+        query.setParameter("priority", priority);
+        return (long) query.getSingleResult();
+    }
+}
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -154,6 +155,12 @@ public class CollectionIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Ind
         return collection == null ? Optional.empty() : Optional.of(new IndexableCollection(collection));
     }
 
+    @Override
+    public Map<String, IndexableCollection> findIndexableObjects(Context context, List<String> ids)
+        throws SQLException {
+        return findIndexableObjects(context, ids, collectionService, IndexableCollection::new);
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableCollection indexableCollection) throws SQLException {
         return getCollectionLocations(context, indexableCollection.getIndexedObject());
@@ -9,11 +9,18 @@ package org.dspace.discovery.indexobject;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.factory.DSpaceObjectIndexFactory;
 
@@ -43,6 +50,29 @@ public abstract class DSpaceObjectIndexFactoryImpl<T extends IndexableDSpaceObje
         return doc;
     }
 
+    /**
+     * Retrieve the DSpace objects of several identifiers with a single query of the given service
+     *
+     * @param context       DSpace context object
+     * @param ids           the UUIDs of the DSpace objects
+     * @param service       the service of the DSpace objects
+     * @param indexable     the constructor of the indexable objects
+     * @return the indexable objects by identifier, the identifiers which were not found are missing
+     * @throws SQLException If database error
+     */
+    protected Map<String, T> findIndexableObjects(Context context, List<String> ids, DSpaceObjectService<S> service,
+                                                  Function<S, T> indexable) throws SQLException {
+        Map<UUID, String> uuids = new LinkedHashMap<>();
+        for (String id : ids) {
+            uuids.put(UUID.fromString(id), id);
+        }
+        Map<String, T> indexableObjects = new HashMap<>();
+        for (S dso : service.findByIds(context, new ArrayList<>(uuids.keySet()))) {
+            indexableObjects.put(uuids.get(dso.getID()), indexable.apply(dso));
+        }
+        return indexableObjects;
+    }
+
     /**
      * Add the metadata value of the community/collection to the solr document
      * IF needed highlighting is added !
@@ -0,0 +1,428 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Strings;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
+import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
+import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
+import org.dspace.discovery.configuration.DiscoverySearchFilter;
+import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
+import org.dspace.discovery.configuration.DiscoverySortConfiguration;
+import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
+
+/**
+ * The metadata indexing rules of a list of discovery configurations, compiled once so that they do not have to be
+ * rebuilt for every indexed item. The plan resolves, per metadata field, the search filters, sort, hit highlighting
+ * and more like this configurations which apply to it, together with the names of the solr fields it is indexed in.
+ * <p>
+ * The rules only depend on the discovery configurations and the ignored metadata fields, which are spring beans, so a
+ * plan can be shared by all indexing threads. Everything coming from the DSpace configuration (which can be reloaded)
+ * is still resolved when the document is built.
+ *
+ * @see ItemIndexFactoryImpl#addDiscoveryFields
+ */
+public class DiscoveryIndexPlan {
+
+    private final Map<String, List<FilterPlan>> searchFilters = new HashMap<>();
+    private final List<MinMaxFilterPlan> minMaxFilters = new ArrayList<>();
+    private final Map<String, String> sortFieldTypes = new HashMap<>();
+    private final Set<String> hitHighlightingFields = new HashSet<>();
+    private final Set<String> moreLikeThisFields = new HashSet<>();
+    private final List<String> toIgnoreMetadataFields;
+
+    /**
+     * The compiled metadata fields, by metadata field id
+     */
+    private final Map<Integer, FieldPlan> fieldPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Compile the indexing rules of the given discovery configurations. As it was the case before the rules were
+     * compiled, a configuration only counts once, a search filter is only applied for the first configuration
+     * declaring its index field name and the sort field of the last configuration wins.
+     *
+     * @param discoveryConfigurations the discovery configurations applying to the indexed items
+     * @param toIgnoreMetadataFields  the metadata fields which should not be indexed, may be null
+     */
+    public DiscoveryIndexPlan(List<DiscoveryConfiguration> discoveryConfigurations,
+                              List<String> toIgnoreMetadataFields) {
+        this.toIgnoreMetadataFields = toIgnoreMetadataFields;
+
+        Map<String, String> recentSubmissionTypes = new HashMap<>();
+        Set<String> appliedConf = new HashSet<>();
+        Set<String> appliedDiscoverySearchFilter = new HashSet<>();
+        for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
+            if (!appliedConf.add(discoveryConfiguration.getId())) {
+                continue;
+            }
+            for (DiscoverySearchFilter discoverySearchFilter : discoveryConfiguration.getSearchFilters()) {
+                if (!appliedDiscoverySearchFilter.add(discoverySearchFilter.getIndexFieldName())) {
+                    continue;
+                }
+                FilterPlan filterPlan = new FilterPlan(discoverySearchFilter);
+                for (String metadataField : discoverySearchFilter.getMetadataFields()) {
+                    searchFilters.computeIfAbsent(metadataField, f -> new ArrayList<>()).add(filterPlan);
+                }
+                if (Strings.CI.equals(discoverySearchFilter.getFilterType(), "facet")
+                        && ((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue()) {
+                    minMaxFilters.add(new MinMaxFilterPlan(discoverySearchFilter));
+                }
+            }
+
+            DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
+            if (sortConfiguration != null) {
+                for (DiscoverySortFieldConfiguration sortFieldConfiguration : sortConfiguration.getSortFields()) {
+                    sortFieldTypes.put(sortFieldConfiguration.getMetadataField(), sortFieldConfiguration.getType());
+                }
+            }
+
+            DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
+                    .getRecentSubmissionConfiguration();
+            if (recentSubmissionConfiguration != null) {
+                recentSubmissionTypes.put(recentSubmissionConfiguration.getMetadataSortField(),
+                                          recentSubmissionConfiguration.getType());
+            }
+
+            DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
+                    .getHitHighlightingConfiguration();
+            if (hitHighlightingConfiguration != null) {
+                for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration
+                        : hitHighlightingConfiguration.getMetadataFields()) {
+                    hitHighlightingFields.add(fieldConfiguration.getField());
+                }
+            }
+
+            DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
+                    .getMoreLikeThisConfiguration();
+            if (moreLikeThisConfiguration != null) {
+                moreLikeThisFields.addAll(moreLikeThisConfiguration.getSimilarityMetadataFields());
+            }
+        }
+        // the sort configuration takes precedence over the recent submissions configuration
+        recentSubmissionTypes.forEach(sortFieldTypes::putIfAbsent);
+    }
+
+    /**
+     * @return the search filters exposing the min and max values of their metadata fields
+     */
+    public List<MinMaxFilterPlan> getMinMaxFilters() {
+        return minMaxFilters;
+    }
+
+    /**
+     * Return the compiled rules of the given metadata field, compiling them on first use.
+     *
+     * @param metadataField the metadata field
+     * @return the compiled rules of the metadata field
+     */
+    public FieldPlan getFieldPlan(MetadataField metadataField) {
+        Integer id = metadataField.getID();
+        if (id == null) {
+            return new FieldPlan(metadataField);
+        }
+        FieldPlan fieldPlan = fieldPlans.get(id);
+        // the field may have been renamed in the registry since it was compiled
+        if (fieldPlan == null || !fieldPlan.isPlanOf(metadataField)) {
+            fieldPlan = new FieldPlan(metadataField);
+            fieldPlans.put(id, fieldPlan);
+        }
+        return fieldPlan;
+    }
+
+    /**
+     * The compiled rules of a metadata field.
+     */
+    public class FieldPlan {
+        private final String schema;
+        private final String element;
+        private final String qualifier;
+
+        private final String field;
+        private final String anyQualifierField;
+        private final boolean ignored;
+        private final List<FilterPlan> searchFilters;
+        private final String sortType;
+        private final boolean hitHighlighting;
+        private final boolean moreLikeThis;
+        private final int[] minMaxFilters;
+
+        private final String sortFieldName;
+        private final String dateSortFieldName;
+        private final String hitHighlightingFieldName;
+        private final String moreLikeThisFieldName;
+        private final String authorityFieldName;
+        private final String allAuthorityFieldName;
+        private final String storedFieldName;
+
+        FieldPlan(MetadataField metadataField) {
+            schema = metadataField.getMetadataSchema().getName();
+            element = metadataField.getElement();
+            qualifier = metadataField.getQualifier();
+
+            String unqualifiedField = schema + "." + element;
+            field = StringUtils.isNotBlank(qualifier) ? unqualifiedField + "." + qualifier : unqualifiedField;
+            anyQualifierField = unqualifiedField + "." + Item.ANY;
+
+            ignored = toIgnoreMetadataFields != null
+                && (toIgnoreMetadataFields.contains(field) || toIgnoreMetadataFields.contains(anyQualifierField));
+            List<FilterPlan> filters = DiscoveryIndexPlan.this.searchFilters.get(field);
+            if (filters == null) {
+                filters = DiscoveryIndexPlan.this.searchFilters.get(anyQualifierField);
+            }
+            searchFilters = filters != null ? Collections.unmodifiableList(filters) : Collections.emptyList();
+            sortType = sortFieldTypes.get(field);
+            hitHighlighting = hitHighlightingFields.contains(field) || hitHighlightingFields.contains("*")
+                || hitHighlightingFields.contains(anyQualifierField);
+            moreLikeThis = moreLikeThisFields.contains(field) || moreLikeThisFields.contains(anyQualifierField);
+
+            List<Integer> matchingMinMaxFilters = new ArrayList<>();
+            for (int i = 0; i < DiscoveryIndexPlan.this.minMaxFilters.size(); i++) {
+                if (DiscoveryIndexPlan.this.minMaxFilters.get(i).matches(schema, element, qualifier)) {
+                    matchingMinMaxFilters.add(i);
+                }
+            }
+            minMaxFilters = matchingMinMaxFilters.stream().mapToInt(Integer::intValue).toArray();
+
+            sortFieldName = field + "_sort";
+            dateSortFieldName = field + "_dt";
+            hitHighlightingFieldName = field + "_hl";
+            moreLikeThisFieldName = field + "_mlt";
+            authorityFieldName = field + "_authority";
+            allAuthorityFieldName = field + "_allauthority";
+            storedFieldName = field + "_stored";
+        }
+
+        private boolean isPlanOf(MetadataField metadataField) {
+            return Objects.equals(schema, metadataField.getMetadataSchema().getName())
+                && Objects.equals(element, metadataField.getElement())
+                && Objects.equals(qualifier, metadataField.getQualifier());
+        }
+
+        /**
+         * @return the name of the field, as schema.element[.qualifier]
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * @return the name of the field with a wildcard qualifier, as schema.element.*
+         */
+        public String getAnyQualifierField() {
+            return anyQualifierField;
+        }
+
+        /**
+         * @return whether the field should not be indexed
+         */
+        public boolean isIgnored() {
+            return ignored;
+        }
+
+        /**
+         * @return the search filters indexing the field
+         */
+        public List<FilterPlan> getSearchFilters() {
+            return searchFilters;
+        }
+
+        /**
+         * @return the type of the sort field (or recent submissions sort field) of the field, null if not sorted on
+         */
+        public String getSortType() {
+            return sortType;
+        }
+
+        public boolean isHitHighlighting() {
+            return hitHighlighting;
+        }
+
+        public boolean isMoreLikeThis() {
+            return moreLikeThis;
+        }
+
+        /**
+         * @return the indexes, in {@link #getMinMaxFilters()}, of the filters exposing the min and max of the field
+         */
+        public int[] getMinMaxFilters() {
+            return minMaxFilters;
+        }
+
+        public String getSortFieldName() {
+            return sortFieldName;
+        }
+
+        public String getDateSortFieldName() {
+            return dateSortFieldName;
+        }
+
+        public String getHitHighlightingFieldName() {
+            return hitHighlightingFieldName;
+        }
+
+        public String getMoreLikeThisFieldName() {
+            return moreLikeThisFieldName;
+        }
+
+        public String getAuthorityFieldName() {
+            return authorityFieldName;
+        }
+
+        public String getAllAuthorityFieldName() {
+            return allAuthorityFieldName;
+        }
+
+        public String getStoredFieldName() {
+            return storedFieldName;
+        }
+    }
+
+    /**
+     * A search filter, with the names of the solr fields it indexes the metadata values in.
+     */
+    public static class FilterPlan {
+        private final DiscoverySearchFilter searchFilter;
+        private final boolean date;
+        private final boolean facet;
+        private final String fieldName;
+        private final String keywordFieldName;
+        private final String authorityFieldName;
+        private final String acidFieldName;
+        private final String acFieldName;
+
+        FilterPlan(DiscoverySearchFilter searchFilter) {
+            this.searchFilter = searchFilter;
+            date = DiscoveryConfigurationParameters.TYPE_DATE.equals(searchFilter.getType());
+            facet = DiscoverySearchFilterFacet.FILTER_TYPE_FACET.equals(searchFilter.getFilterType());
+            fieldName = searchFilter.getIndexFieldName();
+            keywordFieldName = fieldName + "_keyword";
+            authorityFieldName = fieldName + "_authority";
+            acidFieldName = fieldName + "_acid";
+            acFieldName = fieldName + "_ac";
+        }
+
+        public DiscoverySearchFilter getSearchFilter() {
+            return searchFilter;
+        }
+
+        public boolean isDate() {
+            return date;
+        }
+
+        public boolean isFacet() {
+            return facet;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public String getKeywordFieldName() {
+            return keywordFieldName;
+        }
+
+        public String getAuthorityFieldName() {
+            return authorityFieldName;
+        }
+
+        public String getAcidFieldName() {
+            return acidFieldName;
+        }
+
+        public String getAcFieldName() {
+            return acFieldName;
+        }
+    }
+
+    /**
+     * A facet exposing the min and max values of its metadata fields.
+     */
+    public static class MinMaxFilterPlan {
+        private final String[][] metadataFields;
+        private final String minFieldName;
+        private final String minSortFieldName;
+        private final String maxFieldName;
+        private final String maxSortFieldName;
+
+        MinMaxFilterPlan(DiscoverySearchFilter searchFilter) {
+            List<String> fields = searchFilter.getMetadataFields();
+            metadataFields = new String[fields.size()][];
+            for (int i = 0; i < fields.size(); i++) {
+                String[] splittedMetadataField = fields.get(i).split("\\.");
+                metadataFields[i] = new String[] {
+                    splittedMetadataField[0],
+                    splittedMetadataField.length > 1 ? splittedMetadataField[1] : null,
+                    splittedMetadataField.length > 2 ? splittedMetadataField[2] : null
+                };
+            }
+            minFieldName = searchFilter.getIndexFieldName() + "_min";
+            minSortFieldName = searchFilter.getIndexFieldName() + "_min_sort";
+            maxFieldName = searchFilter.getIndexFieldName() + "_max";
+            maxSortFieldName = searchFilter.getIndexFieldName() + "_max_sort";
+        }
+
+        /**
+         * Whether a metadata field is one of the fields of the filter, following the rules of
+         * {@link org.dspace.content.service.DSpaceObjectService#getMetadata(org.dspace.content.DSpaceObject, String,
+         * String, String, String)}
+         */
+        boolean matches(String schema, String element, String qualifier) {
+            for (String[] metadataField : metadataFields) {
+                if (metadataField[1] == null) {
+                    continue;
+                }
+                if (!Item.ANY.equals(metadataField[1]) && !metadataField[1].equals(element)) {
+                    continue;
+                }
+                if (StringUtils.isBlank(metadataField[2])) {
+                    if (qualifier != null) {
+                        continue;
+                    }
+                } else if (!Item.ANY.equals(metadataField[2]) && !metadataField[2].equals(qualifier)) {
+                    continue;
+                }
+                if (Item.ANY.equals(metadataField[0]) || metadataField[0].equals(schema)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public String getMinFieldName() {
+            return minFieldName;
+        }
+
+        public String getMinSortFieldName() {
+            return minSortFieldName;
+        }
+
+        public String getMaxFieldName() {
+            return maxFieldName;
+        }
+
+        public String getMaxSortFieldName() {
+            return maxSortFieldName;
+        }
+    }
+}
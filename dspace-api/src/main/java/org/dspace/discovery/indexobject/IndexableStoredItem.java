@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+
+/**
+ * Item search result built from the fields stored in the search core only, without loading the item from the
+ * database. It shares the type of {@link IndexableItem}, so that it matches the same document.
+ */
+public class IndexableStoredItem extends AbstractIndexableObject<StoredItem, UUID> {
+
+    private StoredItem item;
+
+    public IndexableStoredItem(StoredItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getType() {
+        return IndexableItem.TYPE;
+    }
+
+    @Override
+    public UUID getID() {
+        return item.getID();
+    }
+
+    @Override
+    public StoredItem getIndexedObject() {
+        return item;
+    }
+
+    @Override
+    public void setIndexedObject(StoredItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public String getTypeText() {
+        return Constants.typeText[Constants.ITEM];
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return item.getLastModified();
+    }
+}
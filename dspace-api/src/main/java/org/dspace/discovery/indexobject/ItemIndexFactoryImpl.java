@@ -17,18 +17,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.Strings;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.common.SolrInputDocument;
@@ -37,7 +36,6 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
-import org.dspace.content.MetadataSchema;
 import org.dspace.content.MetadataValue;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.authority.Choices;
@@ -52,20 +50,14 @@ import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
-import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
-import org.dspace.discovery.configuration.DiscoveryMoreLikeThisConfiguration;
-import org.dspace.discovery.configuration.DiscoveryRecentSubmissionsConfiguration;
 import org.dspace.discovery.configuration.DiscoverySearchFilter;
-import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
-import org.dspace.discovery.configuration.DiscoverySortConfiguration;
-import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.configuration.HierarchicalSidebarFacetConfiguration;
 import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
 import org.dspace.discovery.indexobject.factory.WorkflowItemIndexFactory;
 import org.dspace.discovery.indexobject.factory.WorkspaceItemIndexFactory;
 import org.dspace.eperson.EPerson;
 import org.dspace.handle.service.HandleService;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.MultiFormatDateParser;
 import org.dspace.util.SolrUtils;
@@ -86,6 +78,15 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     public static final String STORE_SEPARATOR = "\n|||\n";
     public static final String STATUS_FIELD = "database_status";
     public static final String STATUS_FIELD_PREDB = "predb";
+    private static final Pattern FACET_PREFIX_PART_PATTERN =
+        Pattern.compile("\\b\\w+\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS);
+
+    /**
+     * The compiled indexing rules, by list of discovery configurations. There are only a few distinct lists, as they
+     * only depend on the collections of the items.
+     */
+    private final Map<List<DiscoveryConfiguration>, DiscoveryIndexPlan> discoveryIndexPlans =
+        new ConcurrentHashMap<>();
 
 
     @Autowired
@@ -191,135 +192,36 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
             throws SQLException, IOException {
         // use the item service to retrieve the owning collection also for inprogress submission
         Collection collection = (Collection) itemService.getParentObject(context, item);
-        //Keep a list of our sort values which we added, sort values can only be added once
-        List<String> sortFieldsAdded = new ArrayList<>();
-        Map<String, List<DiscoverySearchFilter>> searchFilters = new HashMap<>();
-        Set<String> hitHighlightingFields = new HashSet<>();
         try {
-            //A map used to save each sidebarFacet config by the metadata fields
-            Map<String, DiscoverySortFieldConfiguration> sortFields = new HashMap<>();
-            Map<String, DiscoveryRecentSubmissionsConfiguration> recentSubmissionsConfigurationMap = new
-                    HashMap<>();
-            Set<String> moreLikeThisFields = new HashSet<>();
-            // some configuration are returned multiple times, skip them to save CPU cycles
-            Set<String> appliedConf = new HashSet<>();
-            // it is common to have search filter shared between multiple configurations
-            Set<String> appliedDiscoverySearchFilter = new HashSet<>();
-
-            for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
-                if (appliedConf.contains(discoveryConfiguration.getId())) {
-                    continue;
-                } else {
-                    appliedConf.add(discoveryConfiguration.getId());
-                }
-                for (int i = 0; i < discoveryConfiguration.getSearchFilters().size(); i++) {
-                    if (appliedDiscoverySearchFilter
-                            .contains(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName())) {
-                        continue;
-                    } else {
-                        appliedDiscoverySearchFilter
-                                .add(discoveryConfiguration.getSearchFilters().get(i).getIndexFieldName());
-                    }
-                    List<MetadataValue> metadataValueList = new LinkedList<>();
-                    boolean shouldExposeMinMax = false;
-                    DiscoverySearchFilter discoverySearchFilter = discoveryConfiguration.getSearchFilters().get(i);
-                    if (Strings.CI.equals(discoverySearchFilter.getFilterType(), "facet")) {
-                        if (((DiscoverySearchFilterFacet) discoverySearchFilter).exposeMinAndMaxValue()) {
-                            shouldExposeMinMax = true;
-                        }
-                    }
-                    for (int j = 0; j < discoverySearchFilter.getMetadataFields().size(); j++) {
-                        String metadataField = discoverySearchFilter.getMetadataFields().get(j);
-                        List<DiscoverySearchFilter> resultingList;
-                        if (searchFilters.get(metadataField) != null) {
-                            resultingList = searchFilters.get(metadataField);
-                        } else {
-                            //New metadata field, create a new list for it
-                            resultingList = new ArrayList<>();
-                        }
-
-
-                        if (shouldExposeMinMax) {
-                            String[] splittedMetadataField = metadataField.split("\\.");
-                            String schema = splittedMetadataField[0];
-                            String element = splittedMetadataField.length > 1 ? splittedMetadataField[1] : null;
-                            String qualifier = splittedMetadataField.length > 2 ? splittedMetadataField[2] : null;
-
-                            metadataValueList.addAll(itemService.getMetadata(item, schema,
-                                    element, qualifier, Item.ANY));
-
-                        }
-
-                        resultingList.add(discoverySearchFilter);
-
-                        searchFilters.put(metadataField, resultingList);
-                    }
-
-                    if (!metadataValueList.isEmpty() && shouldExposeMinMax) {
-                        metadataValueList.sort((mdv1, mdv2) -> mdv1.getValue().compareTo(mdv2.getValue()));
-                        MetadataValue firstMetadataValue = metadataValueList.get(0);
-                        MetadataValue lastMetadataValue = metadataValueList.get(metadataValueList.size() - 1);
-
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_min", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_min_sort", firstMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName() + "_max", lastMetadataValue.getValue());
-                        doc.addField(discoverySearchFilter.getIndexFieldName()
-                                + "_max_sort", lastMetadataValue.getValue());
-
-                    }
-                }
-
-                DiscoverySortConfiguration sortConfiguration = discoveryConfiguration.getSearchSortConfiguration();
-                if (sortConfiguration != null) {
-                    for (DiscoverySortFieldConfiguration discoverySortConfiguration : sortConfiguration
-                            .getSortFields()) {
-                        sortFields.put(discoverySortConfiguration.getMetadataField(), discoverySortConfiguration);
-                    }
-                }
-
-                DiscoveryRecentSubmissionsConfiguration recentSubmissionConfiguration = discoveryConfiguration
-                        .getRecentSubmissionConfiguration();
-                if (recentSubmissionConfiguration != null) {
-                    recentSubmissionsConfigurationMap
-                            .put(recentSubmissionConfiguration.getMetadataSortField(), recentSubmissionConfiguration);
-                }
-
-                DiscoveryHitHighlightingConfiguration hitHighlightingConfiguration = discoveryConfiguration
-                        .getHitHighlightingConfiguration();
-                if (hitHighlightingConfiguration != null) {
-                    List<DiscoveryHitHighlightFieldConfiguration> fieldConfigurations = hitHighlightingConfiguration
-                            .getMetadataFields();
-                    for (DiscoveryHitHighlightFieldConfiguration fieldConfiguration : fieldConfigurations) {
-                        hitHighlightingFields.add(fieldConfiguration.getField());
-                    }
-                }
-                DiscoveryMoreLikeThisConfiguration moreLikeThisConfiguration = discoveryConfiguration
-                        .getMoreLikeThisConfiguration();
-                if (moreLikeThisConfiguration != null) {
-                    for (String metadataField : moreLikeThisConfiguration.getSimilarityMetadataFields()) {
-                        moreLikeThisFields.add(metadataField);
-                    }
-                }
-            }
-
+            DiscoveryIndexPlan plan = getDiscoveryIndexPlan(item, discoveryConfigurations);
+            ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
 
             List<String> toProjectionFields = new ArrayList<>();
-            String[] projectionFields = DSpaceServicesFactory.getInstance().getConfigurationService()
-                    .getArrayProperty("discovery.index.projection");
+            String[] projectionFields = configurationService.getArrayProperty("discovery.index.projection");
             if (projectionFields != null) {
                 for (String field : projectionFields) {
                     toProjectionFields.add(field.trim());
                 }
             }
+            String separator = configurationService.getProperty("discovery.solr.facets.split.char");
+            if (separator == null) {
+                separator = SearchUtils.FILTER_SEPARATOR;
+            }
+
+            //Keep a list of our sort values which we added, sort values can only be added once
+            Set<String> sortFieldsAdded = new HashSet<>();
+            //The authority settings of the fields of the item, they are the same for all values of a field
+            Map<DiscoveryIndexPlan.FieldPlan, FieldAuthority> fieldAuthorities = new HashMap<>();
+            //The lowest and highest values of the facets exposing them
+            List<DiscoveryIndexPlan.MinMaxFilterPlan> minMaxFilters = plan.getMinMaxFilters();
+            String[] minValues = new String[minMaxFilters.size()];
+            String[] maxValues = new String[minMaxFilters.size()];
 
-            List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
             List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
-                MetadataSchema metadataSchema = metadataField.getMetadataSchema();
-                String field = metadataSchema.getName() + "." + metadataField.getElement();
-                String unqualifiedField = field;
+                DiscoveryIndexPlan.FieldPlan fieldPlan = plan.getFieldPlan(metadataField);
+                String field = fieldPlan.getField();
 
                 String value = meta.getValue();
 
@@ -327,228 +229,158 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                     continue;
                 }
 
-                if (metadataField.getQualifier() != null && !metadataField.getQualifier().trim().equals("")) {
-                    field += "." + metadataField.getQualifier();
+                for (int i : fieldPlan.getMinMaxFilters()) {
+                    if (minValues[i] == null || value.compareTo(minValues[i]) < 0) {
+                        minValues[i] = value;
+                    }
+                    if (maxValues[i] == null || value.compareTo(maxValues[i]) > 0) {
+                        maxValues[i] = value;
+                    }
                 }
 
                 //We are not indexing provenance, this is useless
-                if (toIgnoreMetadataFields != null && (toIgnoreMetadataFields.contains(field) || toIgnoreMetadataFields
-                        .contains(unqualifiedField + "." + Item.ANY))) {
+                if (fieldPlan.isIgnored()) {
                     continue;
                 }
 
                 String authority = null;
                 String preferedLabel = null;
                 List<String> variants = null;
-                boolean isAuthorityControlled = metadataAuthorityService
-                        .isAuthorityAllowed(metadataField, item.getType(), collection);
-                boolean hasChoiceAuthority = choiceAuthorityService.isChoicesConfigured(metadataField.toString(),
-                        item.getType(), collection);
-                int minConfidence = isAuthorityControlled ? metadataAuthorityService
-                        .getMinConfidence(metadataField) : Choices.CF_ACCEPTED;
-
-                if (isAuthorityControlled && meta.getAuthority() != null
-                        && meta.getConfidence() >= minConfidence) {
-                    boolean ignoreAuthority =
-                            DSpaceServicesFactory
-                                    .getInstance()
-                                    .getConfigurationService()
-                                    .getPropertyAsType("discovery.index.authority.ignore." + field,
-                                            DSpaceServicesFactory
-                                                    .getInstance()
-                                                    .getConfigurationService()
-                                                    .getPropertyAsType(
-                                                            "discovery.index.authority.ignore",
-                                                            Boolean.FALSE),
-                                            true);
-                    if (!ignoreAuthority) {
-                        authority = meta.getAuthority();
-
-                        boolean ignorePrefered =
-                                DSpaceServicesFactory
-                                        .getInstance()
-                                        .getConfigurationService()
-                                        .getPropertyAsType("discovery.index.authority.ignore-prefered." + field,
-                                                DSpaceServicesFactory
-                                                        .getInstance()
-                                                        .getConfigurationService()
-                                                        .getPropertyAsType(
-                                                                "discovery.index.authority.ignore-prefered",
-                                                                Boolean.FALSE),
-                                                true);
-
-                        if (
-                                !ignorePrefered &&
-                                hasChoiceAuthority &&
-                                !authority.startsWith(AuthorityValueService.GENERATE)
-                        ) {
-                            try {
-                                preferedLabel = choiceAuthorityService.getLabel(meta, Constants.ITEM, collection,
-                                                                                meta.getLanguage());
-                            } catch (Exception e) {
-                                log.warn("Failed to get preferred label for " + field, e);
-                            }
-                        }
+                FieldAuthority fieldAuthority = fieldAuthorities.get(fieldPlan);
+                if (fieldAuthority == null) {
+                    fieldAuthority = new FieldAuthority(configurationService, metadataField, field, item.getType(),
+                                                        collection);
+                    fieldAuthorities.put(fieldPlan, fieldAuthority);
+                }
 
-                        boolean ignoreVariants =
-                                DSpaceServicesFactory
-                                        .getInstance()
-                                        .getConfigurationService()
-                                        .getPropertyAsType("discovery.index.authority.ignore-variants." + field,
-                                                DSpaceServicesFactory
-                                                        .getInstance()
-                                                        .getConfigurationService()
-                                                        .getPropertyAsType("discovery.index.authority.ignore-variants",
-                                                                Boolean.FALSE),
-                                                true);
-                        if (!ignoreVariants && hasChoiceAuthority) {
-                            try {
-                                variants = choiceAuthorityService
-                                    .getVariants(meta, Constants.ITEM, collection);
-                            } catch (Exception e) {
-                                log.warn("Failed to get variants for " + field, e);
-                            }
+                if (fieldAuthority.authorityControlled && meta.getAuthority() != null
+                        && meta.getConfidence() >= fieldAuthority.minConfidence && !fieldAuthority.ignoreAuthority) {
+                    authority = meta.getAuthority();
+
+                    if (
+                            !fieldAuthority.ignorePrefered &&
+                            fieldAuthority.choiceAuthority &&
+                            !authority.startsWith(AuthorityValueService.GENERATE)
+                    ) {
+                        try {
+                            preferedLabel = choiceAuthorityService.getLabel(meta, Constants.ITEM, collection,
+                                                                            meta.getLanguage());
+                        } catch (Exception e) {
+                            log.warn("Failed to get preferred label for " + field, e);
                         }
-
                     }
-                }
 
-                if ((searchFilters.get(field) != null || searchFilters
-                        .get(unqualifiedField + "." + Item.ANY) != null)) {
-                    List<DiscoverySearchFilter> searchFilterConfigs = searchFilters.get(field);
-                    if (searchFilterConfigs == null) {
-                        searchFilterConfigs = searchFilters.get(unqualifiedField + "." + Item.ANY);
+                    if (!fieldAuthority.ignoreVariants && fieldAuthority.choiceAuthority) {
+                        try {
+                            variants = choiceAuthorityService
+                                .getVariants(meta, Constants.ITEM, collection);
+                        } catch (Exception e) {
+                            log.warn("Failed to get variants for " + field, e);
+                        }
                     }
+                }
 
-                    for (DiscoverySearchFilter searchFilter : searchFilterConfigs) {
-                        ZonedDateTime date = null;
-                        String separator = DSpaceServicesFactory.getInstance().getConfigurationService()
-                                .getProperty("discovery.solr.facets.split.char");
-                        if (separator == null) {
-                            separator = SearchUtils.FILTER_SEPARATOR;
-                        }
-                        if (searchFilter.getType().equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
-                            //For our search filters that are dates we format them properly
-                            date = MultiFormatDateParser.parse(value);
-                            if (date != null) {
-                                //TODO: make this date format configurable !
-                                value = DateTimeFormatter.ISO_LOCAL_DATE.format(date.toLocalDateTime().toLocalDate());
-                            }
-                        }
-                        doc.addField(searchFilter.getIndexFieldName(), value);
-                        doc.addField(searchFilter.getIndexFieldName() + "_keyword", value);
-
-                        if (authority != null && preferedLabel == null) {
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_keyword", value + SearchUtils.AUTHORITY_SEPARATOR
-                                    + authority);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_authority", authority);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_acid", value.toLowerCase()
-                                    + separator + value
-                                    + SearchUtils.AUTHORITY_SEPARATOR + authority);
+                for (DiscoveryIndexPlan.FilterPlan filterPlan : fieldPlan.getSearchFilters()) {
+                    ZonedDateTime date = null;
+                    if (filterPlan.isDate()) {
+                        //For our search filters that are dates we format them properly
+                        date = MultiFormatDateParser.parse(value);
+                        if (date != null) {
+                            //TODO: make this date format configurable !
+                            value = DateTimeFormatter.ISO_LOCAL_DATE.format(date.toLocalDateTime().toLocalDate());
                         }
+                    }
+                    String lowerCaseValue = value.toLowerCase();
+                    doc.addField(filterPlan.getFieldName(), value);
+                    doc.addField(filterPlan.getKeywordFieldName(), value);
+
+                    if (authority != null && preferedLabel == null) {
+                        doc.addField(filterPlan.getKeywordFieldName(), value + SearchUtils.AUTHORITY_SEPARATOR
+                                + authority);
+                        doc.addField(filterPlan.getAuthorityFieldName(), authority);
+                        doc.addField(filterPlan.getAcidFieldName(), lowerCaseValue
+                                + separator + value
+                                + SearchUtils.AUTHORITY_SEPARATOR + authority);
+                    }
 
-                        if (preferedLabel != null) {
-                            doc.addField(searchFilter.getIndexFieldName(),
-                                    preferedLabel);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_keyword", preferedLabel);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_keyword", preferedLabel
-                                    + SearchUtils.AUTHORITY_SEPARATOR + authority);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_authority", authority);
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_acid", preferedLabel.toLowerCase()
-                                    + separator + preferedLabel
+                    if (preferedLabel != null) {
+                        doc.addField(filterPlan.getFieldName(), preferedLabel);
+                        doc.addField(filterPlan.getKeywordFieldName(), preferedLabel);
+                        doc.addField(filterPlan.getKeywordFieldName(), preferedLabel
+                                + SearchUtils.AUTHORITY_SEPARATOR + authority);
+                        doc.addField(filterPlan.getAuthorityFieldName(), authority);
+                        doc.addField(filterPlan.getAcidFieldName(), preferedLabel.toLowerCase()
+                                + separator + preferedLabel
+                                + SearchUtils.AUTHORITY_SEPARATOR + authority);
+                    }
+                    if (variants != null) {
+                        for (String var : variants) {
+                            doc.addField(filterPlan.getKeywordFieldName(), var);
+                            doc.addField(filterPlan.getAcidFieldName(), var.toLowerCase()
+                                    + separator + var
                                     + SearchUtils.AUTHORITY_SEPARATOR + authority);
                         }
-                        if (variants != null) {
-                            for (String var : variants) {
-                                doc.addField(searchFilter.getIndexFieldName() + "_keyword", var);
-                                doc.addField(searchFilter.getIndexFieldName()
-                                        + "_acid", var.toLowerCase()
-                                        + separator + var
-                                        + SearchUtils.AUTHORITY_SEPARATOR + authority);
-                            }
-                        }
+                    }
 
-                        //Add a dynamic fields for auto complete in search
-                        doc.addField(searchFilter.getIndexFieldName() + "_ac",
-                                value.toLowerCase() + separator + value);
-                        if (preferedLabel != null) {
-                            doc.addField(searchFilter.getIndexFieldName()
-                                    + "_ac", preferedLabel.toLowerCase()
-                                    + separator + preferedLabel);
-                        }
-                        if (variants != null) {
-                            for (String var : variants) {
-                                doc.addField(searchFilter.getIndexFieldName()
-                                        + "_ac", var.toLowerCase() + separator
-                                        + var);
-                            }
-                        }
-                        // if searchFilter is of type "facet", delegate to indexIfFilterTypeFacet method
-                        if (searchFilter.getFilterType().equals(DiscoverySearchFilterFacet.FILTER_TYPE_FACET)) {
-                            indexIfFilterTypeFacet(doc, searchFilter, value, date,
-                                                   authority, preferedLabel, separator);
+                    //Add a dynamic fields for auto complete in search
+                    doc.addField(filterPlan.getAcFieldName(), lowerCaseValue + separator + value);
+                    if (preferedLabel != null) {
+                        doc.addField(filterPlan.getAcFieldName(), preferedLabel.toLowerCase()
+                                + separator + preferedLabel);
+                    }
+                    if (variants != null) {
+                        for (String var : variants) {
+                            doc.addField(filterPlan.getAcFieldName(), var.toLowerCase() + separator + var);
                         }
                     }
+                    // if searchFilter is of type "facet", delegate to indexIfFilterTypeFacet method
+                    if (filterPlan.isFacet()) {
+                        indexIfFilterTypeFacet(doc, filterPlan.getSearchFilter(), value, date,
+                                               authority, preferedLabel, separator);
+                    }
                 }
 
-                if ((sortFields.get(field) != null || recentSubmissionsConfigurationMap
-                        .get(field) != null) && !sortFieldsAdded.contains(field)) {
+                if (fieldPlan.getSortType() != null && sortFieldsAdded.add(field)) {
                     //Only add sort value once
-                    String type;
-                    if (sortFields.get(field) != null) {
-                        type = sortFields.get(field).getType();
-                    } else {
-                        type = recentSubmissionsConfigurationMap.get(field).getType();
-                    }
-
-                    if (type.equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
+                    if (fieldPlan.getSortType().equals(DiscoveryConfigurationParameters.TYPE_DATE)) {
                         ZonedDateTime date = MultiFormatDateParser.parse(value);
                         if (date != null) {
                             String stringDate = SolrUtils.getDateFormatter().format(date);
-                            doc.addField(field + "_dt", stringDate);
+                            doc.addField(fieldPlan.getDateSortFieldName(), stringDate);
                         } else {
                             log.warn("Error while indexing sort date field, item: " + item
                                     .getHandle() + " metadata field: " + field + " date value: " + date);
                         }
                     } else {
-                        doc.addField(field + "_sort", value);
+                        doc.addField(fieldPlan.getSortFieldName(), value);
                     }
-                    sortFieldsAdded.add(field);
                 }
 
-                if (hitHighlightingFields.contains(field) || hitHighlightingFields
-                        .contains("*") || hitHighlightingFields.contains(unqualifiedField + "." + Item.ANY)) {
+                if (fieldPlan.isHitHighlighting()) {
                     if (authority != null) {
-                        doc.addField(field + "_hl", value + SearchUtils.AUTHORITY_SEPARATOR + authority);
+                        doc.addField(fieldPlan.getHitHighlightingFieldName(),
+                                     value + SearchUtils.AUTHORITY_SEPARATOR + authority);
                     } else {
-                        doc.addField(field + "_hl", value);
+                        doc.addField(fieldPlan.getHitHighlightingFieldName(), value);
                     }
                 }
 
-                if (moreLikeThisFields.contains(field) || moreLikeThisFields
-                        .contains(unqualifiedField + "." + Item.ANY)) {
-                    doc.addField(field + "_mlt", value);
+                if (fieldPlan.isMoreLikeThis()) {
+                    doc.addField(fieldPlan.getMoreLikeThisFieldName(), value);
                 }
 
                 doc.addField(field, value);
                 if (authority != null) {
-                    doc.addField(field + "_authority", authority);
+                    doc.addField(fieldPlan.getAuthorityFieldName(), authority);
                 }
 
                 if (meta.getAuthority() != null) {
-                    doc.addField(field + "_allauthority", meta.getAuthority());
+                    doc.addField(fieldPlan.getAllAuthorityFieldName(), meta.getAuthority());
                 }
 
-                if (toProjectionFields.contains(field) || toProjectionFields
-                        .contains(unqualifiedField + "." + Item.ANY)) {
-                    StringBuffer variantsToStore = new StringBuffer();
+                if (!toProjectionFields.isEmpty() && (toProjectionFields.contains(field)
+                        || toProjectionFields.contains(fieldPlan.getAnyQualifierField()))) {
+                    StringBuilder variantsToStore = new StringBuilder();
                     if (variants != null) {
                         for (String var : variants) {
                             variantsToStore.append(VARIANTS_STORE_SEPARATOR);
@@ -556,7 +388,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                         }
                     }
                     doc.addField(
-                            field + "_stored",
+                            fieldPlan.getStoredFieldName(),
                             value + STORE_SEPARATOR + preferedLabel
                                     + STORE_SEPARATOR
                                     + (variantsToStore.length() > VARIANTS_STORE_SEPARATOR
@@ -573,6 +405,16 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                 }
             }
 
+            for (int i = 0; i < minMaxFilters.size(); i++) {
+                if (minValues[i] != null) {
+                    DiscoveryIndexPlan.MinMaxFilterPlan minMaxFilter = minMaxFilters.get(i);
+                    doc.addField(minMaxFilter.getMinFieldName(), minValues[i]);
+                    doc.addField(minMaxFilter.getMinSortFieldName(), minValues[i]);
+                    doc.addField(minMaxFilter.getMaxFieldName(), maxValues[i]);
+                    doc.addField(minMaxFilter.getMaxSortFieldName(), maxValues[i]);
+                }
+            }
+
             String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
             if (StringUtils.isBlank(entityType)) {
                 entityType = Constants.ENTITY_TYPE_NONE;
@@ -617,6 +459,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public void prepareDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -701,6 +549,60 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public Map<String, IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        return findIndexableObjects(context, ids, itemService, IndexableItem::new);
+    }
+
+    /**
+     * Return the compiled indexing rules of the given discovery configurations, compiling them on first use.
+     *
+     * @param item                    the item being indexed
+     * @param discoveryConfigurations the discovery configurations applying to the item
+     * @return the compiled indexing rules
+     */
+    protected DiscoveryIndexPlan getDiscoveryIndexPlan(Item item,
+                                                       List<DiscoveryConfiguration> discoveryConfigurations) {
+        DiscoveryIndexPlan plan = discoveryIndexPlans.get(discoveryConfigurations);
+        if (plan == null) {
+            plan = new DiscoveryIndexPlan(discoveryConfigurations,
+                                          SearchUtils.getIgnoredMetadataFields(item.getType()));
+            discoveryIndexPlans.put(List.copyOf(discoveryConfigurations), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The authority settings of a metadata field, for the collection of the item being indexed.
+     */
+    private class FieldAuthority {
+        private final boolean authorityControlled;
+        private final boolean choiceAuthority;
+        private final int minConfidence;
+        private final boolean ignoreAuthority;
+        private final boolean ignorePrefered;
+        private final boolean ignoreVariants;
+
+        FieldAuthority(ConfigurationService configurationService, MetadataField metadataField, String field,
+                       int type, Collection collection) {
+            authorityControlled = metadataAuthorityService.isAuthorityAllowed(metadataField, type, collection);
+            choiceAuthority = choiceAuthorityService.isChoicesConfigured(metadataField.toString(), type, collection);
+            minConfidence = authorityControlled ? metadataAuthorityService.getMinConfidence(metadataField)
+                : Choices.CF_ACCEPTED;
+            ignoreAuthority = authorityControlled
+                && isIgnored(configurationService, "discovery.index.authority.ignore", field);
+            ignorePrefered = authorityControlled
+                && isIgnored(configurationService, "discovery.index.authority.ignore-prefered", field);
+            ignoreVariants = authorityControlled
+                && isIgnored(configurationService, "discovery.index.authority.ignore-variants", field);
+        }
+
+        private boolean isIgnored(ConfigurationService configurationService, String property, String field) {
+            return configurationService.getPropertyAsType(property + "." + field,
+                configurationService.getPropertyAsType(property, Boolean.FALSE), true);
+        }
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
@@ -820,8 +722,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     private void saveFacetPrefixParts(SolrInputDocument doc, DiscoverySearchFilter searchFilter, String value,
                                       String separator, String authority, String preferedLabel) {
         value = StringUtils.normalizeSpace(value);
-        Pattern pattern = Pattern.compile("\\b\\w+\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS);
-        Matcher matcher = pattern.matcher(value);
+        Matcher matcher = FACET_PREFIX_PART_PATTERN.matcher(value);
         while (matcher.find()) {
             int index = matcher.start();
             String currentPart = StringUtils.substring(value, index);
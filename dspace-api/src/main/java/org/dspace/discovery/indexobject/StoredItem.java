@@ -0,0 +1,166 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.content.MetadataFieldName;
+import org.dspace.content.authority.Choices;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.core.ReloadableEntity;
+import org.dspace.discovery.SearchUtils;
+
+/**
+ * Read-only snapshot of an item, as stored in its document of the search core. The metadata only include the fields
+ * listed by the discovery.index.projection property, which are stored in the {@code <field>_stored} fields.
+ */
+public class StoredItem implements ReloadableEntity<UUID> {
+
+    /**
+     * The fields of the search core needed to build a stored item
+     */
+    public static final String[] FIELDS = {"handle", "archived", "withdrawn", "discoverable", "lastModified",
+        "dc.title", "dspace.entity.type", "*_stored"};
+
+    private static final String STORED_SUFFIX = "_stored";
+
+    private static final Pattern STORE_SEPARATOR =
+        Pattern.compile(Pattern.quote(ItemIndexFactoryImpl.STORE_SEPARATOR));
+
+    private final UUID id;
+
+    private final String handle;
+
+    private final String name;
+
+    private final String entityType;
+
+    private final boolean archived;
+
+    private final boolean withdrawn;
+
+    private final boolean discoverable;
+
+    private final Instant lastModified;
+
+    private final List<MetadataValueDTO> metadata;
+
+    private StoredItem(SolrDocument doc) {
+        id = UUID.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+        handle = (String) doc.getFirstValue("handle");
+        entityType = toString(doc.getFirstValue("dspace.entity.type"));
+        archived = Boolean.parseBoolean(toString(doc.getFirstValue("archived")));
+        withdrawn = Boolean.parseBoolean(toString(doc.getFirstValue("withdrawn")));
+        discoverable = Boolean.parseBoolean(toString(doc.getFirstValue("discoverable")));
+        Object modified = doc.getFirstValue("lastModified");
+        lastModified = modified instanceof Date ? ((Date) modified).toInstant() : null;
+
+        List<MetadataValueDTO> values = new ArrayList<>();
+        for (String field : doc.getFieldNames()) {
+            if (field.endsWith(STORED_SUFFIX)) {
+                MetadataFieldName fieldName =
+                    new MetadataFieldName(field.substring(0, field.length() - STORED_SUFFIX.length()));
+                for (Object storedValue : doc.getFieldValues(field)) {
+                    // value, prefered label, variants, authority, language
+                    String[] parts = STORE_SEPARATOR.split(String.valueOf(storedValue), -1);
+                    String authority = parts.length > 3 ? nullOrValue(parts[3]) : null;
+                    values.add(new MetadataValueDTO(fieldName.schema, fieldName.element, fieldName.qualifier,
+                                                    parts.length > 4 ? nullOrValue(parts[4]) : null,
+                                                    parts[0], authority,
+                                                    authority != null ? Choices.CF_ACCEPTED : Choices.CF_UNSET));
+                }
+            }
+        }
+        metadata = Collections.unmodifiableList(values);
+
+        String title = toString(doc.getFirstValue("dc.title"));
+        if (title == null) {
+            title = values.stream()
+                          .filter(value -> "dc".equals(value.getSchema()) && "title".equals(value.getElement())
+                              && value.getQualifier() == null)
+                          .map(MetadataValueDTO::getValue)
+                          .findFirst()
+                          .orElse(null);
+        }
+        name = title;
+    }
+
+    /**
+     * @param doc a document of an item, with the {@link #FIELDS} and the resource id
+     * @return the stored item of the document
+     */
+    public static StoredItem fromSolrDocument(SolrDocument doc) {
+        return new StoredItem(doc);
+    }
+
+    private static String toString(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static String nullOrValue(String value) {
+        return StringUtils.equals(value, "null") ? null : value;
+    }
+
+    @Override
+    public UUID getID() {
+        return id;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawn;
+    }
+
+    public boolean isDiscoverable() {
+        return discoverable;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the stored metadata values, in the order of the fields in the document
+     */
+    public List<MetadataValueDTO> getMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof StoredItem && id.equals(((StoredItem) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -9,8 +9,10 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -66,6 +68,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Add to the provided document the fields which are normally only computed while it is written to the solr core
+     * (e.g. the full text of an item), without writing it. This allows callers to send several documents to the
+     * search core in a single request.
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object that we want to store in the search core
+     * @param solrInputDocument     Solr input document which will be completed
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
@@ -98,6 +113,22 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve several indexable objects at once, e.g. the objects of a page of search results. By default they
+     * are retrieved one by one, the factories able to retrieve them with a single query override this method.
+     * @param context       DSpace context object
+     * @param ids           The identifiers for which we want to retrieve our indexable objects
+     * @return              The indexable objects by identifier, the identifiers which were not found are missing
+     * @throws SQLException If database error
+     */
+    default Map<String, T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        Map<String, T> indexableObjects = new HashMap<>();
+        for (String id : ids) {
+            findIndexableObject(context, id).ifPresent(indexableObject -> indexableObjects.put(id, indexableObject));
+        }
+        return indexableObjects;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
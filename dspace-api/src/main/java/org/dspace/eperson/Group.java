@@ -9,7 +9,10 @@ package org.dspace.eperson;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -81,6 +84,12 @@ public class Group extends CacheableDSpaceObject implements DSpaceObjectLegacySu
     @Transient
     private boolean groupsChanged;
 
+    /**
+     * UUIDs of the groups whose direct subgroups were changed through this group
+     */
+    @Transient
+    private final Set<UUID> changedParentGroups = new HashSet<>();
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.eperson.service.GroupService#create(Context)}
@@ -109,16 +118,19 @@ public class Group extends CacheableDSpaceObject implements DSpaceObjectLegacySu
     void addMember(Group g) {
         getMemberGroups().add(g);
         groupsChanged = true;
+        changedParentGroups.add(getID());
     }
 
     void addParentGroup(Group group) {
         getParentGroups().add(group);
         groupsChanged = true;
+        changedParentGroups.add(group.getID());
     }
 
     void removeParentGroup(Group group) {
         getParentGroups().remove(group);
         groupsChanged = true;
+        changedParentGroups.add(group.getID());
     }
 
     boolean remove(EPerson e) {
@@ -127,6 +139,7 @@ public class Group extends CacheableDSpaceObject implements DSpaceObjectLegacySu
 
     boolean remove(Group g) {
         groupsChanged = true;
+        changedParentGroups.add(getID());
         return getMemberGroups().remove(g);
     }
 
@@ -211,6 +224,15 @@ public class Group extends CacheableDSpaceObject implements DSpaceObjectLegacySu
 
     public void clearGroupsChanged() {
         this.groupsChanged = false;
+        this.changedParentGroups.clear();
+    }
+
+    /**
+     * @return the UUIDs of the groups whose direct subgroups were changed through this group since the last update,
+     *         i.e. this group and the parent groups it was added to or removed from
+     */
+    public Set<UUID> getChangedParentGroups() {
+        return changedParentGroups;
     }
 
     @Override
@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Immutable, in-memory view of the group memberships of all the epersons, used to answer the membership checks of
+ * {@link GroupServiceImpl} without querying the database.
+ * <p>
+ * The epersons which are a direct member of at least one group are given a dense index, and each group holds a
+ * bitset over these indexes with its direct and indirect (through its subgroups) members. The subgroups of each group
+ * are taken from the group2groupcache table.
+ *
+ * @see GroupMembershipSnapshotProvider
+ */
+public class GroupMembershipSnapshot {
+
+    private final Map<UUID, Integer> epersonIndexes;
+
+    private final Map<UUID, BitSet> members;
+
+    private final Map<UUID, Set<UUID>> subgroups;
+
+    private final Instant created;
+
+    /**
+     * @param group2EPerson the direct memberships, as pairs of group and eperson UUIDs
+     * @param group2Group   the rows of the group2groupcache table, as pairs of parent and child group UUIDs
+     */
+    public GroupMembershipSnapshot(Collection<Pair<UUID, UUID>> group2EPerson,
+                                   Collection<Pair<UUID, UUID>> group2Group) {
+        Map<UUID, Integer> indexes = new HashMap<>();
+        Map<UUID, BitSet> directMembers = new HashMap<>();
+        for (Pair<UUID, UUID> membership : group2EPerson) {
+            int index = indexes.computeIfAbsent(membership.getRight(), eperson -> indexes.size());
+            directMembers.computeIfAbsent(membership.getLeft(), group -> new BitSet()).set(index);
+        }
+
+        Map<UUID, Set<UUID>> children = new HashMap<>();
+        for (Pair<UUID, UUID> pair : group2Group) {
+            children.computeIfAbsent(pair.getLeft(), group -> new HashSet<>()).add(pair.getRight());
+        }
+
+        Map<UUID, BitSet> allMembers = new HashMap<>(directMembers);
+        for (Map.Entry<UUID, Set<UUID>> parent : children.entrySet()) {
+            BitSet groupMembers = (BitSet) directMembers.getOrDefault(parent.getKey(), new BitSet()).clone();
+            for (UUID child : parent.getValue()) {
+                BitSet childMembers = directMembers.get(child);
+                if (childMembers != null) {
+                    groupMembers.or(childMembers);
+                }
+            }
+            allMembers.put(parent.getKey(), groupMembers);
+            parent.setValue(Set.copyOf(parent.getValue()));
+        }
+
+        this.epersonIndexes = Map.copyOf(indexes);
+        this.members = Map.copyOf(allMembers);
+        this.subgroups = Map.copyOf(children);
+        this.created = Instant.now();
+    }
+
+    /**
+     * @param group   the group UUID
+     * @param eperson the eperson UUID
+     * @return true if the eperson is a direct or indirect member of the group
+     */
+    public boolean isMember(UUID group, UUID eperson) {
+        Integer index = epersonIndexes.get(eperson);
+        BitSet groupMembers = members.get(group);
+        return index != null && groupMembers != null && groupMembers.get(index);
+    }
+
+    /**
+     * @param parent the parent group UUID
+     * @param child  the child group UUID
+     * @return true if the child group is a direct or indirect subgroup of the parent group
+     */
+    public boolean isParentOf(UUID parent, UUID child) {
+        return subgroups.getOrDefault(parent, Set.of()).contains(child);
+    }
+
+    /**
+     * @return when the snapshot was created
+     */
+    public Instant getCreated() {
+        return created;
+    }
+}
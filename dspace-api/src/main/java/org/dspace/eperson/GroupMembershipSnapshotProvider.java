@@ -0,0 +1,107 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.dao.Group2GroupCacheDAO;
+import org.dspace.eperson.dao.GroupDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Holder of the node-wide {@link GroupMembershipSnapshot}, used by {@link GroupServiceImpl} when
+ * core.authorization.groups.snapshot.enabled is true.
+ * <p>
+ * The snapshot is invalidated by the {@link org.dspace.authorize.AuthorizationCacheConsumer} on the group events, and
+ * rebuilt by the first membership check which follows. While a snapshot is being built the other checks use the
+ * database. A version number guards against installing a snapshot read before a concurrent invalidation. As the
+ * changes made by other processes (e.g. command line tools) do not fire events in this JVM, snapshots older than
+ * core.authorization.groups.snapshot.max-age seconds are rebuilt too.
+ */
+public class GroupMembershipSnapshotProvider {
+
+    private static final Logger log = LogManager.getLogger(GroupMembershipSnapshotProvider.class);
+
+    private final AtomicReference<GroupMembershipSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    @Autowired(required = true)
+    protected GroupDAO groupDAO;
+
+    @Autowired(required = true)
+    protected Group2GroupCacheDAO group2GroupCacheDAO;
+
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("core.authorization.groups.snapshot.enabled", false);
+    }
+
+    /**
+     * Get the current snapshot, building it if needed. Contexts with uncommitted events do not use the snapshot, as
+     * the memberships may depend on their own uncommitted changes.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the snapshot, or null if the database must be used
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public GroupMembershipSnapshot getSnapshot(Context context) throws SQLException {
+        if (!isEnabled() || context.hasEvents()) {
+            return null;
+        }
+        GroupMembershipSnapshot current = snapshot.get();
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        if (!buildLock.tryLock()) {
+            return null;
+        }
+        try {
+            long buildVersion = version.get();
+            long start = System.currentTimeMillis();
+            GroupMembershipSnapshot built = new GroupMembershipSnapshot(groupDAO.getGroup2EPersonResults(context),
+                                                                        group2GroupCacheDAO.getCache(context));
+            snapshot.set(built);
+            if (version.get() != buildVersion) {
+                // invalidated in the meantime, the data read may be stale
+                snapshot.compareAndSet(built, null);
+                return null;
+            }
+            log.debug("Group membership snapshot built in {} ms", System.currentTimeMillis() - start);
+            return built;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Discard the current snapshot, and any snapshot being built.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private boolean isExpired(GroupMembershipSnapshot current) {
+        long maxAge = configurationService.getLongProperty("core.authorization.groups.snapshot.max-age", 300);
+        return current.getCreated().plus(Duration.ofSeconds(maxAge)).isBefore(Instant.now());
+    }
+}
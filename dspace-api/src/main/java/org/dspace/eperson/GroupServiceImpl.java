@@ -8,7 +8,9 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -98,6 +100,8 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     protected ClaimedTaskService claimedTaskService;
     @Autowired(required = true)
     protected XmlWorkflowFactory workflowFactory;
+    @Autowired(required = true)
+    protected GroupMembershipSnapshotProvider groupMembershipSnapshotProvider;
 
     protected GroupServiceImpl() {
         super();
@@ -283,10 +287,14 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         throws SQLException {
         if (group == null) {
             return false;
+        }
 
-            // special, everyone is member of group 0 (anonymous)
-        } else if (Strings.CS.equals(group.getName(), Group.ANONYMOUS) ||
-                   isParentOf(context, group, findByName(context, Group.ANONYMOUS))) {
+        // the snapshot, if enabled, answers the membership checks without querying the database
+        GroupMembershipSnapshot snapshot = groupMembershipSnapshotProvider.getSnapshot(context);
+
+        // special, everyone is member of group 0 (anonymous)
+        if (Strings.CS.equals(group.getName(), Group.ANONYMOUS) ||
+                   isParentOf(context, snapshot, group, findByName(context, Group.ANONYMOUS))) {
             return true;
 
         } else {
@@ -298,8 +306,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             } else {
                 boolean isMember = false;
 
-                //If we have an ePerson, check we can find membership in the database
-                if (ePerson != null) {
+                //If we have an ePerson, check we can find membership in the snapshot or in the database
+                if (ePerson != null && snapshot != null) {
+                    isMember = snapshot.isMember(group.getID(), ePerson.getID());
+                } else if (ePerson != null) {
                     //lookup eperson in normal groups and subgroups with 1 query
                     isMember = isEPersonInGroup(context, group, ePerson);
                 }
@@ -317,7 +327,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
                     while (it.hasNext() && !isMember) {
                         Group specialGroup = it.next();
                         //Check if the special group matches the given group or if it is a subgroup (with 1 query)
-                        if (specialGroup.equals(group) || isParentOf(context, group, specialGroup)) {
+                        if (specialGroup.equals(group) || isParentOf(context, snapshot, group, specialGroup)) {
                             isMember = true;
                         }
                     }
@@ -330,6 +340,14 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
     }
 
+    private boolean isParentOf(Context context, GroupMembershipSnapshot snapshot, Group parentGroup,
+                               Group childGroup) throws SQLException {
+        if (snapshot != null) {
+            return childGroup != null && snapshot.isParentOf(parentGroup.getID(), childGroup.getID());
+        }
+        return isParentOf(context, parentGroup, childGroup);
+    }
+
     private boolean isAuthenticatedUser(final Context context, final EPerson ePerson) {
         return Objects.equals(context.getCurrentUser(), ePerson);
     }
@@ -564,6 +582,12 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // Remove any ResourcePolicies that reference this group
         authorizeService.removeGroupPolicies(context, group);
 
+        // the former parents (and their ancestors) lose the subgroups of this group
+        Set<UUID> parentGroups = new HashSet<>();
+        for (Group parentGroup : group.getParentGroups()) {
+            parentGroups.add(parentGroup.getID());
+        }
+
         group.getMemberGroups().clear();
         group.getParentGroups().clear();
 
@@ -575,11 +599,12 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // remove our rows from the group2groupcache table (if we do it after we delete our object we get an issue
+        // with references)
+        group2GroupCacheDAO.deleteByGroup(context, group.getID());
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        rethinkGroupCache(context, parentGroups, false);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -671,7 +696,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            rethinkGroupCache(context, Set.copyOf(group.getChangedParentGroups()), true);
             group.clearGroupsChanged();
         }
 
@@ -687,74 +712,78 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
 
     /**
-     * Returns a set with pairs of parent and child group UUIDs, representing the new cache table rows.
+     * Update the group cache AKA the group2groupcache table in the database after the subgroups of the given groups
+     * have changed. Only the rows of the changed groups and of their ancestors, which are the only groups that can
+     * gain or lose subgroups, are computed and written.
      *
      * @param context       The relevant DSpace Context.
+     * @param changedGroups UUIDs of the groups whose direct subgroups have changed
      * @param flushQueries  flushQueries Flush all pending queries
-     * @return              Pairs of parent and child group UUID of the new cache.
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
-    private Set<Pair<UUID, UUID>> computeNewCache(Context context, boolean flushQueries) throws SQLException {
+    protected void rethinkGroupCache(Context context, Set<UUID> changedGroups, boolean flushQueries)
+        throws SQLException {
+        Map<UUID, Set<UUID>> children = new HashMap<>();
         Map<UUID, Set<UUID>> parents = new HashMap<>();
-
-        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
-        for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
-            UUID parent = group2groupResult.getLeft();
-            UUID child = group2groupResult.getRight();
-
-            parents.putIfAbsent(parent, new HashSet<>());
-            parents.get(parent).add(child);
-        }
-
-        // now parents is a hash of all of the IDs of groups that are parents
-        // and each hash entry is a hash of all of the IDs of children of those
-        // parent groups
-        // so now to establish all parent,child relationships we can iterate
-        // through the parents hash
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            Set<UUID> myChildren = getChildren(parents, parent.getKey());
-            parent.getValue().addAll(myChildren);
+        for (Pair<UUID, UUID> group2groupResult : groupDAO.getGroup2GroupResults(context, flushQueries)) {
+            children.computeIfAbsent(group2groupResult.getLeft(), k -> new HashSet<>())
+                    .add(group2groupResult.getRight());
+            parents.computeIfAbsent(group2groupResult.getRight(), k -> new HashSet<>())
+                   .add(group2groupResult.getLeft());
+        }
+
+        // the changed groups and all their ancestors
+        Set<UUID> affected = new HashSet<>();
+        Deque<UUID> toVisit = new ArrayDeque<>(changedGroups);
+        while (!toVisit.isEmpty()) {
+            UUID groupId = toVisit.pop();
+            if (affected.add(groupId)) {
+                toVisit.addAll(parents.getOrDefault(groupId, Set.of()));
+            }
         }
 
-        // write out new cache IN MEMORY ONLY and returns it
+        Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCache(context, affected);
         Set<Pair<UUID, UUID>> newCache = new HashSet<>();
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            UUID key = parent.getKey();
-            for (UUID child : parent.getValue()) {
-                newCache.add(Pair.of(key, child));
+        Map<UUID, Set<UUID>> descendants = new HashMap<>();
+        for (UUID parent : affected) {
+            for (UUID child : getDescendants(children, descendants, parent)) {
+                newCache.add(Pair.of(parent, child));
             }
         }
-        return newCache;
-    }
-
-
-    /**
-     * Regenerate the group cache AKA the group2groupcache table in the database -
-     * meant to be called when a group is added or removed from another group
-     *
-     * @param context      The relevant DSpace Context.
-     * @param flushQueries flushQueries Flush all pending queries
-     * @throws SQLException An exception that provides information on a database access error or other errors.
-     */
-    protected void rethinkGroupCache(Context context, boolean flushQueries) throws SQLException {
-        // current cache in the database
-        Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCache(context);
 
-        // correct cache, computed from the Group table
-        Set<Pair<UUID, UUID>> newCache = computeNewCache(context, flushQueries);
-
-        SetUtils.SetView<Pair<UUID, UUID>> toDelete = SetUtils.difference(oldCache, newCache);
-        SetUtils.SetView<Pair<UUID, UUID>> toCreate = SetUtils.difference(newCache, oldCache);
-
-        for (Pair<UUID, UUID> pair : toDelete ) {
+        for (Pair<UUID, UUID> pair : SetUtils.difference(oldCache, newCache)) {
             group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
         }
 
-        for (Pair<UUID, UUID> pair : toCreate ) {
+        for (Pair<UUID, UUID> pair : SetUtils.difference(newCache, oldCache)) {
             group2GroupCacheDAO.addToCache(context, pair.getLeft(), pair.getRight());
         }
     }
 
+    /**
+     * Compute all the descendants of the given group, memoizing the descendants of each visited group so that the
+     * groups shared by several branches are only visited once.
+     *
+     * @param children    Map of the direct parent, child relationships
+     * @param descendants Map of the descendants already computed
+     * @param parent      the parent you're interested in
+     * @return all the descendants of the parent
+     */
+    private Set<UUID> getDescendants(Map<UUID, Set<UUID>> children, Map<UUID, Set<UUID>> descendants, UUID parent) {
+        Set<UUID> computed = descendants.get(parent);
+        if (computed != null) {
+            return computed;
+        }
+        Set<UUID> myDescendants = new HashSet<>();
+        // registered before visiting the children, so that a cycle cannot recurse forever
+        descendants.put(parent, myDescendants);
+        for (UUID child : children.getOrDefault(parent, Set.of())) {
+            myDescendants.add(child);
+            myDescendants.addAll(getDescendants(children, descendants, child));
+        }
+        return myDescendants;
+    }
+
     @Override
     public DSpaceObject getParentObject(Context context, Group group) throws SQLException {
         if (group == null) {
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -36,6 +37,15 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      */
     Set<Pair<UUID, UUID>> getCache(Context context) throws SQLException;
 
+    /**
+     * Returns the rows of the current cache table having one of the given parents, as a set of UUID pairs.
+     * @param context The relevant DSpace Context.
+     * @param parents UUIDs of the parent groups.
+     * @return Set of UUID pairs, where the first element is the parent UUID and the second one is the child UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    Set<Pair<UUID, UUID>> getCache(Context context, Collection<UUID> parents) throws SQLException;
+
     /**
      * Returns all cache entities that are children of a given parent Group entity.
      * @param context The relevant DSpace Context.
@@ -81,6 +91,14 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
      */
     void deleteAll(Context context) throws SQLException;
 
+    /**
+     * Deletes all the cache rows having the given group as parent or child.
+     * @param context The relevant DSpace Context.
+     * @param group Group UUID.
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    void deleteByGroup(Context context, UUID group) throws SQLException;
+
     /**
      * Deletes a specific cache row given parent and child groups UUIDs.
      * @param context The relevant DSpace Context.
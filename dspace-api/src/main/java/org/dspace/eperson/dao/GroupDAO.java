@@ -85,6 +85,15 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      */
     List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, boolean flushQueries) throws SQLException;
 
+    /**
+     * Get a list of all direct group - eperson memberships in the database
+     *
+     * @param context The DSpace context
+     * @return A list of pairs indicating group - eperson
+     * @throws SQLException if database error
+     */
+    List<Pair<UUID, UUID>> getGroup2EPersonResults(Context context) throws SQLException;
+
     /**
      * Return all empty groups
      *
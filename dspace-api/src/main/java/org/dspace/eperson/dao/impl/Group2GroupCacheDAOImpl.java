@@ -8,6 +8,8 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -19,6 +21,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
@@ -49,6 +52,23 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         return new HashSet<Pair<UUID, UUID>>(results);
     }
 
+    @Override
+    public Set<Pair<UUID, UUID>> getCache(Context context, Collection<UUID> parents) throws SQLException {
+        Set<Pair<UUID, UUID>> cache = new HashSet<>();
+        // keep the number of parameters of each query bounded
+        for (List<UUID> partition : ListUtils.partition(new ArrayList<>(parents), 1000)) {
+            Query query = createQuery(
+                context,
+                "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                    "FROM Group2GroupCache g WHERE g.parent.id IN (:parents)"
+            );
+            query.setParameter("parents", partition);
+            List<Pair<UUID, UUID>> results = query.getResultList();
+            cache.addAll(results);
+        }
+        return cache;
+    }
+
     @Override
     public List<Group2GroupCache> findByParent(Context context, Group group) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -105,6 +125,15 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         createQuery(context, "delete from Group2GroupCache").executeUpdate();
     }
 
+    @Override
+    public void deleteByGroup(Context context, UUID group) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "delete from group2groupcache g WHERE g.parent_id = :group OR g.child_id = :group"
+        );
+        query.setParameter("group", group);
+        query.executeUpdate();
+    }
+
     @Override
     public void deleteFromCache(Context context, UUID parent, UUID child) throws SQLException {
         Query query = getHibernateSession(context).createNativeQuery(
@@ -9,6 +9,7 @@ package org.dspace.event;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -186,9 +187,7 @@ public class EventServiceImpl implements EventService {
                     // OK, now get its list of consumers/filters
                     String consumerKey = PROP_PFX + "." + dispatcherName
                         + ".consumers";
-                    String[] consumers = DSpaceServicesFactory.getInstance()
-                                                              .getConfigurationService()
-                                                              .getArrayProperty(consumerKey);
+                    String[] consumers = getConsumers(dispatcherName);
                     if (ArrayUtils.isEmpty(consumers)) {
                         throw new IllegalStateException(
                             "No Configuration entry found for consumer list of event Dispatcher: \""
@@ -302,5 +301,27 @@ public class EventServiceImpl implements EventService {
                 }
             }
         }
+
+        /**
+         * Get the consumers of a dispatcher: its .consumers list or, if it has none, the consumers of the
+         * dispatcher named by its .base property without the ones listed by its .exclude property, e.g.
+         * the consumers of the default dispatcher without discovery.
+         *
+         * @param dispatcherName the name of the dispatcher
+         * @return the names of the consumers, empty if none is configured
+         */
+        private String[] getConsumers(String dispatcherName) {
+            ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+            String[] consumers = configurationService.getArrayProperty(PROP_PFX + "." + dispatcherName + ".consumers");
+            String base = configurationService.getProperty(PROP_PFX + "." + dispatcherName + ".base");
+            if (ArrayUtils.isNotEmpty(consumers) || base == null || base.equals(dispatcherName)) {
+                return consumers;
+            }
+            List<String> excluded = Arrays.asList(
+                configurationService.getArrayProperty(PROP_PFX + "." + dispatcherName + ".exclude"));
+            return Arrays.stream(configurationService.getArrayProperty(PROP_PFX + "." + base + ".consumers"))
+                         .filter(consumer -> !excluded.contains(consumer))
+                         .toArray(String[]::new);
+        }
     }
 }
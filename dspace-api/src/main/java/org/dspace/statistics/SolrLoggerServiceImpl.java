@@ -106,6 +106,7 @@ import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -118,7 +119,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -154,6 +155,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /** Buffer of the usage events written in the background, null if they are written synchronously. */
+    protected UsageEventBuffer eventBuffer;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -205,6 +209,28 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             log.error(ex);
         }
         locationService = service;
+
+        if (configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            eventBuffer = new UsageEventBuffer(
+                configurationService.getIntProperty("solr-statistics.buffer.size", 10000),
+                configurationService.getIntProperty("solr-statistics.buffer.batch-size", 500),
+                configurationService.getLongProperty("solr-statistics.buffer.flush-interval", 1000),
+                this::addDocuments);
+        }
+    }
+
+    /**
+     * @return the buffer of the usage events written in the background, null if they are written synchronously
+     */
+    public UsageEventBuffer getEventBuffer() {
+        return eventBuffer;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (eventBuffer != null) {
+            eventBuffer.close();
+        }
     }
 
     @Override
@@ -222,14 +248,15 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser, String referrer) {
-        Context context = new Context();
-        // Do not record statistics for Admin users
-        try {
-            if (authorizeService.isAdmin(context, currentUser)) {
-                return;
+        // Do not record statistics for Admin users, anonymous users cannot be admins
+        if (currentUser != null) {
+            try (Context context = new Context()) {
+                if (authorizeService.isAdmin(context, currentUser)) {
+                    return;
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
         }
 
         if (dspaceObject instanceof Bitstream && !isBitstreamLoggable((Bitstream) dspaceObject)) {
@@ -257,13 +284,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, request != null ? clientInfoService.getClientIp(request) : null);
 
         } catch (RuntimeException re) {
             throw re;
@@ -308,12 +329,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, clientInfoService.getClientIp(ip, xforwardedfor));
 
         } catch (RuntimeException re) {
             throw re;
@@ -379,53 +395,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 doc1.addField("referrer", request.getHeader("referer"));
             }
 
-            InetAddress ipAddress = null;
-            try {
-                String dns;
-                if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                    ipAddress = InetAddress.getByName(ip);
-                    dns = ipAddress.getHostName();
-                } else {
-                    dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-                }
-                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-            } catch (UnknownHostException e) {
-                log.info("Failed DNS Lookup for IP:  {}", ip);
-                log.debug(e.getMessage(), e);
-            }
             if (request.getHeader("User-Agent") != null) {
                 doc1.addField("userAgent", request.getHeader("User-Agent"));
             }
             doc1.addField("isBot", isSpiderBot);
-            // Save the location information if valid, save the event without
-            // location information if not valid
-            if (locationService != null && ipAddress != null) {
-                try {
-                    CityResponse location = locationService.city(ipAddress);
-                    String countryCode = location.getCountry().getIsoCode();
-                    double latitude = location.getLocation().getLatitude();
-                    double longitude = location.getLocation().getLongitude();
-                    if (!(
-                            "--".equals(countryCode)
-                            && latitude == -180
-                            && longitude == -180)
-                    ) {
-                        try {
-                            doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                        } catch (Exception e) {
-                            log.warn("Failed to load country/continent table: {}", countryCode);
-                        }
-                        doc1.addField("countryCode", countryCode);
-                        doc1.addField("city", location.getCity().getName());
-                        doc1.addField("latitude", latitude);
-                        doc1.addField("longitude", longitude);
-                    }
-                } catch (IOException e) {
-                    log.warn("GeoIP lookup failed.", e);
-                } catch (GeoIp2Exception e) {
-                    log.info("Unable to get location of request: {}", e.getMessage());
-                }
+            // The buffered events are resolved by the writer
+            if (eventBuffer == null) {
+                addNetworkInformation(doc1, ip);
             }
         }
 
@@ -471,6 +447,41 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("referrer", referrer);
         }
 
+        if (userAgent != null) {
+            doc1.addField("userAgent", userAgent);
+        }
+        doc1.addField("isBot", isSpiderBot);
+        // The buffered events are resolved by the writer
+        if (eventBuffer == null) {
+            addNetworkInformation(doc1, ip);
+        }
+
+        if (dspaceObject != null) {
+            doc1.addField("id", dspaceObject.getID().toString());
+            doc1.addField("type", dspaceObject.getType());
+            storeParents(doc1, dspaceObject);
+        }
+        // Save the current time
+        doc1.addField("time", Instant.now().toString());
+        if (currentUser != null) {
+            doc1.addField("epersonid", currentUser.getID().toString());
+        }
+
+        return doc1;
+    }
+
+
+    /**
+     * Add the host name and the location of the client address to a usage event document. These lookups may block,
+     * they are done by the background writer when the events are buffered.
+     *
+     * @param doc1 the usage event document
+     * @param ip   the (not anonymized) client address, or null
+     */
+    protected void addNetworkInformation(SolrInputDocument doc1, String ip) {
+        if (ip == null) {
+            return;
+        }
         InetAddress ipAddress = null;
         try {
             String dns;
@@ -485,13 +496,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             log.info("Failed DNS Lookup for IP:  {}", ip);
             log.debug(e.getMessage(), e);
         }
-        if (userAgent != null) {
-            doc1.addField("userAgent", userAgent);
-        }
-        doc1.addField("isBot", isSpiderBot);
         // Save the location information if valid, save the event without
         // location information if not valid
-        if (locationService != null) {
+        if (locationService != null && ipAddress != null) {
             try {
                 CityResponse location = locationService.city(ipAddress);
                 String countryCode = location.getCountry().getIsoCode();
@@ -499,15 +506,14 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 double longitude = location.getLocation().getLongitude();
                 if (!(
                         "--".equals(countryCode)
-                                && latitude == -180
-                                && longitude == -180)
+                        && latitude == -180
+                        && longitude == -180)
                 ) {
                     try {
                         doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
+                            .getContinentCode(countryCode));
                     } catch (Exception e) {
-                        System.out
-                                .println("COUNTRY ERROR: " + countryCode);
+                        log.warn("Failed to load country/continent table: {}", countryCode);
                     }
                     doc1.addField("countryCode", countryCode);
                     doc1.addField("city", location.getCity().getName());
@@ -520,21 +526,58 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 log.info("Unable to get location of request: {}", e.getMessage());
             }
         }
+    }
 
-        if (dspaceObject != null) {
-            doc1.addField("id", dspaceObject.getID().toString());
-            doc1.addField("type", dspaceObject.getType());
-            storeParents(doc1, dspaceObject);
-        }
-        // Save the current time
-        doc1.addField("time", Instant.now().toString());
-        if (currentUser != null) {
-            doc1.addField("epersonid", currentUser.getID().toString());
+    /**
+     * Save a usage event document to the statistics core: either hand it to the buffer written in the background,
+     * or add it right away. When the buffer is full the event is dropped, unless
+     * solr-statistics.buffer.overflow-policy is "sync", in which case it is added right away.
+     *
+     * @param doc1 the usage event document
+     * @param ip   the (not anonymized) client address, or null
+     * @throws IOException         if IO error
+     * @throws SolrServerException if Solr error
+     */
+    protected void addDocument(SolrInputDocument doc1, String ip) throws IOException, SolrServerException {
+        if (eventBuffer != null) {
+            if (eventBuffer.offer(doc1, ip)) {
+                return;
+            }
+            if (!"sync".equals(configurationService.getProperty("solr-statistics.buffer.overflow-policy", "drop"))) {
+                eventBuffer.countDropped();
+                log.debug("Usage event buffer full, event dropped");
+                return;
+            }
+            addNetworkInformation(doc1, ip);
         }
+        solr.add(doc1);
+        commitIfNeeded();
+    }
 
-        return doc1;
+    /**
+     * Resolve and add a batch of buffered usage events to the statistics core
+     *
+     * @param events the buffered usage events
+     * @throws IOException         if IO error
+     * @throws SolrServerException if Solr error
+     */
+    protected void addDocuments(List<UsageEventBuffer.PendingEvent> events) throws IOException, SolrServerException {
+        List<SolrInputDocument> docs = new ArrayList<>(events.size());
+        for (UsageEventBuffer.PendingEvent event : events) {
+            addNetworkInformation(event.document(), event.ip());
+            docs.add(event.document());
+        }
+        solr.add(docs);
+        commitIfNeeded();
     }
 
+    private void commitIfNeeded() throws IOException, SolrServerException {
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (!useAutoCommit) {
+            solr.commit(false, false);
+        }
+    }
 
     @Override
     public void postSearch(DSpaceObject resultObject, HttpServletRequest request, EPerson currentUser,
@@ -577,7 +620,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc, request != null ? clientInfoService.getClientIp(request) : null);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -626,7 +669,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc, null);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
@@ -0,0 +1,204 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Bounded in-memory buffer of usage event documents, written to the statistics core in batches by a background
+ * thread, so that the requests logging usage events do not wait for Solr, nor for the DNS and GeoIP lookups of the
+ * client addresses which are done by the writer as well.
+ * <p>
+ * When the buffer is full, {@link #offer(SolrInputDocument, String)} refuses the event: the caller then either
+ * drops it or writes it itself, depending on the overflow policy of {@link SolrLoggerServiceImpl}.
+ */
+public class UsageEventBuffer {
+
+    private static final Logger log = LogManager.getLogger(UsageEventBuffer.class);
+
+    /**
+     * A usage event document waiting to be written, with the client address to resolve
+     *
+     * @param document the usage event document
+     * @param ip       the (not anonymized) client address, or null
+     */
+    public record PendingEvent(SolrInputDocument document, String ip) {
+    }
+
+    /**
+     * Writer of the batches of pending events
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<PendingEvent> events) throws Exception;
+    }
+
+    private final BlockingQueue<PendingEvent> queue;
+
+    private final int batchSize;
+
+    private final long flushInterval;
+
+    private final BatchWriter writer;
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    private volatile boolean abandoned = false;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param capacity      the maximum number of pending events
+     * @param batchSize     the maximum number of events written at once
+     * @param flushInterval the maximum time in milliseconds an event waits for more events to fill its batch
+     * @param writer        the writer of the batches
+     */
+    public UsageEventBuffer(int capacity, int batchSize, long flushInterval, BatchWriter writer) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.writer = writer;
+        this.thread = new Thread(this::run, "usage-event-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Add an event to the buffer
+     *
+     * @param document the usage event document
+     * @param ip       the client address to resolve, or null
+     * @return false if the buffer is full or closed, the event was not added
+     */
+    public boolean offer(SolrInputDocument document, String ip) {
+        return running && queue.offer(new PendingEvent(document, ip));
+    }
+
+    /**
+     * Count an event refused by {@link #offer(SolrInputDocument, String)} and dropped by the caller
+     */
+    public void countDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Stop the writer, after writing the pending events for at most 30 seconds
+     */
+    public void close() {
+        close(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Stop the writer, after writing the pending events. The writer is only interrupted if it doesn't finish in time,
+     * the events still pending are then not written.
+     *
+     * @param timeout the maximum time in milliseconds to wait for the pending events to be written
+     */
+    public void close(long timeout) {
+        running = false;
+        try {
+            thread.join(timeout);
+            if (thread.isAlive()) {
+                log.warn("Usage event writer still running after {} ms, interrupting it", timeout);
+                abandoned = true;
+                thread.interrupt();
+                thread.join(timeout);
+            }
+        } catch (InterruptedException e) {
+            abandoned = true;
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Usage event buffer closed ({} written, {} dropped, {} failed, {} pending)", getWritten(),
+                 getDropped(), getFailed(), getPending());
+    }
+
+    private void run() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        // once closed, write the pending events unless interrupted as closing took too long
+        while (running || (!abandoned && !queue.isEmpty())) {
+            try {
+                PendingEvent first = running ? queue.poll(flushInterval, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushInterval;
+                while (batch.size() < batchSize && running) {
+                    long wait = deadline - System.currentTimeMillis();
+                    PendingEvent next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // interrupted as closing took too long, stop after the current batch
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingEvent> batch) {
+        try {
+            writer.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("Error saving {} usage events to Solr", batch.size(), e);
+        }
+    }
+
+    /**
+     * @return the number of events written
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * @return the number of events dropped as the buffer was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of events which could not be written
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of events waiting to be written
+     */
+    public int getPending() {
+        return queue.size();
+    }
+}
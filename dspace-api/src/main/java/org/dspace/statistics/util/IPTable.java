@@ -7,27 +7,48 @@
  */
 package org.dspace.statistics.util;
 
+import java.math.BigInteger;
+import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import com.google.common.net.InetAddresses;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * A Spare v4 IPTable implementation that uses nested HashMaps
- * to optimize IP address matching over ranges of IP addresses.
+ * A table of IPv4 and IPv6 address ranges, optimized for address matching: the ranges are merged into sorted
+ * arrays of bounds which are binary searched. The arrays are rebuilt on the first lookup following a change, and
+ * swapped atomically so that lookups do not need to lock the table.
  *
  * @author mdiggory at atmire.com
  */
 public class IPTable {
     private static final Logger log = LogManager.getLogger(IPTable.class);
 
-    /* A lookup tree for IP addresses and SubnetRanges */
-    private final Set<IPRange> ipRanges = new HashSet<>();
+    /* The IPv4 ranges added to the table. Guarded by this. */
+    private final Set<IPRange> ipRanges = new LinkedHashSet<>();
+
+    /* The IPv6 ranges added to the table. Guarded by this. */
+    private final Set<IPv6Range> ipv6Ranges = new LinkedHashSet<>();
+
+    /* The merged ranges, null when they must be rebuilt */
+    private volatile Bounds bounds;
+
+    /**
+     * Sorted, non overlapping ranges: range i goes from lows[i] to highs[i]
+     */
+    private record Bounds(long[] lows, long[] highs, BigInteger[] ipv6Lows, BigInteger[] ipv6Highs) {
+    }
 
     /**
      * Internal class representing an IP range
@@ -60,6 +81,25 @@ public class IPTable {
         public long getIpHi() {
             return ipHi;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IPRange other && ipLo == other.ipLo && ipHi == other.ipHi;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(ipLo) * 31 + Long.hashCode(ipHi);
+        }
+    }
+
+    /**
+     * Internal class representing an IPv6 range
+     *
+     * @param ipLo the lowest address in the range
+     * @param ipHi the highest address in the range
+     */
+    record IPv6Range(BigInteger ipLo, BigInteger ipHi) {
     }
 
     /**
@@ -73,11 +113,19 @@ public class IPTable {
      * </ul>
      *
      * Any attempt at CIDR notation is ignored.
+     * <p>
+     * IPv6 addresses are accepted as a full address, a CIDR block ({@code "2001:db8::/32"}) or a range of two
+     * addresses separated by hyphen.
      *
      * @param ip IP address(es)
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
-    public void add(String ip) throws IPFormatException {
+    public synchronized void add(String ip) throws IPFormatException {
+        bounds = null;
+        if (ip.contains(":")) {
+            addIPv6(ip);
+            return;
+        }
 
         String start;
 
@@ -133,6 +181,41 @@ public class IPTable {
         }
     }
 
+    private void addIPv6(String ip) throws IPFormatException {
+        try {
+            String[] range = ip.split("-");
+            if (range.length == 2) {
+                ipv6Ranges.add(new IPv6Range(ipToBigInteger(InetAddresses.forString(range[0].trim())),
+                                             ipToBigInteger(InetAddresses.forString(range[1].trim()))));
+            } else if (ip.contains("/")) {
+                String[] parts = ip.split("/");
+                BigInteger address = ipToBigInteger(InetAddresses.forString(parts[0].trim()));
+                int hostBits = 128 - Integer.parseInt(parts[1].trim());
+                if (hostBits < 0 || hostBits > 128) {
+                    throw new IllegalArgumentException("Invalid prefix length");
+                }
+                BigInteger hostMask = BigInteger.ONE.shiftLeft(hostBits).subtract(BigInteger.ONE);
+                BigInteger ipLo = address.andNot(hostMask);
+                ipv6Ranges.add(new IPv6Range(ipLo, ipLo.or(hostMask)));
+            } else {
+                BigInteger address = ipToBigInteger(InetAddresses.forString(ip.trim()));
+                ipv6Ranges.add(new IPv6Range(address, address));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IPFormatException(ip + " - IPv6 format should be similar to 2001:db8::1, 2001:db8::/32 or "
+                                            + "2001:db8::1-2001:db8::ff");
+        }
+    }
+
+    /**
+     * Convert an IP address (v4 or v6) to a positive big integer
+     * @param ip    the IP address
+     * @return the address as a big integer
+     */
+    public static BigInteger ipToBigInteger(InetAddress ip) {
+        return new BigInteger(1, ip.getAddress());
+    }
+
     /**
      * Convert an IP address to a long integer
      * @param ip    the IP address
@@ -148,6 +231,19 @@ public class IPTable {
         return result;
     }
 
+    private static InetAddress bigIntegerToIPv6(BigInteger ip) {
+        byte[] bytes = ip.toByteArray();
+        byte[] address = new byte[16];
+        int length = Math.min(bytes.length, 16);
+        System.arraycopy(bytes, bytes.length - length, address, 16 - length, length);
+        try {
+            return InetAddress.getByAddress(address);
+        } catch (UnknownHostException e) {
+            // cannot happen with a 16 bytes address
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Convert a long integer into an IP address string
      * @param ip    the IP address as a long integer
@@ -166,11 +262,11 @@ public class IPTable {
     }
 
     /**
-     * Check whether a given address is contained in this netblock.
+     * Check whether a given address is contained in this netblock. The address must be an IPv4 or IPv6 literal,
+     * host names are not resolved.
      *
      * @param ip the address to be tested
-     * @return true if {@code ip} is within this table's limits.  Returns false
-     *         if {@code ip} looks like an IPv6 address.
+     * @return true if {@code ip} is within this table's limits.
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public boolean contains(String ip) throws IPFormatException {
@@ -178,21 +274,83 @@ public class IPTable {
             throw new IPFormatException("Address may not be null");
         }
 
+        InetAddress address;
         try {
-            long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
-        } catch (UnknownHostException e) {
+            address = InetAddresses.forString(ip.trim());
+        } catch (IllegalArgumentException e) {
             throw new IPFormatException("ip not valid");
         }
+
+        Bounds current = getBounds();
+        if (address instanceof Inet4Address) {
+            long ipToTest = ipToLong(address);
+            int index = Arrays.binarySearch(current.lows(), ipToTest);
+            // the range starting at or before the address
+            index = index >= 0 ? index : -index - 2;
+            return index >= 0 && ipToTest <= current.highs()[index];
+        } else {
+            BigInteger ipToTest = ipToBigInteger(address);
+            int index = Arrays.binarySearch(current.ipv6Lows(), ipToTest);
+            index = index >= 0 ? index : -index - 2;
+            return index >= 0 && ipToTest.compareTo(current.ipv6Highs()[index]) <= 0;
+        }
+    }
+
+    private Bounds getBounds() {
+        Bounds current = bounds;
+        if (current == null) {
+            synchronized (this) {
+                current = bounds;
+                if (current == null) {
+                    current = buildBounds();
+                    bounds = current;
+                }
+            }
+        }
+        return current;
     }
 
     /**
-     * Convert to a Set. This set contains all IPs in the range
+     * Sort and merge the ranges. The caller must hold the lock of this table.
+     */
+    private Bounds buildBounds() {
+        List<IPRange> sorted = new ArrayList<>(ipRanges);
+        sorted.sort(Comparator.comparingLong(IPRange::getIpLo));
+        List<long[]> merged = new ArrayList<>();
+        for (IPRange range : sorted) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range.getIpLo() <= last[1] + 1) {
+                last[1] = Math.max(last[1], range.getIpHi());
+            } else {
+                merged.add(new long[] {range.getIpLo(), range.getIpHi()});
+            }
+        }
+        long[] lows = merged.stream().mapToLong(range -> range[0]).toArray();
+        long[] highs = merged.stream().mapToLong(range -> range[1]).toArray();
+
+        List<IPv6Range> sortedIPv6 = new ArrayList<>(ipv6Ranges);
+        sortedIPv6.sort(Comparator.comparing(IPv6Range::ipLo));
+        List<BigInteger[]> mergedIPv6 = new ArrayList<>();
+        for (IPv6Range range : sortedIPv6) {
+            BigInteger[] last = mergedIPv6.isEmpty() ? null : mergedIPv6.get(mergedIPv6.size() - 1);
+            if (last != null && range.ipLo().compareTo(last[1].add(BigInteger.ONE)) <= 0) {
+                last[1] = last[1].max(range.ipHi());
+            } else {
+                mergedIPv6.add(new BigInteger[] {range.ipLo(), range.ipHi()});
+            }
+        }
+        BigInteger[] ipv6Lows = mergedIPv6.stream().map(range -> range[0]).toArray(BigInteger[]::new);
+        BigInteger[] ipv6Highs = mergedIPv6.stream().map(range -> range[1]).toArray(BigInteger[]::new);
+
+        return new Bounds(lows, highs, ipv6Lows, ipv6Highs);
+    }
+
+    /**
+     * Convert to a Set. This set contains all IPv4 addresses in the ranges, the IPv6 ranges are not included.
      *
      * @return this table's content as a Set
      */
-    public Set<String> toSet() {
+    public synchronized Set<String> toSet() {
         HashSet<String> set = new HashSet<>();
 
         Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
@@ -212,8 +370,8 @@ public class IPTable {
      * Return whether IPTable is empty (having no entries)
      * @return true if empty, false otherwise
      */
-    public boolean isEmpty() {
-        return ipRanges.isEmpty();
+    public synchronized boolean isEmpty() {
+        return ipRanges.isEmpty() && ipv6Ranges.isEmpty();
     }
 
     /**
@@ -230,7 +388,7 @@ public class IPTable {
      * @return  a string containing all IP ranges in this IP table
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder stringBuilder = new StringBuilder();
         Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
         while (ipRangeIterator.hasNext()) {
@@ -242,6 +400,14 @@ public class IPTable {
                 stringBuilder.append(", ");
             }
         }
+        for (IPv6Range ipRange : ipv6Ranges) {
+            if (stringBuilder.length() > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append(InetAddresses.toAddrString(bigIntegerToIPv6(ipRange.ipLo())))
+                         .append("-")
+                         .append(InetAddresses.toAddrString(bigIntegerToIPv6(ipRange.ipHi())));
+        }
         return stringBuilder.toString();
     }
 }
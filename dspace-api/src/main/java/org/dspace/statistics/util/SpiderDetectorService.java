@@ -52,6 +52,13 @@ public interface SpiderDetectorService {
      */
     public void loadSpiderIpAddresses();
 
+    /**
+     * Read the agent patterns, domain patterns and IP address files again, and replace the ones in use once they
+     * are all loaded, without interrupting the checks running meanwhile. Called by the checks when the spider files
+     * changed.
+     */
+    public void reload();
+
     /**
      * Utility method which reads lines from a file & returns them in a Set.
      *
@@ -12,11 +12,13 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
@@ -44,19 +46,40 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The compiled agent patterns, loaded on first use and replaced as a whole on reload.
+     */
+    private volatile SpiderPatternMatcher agents = null;
+
+    /**
+     * The compiled domain patterns, loaded on first use and replaced as a whole on reload.
+     */
+    private volatile SpiderPatternMatcher domains = null;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The results of the agent patterns for the recently seen user agents.
+     */
+    private final Map<String, Boolean> agentResults = new ConcurrentHashMap<>();
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
 
     /**
-     * Sparse HashTable structure to hold IP address ranges.
+     * Table of the IP address ranges, loaded on first use and replaced as a whole on reload.
+     */
+    private volatile IPTable table = null;
+
+    /**
+     * The number and the latest modification time of the spider files when they were last checked for changes
      */
-    private IPTable table = null;
+    private volatile String spiderFilesStamp = null;
+
+    /**
+     * When the spider files are next checked for changes
+     */
+    private volatile long nextChangeCheck = 0;
+
+    private final AtomicBoolean checkingChanges = new AtomicBoolean();
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -69,34 +92,17 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return table;
     }
 
-    /*
-     * In future spiders HashSet may be optimized as byte offset array to
-     * improve performance and memory footprint further.
-     */
     @Override
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
-        // See if any agent patterns match
-        if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
-            if (isUseCaseInsensitiveMatching()) {
-                agent = StringUtils.lowerCase(agent);
-                hostname = StringUtils.lowerCase(hostname);
-            }
-
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
+        reloadIfChanged();
+        if (isUseCaseInsensitiveMatching()) {
+            agent = StringUtils.lowerCase(agent);
+            hostname = StringUtils.lowerCase(hostname);
+        }
 
-            }
+        // See if any agent patterns match
+        if (null != agent && isSpiderAgent(agent)) {
+            return true;
         }
 
         // No.  See if any IP addresses match
@@ -114,22 +120,120 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         }
 
         // No.  See if any DNS names match
-        if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
+        if (null != hostname && getDomains().find(hostname)) {
+            return true;
+        }
+
+        // Not a known spider.
+        return false;
+    }
+
+    /**
+     * Check a user agent against the agent patterns, using the result of a previous check of the same user agent
+     * when it is still cached.
+     *
+     * @param agent the user agent, lower cased if the matching is case insensitive
+     * @return true if any agent pattern matches
+     */
+    private boolean isSpiderAgent(String agent) {
+        Boolean result = agentResults.get(agent);
+        if (result == null) {
+            result = getAgents().find(agent);
+            if (agentResults.size() >= configurationService.getIntProperty("usage-statistics.bots.agent-cache-size",
+                                                                             10000)) {
+                // a crude bound, but the cache is filled again by the most frequent agents right away
+                agentResults.clear();
+            }
+            agentResults.put(agent, result);
+        }
+        return result;
+    }
+
+    private SpiderPatternMatcher getAgents() {
+        SpiderPatternMatcher matcher = agents;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = agents;
+                if (matcher == null) {
+                    matcher = loadPatterns("agents");
+                    agents = matcher;
                 }
             }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
+        }
+        return matcher;
+    }
+
+    private SpiderPatternMatcher getDomains() {
+        SpiderPatternMatcher matcher = domains;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = domains;
+                if (matcher == null) {
+                    matcher = loadPatterns("domains");
+                    domains = matcher;
                 }
             }
         }
+        return matcher;
+    }
 
-        // Not a known spider.
-        return false;
+    @Override
+    public void reload() {
+        // build everything first, then swap: the checks running meanwhile keep using the previous patterns
+        SpiderPatternMatcher newAgents = loadPatterns("agents");
+        SpiderPatternMatcher newDomains = loadPatterns("domains");
+        IPTable newTable = readSpiderIpAddresses();
+        synchronized (this) {
+            agents = newAgents;
+            domains = newDomains;
+            table = newTable;
+            agentResults.clear();
+        }
+    }
+
+    /**
+     * Reload the spider files when they changed since they were last checked, e.g. after the IP address files are
+     * updated by "dspace stats-util -u". The files are checked at most once per
+     * usage-statistics.bots.reload-interval seconds, by a single thread: the other checks meanwhile go on with the
+     * previous patterns.
+     */
+    private void reloadIfChanged() {
+        long interval = configurationService.getLongProperty("usage-statistics.bots.reload-interval", 60);
+        long now = System.currentTimeMillis();
+        if (interval < 0 || now < nextChangeCheck || !checkingChanges.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextChangeCheck = now + TimeUnit.SECONDS.toMillis(interval);
+            String stamp = getSpiderFilesStamp();
+            if (spiderFilesStamp != null && !spiderFilesStamp.equals(stamp)) {
+                log.info("The spider files changed, reloading them");
+                reload();
+            }
+            spiderFilesStamp = stamp;
+        } finally {
+            checkingChanges.set(false);
+        }
+    }
+
+    /**
+     * @return the number and the latest modification time of the files of config/spiders and of its agents and
+     * domains subdirectories
+     */
+    private String getSpiderFilesStamp() {
+        File spidersDir = new File(configurationService.getProperty("dspace.dir"), "config/spiders");
+        int count = 0;
+        long lastModified = 0;
+        for (File dir : new File[] {spidersDir, new File(spidersDir, "agents"), new File(spidersDir, "domains")}) {
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    count++;
+                    lastModified = Math.max(lastModified, file.lastModified());
+                }
+            }
+        }
+        return count + ":" + lastModified;
     }
 
     @Override
@@ -166,10 +270,10 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return the patterns read from the files in {@code directory}, compiled
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private SpiderPatternMatcher loadPatterns(String directory) {
+        List<String> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -188,7 +292,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                     if (isUseCaseInsensitiveMatching()) {
                         pattern = StringUtils.lowerCase(pattern);
                     }
-                    patternList.add(Pattern.compile(pattern));
+                    patternList.add(pattern);
                 }
 
 
@@ -197,6 +301,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        return new SpiderPatternMatcher(patternList);
     }
 
     @Override
@@ -209,12 +314,15 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     @Override
     public boolean isSpider(String ip) {
-        if (table == null) {
+        reloadIfChanged();
+        IPTable current = table;
+        if (current == null) {
             loadSpiderIpAddresses();
+            current = table;
         }
 
         try {
-            if (table.contains(ip)) {
+            if (current.contains(ip)) {
                 return true;
             }
         } catch (IPTable.IPFormatException e) {
@@ -229,41 +337,52 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public synchronized void loadSpiderIpAddresses() {
 
         if (table == null) {
-            table = new IPTable();
+            // only publish the table once it is complete
+            table = readSpiderIpAddresses();
+        }
 
-            String filePath = configurationService.getProperty("dspace.dir");
+    }
 
-            try {
-                File spidersDir = new File(filePath, "config/spiders");
-
-                if (spidersDir.exists() && spidersDir.isDirectory()) {
-                    for (File file : spidersDir.listFiles()) {
-                        if (file.isFile()) {
-                            for (String ip : readPatterns(file)) {
-                                log.debug("Loading {}", ip);
-                                if (!Character.isDigit(ip.charAt(0))) {
-                                    try {
-                                        ip = DnsLookup.forward(ip);
-                                        log.debug("Resolved to {}", ip);
-                                    } catch (IOException e) {
-                                        log.warn("Not loading {}:  {}", ip, e.getMessage());
-                                        continue;
-                                    }
+    /**
+     * Read the IP address ranges from the files of config/spiders
+     *
+     * @return a new table of the IP address ranges
+     */
+    private IPTable readSpiderIpAddresses() {
+        IPTable newTable = new IPTable();
+
+        String filePath = configurationService.getProperty("dspace.dir");
+
+        try {
+            File spidersDir = new File(filePath, "config/spiders");
+
+            if (spidersDir.exists() && spidersDir.isDirectory()) {
+                for (File file : spidersDir.listFiles()) {
+                    if (file.isFile()) {
+                        for (String ip : readPatterns(file)) {
+                            log.debug("Loading {}", ip);
+                            if (!Character.isDigit(ip.charAt(0)) && !ip.contains(":")) {
+                                try {
+                                    ip = DnsLookup.forward(ip);
+                                    log.debug("Resolved to {}", ip);
+                                } catch (IOException e) {
+                                    log.warn("Not loading {}:  {}", ip, e.getMessage());
+                                    continue;
                                 }
-                                table.add(ip);
                             }
-                            log.info("Loaded Spider IP file: " + file);
+                            newTable.add(ip);
                         }
+                        log.info("Loaded Spider IP file: " + file);
                     }
-                } else {
-                    log.info("No spider file loaded");
                 }
-            } catch (IOException | IPTable.IPFormatException e) {
-                log.error("Error Loading Spiders:" + e.getMessage(), e);
+            } else {
+                log.info("No spider file loaded");
             }
-
+        } catch (IOException | IPTable.IPFormatException e) {
+            log.error("Error Loading Spiders:" + e.getMessage(), e);
         }
 
+        return newTable;
     }
 
     /**
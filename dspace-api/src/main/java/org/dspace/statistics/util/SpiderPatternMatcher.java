@@ -0,0 +1,208 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Immutable matcher of a set of spider patterns (user agents or domain names), telling whether any of the patterns
+ * is found in a string, as looping over each {@link Pattern} would.
+ * <p>
+ * The patterns which are plain strings (possibly with escaped punctuation, e.g. {@code Googlebot/2\.1}) are matched
+ * all at once with an Aho-Corasick automaton, the others are combined into a single alternation. The few patterns
+ * which cannot be combined (back references, named groups, quotes left open by a trailing {@code \Q}) are matched
+ * one by one.
+ */
+public class SpiderPatternMatcher {
+
+    private static final Logger log = LogManager.getLogger(SpiderPatternMatcher.class);
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * Back references and named groups, which are numbered or named across the whole alternation, and a {@code \Q}
+     * without a closing {@code \E}, which would quote the rest of the alternation
+     */
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?<[a-zA-Z]|\\\\Q(?!.*\\\\E)",
+                                                                  Pattern.DOTALL);
+
+    private final LiteralMatcher literals;
+
+    private final Pattern combined;
+
+    private final List<Pattern> others;
+
+    private final int size;
+
+    /**
+     * @param patterns the regular expressions to match, the invalid ones are ignored
+     */
+    public SpiderPatternMatcher(Collection<String> patterns) {
+        List<String> literalPatterns = new ArrayList<>();
+        List<String> combinable = new ArrayList<>();
+        List<Pattern> separate = new ArrayList<>();
+        for (String pattern : patterns) {
+            String literal = toLiteral(pattern);
+            if (literal != null) {
+                literalPatterns.add(literal);
+                continue;
+            }
+            Pattern compiled;
+            try {
+                compiled = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                log.warn("Ignoring invalid spider pattern {}: {}", pattern, e.getDescription());
+                continue;
+            }
+            if (NOT_COMBINABLE.matcher(pattern).find()) {
+                separate.add(compiled);
+            } else {
+                combinable.add(pattern);
+            }
+        }
+        this.literals = literalPatterns.isEmpty() ? null : new LiteralMatcher(literalPatterns);
+        this.combined = combinable.isEmpty() ? null : Pattern.compile(
+            combinable.stream().map(pattern -> "(?:" + pattern + ")").collect(Collectors.joining("|")));
+        this.others = List.copyOf(separate);
+        this.size = literalPatterns.size() + combinable.size() + separate.size();
+    }
+
+    /**
+     * @param text the string to search
+     * @return true if any of the patterns is found in the string
+     */
+    public boolean find(String text) {
+        if (literals != null && literals.find(text)) {
+            return true;
+        }
+        if (combined != null && combined.matcher(text).find()) {
+            return true;
+        }
+        for (Pattern pattern : others) {
+            if (pattern.matcher(text).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of valid patterns
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the string matched by a pattern which only matches a fixed string
+     *
+     * @param pattern a regular expression
+     * @return the fixed string, or null if the pattern uses regular expression constructs
+     */
+    static String toLiteral(String pattern) {
+        StringBuilder literal = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                // only escaped punctuation stands for itself, \d, \s, \Q... are constructs
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(pattern.charAt(++i));
+            } else if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.length() == 0 ? null : literal.toString();
+    }
+
+    /**
+     * Aho-Corasick automaton finding any of a set of strings in one pass over the text
+     */
+    private static class LiteralMatcher {
+
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+        private final int[] failures;
+
+        private final boolean[] terminal;
+
+        LiteralMatcher(List<String> literals) {
+            List<Boolean> terminals = new ArrayList<>();
+            transitions.add(new HashMap<>());
+            terminals.add(false);
+            for (String literal : literals) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Integer next = transitions.get(state).get(literal.charAt(i));
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new HashMap<>());
+                        terminals.add(false);
+                        transitions.get(state).put(literal.charAt(i), next);
+                    }
+                    state = next;
+                }
+                terminals.set(state, true);
+            }
+
+            failures = new int[transitions.size()];
+            terminal = new boolean[transitions.size()];
+            for (int i = 0; i < terminal.length; i++) {
+                terminal[i] = terminals.get(i);
+            }
+            // breadth first, so that the failure of a state is known before its children
+            Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                    int child = transition.getValue();
+                    int failure = failures[state];
+                    while (failure != 0 && !transitions.get(failure).containsKey(transition.getKey())) {
+                        failure = failures[failure];
+                    }
+                    Integer target = state == 0 ? null : transitions.get(failure).get(transition.getKey());
+                    failures[child] = target == null ? 0 : target;
+                    terminal[child] |= terminal[failures[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        boolean find(String text) {
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                while (next == null && state != 0) {
+                    state = failures[state];
+                    next = transitions.get(state).get(c);
+                }
+                state = next == null ? 0 : next;
+                if (terminal[state]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -9,9 +9,11 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +47,36 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits for bitstream. By default the bits before the range are read and discarded, stores
+     * able to read a range natively should override this method.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    The position of the first byte to retrieve
+     * @param length    The maximum number of bytes to retrieve
+     * @return The stream of bits of the range
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream in = get(bitstream);
+        in.skipNBytes(offset);
+        return BoundedInputStream.builder().setInputStream(in).setMaxCount(length).get();
+    }
+
+    /**
+     * Get the file holding the bits for bitstream, for the stores keeping their assets on the local file system, so
+     * that callers can transfer it without copying it through the JVM (e.g. with sendfile). Remote stores return null,
+     * the bits must then be read with {@link #get(Bitstream)}.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The path of the local file, or null if the store does not keep the asset in a local file
+     * @throws java.io.IOException If a problem occurs while locating the file
+     */
+    public default Path getPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
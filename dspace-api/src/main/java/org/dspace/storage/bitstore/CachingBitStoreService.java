@@ -0,0 +1,752 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Utils;
+
+/**
+ * Asset store decorator keeping a copy of the recently read bitstreams of another (typically remote, e.g. S3 or
+ * JCloud) asset store on the local file system, so that the bitstreams read over and over (thumbnails, IIIF images,
+ * full texts...) are not fetched from the remote storage on every request.
+ * <p>
+ * The cache is bounded by maxSize bytes and evicts the least recently used bitstreams. A bitstream is copied to the
+ * cache while it is streamed to its first full reader, which is not delayed by the copy; the copy is validated
+ * against the checksum of the bitstream once fully read, and only used while that checksum does not change. The
+ * copy is abandoned if the first reader stops before the end. Concurrent reads of a bitstream which is being copied
+ * follow the copy, so that the bitstream is fetched once: they read what is copied already and wait for the rest,
+ * and read the rest from the decorated store if the copy is abandoned, or makes no progress for followTimeout
+ * milliseconds. Range reads of a bitstream which is not cached are served by the decorated store. Writes and
+ * deletions go to the decorated store, and discard the cached copy.
+ * <p>
+ * The cache directory is emptied on initialization, its content is not trusted across restarts.
+ */
+public class CachingBitStoreService implements BitStoreService {
+
+    private static final Logger log = LogManager.getLogger(CachingBitStoreService.class);
+
+    /**
+     * The decorated asset store
+     */
+    private BitStoreService bitStoreService;
+
+    /**
+     * The directory of the cached bitstreams
+     */
+    private File cacheDir;
+
+    /**
+     * The maximum total size of the cached bitstreams, in bytes
+     */
+    private long maxSize = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * The size in bytes of the largest bitstream to cache
+     */
+    private long maxFileSize = 1024L * 1024 * 1024;
+
+    /**
+     * The cached bitstreams by internal id, in access order. Guarded by itself.
+     */
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total size of the cached bitstreams. Guarded by entries.
+     */
+    private long size = 0;
+
+    /**
+     * The time in milliseconds a read following a copy waits for the copy to progress, before reading the rest of
+     * the bitstream from the decorated store
+     */
+    private long followTimeout = 30000;
+
+    /**
+     * The copies in progress, by internal id of their bitstream
+     */
+    private final Map<String, Load> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder validationFailures = new LongAdder();
+
+    private boolean initialized = false;
+
+    /**
+     * A cached bitstream
+     *
+     * @param path     the file of the cached copy
+     * @param checksum the checksum of the cached copy
+     * @param size     the size of the cached copy
+     */
+    private record CacheEntry(Path path, String checksum, long size) {
+    }
+
+    @Override
+    public void init() throws IOException {
+        if (!bitStoreService.isInitialized()) {
+            bitStoreService.init();
+        }
+        if (cacheDir.exists()) {
+            FileUtils.cleanDirectory(cacheDir);
+        } else {
+            Files.createDirectories(cacheDir.toPath());
+        }
+        this.initialized = true;
+    }
+
+    @Override
+    public String generateId() {
+        return bitStoreService.generateId();
+    }
+
+    /**
+     * Retrieve the bits for bitstream from the cache, from the copy in progress of the bitstream, or from the
+     * decorated store while copying them to the cache. The decorated store is read directly when the bitstream
+     * cannot be cached.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        CacheEntry entry = lookup(bitstream);
+        if (entry != null) {
+            try {
+                InputStream in = new FileInputStream(entry.path().toFile());
+                hits.increment();
+                return in;
+            } catch (FileNotFoundException e) {
+                // evicted in the meantime
+                log.debug("Cached copy of {} is gone", bitstream.getInternalId());
+            }
+        }
+        if (isCacheable(bitstream)) {
+            Load load = new Load(bitstream.getChecksum());
+            Load current = loading.putIfAbsent(bitstream.getInternalId(), load);
+            if (current == null) {
+                misses.increment();
+                return getAndCopy(bitstream, load);
+            }
+            if (current.checksum.equals(bitstream.getChecksum())) {
+                hits.increment();
+                return new FollowingInputStream(bitstream, current);
+            }
+        }
+        misses.increment();
+        return bitStoreService.get(bitstream);
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        CacheEntry entry = lookup(bitstream);
+        if (entry != null) {
+            try {
+                InputStream in = getRange(entry.path(), offset, length);
+                hits.increment();
+                return in;
+            } catch (IOException e) {
+                log.debug("Cached copy of {} is gone", bitstream.getInternalId());
+            }
+        }
+        misses.increment();
+        return bitStoreService.get(bitstream, offset, length);
+    }
+
+    /**
+     * Open a range of a cached copy
+     */
+    private InputStream getRange(Path path, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                                     .setInputStream(Channels.newInputStream(channel))
+                                     .setMaxCount(length)
+                                     .get();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Path getPath(Bitstream bitstream) throws IOException {
+        // the cached copies can be evicted at any time, they are not handed out
+        return bitStoreService.getPath(bitstream);
+    }
+
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        discard(bitstream.getInternalId());
+        bitStoreService.put(bitstream, inputStream);
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return bitStoreService.about(bitstream, attrs);
+    }
+
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        discard(bitstream.getInternalId());
+        bitStoreService.remove(bitstream);
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized && bitStoreService.isInitialized();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return bitStoreService.isEnabled();
+    }
+
+    /**
+     * Get the cached copy of a bitstream, provided its checksum is still the one of the bitstream
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return the cached copy, or null
+     */
+    private CacheEntry lookup(Bitstream bitstream) {
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(bitstream.getInternalId());
+            if (entry != null && !entry.checksum().equals(bitstream.getChecksum())) {
+                remove(bitstream.getInternalId());
+                entry = null;
+            }
+        }
+        return entry;
+    }
+
+    private boolean isCacheable(Bitstream bitstream) {
+        return StringUtils.isNotBlank(bitstream.getChecksum())
+            && StringUtils.isNotBlank(bitstream.getChecksumAlgorithm())
+            && bitstream.getSizeBytes() <= Math.min(maxFileSize, maxSize);
+    }
+
+    /**
+     * Retrieve the bits for bitstream from the decorated store, copying them to the cache as they are read. The
+     * caller must have added the copy to the copies in progress.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param load      the copy
+     * @return The stream of bits
+     * @throws IOException If a problem occurs while retrieving the bits
+     */
+    private InputStream getAndCopy(Bitstream bitstream, Load load) throws IOException {
+        InputStream in;
+        try {
+            in = bitStoreService.get(bitstream);
+        } catch (IOException | RuntimeException e) {
+            end(bitstream, load, null);
+            throw e;
+        }
+        try {
+            return new CopyingInputStream(bitstream, load, in);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            end(bitstream, load, null);
+            log.warn("Unable to cache bitstream {}: {}", bitstream.getInternalId(), e.getMessage());
+            return in;
+        }
+    }
+
+    /**
+     * End a copy in progress, releasing the reads following it
+     *
+     * @param bitstream the bitstream
+     * @param load      the copy
+     * @param path      the cached copy, null if the copy failed
+     */
+    private void end(Bitstream bitstream, Load load, Path path) {
+        loading.remove(bitstream.getInternalId(), load);
+        load.end(path);
+    }
+
+    /**
+     * A copy in progress of a bitstream, followed by the concurrent reads of the bitstream
+     */
+    private static final class Load {
+
+        private final String checksum;
+
+        /**
+         * The file of the copy: the temporary file while copying, then the cached copy; null before the copy starts
+         * and once it failed. Guarded by this.
+         */
+        private Path path;
+
+        /**
+         * The number of bytes written to the file. Guarded by this.
+         */
+        private long length = 0;
+
+        /**
+         * Whether the copy ended, successfully if path is not null. Guarded by this.
+         */
+        private boolean ended = false;
+
+        private Load(String checksum) {
+            this.checksum = checksum;
+        }
+
+        private synchronized void start(Path temp) {
+            path = temp;
+        }
+
+        private synchronized void progress(long copied) {
+            length = copied;
+            notifyAll();
+        }
+
+        private synchronized void end(Path cached) {
+            path = cached;
+            ended = true;
+            notifyAll();
+        }
+
+        /**
+         * Wait until more than the given number of bytes are copied, the copy ends, or the timeout expires
+         *
+         * @return the number of bytes copied
+         */
+        private synchronized long await(long position, long timeout) throws InterruptedIOException {
+            long deadline = System.currentTimeMillis() + timeout;
+            try {
+                for (long remaining = timeout; !ended && length <= position && remaining > 0;
+                     remaining = deadline - System.currentTimeMillis()) {
+                    wait(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the copy of a bitstream");
+            }
+            return length;
+        }
+
+        /**
+         * @return a channel reading the file of the copy, or null if the copy failed or is not started
+         */
+        private synchronized FileChannel open() throws IOException {
+            return path != null ? FileChannel.open(path, StandardOpenOption.READ) : null;
+        }
+
+        /**
+         * @return true if the copy ended successfully, and is not longer than the given number of bytes
+         */
+        private synchronized boolean isCompleted(long position) {
+            return ended && path != null && length <= position;
+        }
+    }
+
+    /**
+     * Stream of the bits of a bitstream read from the decorated store, which writes them to a temporary file of the
+     * cache as they are read, and adds the file to the cache once the stream is fully read and matches the checksum
+     * of the bitstream. A failure to write the copy doesn't fail the read, and closing the stream before the end
+     * abandons the copy.
+     */
+    private class CopyingInputStream extends InputStream {
+
+        private final Bitstream bitstream;
+
+        private final Load load;
+
+        private final InputStream in;
+
+        private final MessageDigest digest;
+
+        private final Path temp;
+
+        private OutputStream out;
+
+        private long copied = 0;
+
+        private boolean finished = false;
+
+        CopyingInputStream(Bitstream bitstream, Load load, InputStream in)
+            throws IOException, NoSuchAlgorithmException {
+            this.bitstream = bitstream;
+            this.load = load;
+            this.in = in;
+            this.digest = MessageDigest.getInstance(bitstream.getChecksumAlgorithm());
+            String checksum = bitstream.getChecksum();
+            Path dir = cacheDir.toPath().resolve(checksum.substring(0, Math.min(2, checksum.length())));
+            Files.createDirectories(dir);
+            this.temp = Files.createTempFile(dir, null, ".tmp");
+            this.out = Files.newOutputStream(temp);
+            load.start(temp);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                finish();
+            } else if (out != null) {
+                digest.update((byte) b);
+                copy(new byte[] {(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n < 0) {
+                finish();
+            } else if (n > 0 && out != null) {
+                digest.update(b, off, n);
+                copy(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!finished) {
+                    // stopped before the end, the copy is incomplete
+                    abandon();
+                }
+            } finally {
+                in.close();
+            }
+        }
+
+        private void copy(byte[] b, int off, int len) {
+            try {
+                out.write(b, off, len);
+                copied += len;
+                load.progress(copied);
+            } catch (IOException e) {
+                log.warn("Unable to cache bitstream {}: {}", bitstream.getInternalId(), e.getMessage());
+                abandon();
+            }
+        }
+
+        /**
+         * Add the copy to the cache once the whole bitstream was read, if it matches the checksum
+         */
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (out == null) {
+                return;
+            }
+            Path cached = null;
+            try {
+                out.close();
+                out = null;
+                String checksum = bitstream.getChecksum();
+                String computed = Utils.toHex(digest.digest());
+                if (!computed.equalsIgnoreCase(checksum)) {
+                    validationFailures.increment();
+                    log.warn("Checksum mismatch for bitstream {}: expected {}, got {}", bitstream.getInternalId(),
+                             checksum, computed);
+                    return;
+                }
+                Path target = temp.resolveSibling(getFileName(bitstream));
+                // the following reads open the file of the copy while holding the lock of the copy
+                synchronized (load) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    cached = target;
+                    load.start(target);
+                }
+                add(bitstream.getInternalId(), new CacheEntry(target, checksum, copied));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to cache bitstream {}: {}", bitstream.getInternalId(), e.getMessage());
+            } finally {
+                end(bitstream, load, cached);
+                if (cached == null) {
+                    delete(temp);
+                }
+            }
+        }
+
+        private void abandon() {
+            finished = true;
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    log.debug("Unable to close the copy of bitstream {}", bitstream.getInternalId(), e);
+                }
+                out = null;
+                end(bitstream, load, null);
+                delete(temp);
+            }
+        }
+    }
+
+    /**
+     * Stream of the bits of a bitstream read from the file of the copy in progress of the bitstream, waiting for
+     * the copy to progress. The rest of the bitstream is read from the decorated store if the copy fails, or makes
+     * no progress within followTimeout.
+     */
+    private class FollowingInputStream extends InputStream {
+
+        private final Bitstream bitstream;
+
+        private final Load load;
+
+        private FileChannel channel;
+
+        /**
+         * The rest of the bitstream read from the decorated store, once the copy is not followed anymore
+         */
+        private InputStream rest;
+
+        private long position = 0;
+
+        FollowingInputStream(Bitstream bitstream, Load load) {
+            this.bitstream = bitstream;
+            this.load = load;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n;
+            while ((n = read(b, 0, 1)) == 0) {
+                // read again until a byte or the end
+            }
+            return n < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (rest != null) {
+                return rest.read(b, off, len);
+            }
+            long copied = load.await(position, followTimeout);
+            if (channel == null && copied > position) {
+                channel = load.open();
+            }
+            if (channel != null && copied > position) {
+                int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, copied - position)), position);
+                if (n > 0) {
+                    position += n;
+                    return n;
+                }
+            }
+            if (channel != null && load.isCompleted(position)) {
+                // the copy succeeded, and was fully read
+                return -1;
+            }
+            log.debug("Reading the rest of bitstream {} from the decorated store", bitstream.getInternalId());
+            rest = position == 0 ? bitStoreService.get(bitstream)
+                : bitStoreService.get(bitstream, position, bitstream.getSizeBytes() - position);
+            return rest.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } finally {
+                if (rest != null) {
+                    rest.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a copy to the cache, then evict the least recently used copies over the maximum size
+     */
+    private CacheEntry add(String internalId, CacheEntry entry) {
+        synchronized (entries) {
+            CacheEntry previous = entries.put(internalId, entry);
+            if (previous != null) {
+                size -= previous.size();
+                if (!previous.path().equals(entry.path())) {
+                    delete(previous.path());
+                }
+            }
+            size += entry.size();
+            Iterator<Map.Entry<String, CacheEntry>> eldest = entries.entrySet().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                Map.Entry<String, CacheEntry> evicted = eldest.next();
+                if (evicted.getValue() == entry) {
+                    continue;
+                }
+                eldest.remove();
+                size -= evicted.getValue().size();
+                delete(evicted.getValue().path());
+                evictions.increment();
+            }
+        }
+        return entry;
+    }
+
+    private void discard(String internalId) {
+        synchronized (entries) {
+            remove(internalId);
+        }
+    }
+
+    /**
+     * Remove a copy from the cache. The caller must hold the lock of entries.
+     */
+    private void remove(String internalId) {
+        CacheEntry entry = entries.remove(internalId);
+        if (entry != null) {
+            size -= entry.size();
+            delete(entry.path());
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Unable to delete cached bitstream {}", path, e);
+        }
+    }
+
+    /**
+     * @return the name of the file of the cached copy of a bitstream, made of its internal id (restricted to safe
+     * characters) and checksum
+     */
+    private String getFileName(Bitstream bitstream) {
+        return bitstream.getInternalId().replaceAll("[^A-Za-z0-9_.]", "_") + "-" + bitstream.getChecksum();
+    }
+
+    /**
+     * @return the number of reads served from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of reads which were not served from the cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the ratio of the reads served from the cache, 0 if there was none
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return the number of copies evicted to stay under the maximum size
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of copies discarded as they did not match the checksum of their bitstream
+     */
+    public long getValidationFailures() {
+        return validationFailures.sum();
+    }
+
+    /**
+     * @return the total size in bytes of the cached copies
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    public BitStoreService getBitStoreService() {
+        return bitStoreService;
+    }
+
+    public void setBitStoreService(BitStoreService bitStoreService) {
+        this.bitStoreService = bitStoreService;
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    public void setCacheDir(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getFollowTimeout() {
+        return followTimeout;
+    }
+
+    public void setFollowTimeout(long followTimeout) {
+        this.followTimeout = followTimeout;
+    }
+
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+}
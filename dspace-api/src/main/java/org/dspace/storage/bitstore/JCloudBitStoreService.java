@@ -35,6 +35,7 @@ import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions.Builder;
 import org.jclouds.io.ContentMetadata;
@@ -331,6 +332,31 @@ public class JCloudBitStoreService extends BaseBitStoreService {
         throw new IOException("File not found: " + file);
     }
 
+    /**
+     * Retrieves a range of a bitstream from the cloud storage, with a ranged get of the blob.
+     *
+     * @param bitstream the bitstream to retrieve
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return the InputStream of the range
+     * @throws IOException if an error occurs during retrieval
+     */
+    @Override
+    public InputStream get(final Bitstream bitstream, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        final File file = getFile(bitstream);
+        BlobStore blobStore = blobStoreContext.getBlobStore();
+        Blob blob = blobStore.getBlob(getContainer(), file.toString(), GetOptions.Builder.range(offset,
+                                                                                            offset + length - 1));
+        if (blob == null) {
+            throw new IOException("File not found: " + file);
+        }
+        refreshContextIfNeeded();
+        return blob.getPayload().openStream();
+    }
+
     /**
      * Removes a bitstream from the cloud storage.
      *
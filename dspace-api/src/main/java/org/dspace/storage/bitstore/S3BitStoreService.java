@@ -274,22 +274,55 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     @Override
     public InputStream get(Bitstream bitstream) throws IOException {
-        String key = getFullKey(bitstream.getInternalId());
-        // Strip -R from bitstream key if it's registered
-        if (isRegisteredBitstream(key)) {
-            key = key.substring(REGISTERED_FLAG.length());
+        final String objectKey = getObjectKey(bitstream);
+
+        // the CRT client splits the download of large objects in parallel ranged GETs of minPartSizeBytes
+        try {
+            return s3AsyncClient.getObject(r -> r.bucket(bucketName).key(objectKey),
+                AsyncResponseTransformer.toBlockingInputStream()).join();
+        } catch (CompletionException e) {
+            throw new IOException(e.getCause());
         }
+    }
 
-        final String objectKey = key;
+    /**
+     * Retrieve a range of the bits for the asset with ID, with a ranged GET of the object.
+     *
+     * @param bitstream The ID of the asset to retrieve
+     * @param offset    The position of the first byte to retrieve
+     * @param length    The maximum number of bytes to retrieve
+     * @return The stream of bits of the range
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        final String objectKey = getObjectKey(bitstream);
+        final String range = "bytes=" + offset + "-" + (offset + length - 1);
 
         try {
-            return s3AsyncClient.getObject(r -> r.bucket(bucketName).key(objectKey),
+            return s3AsyncClient.getObject(r -> r.bucket(bucketName).key(objectKey).range(range),
                 AsyncResponseTransformer.toBlockingInputStream()).join();
         } catch (CompletionException e) {
             throw new IOException(e.getCause());
         }
     }
 
+    /**
+     * @param bitstream the bitstream
+     * @return the key of the object of the bitstream, without the registered bitstream prefix
+     */
+    private String getObjectKey(Bitstream bitstream) {
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+        return key;
+    }
+
     /**
      * Store a stream of bits.
      *
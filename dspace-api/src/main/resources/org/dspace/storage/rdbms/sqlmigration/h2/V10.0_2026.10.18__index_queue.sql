@@ -0,0 +1,25 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the asynchronous discovery index queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE index_queue_id_seq;
+
+CREATE TABLE index_queue
+(
+    id INTEGER NOT NULL,
+    unique_index_id CHARACTER VARYING(255) NOT NULL,
+    operation CHARACTER VARYING(32) NOT NULL,
+    enqueued TIMESTAMP,
+    attempts INTEGER,
+    CONSTRAINT index_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX index_queue_unique_index_id_index on index_queue(unique_index_id);
@@ -0,0 +1,15 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Add the priority of the records of the asynchronous discovery index queue
+-----------------------------------------------------------------------------------
+
+ALTER TABLE index_queue ADD COLUMN priority INTEGER DEFAULT 0 NOT NULL;
+
+CREATE INDEX index_queue_priority_id_index on index_queue(priority, id);
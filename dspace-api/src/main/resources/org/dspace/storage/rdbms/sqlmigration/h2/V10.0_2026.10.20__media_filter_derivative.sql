@@ -0,0 +1,33 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the ledger of the derivative bitstreams of the media filters
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE media_filter_derivative_id_seq;
+
+CREATE TABLE media_filter_derivative
+(
+    id INTEGER NOT NULL,
+    source_id UUID NOT NULL,
+    filter CHARACTER VARYING(256) NOT NULL,
+    source_checksum CHARACTER VARYING(64),
+    outcome CHARACTER VARYING(32),
+    derivative_id UUID,
+    filtered TIMESTAMP,
+    CONSTRAINT media_filter_derivative_pkey PRIMARY KEY (id),
+    CONSTRAINT media_filter_derivative_source_fkey FOREIGN KEY (source_id) REFERENCES bitstream (uuid)
+        ON DELETE CASCADE,
+    CONSTRAINT media_filter_derivative_derivative_fkey FOREIGN KEY (derivative_id) REFERENCES bitstream (uuid)
+        ON DELETE SET NULL
+);
+
+CREATE UNIQUE INDEX media_filter_derivative_source_filter_index
+    ON media_filter_derivative(source_id, filter);
+CREATE INDEX media_filter_derivative_derivative_index ON media_filter_derivative(derivative_id);
@@ -0,0 +1,17 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Add the claim of the records of the asynchronous discovery index queue by the
+-- processing run handling them, until its lease expires
+-----------------------------------------------------------------------------------
+
+ALTER TABLE index_queue ADD COLUMN claimed_by CHARACTER VARYING(64);
+ALTER TABLE index_queue ADD COLUMN claimed_until TIMESTAMP;
+
+CREATE INDEX index_queue_claimed_by_index on index_queue(claimed_by);
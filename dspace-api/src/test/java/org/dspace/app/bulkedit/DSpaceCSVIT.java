@@ -18,10 +18,12 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.builder.CollectionBuilder;
@@ -245,4 +247,39 @@ public class DSpaceCSVIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    /**
+     * Test the reading of CSV files line by line
+     */
+    @Test
+    public void testDSpaceCSVReader() throws Exception {
+        String csv = "id,collection,\"dc.title[en]\",dc.contributor.author\n"
+            + "+,56599ad5-c7d2-4ac3-8354-a1f277d5a31f,Easy line,\"Lewis, Stuart||Bloggs, Joe\"\n"
+            + "\n"
+            + "+,56599ad5-c7d2-4ac3-8354-a1f277d5a31f,\"\"\"Unbalanced embedded\"\" quotes\"\" here\",\"Two\nlines\"\n"
+            + testItem.getID() + ",56599ad5-c7d2-4ac3-8354-a1f277d5a31f,,\n";
+
+        try (DSpaceCSVReader reader = new DSpaceCSVReader(
+            IOUtils.toInputStream(csv, StandardCharsets.UTF_8), context)) {
+            assertEquals(List.of("collection", "dc.title[en]", "dc.contributor.author"),
+                         reader.getCSV().getHeadings());
+
+            DSpaceCSVLine line = reader.readLine();
+            assertNull(line.getID());
+            assertEquals(List.of("Easy line"), line.get("dc.title[en]"));
+            assertEquals(List.of("Lewis, Stuart", "Bloggs, Joe"), line.get("dc.contributor.author"));
+
+            // the blank line is skipped
+            line = reader.readLine();
+            assertEquals(List.of("\"Unbalanced embedded\" quotes\" here"), line.get("dc.title[en]"));
+            assertEquals(List.of("Two\nlines"), line.get("dc.contributor.author"));
+
+            line = reader.readLine();
+            assertEquals(testItem.getID(), line.getID());
+            assertEquals(0, line.get("dc.title[en]").size());
+            assertEquals(0, line.get("dc.contributor.author").size());
+
+            assertNull(reader.readLine());
+        }
+    }
+
 }
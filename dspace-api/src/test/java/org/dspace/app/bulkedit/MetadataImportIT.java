@@ -8,18 +8,25 @@
 package org.dspace.app.bulkedit;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertTrue;
 import static junit.framework.TestCase.fail;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Properties;
 
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.Strings;
 import org.dspace.AbstractIntegrationTestWithDatabase;
@@ -284,12 +291,17 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
         performImportScript(csv, false);
     }
 
+    public void performImportScript(String[] csv, boolean useTemplate) throws Exception {
+        performImportScript(csv, useTemplate ? new String[] {"-t"} : new String[0]);
+    }
+
     /**
      * Import mocked CSVs to test item creation behavior, deleting temporary file afterward.
      * @param csv content for test file.
+     * @param options additional options of the script.
      * @throws java.lang.Exception passed through.
      */
-    public void performImportScript(String[] csv, boolean useTemplate) throws Exception {
+    public void performImportScript(String[] csv, String... options) throws Exception {
         File csvFile = File.createTempFile("dspace-test-import", "csv");
         BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csvFile), "UTF-8"));
         for (String csvLine : csv) {
@@ -299,10 +311,8 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
         out.close();
         String fileLocation = csvFile.getAbsolutePath();
         try {
-            String[] args = new String[] {"metadata-import", "-f", fileLocation, "-e", eperson.getEmail(), "-s"};
-            if (useTemplate) {
-                args = ArrayUtils.add(args, "-t");
-            }
+            String[] args = ArrayUtils.addAll(
+                new String[] {"metadata-import", "-f", fileLocation, "-e", eperson.getEmail(), "-s"}, options);
             TestDSpaceRunnableHandler testDSpaceRunnableHandler = new TestDSpaceRunnableHandler();
             ScriptLauncher
                 .handleScript(args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler, kernelImpl);
@@ -377,4 +387,116 @@ public class MetadataImportIT extends AbstractIntegrationTestWithDatabase {
         performImportScript(csv);
         assertEquals(0, IteratorUtils.toList(itemService.findAll(context)).size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void streamingMetadataImportTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EntityType publication = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType person = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        RelationshipTypeBuilder.createRelationshipTypeBuilder(context, publication, person, "isAuthorOfPublication",
+                                                              "isPublicationOfAuthor", 0, 10, 0, 10);
+        Item existingItem = ItemBuilder.createItem(context, collection).withTitle("Existing item").build();
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("bulkedit.import.max.items", 1);
+        configurationService.setProperty("bulkedit.stream.commit.count", 2);
+        File checkpointDirectory = Files.createTempDirectory("dspace-test-checkpoint").toFile();
+        String[] csv = {"id,collection,dc.title,rowName,relation.isAuthorOfPublication,dspace.entity.type",
+            "+," + personCollection.getHandle() + ",\"Streamed Person\",person1,,Person",
+            "+," + publicationCollection.getHandle() + ",\"Streamed, Publication\",,rowName:person1,Publication",
+            existingItem.getID() + "," + collection.getHandle() + ",\"Renamed item\",,,"};
+        try {
+            performImportScript(csv, "-b", "-c", checkpointDirectory.getAbsolutePath());
+
+            // the number of items is not limited, the references to the previous rows are resolved
+            Item importedPerson = findItemByName("Streamed Person");
+            Item importedPublication = findItemByName("Streamed, Publication");
+            assertEquals(1, relationshipService.findByItem(context, importedPublication).size());
+            assertEquals(1, relationshipService.findByItem(context, importedPerson).size());
+            assertEquals("Renamed item", itemService.find(context, existingItem.getID()).getName());
+            // the checkpoint of the completed import is removed
+            assertEquals(0, checkpointDirectory.list().length);
+        } finally {
+            FileUtils.deleteQuietly(checkpointDirectory);
+        }
+    }
+
+    @Test
+    public void streamingMetadataImportResumesAfterTheCheckpointTest() throws Exception {
+        configurationService.setProperty("bulkedit.stream.commit.count", 1);
+        File checkpointDirectory = Files.createTempDirectory("dspace-test-checkpoint").toFile();
+        File csvFile = File.createTempFile("dspace-test-import", "csv");
+        try {
+            try (BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(csvFile), "UTF-8"))) {
+                out.write("id,collection,dc.title\n");
+                out.write("+," + collection.getHandle() + ",\"Title 1\"\n");
+                out.write("+," + collection.getHandle() + ",\"Title 2\"\n");
+            }
+            // a previous run committed the first row
+            Properties checkpoint = new Properties();
+            checkpoint.setProperty("file", csvFile.getAbsolutePath());
+            checkpoint.setProperty("rows", "1");
+            try (OutputStream out = new FileOutputStream(new File(checkpointDirectory, "checkpoint.properties"))) {
+                checkpoint.store(out, null);
+            }
+
+            String[] args = new String[] {"metadata-import", "-f", csvFile.getAbsolutePath(), "-e",
+                eperson.getEmail(), "-b", "-c", checkpointDirectory.getAbsolutePath()};
+            TestDSpaceRunnableHandler testDSpaceRunnableHandler = new TestDSpaceRunnableHandler();
+            ScriptLauncher.handleScript(
+                args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler, kernelImpl);
+
+            assertNull(testDSpaceRunnableHandler.getException());
+            assertFalse(itemService.findByMetadataField(context, "dc", "title", null, "Title 1").hasNext());
+            assertNotNull(findItemByName("Title 2"));
+        } finally {
+            csvFile.delete();
+            FileUtils.deleteQuietly(checkpointDirectory);
+        }
+    }
+
+    @Test
+    public void streamingMetadataImportSkipsThePendingRowsOfACommittedChunkTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item committedItem = ItemBuilder.createItem(context, collection).withTitle("Title 1").build();
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("bulkedit.stream.commit.count", 1);
+        File checkpointDirectory = Files.createTempDirectory("dspace-test-checkpoint").toFile();
+        File csvFile = File.createTempFile("dspace-test-import", "csv");
+        try {
+            try (BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(csvFile), "UTF-8"))) {
+                out.write("id,collection,dc.title\n");
+                out.write("+," + collection.getHandle() + ",\"Title 1\"\n");
+                out.write("+," + collection.getHandle() + ",\"Title 2\"\n");
+            }
+            // a previous run was interrupted after the database commit of the first row, before its checkpoint
+            Properties checkpoint = new Properties();
+            checkpoint.setProperty("file", csvFile.getAbsolutePath());
+            checkpoint.setProperty("rows", "0");
+            checkpoint.setProperty("pending.rows", "1");
+            checkpoint.setProperty("pending.created", committedItem.getID().toString());
+            try (OutputStream out = new FileOutputStream(new File(checkpointDirectory, "checkpoint.properties"))) {
+                checkpoint.store(out, null);
+            }
+
+            String[] args = new String[] {"metadata-import", "-f", csvFile.getAbsolutePath(), "-e",
+                eperson.getEmail(), "-b", "-c", checkpointDirectory.getAbsolutePath()};
+            TestDSpaceRunnableHandler testDSpaceRunnableHandler = new TestDSpaceRunnableHandler();
+            ScriptLauncher.handleScript(
+                args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler, kernelImpl);
+
+            assertNull(testDSpaceRunnableHandler.getException());
+            // the first row is not imported again
+            Iterator<Item> titleOne = itemService.findByMetadataField(context, "dc", "title", null, "Title 1");
+            assertEquals(committedItem.getID(), titleOne.next().getID());
+            assertFalse(titleOne.hasNext());
+            assertNotNull(findItemByName("Title 2"));
+        } finally {
+            csvFile.delete();
+            FileUtils.deleteQuietly(checkpointDirectory);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
@@ -227,6 +228,87 @@ public class ItemExportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkZip(zipFileName);
     }
 
+    @Test
+    public void exportZipItemWithPrefetchedBitstreams() throws Exception {
+        configurationService.setProperty("org.dspace.app.itemexport.prefetch.threads", 2);
+        // create item
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .withMetadata("dc", "date", "issued", dateIssued)
+                .build();
+        // create two bitstreams with the same name
+        for (String bitstreamContent : new String[] { "FIRST", "SECOND" }) {
+            try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                        .withName("Bitstream")
+                        .withMimeType("text/plain")
+                        .build();
+            }
+        }
+        context.restoreAuthSystemState();
+
+        try {
+            String[] args = new String[] { "export", "-t", "ITEM",
+                    "-i", item.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+            perfomExportScript(args);
+        } finally {
+            configurationService.setProperty("org.dspace.app.itemexport.prefetch.threads", null);
+        }
+
+        checkZip(zipFileName);
+        try (ZipFile zipFile = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            assertNotNull(zipFile.getEntry("1/dublin_core.xml"));
+            assertNotNull(zipFile.getEntry("1/collections"));
+            String contents = IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("1/contents")),
+                    CharEncoding.UTF_8);
+            assertTrue(contents.contains("Bitstream\tbundle:ORIGINAL"));
+            assertTrue(contents.contains("1_Bitstream\tbundle:ORIGINAL"));
+            assertEquals("FIRST", IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("1/Bitstream")),
+                    CharEncoding.UTF_8));
+            assertEquals("SECOND", IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("1/1_Bitstream")),
+                    CharEncoding.UTF_8));
+        }
+    }
+
+    @Test
+    public void exportZipItemWithBitstreamNamedAsMetadataFile() throws Exception {
+        // create item
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                .withTitle(title)
+                .withMetadata("dc", "date", "issued", dateIssued)
+                .build();
+        // create bitstreams named as the metadata and contents files
+        for (String bitstreamName : new String[] { "dublin_core.xml", "contents" }) {
+            try (InputStream is = IOUtils.toInputStream(bitstreamName, CharEncoding.UTF_8)) {
+                BitstreamBuilder.createBitstream(context, item, is)
+                        .withName(bitstreamName)
+                        .withMimeType("text/plain")
+                        .build();
+            }
+        }
+        context.restoreAuthSystemState();
+
+        String[] args = new String[] { "export", "-t", "ITEM",
+                "-i", item.getHandle(), "-d", tempDir.toString(), "-z", zipFileName, "-n", "1" };
+        perfomExportScript(args);
+
+        checkZip(zipFileName);
+        try (ZipFile zipFile = new ZipFile(tempDir.resolve(zipFileName).toFile())) {
+            assertTrue(IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("1/dublin_core.xml")),
+                    CharEncoding.UTF_8).contains(title));
+            String contents = IOUtils.toString(zipFile.getInputStream(zipFile.getEntry("1/contents")),
+                    CharEncoding.UTF_8);
+            assertTrue(contents.contains("1_dublin_core.xml\tbundle:ORIGINAL"));
+            assertTrue(contents.contains("1_contents\tbundle:ORIGINAL"));
+            assertEquals("dublin_core.xml", IOUtils.toString(
+                    zipFile.getInputStream(zipFile.getEntry("1/1_dublin_core.xml")), CharEncoding.UTF_8));
+            assertEquals("contents", IOUtils.toString(
+                    zipFile.getInputStream(zipFile.getEntry("1/1_contents")), CharEncoding.UTF_8));
+        }
+    }
+
     @Test
     public void migrateCollection() throws Exception {
         // create items
@@ -8,6 +8,7 @@
 package org.dspace.app.itemimport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -32,6 +33,8 @@ import org.dspace.content.Relationship;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.RelationshipService;
+import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.handle.service.HandleService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.flywaydb.core.internal.util.ExceptionUtils;
@@ -54,6 +57,7 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
 
     private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
     private RelationshipService relationshipService = ContentServiceFactory.getInstance().getRelationshipService();
+    private HandleService handleService = HandleServiceFactory.getInstance().getHandleService();
     private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
     private Collection collection;
     private Path tempDir;
@@ -137,6 +141,46 @@ public class ItemImportCLIIT extends AbstractIntegrationTestWithDatabase {
         checkBitstream();
     }
 
+    @Test
+    public void importItemsInParallelBySafWithBitstreams() throws Exception {
+        // the workers import the items in transactions of their own
+        context.commit();
+        // create simple SAF
+        Path safDir = Files.createDirectory(Path.of(tempDir.toString() + "/test"));
+        for (int i = 0; i < 3; i++) {
+            Path itemDir = Files.createDirectory(Path.of(safDir.toString() + "/item_00" + i));
+            Files.copy(getClass().getResourceAsStream("dublin_core.xml"),
+                    Path.of(itemDir.toString() + "/dublin_core.xml"));
+            // add bitstream
+            Path contentsFile = Files.createFile(Path.of(itemDir.toString() + "/contents"));
+            Files.writeString(contentsFile,
+                    "file1.txt");
+            Path bitstreamFile = Files.createFile(Path.of(itemDir.toString() + "/file1.txt"));
+            Files.writeString(bitstreamFile,
+                    "TEST TEST TEST " + i);
+        }
+        Path mapFile = Path.of(tempDir.toString() + "/mapfile.out");
+
+        String[] args = new String[] { "import", "-a", "-e", admin.getEmail(), "-c", collection.getID().toString(),
+                "-s", safDir.toString(), "-m", mapFile.toString(), "-T", "2" };
+        perfomImportScript(args);
+
+        // the map file lists the items in the order of their directories
+        List<String> lines = Files.readAllLines(mapFile);
+        assertEquals(3, lines.size());
+        for (int i = 0; i < 3; i++) {
+            String[] line = lines.get(i).split(" ");
+            assertEquals("item_00" + i, line[0]);
+            Item item = (Item) handleService.resolveToObject(context, line[1]);
+            assertEquals(publicationTitle, item.getName());
+            Bitstream bitstream = item.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+            assertEquals("file1.txt", bitstream.getName());
+            assertEquals(("TEST TEST TEST " + i).length(), bitstream.getSizeBytes());
+            // the staged bitstream is restored when it is attached to the item
+            assertFalse(bitstream.isDeleted());
+        }
+    }
+
     @Test
     public void importItemBySafWithAnotherMetadataSchema() throws Exception {
         // create simple SAF
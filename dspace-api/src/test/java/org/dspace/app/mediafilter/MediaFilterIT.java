@@ -7,17 +7,23 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.Strings;
 import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.mediafilter.factory.MediaFilterServiceFactory;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.CollectionBuilder;
@@ -32,6 +38,7 @@ import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -186,6 +193,103 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         checkItemHasBeenProcessed(item1_2_2_b);
     }
 
+    @Test
+    public void mediaFilterScriptConcurrentTest() throws Exception {
+        // the derivative bitstreams are stored by another thread, with its own connection
+        context.commit();
+        try {
+            performMediaFilterScript(null, "-T", "2");
+            context.clear();
+            Iterator<Item> items = itemService.findAll(context);
+            while (items.hasNext()) {
+                checkItemHasBeenProcessed(items.next());
+            }
+            // forced filtering replaces the derivative bitstreams
+            performMediaFilterScript(null, "-T", "2", "-f");
+            context.clear();
+            items = itemService.findAll(context);
+            while (items.hasNext()) {
+                checkItemHasBeenProcessed(items.next());
+            }
+        } finally {
+            MediaFilterServiceFactory.getInstance().getMediaFilterService().setThreads(0);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptLedgerTest() throws Exception {
+        DSpaceServicesFactory.getInstance().getConfigurationService().setProperty("filter.ledger.enabled", true);
+        performMediaFilterScript(null);
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            checkItemHasBeenProcessed(items.next());
+        }
+        Bitstream derivativeA = getTextBitstream(item1_1_a);
+        Bitstream derivativeB = getTextBitstream(item1_1_b);
+
+        // a run without changes keeps the derivatives recorded in the ledger
+        performMediaFilterScript(null);
+        assertEquals(derivativeA, getTextBitstream(item1_1_a));
+        assertEquals(derivativeB, getTextBitstream(item1_1_b));
+
+        // the derivative of a changed source bitstream is produced again, without forcing
+        context.turnOffAuthorisationSystem();
+        Bitstream source = item1_1_a.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+        source.setChecksum("changed");
+        bitstreamService.update(context, source);
+        context.restoreAuthSystemState();
+        context.commit();
+        performMediaFilterScript(null);
+        checkItemHasBeenProcessed(item1_1_a);
+        assertNotEquals(derivativeA, getTextBitstream(item1_1_a));
+        assertEquals(derivativeB, getTextBitstream(item1_1_b));
+    }
+
+    @Test
+    public void mediaFilterScriptLedgerExistingDerivativeTest() throws Exception {
+        performMediaFilterScript(null);
+        Bitstream derivativeA = getTextBitstream(item1_1_a);
+
+        // a derivative produced before the ledger was enabled is kept, and is not recorded by the skipping run
+        DSpaceServicesFactory.getInstance().getConfigurationService().setProperty("filter.ledger.enabled", true);
+        performMediaFilterScript(null);
+        assertEquals(derivativeA, getTextBitstream(item1_1_a));
+        MediaFilterServiceImpl mediaFilterService =
+            (MediaFilterServiceImpl) MediaFilterServiceFactory.getInstance().getMediaFilterService();
+        Bitstream source = item1_1_a.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+        assertFalse(mediaFilterService.hasCurrentDerivative(context, source, new TikaTextExtractionFilter()));
+    }
+
+    @Test
+    public void mediaFilterScriptLedgerUnsuccessfulTest() throws Exception {
+        DSpaceServicesFactory.getInstance().getConfigurationService().setProperty("filter.ledger.enabled", true);
+        MediaFilterServiceImpl mediaFilterService =
+            (MediaFilterServiceImpl) MediaFilterServiceFactory.getInstance().getMediaFilterService();
+        Bitstream source = item1_1_a.getBundles("ORIGINAL").get(0).getBitstreams().get(0);
+        context.turnOffAuthorisationSystem();
+        mediaFilterService.recordUnsuccessful(context, source, new TikaTextExtractionFilter());
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // an unsuccessful filtering is not tried again while the source bitstream is unchanged
+        performMediaFilterScript(null);
+        checkItemHasBeenNotProcessed(item1_1_a);
+        checkItemHasBeenProcessed(item1_1_b);
+
+        context.turnOffAuthorisationSystem();
+        source = context.reloadEntity(source);
+        source.setChecksum("changed");
+        bitstreamService.update(context, source);
+        context.restoreAuthSystemState();
+        context.commit();
+        performMediaFilterScript(null);
+        checkItemHasBeenProcessed(item1_1_a);
+    }
+
+    private Bitstream getTextBitstream(Item item) throws SQLException {
+        return item.getBundles("TEXT").get(0).getBitstreams().get(0);
+    }
+
     private void checkItemHasBeenNotProcessed(Item item) throws IOException, SQLException, AuthorizeException {
         List<Bundle> textBundles = item.getBundles("TEXT");
         assertTrue("The item " + item.getName() + " should NOT have the TEXT bundle", textBundles.size() == 0);
@@ -211,12 +315,14 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
-    private void performMediaFilterScript(DSpaceObject dso) throws Exception {
+    private void performMediaFilterScript(DSpaceObject dso, String... options) throws Exception {
+        List<String> args = new ArrayList<>(List.of("filter-media"));
         if (dso != null) {
-            runDSpaceScript("filter-media", "-i", dso.getHandle());
-        } else {
-            runDSpaceScript("filter-media");
+            args.add("-i");
+            args.add(dso.getHandle());
         }
+        args.addAll(Arrays.asList(options));
+        runDSpaceScript(args.toArray(new String[0]));
         // reload our items to see the changes
         item1_1_a = context.reloadEntity(item1_1_a);
         item1_1_b = context.reloadEntity(item1_1_b);
@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.ResourcePolicyBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the node-wide {@link AuthorizationDecisionCache}
+ */
+public class AuthorizationDecisionCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final AuthorizationDecisionCache authorizationDecisionCache = DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServiceByName(AuthorizationDecisionCache.class.getName(),
+                                              AuthorizationDecisionCache.class);
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService =
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        collection = CollectionBuilder.createCollection(context, CommunityBuilder.createCommunity(context).build())
+                                      .withName("Collection")
+                                      .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        configurationService.setProperty("core.authorization.cache.enabled", true);
+        authorizationDecisionCache.evictAll();
+    }
+
+    @After
+    public void disableCache() {
+        authorizationDecisionCache.evictAll();
+        configurationService.setProperty("core.authorization.cache.enabled", false);
+    }
+
+    @Test
+    public void testDecisionsAreSharedAndEvictedOnPolicyChanges() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Public item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(null);
+
+        long hits = authorizationDecisionCache.getHits();
+        long misses = authorizationDecisionCache.getMisses();
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(misses + 1, authorizationDecisionCache.getMisses());
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(hits + 1, authorizationDecisionCache.getHits());
+
+        // Removing the anonymous READ policy evicts the decision once committed
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removePolicies(context, item, Constants.READ);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(misses + 2, authorizationDecisionCache.getMisses());
+    }
+
+    @Test
+    public void testDecisionsAreEvictedOnGroupChanges() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        Group group = GroupBuilder.createGroup(context).withName("Writers").addMember(eperson).build();
+        authorizeService.addPolicy(context, item, Constants.WRITE, group);
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(eperson);
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.WRITE));
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.WRITE));
+
+        context.turnOffAuthorisationSystem();
+        group = context.reloadEntity(group);
+        groupService.removeMember(context, group, context.reloadEntity(eperson));
+        groupService.update(context, group);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.WRITE));
+    }
+
+    @Test
+    public void testDecisionsAreKeyedBySpecialGroups() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        Group group = GroupBuilder.createGroup(context).withName("Campus").build();
+        authorizeService.addPolicy(context, item, Constants.WRITE, group);
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(null);
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.WRITE));
+        context.setSpecialGroup(group.getID());
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.WRITE));
+    }
+
+    @Test
+    public void testContextsWithUncommittedChangesDoNotUseTheCache() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(null);
+
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removePolicies(context, item, Constants.READ);
+        context.restoreAuthSystemState();
+
+        // The change is not committed yet, but this context sees it
+        long hits = authorizationDecisionCache.getHits();
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(hits, authorizationDecisionCache.getHits());
+        context.commit();
+    }
+
+    @Test
+    public void testTimeBoundDecisionsAreNotCached() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Embargoed item").build();
+        resourcePolicyService.removePolicies(context, item, Constants.READ);
+        ResourcePolicyBuilder.createResourcePolicy(context, null, groupService.findByName(context, Group.ANONYMOUS))
+                             .withDspaceObject(item)
+                             .withAction(Constants.READ)
+                             .withStartDate(LocalDate.now().plusDays(1))
+                             .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        context.setCurrentUser(null);
+
+        long hits = authorizationDecisionCache.getHits();
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertFalse(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(hits, authorizationDecisionCache.getHits());
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the resource policies prefetched by {@link AuthorizeService#prefetchPolicies}
+ */
+public class ResourcePolicyPrefetchIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final int ITEMS = 10;
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final ResourcePolicyService resourcePolicyService =
+        AuthorizeServiceFactory.getInstance().getResourcePolicyService();
+
+    private final Statistics statistics = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName("sessionFactory", SessionFactory.class).getStatistics();
+
+    private List<Item> items;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context,
+                                                                   CommunityBuilder.createCommunity(context).build())
+                                                 .withName("Collection")
+                                                 .build();
+        List<Item> created = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            created.add(ItemBuilder.createItem(context, collection).withTitle("Item " + i).build());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        items = new ArrayList<>();
+        for (Item item : created) {
+            items.add(context.reloadEntity(item));
+        }
+        context.setCurrentUser(null);
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @After
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void testPrefetchedPoliciesAreReadWithASingleQuery() throws Exception {
+        statistics.clear();
+        authorizeService.prefetchPolicies(context, items, Constants.READ);
+        assertEquals(1, statistics.getQueryExecutionCount());
+
+        statistics.clear();
+        for (Item item : items) {
+            assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        }
+        assertEquals(0, statistics.getQueryExecutionCount());
+
+        // prefetching again reads nothing
+        statistics.clear();
+        authorizeService.prefetchPolicies(context, items, Constants.READ);
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    public void testPoliciesAreReadForEachObjectWithoutPrefetch() throws Exception {
+        statistics.clear();
+        for (Item item : items) {
+            assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        }
+        assertTrue(statistics.getQueryExecutionCount() >= ITEMS);
+    }
+
+    @Test
+    public void testPolicyChangesDiscardPrefetchedPolicies() throws Exception {
+        authorizeService.prefetchPolicies(context, items, Constants.READ);
+        assertNotNull(context.getCachedPolicies(items.get(0), Constants.READ));
+
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removePolicies(context, items.get(0), Constants.READ);
+        context.restoreAuthSystemState();
+        assertNull(context.getCachedPolicies(items.get(1), Constants.READ));
+
+        assertFalse(authorizeService.authorizeActionBoolean(context, items.get(0), Constants.READ));
+        assertTrue(authorizeService.authorizeActionBoolean(context, items.get(1), Constants.READ));
+    }
+
+    @Test
+    public void testBatchAuthorizationUsesPrefetchedPolicies() throws Exception {
+        context.turnOffAuthorisationSystem();
+        resourcePolicyService.removePolicies(context, items.get(0), Constants.READ);
+        context.restoreAuthSystemState();
+
+        List<Item> objects = new ArrayList<>(items);
+        objects.add(null);
+        statistics.clear();
+        List<Boolean> results = authorizeService.authorizeActionBoolean(context, null, objects, Constants.READ, true);
+        assertEquals(1, statistics.getQueryExecutionCount());
+
+        assertEquals(ITEMS + 1, results.size());
+        assertFalse(results.get(0));
+        for (int i = 1; i < ITEMS; i++) {
+            assertTrue(results.get(i));
+        }
+        assertFalse(results.get(ITEMS));
+    }
+
+    @Test
+    public void testCommitDiscardsPrefetchedPolicies() throws Exception {
+        authorizeService.prefetchPolicies(context, items, Constants.READ);
+        context.commit();
+        assertNull(context.getCachedPolicies(items.get(0), Constants.READ));
+    }
+}
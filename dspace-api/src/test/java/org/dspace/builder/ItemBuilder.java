@@ -214,6 +214,11 @@ public class ItemBuilder extends AbstractDSpaceObjectBuilder<Item> {
         return addMetadataValue(item, schema, element, qualifier, language, value, authority, confidence);
     }
 
+    public ItemBuilder withSecuredMetadata(final String schema, final String element, final String qualifier,
+                                           final String value, final Integer securityLevel) {
+        return addSecuredMetadataValue(item, schema, element, qualifier, value, securityLevel);
+    }
+
     public ItemBuilder withPolicyEPerson(String value, String authority) {
         return addMetadataValue(item, DSPACE.getName(), "policy", "eperson", null, value, authority, CF_ACCEPTED);
     }
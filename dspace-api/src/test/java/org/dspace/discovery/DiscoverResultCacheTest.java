@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link DiscoverResultCache}
+ */
+public class DiscoverResultCacheTest {
+
+    private DiscoverResultCache cache;
+
+    @Before
+    public void setUp() {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getBooleanProperty(eq("discovery.search.cache.enabled"), eq(false)))
+            .thenReturn(true);
+        cache = new DiscoverResultCache();
+        ReflectionTestUtils.setField(cache, "configurationService", configurationService);
+        ReflectionTestUtils.setField(cache, "cacheManager",
+                                     new ConcurrentMapCacheManager(DiscoverResultCache.CACHE_NAME));
+    }
+
+    @Test
+    public void testKeyIgnoresTheOrderOfFilterQueries() {
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery("location:m1", "read:(g0)");
+        query.addFacetField("subject_filter");
+        SolrQuery sameQuery = new SolrQuery("*:*");
+        sameQuery.addFacetField("subject_filter");
+        sameQuery.addFilterQuery("read:(g0)", "location:m1");
+
+        assertEquals(DiscoverResultCache.canonicalKey(query), DiscoverResultCache.canonicalKey(sameQuery));
+
+        // another user, with other groups, does not share the cached responses
+        SolrQuery otherUser = new SolrQuery("*:*");
+        otherUser.addFacetField("subject_filter");
+        otherUser.addFilterQuery("read:(g0 OR g1)", "location:m1");
+        assertNotEquals(DiscoverResultCache.canonicalKey(query), DiscoverResultCache.canonicalKey(otherUser));
+    }
+
+    @Test
+    public void testResponsesAreCachedUntilInvalidated() {
+        SolrQuery query = new SolrQuery("*:*");
+        QueryResponse response = new QueryResponse();
+
+        DiscoverResultCache.Lookup lookup = cache.lookup(query);
+        assertNull(lookup.getResponse());
+        cache.store(lookup, response);
+        assertSame(response, cache.lookup(query.getCopy()).getResponse());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        cache.invalidate();
+        assertNull(cache.lookup(query).getResponse());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void testResponsesOlderThanACommitAreNotStored() {
+        SolrQuery query = new SolrQuery("*:*");
+
+        DiscoverResultCache.Lookup lookup = cache.lookup(query);
+        // the search core is committed while the query runs
+        cache.invalidate();
+        cache.store(lookup, new QueryResponse());
+
+        assertNull(cache.lookup(query).getResponse());
+    }
+}
@@ -9,19 +9,24 @@ package org.dspace.discovery;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.junit.Before;
@@ -157,5 +162,68 @@ public class DiscoverResultIteratorTest {
         }
     }
 
+    @Test
+    public void testPagesAreRetrievedWithACursor() throws Exception {
+        try (MockedStatic<SearchUtils> mockedStatic = mockStatic(SearchUtils.class)) {
+            mockedStatic.when(SearchUtils::getSearchService).thenReturn(mockSearchService);
+            when(mockDiscoverResultWithTwoItems.getNextCursorMark()).thenReturn("page2");
+            when(mockEmptyDiscoverResult.getNextCursorMark()).thenReturn("page2");
+            List<String> cursorMarks = new ArrayList<>();
+            DiscoverQuery discoverQuery = new DiscoverQuery();
+            discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START);
+            when(mockSearchService.search(eq(mockContext), any(DiscoverQuery.class))).thenAnswer(invocation -> {
+                cursorMarks.add(discoverQuery.getCursorMark());
+                return cursorMarks.size() == 1 ? mockDiscoverResultWithTwoItems : mockEmptyDiscoverResult;
+            });
+
+            DiscoverResultIterator<Item, UUID> iterator =
+                new DiscoverResultIterator<>(mockContext, null, discoverQuery);
+            assertEquals(mockItem1, iterator.next());
+            assertEquals(mockItem2, iterator.next());
+            assertFalse(iterator.hasNext());
+            // the cursor did not move anymore, the search is not run again
+            assertFalse(iterator.hasNext());
+
+            assertEquals(Arrays.asList(CursorMarkParams.CURSOR_MARK_START, "page2"), cursorMarks);
+            assertEquals(0, discoverQuery.getStart());
+            verify(mockSearchService, times(2)).search(eq(mockContext), any(DiscoverQuery.class));
+        }
+    }
+
+    @Test
+    public void testPagesAreRetrievedWithTheOffsetByDefault() {
+        try (MockedStatic<SearchUtils> mockedStatic = mockStatic(SearchUtils.class)) {
+            mockedStatic.when(SearchUtils::getSearchService).thenReturn(mockSearchService);
+            DiscoverQuery discoverQuery = new DiscoverQuery();
+
+            DiscoverResultIterator<Item, UUID> iterator =
+                new DiscoverResultIterator<>(mockContext, null, discoverQuery);
+            iterator.next();
+            iterator.next();
+            assertFalse(iterator.hasNext());
+
+            assertNull(discoverQuery.getCursorMark());
+            assertEquals(2, discoverQuery.getStart());
+        }
+    }
+
+    @Test
+    public void testIterationFromAnOffsetDoesNotUseACursor() {
+        try (MockedStatic<SearchUtils> mockedStatic = mockStatic(SearchUtils.class)) {
+            mockedStatic.when(SearchUtils::getSearchService).thenReturn(mockSearchService);
+            DiscoverQuery discoverQuery = new DiscoverQuery();
+            discoverQuery.setStart(10);
+
+            DiscoverResultIterator<Item, UUID> iterator =
+                new DiscoverResultIterator<>(mockContext, null, discoverQuery);
+            iterator.next();
+            iterator.next();
+            assertFalse(iterator.hasNext());
+
+            assertNull(discoverQuery.getCursorMark());
+            assertEquals(12, discoverQuery.getStart());
+        }
+    }
+
 }
 
@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the /export handler path of {@link DiscoverResultStream}, against a mock search core reached
+ * over HTTP
+ */
+public class DiscoverResultStreamIT {
+
+    private final UUID first = UUID.randomUUID();
+
+    private final UUID second = UUID.randomUUID();
+
+    private MockWebServer searchCore;
+
+    private HttpSolrClient solrClient;
+
+    @Before
+    public void setUp() throws Exception {
+        searchCore = new MockWebServer();
+        searchCore.start();
+        solrClient = new HttpSolrClient.Builder(searchCore.url("/solr/search").toString()).build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        solrClient.close();
+        searchCore.shutdown();
+    }
+
+    @Test
+    public void testDocumentsAreStreamedByTheExportHandler() throws Exception {
+        searchCore.enqueue(exportResponse());
+
+        List<UUID> ids = new ArrayList<>();
+        List<Object> handles = new ArrayList<>();
+        try (DiscoverResultStream stream = new DiscoverResultStream(solrClient, query(), SolrRequest.METHOD.GET,
+                                                                    true)) {
+            assertTrue(stream.isExport());
+            while (stream.hasNext()) {
+                Map<String, Object> document = stream.next();
+                assertEquals(IndexableItem.TYPE, DiscoverResultStream.getResourceType(document));
+                ids.add(DiscoverResultStream.getResourceID(document));
+                handles.add(document.get("handle"));
+            }
+        }
+
+        assertEquals(List.of(first, second), ids);
+        assertEquals(List.of("123456789/1", "123456789/2"), handles);
+        // the whole match set is read in a single request of the export handler
+        assertEquals(1, searchCore.getRequestCount());
+        RecordedRequest request = searchCore.takeRequest();
+        String path = request.getPath();
+        assertTrue(path, path.startsWith("/solr/search" + DiscoverResultStream.EXPORT_HANDLER));
+    }
+
+    @Test
+    public void testTheIDsAreStreamedByTheExportHandlerUntilClosed() throws Exception {
+        searchCore.enqueue(exportResponse());
+
+        DiscoverResultStream.ResourceIDs ids = new DiscoverResultStream.ResourceIDs(
+            new DiscoverResultStream(solrClient, query(), SolrRequest.METHOD.GET, true));
+        try (ids) {
+            assertTrue(ids.hasNext());
+            assertEquals(first, ids.next());
+        }
+
+        // closing the ids closes the stream before its last document
+        assertFalse(ids.hasNext());
+        assertEquals(1, searchCore.getRequestCount());
+    }
+
+    private static SolrQuery query() {
+        SolrQuery solrQuery = new SolrQuery("*:*");
+        solrQuery.setFields(SearchUtils.RESOURCE_UNIQUE_ID, "handle");
+        solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(1);
+        return solrQuery;
+    }
+
+    private MockResponse exportResponse() {
+        return new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody("{\"responseHeader\":{\"status\":0},\"response\":{\"numFound\":2,\"docs\":["
+                         + document(first, "123456789/1") + "," + document(second, "123456789/2") + "]}}");
+    }
+
+    private static String document(UUID id, String handle) {
+        return "{\"" + SearchUtils.RESOURCE_UNIQUE_ID + "\":\"" + IndexableItem.TYPE + "-" + id + "\",\"handle\":\""
+            + handle + "\"}";
+    }
+}
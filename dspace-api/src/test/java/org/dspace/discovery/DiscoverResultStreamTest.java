@@ -0,0 +1,125 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+
+/**
+ * Unit tests for {@link DiscoverResultStream}
+ */
+public class DiscoverResultStreamTest {
+
+    private final UUID first = UUID.randomUUID();
+
+    private final UUID second = UUID.randomUUID();
+
+    private final UUID third = UUID.randomUUID();
+
+    @Test
+    public void testDocumentsAreReadByPagesOfACursor() throws Exception {
+        SolrClient solrClient = mock(SolrClient.class);
+        QueryResponse firstPage = page("AoE1", document(first, "123456789/1"), document(second, "123456789/2"));
+        QueryResponse lastPage = page("AoE2", document(third, "123456789/3"));
+        QueryResponse emptyPage = page("AoE2");
+        when(solrClient.query(argThat(cursorMark(CursorMarkParams.CURSOR_MARK_START)), any()))
+            .thenReturn(firstPage);
+        when(solrClient.query(argThat(cursorMark("AoE1")), any())).thenReturn(lastPage);
+        when(solrClient.query(argThat(cursorMark("AoE2")), any())).thenReturn(emptyPage);
+
+        DiscoverResultStream stream = new DiscoverResultStream(solrClient, query(), SolrRequest.METHOD.GET, true);
+        // the client is not an HTTP client, the cursor is used
+        assertFalse(stream.isExport());
+
+        List<UUID> ids = new ArrayList<>();
+        List<Object> handles = new ArrayList<>();
+        while (stream.hasNext()) {
+            Map<String, Object> document = stream.next();
+            assertEquals(IndexableItem.TYPE, DiscoverResultStream.getResourceType(document));
+            ids.add(DiscoverResultStream.getResourceID(document));
+            handles.add(document.get("handle"));
+        }
+
+        assertEquals(List.of(first, second, third), ids);
+        assertEquals(List.of("123456789/1", "123456789/2", "123456789/3"), handles);
+        verify(solrClient, times(3)).query(any(SolrParams.class), eq(SolrRequest.METHOD.GET));
+    }
+
+    @Test
+    public void testNothingIsStreamedWithoutSearchCore() {
+        DiscoverResultStream stream = new DiscoverResultStream(null, query(), SolrRequest.METHOD.GET, true);
+        assertFalse(stream.hasNext());
+    }
+
+    @Test
+    public void testTheCursorStopsWhenItDoesNotMove() throws Exception {
+        SolrClient solrClient = mock(SolrClient.class);
+        QueryResponse onlyPage = page(CursorMarkParams.CURSOR_MARK_START, document(first, null));
+        when(solrClient.query(any(SolrParams.class), any())).thenReturn(onlyPage);
+
+        DiscoverResultStream stream = new DiscoverResultStream(solrClient, query(), SolrRequest.METHOD.GET, false);
+
+        assertTrue(stream.hasNext());
+        assertEquals(first, DiscoverResultStream.getResourceID(stream.next()));
+        assertFalse(stream.hasNext());
+        verify(solrClient, times(1)).query(any(SolrParams.class), any());
+    }
+
+    private static SolrQuery query() {
+        SolrQuery solrQuery = new SolrQuery("*:*");
+        solrQuery.setFields(SearchUtils.RESOURCE_UNIQUE_ID, "handle");
+        solrQuery.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        solrQuery.setRows(2);
+        return solrQuery;
+    }
+
+    private static SolrDocument document(UUID id, String handle) {
+        SolrDocument document = new SolrDocument();
+        document.setField(SearchUtils.RESOURCE_UNIQUE_ID, IndexableItem.TYPE + "-" + id);
+        document.setField("handle", handle);
+        return document;
+    }
+
+    private static QueryResponse page(String nextCursorMark, SolrDocument... documents) {
+        SolrDocumentList results = new SolrDocumentList();
+        results.addAll(List.of(documents));
+        QueryResponse response = mock(QueryResponse.class);
+        when(response.getResults()).thenReturn(results);
+        when(response.getNextCursorMark()).thenReturn(nextCursorMark);
+        return response;
+    }
+
+    private static ArgumentMatcher<SolrParams> cursorMark(String cursorMark) {
+        return params -> params != null && cursorMark.equals(params.get(CursorMarkParams.CURSOR_MARK_PARAM));
+    }
+}
@@ -19,9 +19,11 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +31,8 @@ import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.launcher.ScriptLauncher;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
@@ -749,6 +753,121 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void iteratorWithCursorAndCustomSortTest() throws Exception {
+        int numberItems = 12;
+        List<Item> items = new ArrayList<>();
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        for (int i = 0; i < numberItems; i++) {
+            // several items share each title, the ties are ordered by the unique key
+            items.add(ItemBuilder.createItem(context, collection)
+                                 .withTitle("Cursor item " + (numberItems - i) % 4)
+                                 .withSubject("cursorsubject")
+                                 .build());
+        }
+        context.restoreAuthSystemState();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("subject:cursorsubject");
+        discoverQuery.setSortField("dc.title_sort", DiscoverQuery.SORT_ORDER.asc);
+        discoverQuery.setMaxResults(5);
+        discoverQuery.setCursorMark(CursorMarkParams.CURSOR_MARK_START);
+
+        List<Item> foundItems = new ArrayList<>();
+        Iterator<Item> itemIterator = new DiscoverResultItemIterator(context, discoverQuery);
+        while (itemIterator.hasNext()) {
+            foundItems.add(itemIterator.next());
+        }
+
+        assertEquals(numberItems, foundItems.size());
+        assertEquals(numberItems, foundItems.stream().distinct().count());
+        assertTrue(foundItems.containsAll(items));
+        List<String> titles = foundItems.stream().map(Item::getName).collect(Collectors.toList());
+        assertEquals(titles.stream().sorted().collect(Collectors.toList()), titles);
+        // the pages were retrieved with the cursor, not the offset
+        assertEquals(0, discoverQuery.getStart());
+        assertFalse(CursorMarkParams.CURSOR_MARK_START.equals(discoverQuery.getCursorMark()));
+    }
+
+    @Test
+    public void createIndexInParallelTest() throws Exception {
+        int numberItems = 25;
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        for (int i = 0; i < numberItems; i++) {
+            ItemBuilder.createItem(context, collection)
+                .withTitle("item number " + i)
+                .build();
+        }
+        context.restoreAuthSystemState();
+        // the workers use their own contexts, so they can only see committed items
+        context.commit();
+
+        indexer.deleteIndex();
+        indexer.commit();
+        assertSearchQuery(IndexableItem.TYPE, 0);
+
+        indexer.createIndex(context, 4);
+        assertSearchQuery(IndexableItem.TYPE, numberItems, numberItems, 0, numberItems);
+        assertSearchQuery(IndexableCollection.TYPE, 1);
+    }
+
+    @Test
+    public void updateIndexIncrementallyTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        Item missingItem = ItemBuilder.createItem(context, collection).withTitle("Missing item").build();
+        Item modifiedItem = ItemBuilder.createItem(context, collection).withTitle("Indexed item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertSearchQuery(IndexableItem.TYPE, 2);
+
+        // modify an indexed item without updating its document
+        context.turnOffAuthorisationSystem();
+        context.setDispatcher("noindex");
+        modifiedItem = context.reloadEntity(modifiedItem);
+        itemService.setMetadataSingleValue(context, modifiedItem, "dc", "title", null, null, "Modified item");
+        itemService.update(context, modifiedItem);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals("Indexed item", getIndexedTitle(IndexableItem.TYPE + "-" + modifiedItem.getID()));
+
+        // remove the document of an item and add a document of an item which does not exist
+        solrSearchCore.getSolr().deleteById(IndexableItem.TYPE + "-" + missingItem.getID());
+        UUID orphanId = UUID.randomUUID();
+        SolrInputDocument orphan = new SolrInputDocument();
+        orphan.addField(SearchUtils.RESOURCE_UNIQUE_ID, IndexableItem.TYPE + "-" + orphanId);
+        orphan.addField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+        orphan.addField(SearchUtils.RESOURCE_ID_FIELD, orphanId.toString());
+        orphan.addField(SearchUtils.LAST_INDEXED_FIELD, new Date());
+        solrSearchCore.getSolr().add(orphan);
+        solrSearchCore.getSolr().commit();
+        assertEquals(1, countDocuments(IndexableItem.TYPE + "-" + orphanId));
+        assertEquals(0, countDocuments(IndexableItem.TYPE + "-" + missingItem.getID()));
+
+        indexer.updateIndex(context, false, IndexableItem.TYPE);
+
+        assertEquals(0, countDocuments(IndexableItem.TYPE + "-" + orphanId));
+        assertEquals(1, countDocuments(IndexableItem.TYPE + "-" + missingItem.getID()));
+        // the item modified since it was indexed is reindexed
+        assertEquals("Modified item", getIndexedTitle(IndexableItem.TYPE + "-" + modifiedItem.getID()));
+        assertSearchQuery(IndexableItem.TYPE, 2);
+    }
+
+    private long countDocuments(String uniqueId) throws SolrServerException, IOException {
+        SolrQuery solrQuery = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + uniqueId);
+        return solrSearchCore.getSolr().query(solrQuery).getResults().getNumFound();
+    }
+
+    private Object getIndexedTitle(String uniqueId) throws SolrServerException, IOException {
+        SolrQuery solrQuery = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + uniqueId);
+        return solrSearchCore.getSolr().query(solrQuery).getResults().get(0).getFirstValue("dc.title");
+    }
+
     /**
      * Test designed to check if default sort option for Discovery is working, using <code>workspace</code>
      * DiscoveryConfiguration <br/>
@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataSchema;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightFieldConfiguration;
+import org.dspace.discovery.configuration.DiscoveryHitHighlightingConfiguration;
+import org.dspace.discovery.configuration.DiscoverySearchFilter;
+import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
+import org.dspace.discovery.configuration.DiscoverySortConfiguration;
+import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
+import org.dspace.discovery.indexobject.DiscoveryIndexPlan;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DiscoveryIndexPlan}
+ */
+public class DiscoveryIndexPlanTest {
+
+    @Test
+    public void testSearchFiltersAreResolvedPerField() throws Exception {
+        DiscoverySearchFilter author = searchFilter("author", "dc.contributor.*");
+        DiscoverySearchFilter title = searchFilter("title", "dc.title");
+        DiscoveryIndexPlan plan = new DiscoveryIndexPlan(List.of(configuration("default", author, title)), null);
+
+        DiscoveryIndexPlan.FieldPlan authorPlan = plan.getFieldPlan(metadataField(1, "dc", "contributor", "author"));
+        assertEquals("dc.contributor.author", authorPlan.getField());
+        assertEquals(1, authorPlan.getSearchFilters().size());
+        assertSame(author, authorPlan.getSearchFilters().get(0).getSearchFilter());
+        assertEquals("author_keyword", authorPlan.getSearchFilters().get(0).getKeywordFieldName());
+
+        DiscoveryIndexPlan.FieldPlan titlePlan = plan.getFieldPlan(metadataField(2, "dc", "title", null));
+        assertEquals("dc.title", titlePlan.getField());
+        assertSame(title, titlePlan.getSearchFilters().get(0).getSearchFilter());
+
+        assertTrue(plan.getFieldPlan(metadataField(3, "dc", "title", "alternative")).getSearchFilters().isEmpty());
+    }
+
+    @Test
+    public void testSearchFilterIsOnlyAppliedOnceAcrossConfigurations() throws Exception {
+        DiscoverySearchFilter first = searchFilter("subject", "dc.subject");
+        DiscoverySearchFilter second = searchFilter("subject", "dc.subject");
+        DiscoveryIndexPlan plan = new DiscoveryIndexPlan(
+            List.of(configuration("default", first), configuration("other", second),
+                    configuration("default", searchFilter("other", "dc.subject"))), null);
+
+        DiscoveryIndexPlan.FieldPlan fieldPlan = plan.getFieldPlan(metadataField(1, "dc", "subject", null));
+        assertEquals(1, fieldPlan.getSearchFilters().size());
+        assertSame(first, fieldPlan.getSearchFilters().get(0).getSearchFilter());
+    }
+
+    @Test
+    public void testSortHighlightingAndIgnoredFields() throws Exception {
+        DiscoveryConfiguration configuration = configuration("default");
+        DiscoverySortFieldConfiguration sortField = new DiscoverySortFieldConfiguration();
+        sortField.setMetadataField("dc.date.issued");
+        sortField.setType(DiscoveryConfigurationParameters.TYPE_DATE);
+        DiscoverySortConfiguration sortConfiguration = new DiscoverySortConfiguration();
+        sortConfiguration.setSortFields(List.of(sortField));
+        configuration.setSearchSortConfiguration(sortConfiguration);
+        DiscoveryHitHighlightFieldConfiguration highlightField = new DiscoveryHitHighlightFieldConfiguration();
+        highlightField.setField("dc.description.*");
+        DiscoveryHitHighlightingConfiguration highlightingConfiguration = new DiscoveryHitHighlightingConfiguration();
+        highlightingConfiguration.setMetadataFields(List.of(highlightField));
+        configuration.setHitHighlightingConfiguration(highlightingConfiguration);
+        DiscoveryIndexPlan plan = new DiscoveryIndexPlan(List.of(configuration), List.of("dc.description.provenance"));
+
+        DiscoveryIndexPlan.FieldPlan issued = plan.getFieldPlan(metadataField(1, "dc", "date", "issued"));
+        assertEquals(DiscoveryConfigurationParameters.TYPE_DATE, issued.getSortType());
+        assertEquals("dc.date.issued_dt", issued.getDateSortFieldName());
+        assertFalse(issued.isHitHighlighting());
+
+        DiscoveryIndexPlan.FieldPlan abstractPlan =
+            plan.getFieldPlan(metadataField(2, "dc", "description", "abstract"));
+        assertNull(abstractPlan.getSortType());
+        assertTrue(abstractPlan.isHitHighlighting());
+        assertEquals("dc.description.abstract_hl", abstractPlan.getHitHighlightingFieldName());
+        assertFalse(abstractPlan.isIgnored());
+
+        assertTrue(plan.getFieldPlan(metadataField(3, "dc", "description", "provenance")).isIgnored());
+    }
+
+    @Test
+    public void testMinMaxFiltersFollowTheMetadataMatchingRules() throws Exception {
+        DiscoverySearchFilterFacet dateIssued = new DiscoverySearchFilterFacet();
+        dateIssued.setIndexFieldName("dateIssued");
+        dateIssued.setMetadataFields(List.of("dc.date.issued", "dc.date"));
+        dateIssued.setType(DiscoveryConfigurationParameters.TYPE_DATE);
+        dateIssued.setExposeMinAndMaxValue(true);
+        DiscoveryIndexPlan plan = new DiscoveryIndexPlan(List.of(configuration("default", dateIssued)), null);
+
+        assertEquals(1, plan.getMinMaxFilters().size());
+        assertEquals("dateIssued_min_sort", plan.getMinMaxFilters().get(0).getMinSortFieldName());
+        assertArrayEquals(new int[] {0},
+                          plan.getFieldPlan(metadataField(1, "dc", "date", "issued")).getMinMaxFilters());
+        assertArrayEquals(new int[] {0}, plan.getFieldPlan(metadataField(2, "dc", "date", null)).getMinMaxFilters());
+        assertArrayEquals(new int[0], plan.getFieldPlan(metadataField(3, "dc", "date", "accessioned"))
+                                          .getMinMaxFilters());
+    }
+
+    @Test
+    public void testFieldPlanIsRecompiledWhenTheFieldIsRenamed() throws Exception {
+        DiscoveryIndexPlan plan = new DiscoveryIndexPlan(List.of(configuration("default")), null);
+
+        DiscoveryIndexPlan.FieldPlan fieldPlan = plan.getFieldPlan(metadataField(1, "dc", "title", null));
+        assertSame(fieldPlan, plan.getFieldPlan(metadataField(1, "dc", "title", null)));
+
+        DiscoveryIndexPlan.FieldPlan renamed = plan.getFieldPlan(metadataField(1, "dc", "title", "main"));
+        assertNotSame(fieldPlan, renamed);
+        assertEquals("dc.title.main", renamed.getField());
+    }
+
+    private DiscoveryConfiguration configuration(String id, DiscoverySearchFilter... searchFilters) {
+        DiscoveryConfiguration configuration = new DiscoveryConfiguration();
+        configuration.setId(id);
+        configuration.setSearchFilters(List.of(searchFilters));
+        return configuration;
+    }
+
+    private DiscoverySearchFilter searchFilter(String indexFieldName, String... metadataFields) throws Exception {
+        DiscoverySearchFilter searchFilter = new DiscoverySearchFilter();
+        searchFilter.setIndexFieldName(indexFieldName);
+        searchFilter.setMetadataFields(List.of(metadataFields));
+        searchFilter.setType(DiscoveryConfigurationParameters.TYPE_TEXT);
+        return searchFilter;
+    }
+
+    private MetadataField metadataField(int id, String schema, String element, String qualifier) {
+        MetadataSchema metadataSchema = mock(MetadataSchema.class);
+        when(metadataSchema.getName()).thenReturn(schema);
+        MetadataField metadataField = mock(MetadataField.class);
+        when(metadataField.getID()).thenReturn(id);
+        when(metadataField.getMetadataSchema()).thenReturn(metadataSchema);
+        when(metadataField.getElement()).thenReturn(element);
+        when(metadataField.getQualifier()).thenReturn(qualifier);
+        return metadataField;
+    }
+}
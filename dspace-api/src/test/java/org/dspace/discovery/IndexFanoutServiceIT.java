@@ -0,0 +1,141 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.RelationshipBuilder;
+import org.dspace.builder.RelationshipTypeBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.EntityType;
+import org.dspace.content.Item;
+import org.dspace.content.RelationshipType;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the reindexing of related items by {@link IndexFanoutService}
+ */
+public class IndexFanoutServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final IndexFanoutService indexFanoutService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexFanoutService.class.getName(), IndexFanoutService.class);
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Item author;
+
+    private Item firstPublication;
+
+    private Item secondPublication;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context,
+                                                                   CommunityBuilder.createCommunity(context).build())
+                                                 .withName("Collection")
+                                                 .build();
+        EntityType publicationType = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType personType = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        RelationshipType isAuthorOfPublication = RelationshipTypeBuilder
+            .createRelationshipTypeBuilder(context, publicationType, personType, "isAuthorOfPublication",
+                                           "isPublicationOfAuthor", null, null, null, null)
+            .build();
+        author = ItemBuilder.createItem(context, collection)
+                            .withEntityType("Person")
+                            .withPersonIdentifierFirstName("Jane")
+                            .withPersonIdentifierLastName("Doe")
+                            .build();
+        firstPublication = ItemBuilder.createItem(context, collection)
+                                      .withEntityType("Publication")
+                                      .withTitle("First publication")
+                                      .build();
+        secondPublication = ItemBuilder.createItem(context, collection)
+                                       .withEntityType("Publication")
+                                       .withTitle("Second publication")
+                                       .build();
+        RelationshipBuilder.createRelationshipBuilder(context, firstPublication, author, isAuthorOfPublication)
+                           .build();
+        RelationshipBuilder.createRelationshipBuilder(context, secondPublication, author, isAuthorOfPublication)
+                           .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        configurationService.setProperty("discovery.index.async.enabled", true);
+        configurationService.setProperty("discovery.index.fanout.enabled", true);
+    }
+
+    @After
+    public void disableFanout() throws Exception {
+        configurationService.setProperty("discovery.index.fanout.enabled", false);
+        configurationService.setProperty("discovery.index.async.enabled", false);
+        configurationService.setProperty("discovery.index.async.chunk-size", null);
+        // Do not leave queue records to the other tests
+        while (indexQueueService.processQueue(context) > 0) {
+            context.clear();
+        }
+    }
+
+    @Test
+    public void testAffectedItemsInheritVirtualMetadata() throws Exception {
+        assertEquals(Set.of(firstPublication.getID(), secondPublication.getID()),
+                     indexFanoutService.findAffectedItems(context, List.of(author.getID())));
+        // the authors do not inherit virtual metadata from their publications
+        assertTrue(indexFanoutService.findAffectedItems(context, List.of(firstPublication.getID())).isEmpty());
+    }
+
+    @Test
+    public void testRelatedItemsAreQueuedWithALowPriority() throws Exception {
+        context.turnOffAuthorisationSystem();
+        author = context.reloadEntity(author);
+        itemService.replaceMetadata(context, author, "person", "familyName", null, null, "Smith", null, -1, 0);
+        itemService.update(context, author);
+        // a second change of the author in the same transaction does not queue the publications again
+        itemService.replaceMetadata(context, author, "person", "givenName", null, null, "John", null, -1, 0);
+        itemService.update(context, author);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertEquals(2, indexFanoutService.countPending(context));
+
+        // the records of normal priority, e.g. the author itself, are processed first
+        configurationService.setProperty("discovery.index.async.chunk-size", 1);
+        while (indexQueueService.countPending(context, IndexQueueEntry.PRIORITY_NORMAL) > 0) {
+            indexQueueService.processQueue(context);
+            context.clear();
+        }
+        assertEquals(2, indexFanoutService.countPending(context));
+
+        while (indexQueueService.processQueue(context) > 0) {
+            context.clear();
+        }
+        assertEquals(0, indexFanoutService.countPending(context));
+    }
+}
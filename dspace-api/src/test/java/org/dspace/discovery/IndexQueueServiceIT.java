@@ -0,0 +1,178 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the asynchronous discovery index queue ({@link IndexQueueService})
+ */
+public class IndexQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final IndexQueueDAO indexQueueDAO = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(null, IndexQueueDAO.class);
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final MockSolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(null, MockSolrSearchCore.class);
+
+    private SearchService searchService;
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        searchService = SearchUtils.getSearchService();
+
+        context.turnOffAuthorisationSystem();
+        collection = CollectionBuilder.createCollection(context, CommunityBuilder.createCommunity(context).build())
+                                      .withName("Collection")
+                                      .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        configurationService.setProperty("discovery.index.async.enabled", true);
+    }
+
+    @After
+    public void disableAsyncIndexing() throws Exception {
+        configurationService.setProperty("discovery.index.async.enabled", false);
+        // Do not leave queue records to the other tests
+        while (indexQueueService.processQueue(context) > 0) {
+            context.clear();
+        }
+    }
+
+    @Test
+    public void testUpdatesAreIndexedWhenTheQueueIsProcessed() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Queued item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(indexQueueService.countPending(context) > 0);
+        assertIndexed(item, "Queued item", 0);
+
+        indexQueueService.processQueue(context);
+
+        assertEquals(0, indexQueueService.countPending(context));
+        assertIndexed(item, "Queued item", 1);
+    }
+
+    @Test
+    public void testRepeatedUpdatesAreCoalesced() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("First title").build();
+        context.commit();
+        item = context.reloadEntity(item);
+        itemService.replaceMetadata(context, item, "dc", "title", null, null, "Second title", null, -1, 0);
+        itemService.update(context, item);
+        context.commit();
+        item = context.reloadEntity(item);
+        itemService.replaceMetadata(context, item, "dc", "title", null, null, "Third title", null, -1, 0);
+        itemService.update(context, item);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        long pending = indexQueueService.countPending(context);
+        assertTrue(pending >= 3);
+        // All the records of the item are consumed by a single run, which indexes its latest state
+        assertEquals(pending, indexQueueService.processQueue(context));
+        assertEquals(0, indexQueueService.countPending(context));
+        assertIndexed(item, "Third title", 1);
+        assertIndexed(item, "First title", 0);
+    }
+
+    @Test
+    public void testDeletionsAreQueued() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Deleted item").build();
+        context.commit();
+        indexQueueService.processQueue(context);
+        assertIndexed(item, "Deleted item", 1);
+
+        item = context.reloadEntity(item);
+        itemService.delete(context, item);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // Search results skip (and remove) the documents of deleted objects, so check the search core itself
+        assertEquals(1, countDocuments(item));
+        indexQueueService.processQueue(context);
+        assertEquals(0, countDocuments(item));
+    }
+
+    @Test
+    public void testClaimedRecordsAreSkippedUntilTheLeaseExpires() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Claimed item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // Another run claims all the records
+        long pending = indexQueueService.countPending(context);
+        assertEquals(pending, indexQueueDAO.claimOldest(context, "other", Instant.now().plusSeconds(600), 500));
+        context.commit();
+        assertEquals(0, indexQueueService.processQueue(context));
+        assertEquals(pending, indexQueueService.countPending(context));
+        assertIndexed(item, "Claimed item", 0);
+
+        // The other run did not complete, its records are processed once its lease expired
+        for (IndexQueueEntry entry : indexQueueDAO.findClaimed(context, "other")) {
+            entry.setClaimedUntil(Instant.now().minusSeconds(1));
+            indexQueueDAO.save(context, entry);
+        }
+        context.commit();
+        assertEquals(pending, indexQueueService.processQueue(context));
+        assertEquals(0, indexQueueService.countPending(context));
+        assertIndexed(item, "Claimed item", 1);
+    }
+
+    private long countDocuments(Item item) throws Exception {
+        SolrQuery solrQuery = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + IndexableItem.TYPE + "-"
+                                                + item.getID());
+        return solrSearchCore.getSolr().query(solrQuery).getResults().getNumFound();
+    }
+
+    private void assertIndexed(Item item, String title, int expected) throws SearchServiceException {
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("dc.title:\"" + title + "\"");
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        discoverQuery.addFilterQueries("search.resourceid:" + item.getID());
+        DiscoverResult discoverResult = searchService.search(context, discoverQuery);
+        assertEquals(expected, discoverResult.getTotalSearchResults());
+    }
+}
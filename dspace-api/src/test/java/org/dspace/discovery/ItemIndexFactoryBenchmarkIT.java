@@ -0,0 +1,119 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+/**
+ * Measures the throughput (documents/sec), the CPU time per item and the garbage collections of
+ * {@link ItemIndexFactory#buildDocument(org.dspace.core.Context, IndexableObject)}, for items with many metadata
+ * values.
+ * <p>
+ * The benchmark is skipped unless the benchmark.discovery system property is set to true. The sizes can be changed
+ * with the benchmark.discovery.items, benchmark.discovery.values and benchmark.discovery.iterations system
+ * properties, e.g. {@code mvn install -DskipIntegrationTests=false -Dit.test=ItemIndexFactoryBenchmarkIT
+ * -Dbenchmark.discovery=true -Dbenchmark.discovery.values=5000}
+ */
+public class ItemIndexFactoryBenchmarkIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final Logger log = LogManager.getLogger(ItemIndexFactoryBenchmarkIT.class);
+
+    private final ItemIndexFactory itemIndexFactory = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(ItemIndexFactory.class).get(0);
+
+    @Test
+    public void benchmarkBuildDocument() throws Exception {
+        assumeTrue("Set -Dbenchmark.discovery=true to run the benchmark", Boolean.getBoolean("benchmark.discovery"));
+
+        int items = Integer.getInteger("benchmark.discovery.items", 10);
+        int values = Integer.getInteger("benchmark.discovery.values", 500);
+        int iterations = Integer.getInteger("benchmark.discovery.iterations", 5);
+
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context,
+                                                                   CommunityBuilder.createCommunity(context).build())
+                                                 .withName("Benchmark collection")
+                                                 .build();
+        List<IndexableItem> indexableItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            ItemBuilder itemBuilder = ItemBuilder.createItem(context, collection)
+                                                 .withTitle("Benchmark item " + i)
+                                                 .withIssueDate("2020-01-0" + (1 + i % 9));
+            for (int v = 0; v < values; v++) {
+                if (v % 2 == 0) {
+                    itemBuilder.withAuthor(String.format("Author %05d, Benchmark", v));
+                } else {
+                    itemBuilder.withSubject("Benchmark subject " + v);
+                }
+            }
+            indexableItems.add(new IndexableItem(itemBuilder.build()));
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        // Like a reindex, which reads the items without flushing them
+        context.setMode(Context.Mode.READ_ONLY);
+
+        // Warm up, and check the documents
+        for (IndexableItem indexableItem : indexableItems) {
+            SolrInputDocument document = itemIndexFactory.buildDocument(context, indexableItem);
+            assertEquals((values + 1) / 2, document.getFieldValues("dc.contributor.author").size());
+            assertEquals("Author 00000, Benchmark", document.getFieldValue("author_min"));
+            assertTrue(document.getFieldValues("subject_keyword").size() >= values / 2);
+            assertEquals(1, document.getFieldValues("dc.date.issued_dt").size());
+        }
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long cpuTimeBefore = threadMXBean.getThreadCpuTime(threadId);
+        long collectionsBefore = getCollectionCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (IndexableItem indexableItem : indexableItems) {
+                itemIndexFactory.buildDocument(context, indexableItem);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long cpuTime = threadMXBean.getThreadCpuTime(threadId) - cpuTimeBefore;
+        long collections = getCollectionCount() - collectionsBefore;
+
+        long documents = (long) iterations * items;
+        log.info("Built {} documents of {} metadata values: {} documents/sec, {} CPU microseconds per item, "
+                     + "{} garbage collections", documents, values,
+                 documents * 1_000_000_000L / Math.max(1, elapsed), cpuTime / 1000 / documents, collections);
+    }
+
+    private static long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SolrDocumentBuffer}
+ */
+public class SolrDocumentBufferTest {
+
+    private SolrClient solr;
+    private Semaphore permits;
+
+    @Before
+    public void setUp() {
+        solr = mock(SolrClient.class);
+        permits = new Semaphore(1);
+    }
+
+    @Test
+    public void testBatchesAreSentPerTypeWhenFull() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 2, -1, -1, permits);
+
+        buffer.add("Item", document("Item-1"));
+        buffer.add("Collection", document("Collection-1"));
+        verify(solr, never()).add(anyList(), anyInt());
+
+        buffer.add("Item", document("Item-2"));
+        verify(solr).add(argThat((List<SolrInputDocument> l) -> l.size() == 2), eq(-1));
+
+        buffer.flush();
+        verify(solr).add(argThat((List<SolrInputDocument> l) -> l.size() == 1), eq(-1));
+        assertEquals(3, buffer.getDocumentsSent());
+        assertEquals(2, buffer.getRequestsSent());
+        assertEquals(1, permits.availablePermits());
+    }
+
+    @Test
+    public void testCommitWithinIsSentWithEachBatch() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, -1, 1000, permits);
+
+        buffer.add("Item", document("Item-1"));
+        buffer.flush();
+
+        verify(solr).add(anyList(), eq(1000));
+    }
+
+    @Test
+    public void testOldBatchIsSentOnNextAdd() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, 1, -1, permits);
+
+        buffer.add("Item", document("Item-1"));
+        Thread.sleep(5);
+        buffer.add("Item", document("Item-2"));
+
+        verify(solr).add(argThat((List<SolrInputDocument> l) -> l.size() == 2), eq(-1));
+    }
+
+    @Test
+    public void testDiscardedDocumentIsNotSent() throws Exception {
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, -1, -1, permits);
+
+        buffer.add("Item", document("Item-1"));
+        buffer.discard("Item-1");
+        buffer.flush();
+
+        verify(solr, never()).add(anyList(), anyInt());
+        assertEquals(0, buffer.getDocumentsSent());
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedOneByOne() throws Exception {
+        when(solr.add(anyList(), anyInt())).thenThrow(new SolrServerException("bad document"));
+        when(solr.add(any(SolrInputDocument.class), anyInt()))
+            .thenThrow(new SolrServerException("bad document"))
+            .thenReturn(null);
+        SolrDocumentBuffer buffer = new SolrDocumentBuffer(solr, 10, -1, -1, permits);
+
+        buffer.add("Item", document("Item-1"));
+        buffer.add("Item", document("Item-2"));
+        buffer.flush();
+
+        verify(solr, times(2)).add(any(SolrInputDocument.class), eq(-1));
+        assertEquals(1, buffer.getDocumentsSent());
+        assertEquals(1, permits.availablePermits());
+    }
+
+    private SolrInputDocument document(String uniqueId) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueId);
+        return document;
+    }
+}
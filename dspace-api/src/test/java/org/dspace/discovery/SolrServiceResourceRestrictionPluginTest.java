@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.eperson.Group;
+import org.junit.Test;
+
+/**
+ * Unit tests for the filters built by {@link SolrServiceResourceRestrictionPlugin}
+ */
+public class SolrServiceResourceRestrictionPluginTest {
+
+    private static final UUID FIRST = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private static final UUID SECOND = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Test
+    public void testGroupTermsDoNotDependOnTheIterationOrder() {
+        Set<Group> groups = new LinkedHashSet<>();
+        groups.add(group(SECOND));
+        groups.add(group(FIRST));
+        Set<Group> sameGroups = new LinkedHashSet<>();
+        sameGroups.add(group(FIRST));
+        sameGroups.add(group(SECOND));
+
+        assertEquals("g" + FIRST + ",g" + SECOND, SolrServiceResourceRestrictionPlugin.getGroupTerms(groups));
+        assertEquals(SolrServiceResourceRestrictionPlugin.getGroupTerms(groups),
+                     SolrServiceResourceRestrictionPlugin.getGroupTerms(sameGroups));
+    }
+
+    @Test
+    public void testActionClauseOfAnonymousUsers() {
+        assertEquals("filter({!terms f=read v=$authzGroups})",
+                     SolrServiceResourceRestrictionPlugin.getActionClause("read", null));
+    }
+
+    @Test
+    public void testActionClauseOfAuthenticatedUsers() {
+        // the clause of the groups is the same for every user, only the term of the user differs
+        assertEquals("(filter({!terms f=admin v=$authzGroups}) OR admin:e" + FIRST + ")",
+                     SolrServiceResourceRestrictionPlugin.getActionClause("admin", "e" + FIRST));
+    }
+
+    private static Group group(UUID id) {
+        Group group = mock(Group.class);
+        when(group.getID()).thenReturn(id);
+        return group;
+    }
+}
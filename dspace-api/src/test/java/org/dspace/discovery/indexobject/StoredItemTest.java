@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.common.SolrDocument;
+import org.dspace.content.authority.Choices;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.discovery.SearchUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link StoredItem}
+ */
+public class StoredItemTest {
+
+    private static final String SEPARATOR = ItemIndexFactoryImpl.STORE_SEPARATOR;
+
+    @Test
+    public void testItemIsBuiltFromStoredFields() {
+        UUID id = UUID.randomUUID();
+        Date lastModified = new Date();
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+        doc.setField(SearchUtils.RESOURCE_ID_FIELD, id.toString());
+        doc.setField("handle", "123456789/1");
+        doc.setField("archived", "true");
+        doc.setField("withdrawn", "false");
+        doc.setField("discoverable", "true");
+        doc.setField("lastModified", lastModified);
+        doc.setField("dspace.entity.type", "Publication");
+        doc.setField("dc.title", "A title");
+        doc.addField("dc.contributor.author_stored",
+                     String.join(SEPARATOR, "Smith, John", "Smith, John", "null", "author-1", "en"));
+        doc.addField("dc.contributor.author_stored",
+                     String.join(SEPARATOR, "Doe, Jane", "null", "null", "null", "null"));
+
+        StoredItem item = StoredItem.fromSolrDocument(doc);
+        IndexableStoredItem indexable = new IndexableStoredItem(item);
+
+        assertEquals(id, item.getID());
+        assertEquals("123456789/1", item.getHandle());
+        assertEquals("A title", item.getName());
+        assertEquals("Publication", item.getEntityType());
+        assertTrue(item.isArchived());
+        assertFalse(item.isWithdrawn());
+        assertTrue(item.isDiscoverable());
+        assertEquals(lastModified.toInstant(), item.getLastModified());
+        assertEquals(IndexableItem.TYPE + "-" + id, indexable.getUniqueIndexID());
+
+        List<MetadataValueDTO> metadata = item.getMetadata();
+        assertEquals(2, metadata.size());
+        assertEquals("dc", metadata.get(0).getSchema());
+        assertEquals("contributor", metadata.get(0).getElement());
+        assertEquals("author", metadata.get(0).getQualifier());
+        assertEquals("Smith, John", metadata.get(0).getValue());
+        assertEquals("author-1", metadata.get(0).getAuthority());
+        assertEquals("en", metadata.get(0).getLanguage());
+        assertEquals(Choices.CF_ACCEPTED, metadata.get(0).getConfidence());
+        assertEquals("Doe, Jane", metadata.get(1).getValue());
+        assertNull(metadata.get(1).getAuthority());
+        assertNull(metadata.get(1).getLanguage());
+    }
+
+    @Test
+    public void testNameFallsBackToStoredTitle() {
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SearchUtils.RESOURCE_ID_FIELD, UUID.randomUUID().toString());
+        doc.addField("dc.title_stored", String.join(SEPARATOR, "Stored title", "null", "null", "null", "null"));
+
+        StoredItem item = StoredItem.fromSolrDocument(doc);
+
+        assertEquals("Stored title", item.getName());
+        assertNull(item.getHandle());
+        assertNull(item.getLastModified());
+        assertFalse(item.isArchived());
+    }
+}
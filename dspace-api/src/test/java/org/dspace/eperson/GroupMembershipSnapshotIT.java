@@ -0,0 +1,130 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the incremental maintenance of the group2groupcache table and for the
+ * {@link GroupMembershipSnapshot}
+ */
+public class GroupMembershipSnapshotIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final GroupMembershipSnapshotProvider groupMembershipSnapshotProvider = DSpaceServicesFactory
+        .getInstance().getServiceManager().getServiceByName(GroupMembershipSnapshotProvider.class.getName(),
+                                                            GroupMembershipSnapshotProvider.class);
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private Group topGroup;
+
+    private Group middleGroup;
+
+    private Group bottomGroup;
+
+    private EPerson member;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        member = EPersonBuilder.createEPerson(context).withEmail("member@example.com").build();
+        topGroup = GroupBuilder.createGroup(context).withName("Top").build();
+        middleGroup = GroupBuilder.createGroup(context).withName("Middle").withParent(topGroup).build();
+        bottomGroup = GroupBuilder.createGroup(context).withName("Bottom").withParent(middleGroup)
+                                  .addMember(member).build();
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @After
+    public void disableSnapshot() {
+        configurationService.setProperty("core.authorization.groups.snapshot.enabled", false);
+        groupMembershipSnapshotProvider.invalidate();
+    }
+
+    @Test
+    public void testClosureIsUpdatedFromTheChildSide() throws Exception {
+        topGroup = context.reloadEntity(topGroup);
+        middleGroup = context.reloadEntity(middleGroup);
+        bottomGroup = context.reloadEntity(bottomGroup);
+        assertTrue(groupService.isParentOf(context, topGroup, bottomGroup));
+
+        // only the child group is updated, the closure rows of the former parent must go anyway
+        context.turnOffAuthorisationSystem();
+        middleGroup.remove(bottomGroup);
+        bottomGroup.removeParentGroup(middleGroup);
+        groupService.update(context, bottomGroup);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        topGroup = context.reloadEntity(topGroup);
+        middleGroup = context.reloadEntity(middleGroup);
+        bottomGroup = context.reloadEntity(bottomGroup);
+        assertTrue(groupService.isParentOf(context, topGroup, middleGroup));
+        assertFalse(groupService.isParentOf(context, middleGroup, bottomGroup));
+        assertFalse(groupService.isParentOf(context, topGroup, bottomGroup));
+    }
+
+    @Test
+    public void testClosureIsUpdatedOnDelete() throws Exception {
+        context.turnOffAuthorisationSystem();
+        groupService.delete(context, context.reloadEntity(middleGroup));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        topGroup = context.reloadEntity(topGroup);
+        bottomGroup = context.reloadEntity(bottomGroup);
+        assertFalse(groupService.isParentOf(context, topGroup, bottomGroup));
+        assertFalse(groupService.isMember(context, context.reloadEntity(member), topGroup));
+    }
+
+    @Test
+    public void testSnapshotAnswersAndIsDiscardedOnGroupChanges() throws Exception {
+        configurationService.setProperty("core.authorization.groups.snapshot.enabled", true);
+        groupMembershipSnapshotProvider.invalidate();
+        member = context.reloadEntity(member);
+
+        assertTrue(groupService.isMember(context, member, context.reloadEntity(topGroup)));
+        GroupMembershipSnapshot snapshot = groupMembershipSnapshotProvider.getSnapshot(context);
+        assertNotNull(snapshot);
+        assertTrue(snapshot.isMember(topGroup.getID(), member.getID()));
+        assertTrue(snapshot.isParentOf(topGroup.getID(), bottomGroup.getID()));
+
+        context.turnOffAuthorisationSystem();
+        Group group = context.reloadEntity(bottomGroup);
+        groupService.removeMember(context, group, member);
+        groupService.update(context, group);
+        // the context does not use the snapshot while it has uncommitted changes
+        assertNull(groupMembershipSnapshotProvider.getSnapshot(context));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        member = context.reloadEntity(member);
+        assertFalse(groupService.isMember(context, member, context.reloadEntity(topGroup)));
+        assertFalse(groupMembershipSnapshotProvider.getSnapshot(context).isMember(topGroup.getID(), member.getID()));
+    }
+}
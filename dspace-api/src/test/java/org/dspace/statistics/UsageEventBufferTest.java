@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link UsageEventBuffer}
+ */
+public class UsageEventBufferTest {
+
+    @Test
+    public void testEventsAreWrittenInBatches() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        List<String> ips = new ArrayList<>();
+        UsageEventBuffer buffer = new UsageEventBuffer(100, 5, 50, events -> {
+            synchronized (batchSizes) {
+                batchSizes.add(events.size());
+                events.forEach(event -> ips.add(event.ip()));
+            }
+        });
+
+        for (int i = 0; i < 12; i++) {
+            assertTrue(buffer.offer(new SolrInputDocument(), "127.0.0." + i));
+        }
+        buffer.close();
+
+        assertEquals(12, buffer.getWritten());
+        assertEquals(0, buffer.getPending());
+        assertEquals(12, ips.size());
+        assertEquals("127.0.0.0", ips.get(0));
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 5));
+    }
+
+    @Test
+    public void testFullBufferRefusesEvents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UsageEventBuffer buffer = new UsageEventBuffer(2, 1, 10, events -> release.await(10, TimeUnit.SECONDS));
+
+        // the writer holds one event, the buffer holds the next two
+        assertTrue(buffer.offer(new SolrInputDocument(), null));
+        while (buffer.getPending() > 0) {
+            Thread.sleep(10);
+        }
+        assertTrue(buffer.offer(new SolrInputDocument(), null));
+        assertTrue(buffer.offer(new SolrInputDocument(), null));
+        assertFalse(buffer.offer(new SolrInputDocument(), null));
+
+        release.countDown();
+        buffer.close();
+        assertEquals(3, buffer.getWritten());
+    }
+
+    @Test
+    public void testFailedBatchesAreCounted() throws Exception {
+        UsageEventBuffer buffer = new UsageEventBuffer(10, 10, 10, events -> {
+            throw new IllegalStateException("Solr is down");
+        });
+
+        buffer.offer(new SolrInputDocument(), null);
+        buffer.offer(new SolrInputDocument(), null);
+        buffer.close();
+
+        assertEquals(0, buffer.getWritten());
+        assertEquals(2, buffer.getFailed());
+    }
+
+    @Test
+    public void testCloseWaitsForTheWriterWithoutInterruptingIt() throws Exception {
+        List<Boolean> interrupted = new ArrayList<>();
+        UsageEventBuffer buffer = new UsageEventBuffer(10, 1, 10, events -> {
+            Thread.sleep(100);
+            interrupted.add(Thread.currentThread().isInterrupted());
+        });
+
+        buffer.offer(new SolrInputDocument(), null);
+        buffer.offer(new SolrInputDocument(), null);
+        buffer.close(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals(2, buffer.getWritten());
+        assertEquals(List.of(false, false), interrupted);
+    }
+
+    @Test
+    public void testCloseInterruptsTheWriterAfterTheTimeout() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        UsageEventBuffer buffer = new UsageEventBuffer(10, 1, 10, events -> {
+            writing.countDown();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(60));
+        });
+
+        buffer.offer(new SolrInputDocument(), null);
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        buffer.offer(new SolrInputDocument(), null);
+        buffer.close(100);
+
+        // the interrupted batch failed, the last event was not written
+        assertEquals(0, buffer.getWritten());
+        assertEquals(1, buffer.getFailed());
+        assertEquals(1, buffer.getPending());
+    }
+}
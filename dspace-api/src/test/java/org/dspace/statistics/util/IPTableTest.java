@@ -163,6 +163,41 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0/8");
+        instance.add("10.1.0.0-10.1.0.255");
+        instance.add("11.0.0.5");
+
+        assertTrue(instance.contains("10.1.0.10"));
+        assertTrue(instance.contains("10.255.255.255"));
+        assertTrue(instance.contains("11.0.0.5"));
+        assertFalse(instance.contains("11.0.0.4"));
+        assertFalse(instance.contains("9.255.255.255"));
+
+        // the table is searched again after a change
+        instance.add("11.0.0.4");
+        assertTrue(instance.contains("11.0.0.4"));
+    }
+
+    @Test
+    public void testIPv6Contains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/32");
+        instance.add("2a00:1450::1-2a00:1450::ff");
+        instance.add("::1");
+
+        assertTrue(instance.contains("2001:db8::"));
+        assertTrue(instance.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertFalse(instance.contains("2001:db9::"));
+        assertTrue(instance.contains("2a00:1450::ff"));
+        assertFalse(instance.contains("2a00:1450::100"));
+        assertTrue(instance.contains("::1"));
+        assertFalse("IPv4 address should not match an IPv6 range", instance.contains("0.0.0.1"));
+        assertFalse(instance.isEmpty());
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
@@ -0,0 +1,207 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+/**
+ * Measures the lookups/sec and the CPU time per lookup of the spider detection: the {@link SpiderPatternMatcher}
+ * against the loop over each {@link Pattern} it replaces, for user agents, and the {@link IPTable}, for IP
+ * addresses. The patterns mix plain strings and regular expressions, as in the COUNTER robots list, and the user
+ * agents mostly are those of browsers, which have to be checked against every pattern.
+ * <p>
+ * The benchmark is skipped unless the benchmark.spider system property is set to true. The sizes can be changed
+ * with the benchmark.spider.patterns, benchmark.spider.ranges, benchmark.spider.lookups and
+ * benchmark.spider.iterations system properties, e.g. {@code mvn install -DskipIntegrationTests=false
+ * -Dit.test=SpiderDetectorBenchmarkIT -Dbenchmark.spider=true -Dbenchmark.spider.patterns=2000}
+ */
+public class SpiderDetectorBenchmarkIT {
+
+    private static final Logger log = LogManager.getLogger(SpiderDetectorBenchmarkIT.class);
+
+    private static final String[] BROWSERS = {
+        "Mozilla/5.0 (X11; Linux x86_64; rv:128.0) Gecko/20100101 Firefox/128.0",
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 "
+            + "Safari/537.36",
+        "Mozilla/5.0 (iPhone; CPU iPhone OS 17_5 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+            + "Version/17.5 Mobile/15E148 Safari/604.1",
+        "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 "
+            + "Safari/537.36 Edg/126.0.0.0",
+    };
+
+    @Test
+    public void benchmarkAgents() {
+        assumeTrue("Set -Dbenchmark.spider=true to run the benchmark", Boolean.getBoolean("benchmark.spider"));
+
+        int patternCount = Integer.getInteger("benchmark.spider.patterns", 1000);
+        int lookups = Integer.getInteger("benchmark.spider.lookups", 10000);
+        int iterations = Integer.getInteger("benchmark.spider.iterations", 5);
+
+        Random random = new Random(42);
+        List<String> patterns = new ArrayList<>();
+        List<String> spiders = new ArrayList<>();
+        for (int i = 0; i < patternCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    patterns.add("^robot" + i + "\\/\\d");
+                    spiders.add("robot" + i + "/1.0");
+                    break;
+                case 1:
+                    patterns.add("[a-z]crawler" + i);
+                    spiders.add("Webcrawler" + i + " (+http://example.org)");
+                    break;
+                default:
+                    patterns.add("bot" + i + "\\.example\\.org");
+                    spiders.add("Mozilla/5.0 (compatible; +http://bot" + i + ".example.org)");
+                    break;
+            }
+        }
+        List<String> agents = new ArrayList<>();
+        int expectedSpiders = 0;
+        for (int i = 0; i < lookups; i++) {
+            // one spider for ten browsers
+            if (i % 10 == 0) {
+                agents.add(spiders.get(random.nextInt(spiders.size())));
+                expectedSpiders++;
+            } else {
+                agents.add(BROWSERS[random.nextInt(BROWSERS.length)]);
+            }
+        }
+
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(patterns);
+        List<Pattern> compiled = patterns.stream().map(Pattern::compile).toList();
+
+        // Warm up, and check that both find the same spiders
+        int matcherSpiders = 0;
+        int loopSpiders = 0;
+        for (String agent : agents) {
+            matcherSpiders += matcher.find(agent) ? 1 : 0;
+            loopSpiders += findAny(compiled, agent) ? 1 : 0;
+        }
+        assertEquals(expectedSpiders, matcherSpiders);
+        assertEquals(expectedSpiders, loopSpiders);
+
+        measure("Patterns loop over " + patternCount + " patterns", agents.size() * iterations, () -> {
+            for (int i = 0; i < iterations; i++) {
+                for (String agent : agents) {
+                    findAny(compiled, agent);
+                }
+            }
+        });
+        measure("SpiderPatternMatcher of " + patternCount + " patterns", agents.size() * iterations, () -> {
+            for (int i = 0; i < iterations; i++) {
+                for (String agent : agents) {
+                    matcher.find(agent);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void benchmarkIPs() throws Exception {
+        assumeTrue("Set -Dbenchmark.spider=true to run the benchmark", Boolean.getBoolean("benchmark.spider"));
+
+        int ranges = Integer.getInteger("benchmark.spider.ranges", 5000);
+        int lookups = Integer.getInteger("benchmark.spider.lookups", 10000);
+        int iterations = Integer.getInteger("benchmark.spider.iterations", 5);
+
+        Random random = new Random(42);
+        IPTable table = new IPTable();
+        List<String> spiders = new ArrayList<>();
+        for (int i = 0; i < ranges; i++) {
+            String prefix = (11 + random.nextInt(213)) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            // single addresses, partial addresses and CIDR ranges, as in the iplists.com files
+            switch (i % 3) {
+                case 0:
+                    table.add(prefix + ".7");
+                    spiders.add(prefix + ".7");
+                    break;
+                case 1:
+                    table.add(prefix);
+                    spiders.add(prefix + ".200");
+                    break;
+                default:
+                    table.add(prefix + ".0/24");
+                    spiders.add(prefix + ".13");
+                    break;
+            }
+        }
+        List<String> ips = new ArrayList<>();
+        for (int i = 0; i < lookups; i++) {
+            if (i % 10 == 0) {
+                ips.add(spiders.get(random.nextInt(spiders.size())));
+            } else {
+                ips.add("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256));
+            }
+        }
+
+        // Warm up, and check the table
+        int found = 0;
+        for (String ip : ips) {
+            found += table.contains(ip) ? 1 : 0;
+        }
+        assertEquals((lookups + 9) / 10, found);
+
+        measure("IPTable of " + ranges + " ranges", ips.size() * iterations, () -> {
+            for (int i = 0; i < iterations; i++) {
+                for (String ip : ips) {
+                    try {
+                        table.contains(ip);
+                    } catch (IPTable.IPFormatException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        });
+    }
+
+    private static boolean findAny(List<Pattern> patterns, String text) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(text).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void measure(String name, long lookups, Runnable benchmark) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long cpuTimeBefore = threadMXBean.getThreadCpuTime(threadId);
+        long collectionsBefore = getCollectionCount();
+        long start = System.nanoTime();
+        benchmark.run();
+        long elapsed = System.nanoTime() - start;
+        long cpuTime = threadMXBean.getThreadCpuTime(threadId) - cpuTimeBefore;
+        long collections = getCollectionCount() - collectionsBefore;
+
+        log.info("{}: {} lookups/sec, {} CPU nanoseconds per lookup, {} garbage collections", name,
+                 lookups * 1_000_000_000L / Math.max(1, elapsed), cpuTime / lookups, collections);
+    }
+
+    private static long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -10,6 +10,9 @@ package org.dspace.statistics.util;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.nio.file.Files;
+
 import org.dspace.AbstractDSpaceTest;
 import org.dspace.core.factory.CoreServiceFactory;
 import org.dspace.service.ClientInfoService;
@@ -323,6 +326,29 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
     }
 
 
+    /**
+     * Test that the patterns are reloaded when the spider files change
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedSpiderFilesAreReloaded() throws Exception {
+        configurationService.setProperty("usage-statistics.bots.reload-interval", 0);
+        spiderDetectorService = new SpiderDetectorServiceImpl(configurationService, clientInfoService);
+        File patternFile = new File(configurationService.getProperty("dspace.dir"),
+                                    "config/spiders/agents/dspace-reload-testing.txt");
+        String agent = "DSpaceReloadTestingBot/1.0";
+
+        assertFalse(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, agent));
+        try {
+            Files.writeString(patternFile.toPath(), "^DSpaceReloadTestingBot\n");
+            assertTrue(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, agent));
+        } finally {
+            Files.delete(patternFile.toPath());
+        }
+        assertFalse(spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, agent));
+    }
+
     /**
      * Method to make sure the SpiderDetector is using CaseSensitive matching again after each test
      *
@@ -332,5 +358,6 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
     public void cleanup() throws Exception {
         spiderDetectorService = null;
         configurationService.setProperty("usage-statistics.bots.case-insensitive", false);
+        configurationService.setProperty("usage-statistics.bots.reload-interval", null);
     }
 }
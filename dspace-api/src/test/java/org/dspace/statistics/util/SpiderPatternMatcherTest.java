@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link SpiderPatternMatcher}
+ */
+public class SpiderPatternMatcherTest {
+
+    @Test
+    public void testToLiteral() {
+        assertEquals("bot", SpiderPatternMatcher.toLiteral("bot"));
+        assertEquals("Googlebot/2.1 (+http", SpiderPatternMatcher.toLiteral("Googlebot/2\\.1 \\(\\+http"));
+        assertNull(SpiderPatternMatcher.toLiteral("^ruby$"));
+        assertNull(SpiderPatternMatcher.toLiteral("aria2\\/\\d"));
+        assertNull(SpiderPatternMatcher.toLiteral("[^a]fish"));
+    }
+
+    @Test
+    public void testFind() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(
+            List.of("bot", "spider", "crawl", "Googlebot/2\\.1", "^ruby$", "[^a]fish", "aria2\\/\\d",
+                    "(a)\\1x", "[invalid"));
+
+        assertEquals(8, matcher.size());
+        // literals, including overlapping ones
+        assertTrue(matcher.find("msnbot is watching you"));
+        assertTrue(matcher.find("a webcrawler"));
+        assertTrue(matcher.find("Googlebot/2.1"));
+        assertTrue(matcher.find("spispider"));
+        // combined regular expressions
+        assertTrue(matcher.find("ruby"));
+        assertFalse(matcher.find("ruby on rails"));
+        assertTrue(matcher.find("swordfish"));
+        assertFalse(matcher.find("fish"));
+        assertTrue(matcher.find("aria2/1.36"));
+        // back reference
+        assertTrue(matcher.find("aax"));
+
+        assertFalse(matcher.find("Mozilla/5.0 (X11; Linux x86_64; rv:91.0) Gecko/20100101 Firefox/91.0"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void testFindUnclosedQuote() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(List.of("^lynx\\Q/2.", "^wget\\Q/\\E\\d", "^curl/"));
+
+        assertEquals(3, matcher.size());
+        assertTrue(matcher.find("lynx/2.8"));
+        assertFalse(matcher.find("lynx/208"));
+        assertTrue(matcher.find("wget/1.21"));
+        // not quoted by the unclosed quote of the first pattern
+        assertTrue(matcher.find("curl/8.0"));
+    }
+}
@@ -0,0 +1,227 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.content.Bitstream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+/**
+ * Unit tests for the {@link CachingBitStoreService}
+ */
+public class CachingBitStoreServiceTest extends AbstractDSpaceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private BitStoreService remoteStore;
+
+    private CachingBitStoreService cachingBitStoreService;
+
+    @Before
+    public void setUp() throws Exception {
+        when(remoteStore.isInitialized()).thenReturn(true);
+        cachingBitStoreService = new CachingBitStoreService();
+        cachingBitStoreService.setBitStoreService(remoteStore);
+        cachingBitStoreService.setCacheDir(folder.newFolder("cache"));
+        cachingBitStoreService.init();
+    }
+
+    @Test
+    public void testSecondReadIsServedFromTheCache() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+
+        assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+        assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+        assertArrayEquals(bytes("234"), read(cachingBitStoreService.get(bitstream, 2, 3)));
+
+        verify(remoteStore, times(1)).get(bitstream);
+        assertEquals(2, cachingBitStoreService.getHits());
+        assertEquals(1, cachingBitStoreService.getMisses());
+        assertEquals(10, cachingBitStoreService.getSize());
+    }
+
+    @Test
+    public void testContentNotMatchingTheChecksumIsNotCached() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789", DigestUtils.md5Hex("something else"));
+
+        assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+
+        // the copy is made while streaming to the caller
+        verify(remoteStore, times(1)).get(bitstream);
+        assertEquals(1, cachingBitStoreService.getValidationFailures());
+        assertEquals(0, cachingBitStoreService.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBitstreamIsEvicted() throws Exception {
+        cachingBitStoreService.setMaxSize(25);
+        Bitstream first = mockBitstream("1", "0123456789");
+        Bitstream second = mockBitstream("2", "abcdefghij");
+        Bitstream third = mockBitstream("3", "ABCDEFGHIJ");
+
+        read(cachingBitStoreService.get(first));
+        read(cachingBitStoreService.get(second));
+        read(cachingBitStoreService.get(first));
+        read(cachingBitStoreService.get(third));
+
+        assertEquals(1, cachingBitStoreService.getEvictions());
+        assertEquals(20, cachingBitStoreService.getSize());
+
+        // the second bitstream was the least recently used one
+        read(cachingBitStoreService.get(first));
+        read(cachingBitStoreService.get(second));
+        verify(remoteStore, times(1)).get(first);
+        verify(remoteStore, times(2)).get(second);
+    }
+
+    @Test
+    public void testFirstReaderIsStreamedWhileCopying() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+
+        try (InputStream in = cachingBitStoreService.get(bitstream)) {
+            // the first bytes are read before the copy is complete
+            assertArrayEquals(bytes("0123"), in.readNBytes(4));
+            assertEquals(0, cachingBitStoreService.getSize());
+            // a concurrent read follows the copy instead of fetching the bitstream again
+            try (InputStream concurrent = cachingBitStoreService.get(bitstream)) {
+                assertArrayEquals(bytes("0123"), concurrent.readNBytes(4));
+                assertArrayEquals(bytes("456789"), in.readAllBytes());
+                assertArrayEquals(bytes("456789"), concurrent.readAllBytes());
+            }
+        }
+
+        assertEquals(10, cachingBitStoreService.getSize());
+        assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+        verify(remoteStore, times(1)).get(bitstream);
+        assertEquals(2, cachingBitStoreService.getHits());
+        assertEquals(1, cachingBitStoreService.getMisses());
+    }
+
+    @Test
+    public void testConcurrentReadOfAnAbandonedCopyIsCompletedFromTheRemoteStore() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+        when(remoteStore.get(bitstream, 4, 6)).thenReturn(new ByteArrayInputStream(bytes("456789")));
+
+        InputStream concurrent;
+        try (InputStream in = cachingBitStoreService.get(bitstream)) {
+            assertArrayEquals(bytes("0123"), in.readNBytes(4));
+            concurrent = cachingBitStoreService.get(bitstream);
+            assertArrayEquals(bytes("0123"), concurrent.readNBytes(4));
+        }
+
+        // the first reader stopped before the end, the rest is read from the remote store
+        assertArrayEquals(bytes("456789"), read(concurrent));
+        verify(remoteStore, times(1)).get(bitstream);
+        verify(remoteStore).get(bitstream, 4, 6);
+        assertEquals(0, cachingBitStoreService.getSize());
+    }
+
+    @Test
+    public void testConcurrentReadOfAStalledCopyIsCompletedFromTheRemoteStore() throws Exception {
+        cachingBitStoreService.setFollowTimeout(10);
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+        when(remoteStore.get(bitstream, 4, 6)).thenReturn(new ByteArrayInputStream(bytes("456789")));
+
+        try (InputStream in = cachingBitStoreService.get(bitstream)) {
+            assertArrayEquals(bytes("0123"), in.readNBytes(4));
+            // the first reader makes no progress while the concurrent read waits
+            assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+            assertArrayEquals(bytes("456789"), in.readAllBytes());
+        }
+
+        verify(remoteStore, times(1)).get(bitstream);
+        verify(remoteStore).get(bitstream, 4, 6);
+        assertEquals(10, cachingBitStoreService.getSize());
+    }
+
+    @Test
+    public void testVanishedCopyIsCountedAsMiss() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+
+        read(cachingBitStoreService.get(bitstream));
+        FileUtils.cleanDirectory(new File(folder.getRoot(), "cache"));
+        assertArrayEquals(bytes("0123456789"), read(cachingBitStoreService.get(bitstream)));
+
+        verify(remoteStore, times(2)).get(bitstream);
+        assertEquals(0, cachingBitStoreService.getHits());
+        assertEquals(2, cachingBitStoreService.getMisses());
+    }
+
+    @Test
+    public void testPartialReadIsNotCached() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+
+        try (InputStream in = cachingBitStoreService.get(bitstream)) {
+            assertArrayEquals(bytes("0123"), in.readNBytes(4));
+        }
+        assertEquals(0, cachingBitStoreService.getSize());
+
+        // the next full read makes the copy
+        read(cachingBitStoreService.get(bitstream));
+        read(cachingBitStoreService.get(bitstream));
+        verify(remoteStore, times(2)).get(bitstream);
+        assertEquals(10, cachingBitStoreService.getSize());
+        // the incomplete copy was removed
+        assertEquals(0, FileUtils.listFiles(new File(folder.getRoot(), "cache"), new String[] {"tmp"}, true).size());
+    }
+
+    @Test
+    public void testRemoveDiscardsTheCachedCopy() throws Exception {
+        Bitstream bitstream = mockBitstream("123", "0123456789");
+
+        read(cachingBitStoreService.get(bitstream));
+        cachingBitStoreService.remove(bitstream);
+
+        verify(remoteStore).remove(bitstream);
+        assertEquals(0, cachingBitStoreService.getSize());
+    }
+
+    private Bitstream mockBitstream(String internalId, String content) throws Exception {
+        return mockBitstream(internalId, content, DigestUtils.md5Hex(content));
+    }
+
+    private Bitstream mockBitstream(String internalId, String content, String checksum) throws Exception {
+        Bitstream bitstream = mock(Bitstream.class);
+        when(bitstream.getInternalId()).thenReturn(internalId);
+        when(bitstream.getChecksum()).thenReturn(checksum);
+        when(bitstream.getChecksumAlgorithm()).thenReturn("MD5");
+        when(bitstream.getSizeBytes()).thenReturn((long) content.length());
+        when(remoteStore.get(bitstream)).thenAnswer(invocation -> new ByteArrayInputStream(bytes(content)));
+        return bitstream;
+    }
+
+    private byte[] read(InputStream in) throws Exception {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
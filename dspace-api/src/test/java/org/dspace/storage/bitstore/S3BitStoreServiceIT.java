@@ -185,6 +185,26 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
         assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
     }
 
+    @Test
+    public void testBitstreamRangeGet() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 5, 9)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("bitstream"));
+        }
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 15, 100)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("content"));
+        }
+    }
+
     @Test
     public void testBitstreamPutAndGetWithSubFolder() throws IOException {
 
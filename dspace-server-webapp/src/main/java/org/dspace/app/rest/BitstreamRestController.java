@@ -12,6 +12,7 @@ import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFI
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
@@ -45,6 +46,7 @@ import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -79,6 +81,12 @@ public class BitstreamRestController {
     //Most file systems are configured to use block sizes of 4096 or 8192 and our buffer should be a multiple of that.
     private static final int BUFFER_SIZE = 4096 * 10;
 
+    // Request attributes of the sendfile support of Tomcat
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private BitstreamService bitstreamService;
 
@@ -196,6 +204,19 @@ public class BitstreamRestController {
                                 context.getSpecialGroupUuids(), citationEnabledForBitstream, true);
             }
 
+            // Only retrieve the requested range from the asset store when a single range is requested
+            String rangeHeader = request.getHeader("Range");
+            if (StringUtils.isNotBlank(rangeHeader)) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                    if (ranges.size() == 1) {
+                        bitstreamResource.setRequestedRange(ranges.get(0));
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.debug("Invalid Range header {}, left to Spring", rangeHeader);
+                }
+            }
+
             // We have all the data we need, close the connection to the database so that it doesn't stay open during
             // download/streaming
             context.complete();
@@ -237,6 +258,18 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                // Let the servlet container send local files without copying them through the JVM
+                if (StringUtils.isBlank(request.getHeader("Range")) && isSendfileSupported(request)) {
+                    Path path = bitstreamResource.getLocalPath();
+                    if (path != null) {
+                        log.debug("Sending {} with sendfile", path);
+                        request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+                        request.setAttribute(SENDFILE_START_ATTR, 0L);
+                        request.setAttribute(SENDFILE_END_ATTR, bitstreamResource.contentLength());
+                        return ResponseEntity.ok().headers(httpHeaders).build();
+                    }
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -249,6 +282,18 @@ public class BitstreamRestController {
         return null;
     }
 
+    /**
+     * Whether the servlet container can send a file by itself (e.g. Tomcat with sendfile enabled on a non TLS
+     * connector), and this is allowed by bitstream.download.sendfile.enabled
+     *
+     * @param request HTTP request
+     * @return true if sendfile can be used
+     */
+    private boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+            && configurationService.getBooleanProperty("bitstream.download.sendfile.enabled", true);
+    }
+
     /**
      * Get the name for attachment disposition headers
      * @param bit bitstream
@@ -8,6 +8,8 @@
 package org.dspace.app.rest.authorization;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.RestAddressableModel;
@@ -36,6 +38,27 @@ public interface AuthorizationFeature {
      */
     boolean isAuthorized(Context context, BaseObjectRest object) throws SQLException, SearchServiceException;
 
+    /**
+     * Check if the eperson in the provided context, or the anonymous user if not loggedin, has access to the feature
+     * for each of the requested objects. By default each object is checked on its own, features able to share work
+     * between the objects (e.g. reading all their policies at once) should override this method.
+     *
+     * @param context
+     *            the DSpace Context
+     * @param objects
+     *            the objects target by the feature (MUST be NOT null), all of a supported type
+     * @return for each object in the same order, true if the user associated with the context has access to the
+     *         feature for it
+     */
+    default List<Boolean> isAuthorized(Context context, List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException {
+        List<Boolean> results = new ArrayList<>(objects.size());
+        for (BaseObjectRest object : objects) {
+            results.add(isAuthorized(context, object));
+        }
+        return results;
+    }
+
     /**
      * Return the name of the feature
      * 
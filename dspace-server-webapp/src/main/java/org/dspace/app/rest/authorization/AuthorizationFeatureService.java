@@ -38,6 +38,23 @@ public interface AuthorizationFeatureService {
     boolean isAuthorized(Context context, AuthorizationFeature feature, BaseObjectRest object)
         throws SQLException, SearchServiceException;
 
+    /**
+     * Check if the eperson in the provided context, or the anonymous user if not loggedin, has access to the requested
+     * feature for each of the requested objects, letting the feature decide for all the objects at once
+     *
+     * @param context
+     *            the DSpace Context
+     * @param feature
+     *            the Authorization Feature to check
+     * @param objects
+     *            the objects target by the feature. The null objects and the objects of a type not supported by the
+     *            feature are never authorized
+     * @return for each object in the same order, true if the user associated with the context has access to the
+     *         feature for it
+     */
+    List<Boolean> isAuthorized(Context context, AuthorizationFeature feature, List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException;
+
     /**
      * Get all the authorization features defined in the system
      *
@@ -8,6 +8,8 @@
 package org.dspace.app.rest.authorization;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.dspace.app.rest.model.BaseObjectRest;
@@ -48,24 +50,60 @@ public class AuthorizeServiceRestUtil {
                                           DSpaceRestPermission dSpaceRestPermission)
         throws SQLException {
 
-        DSpaceObject dSpaceObject = (DSpaceObject)utils.getDSpaceAPIObjectFromRest(context, object);
+        DSpaceObject dSpaceObject = getObjectToCheck(context, object, dSpaceRestPermission);
         if (dSpaceObject == null) {
             return false;
         }
 
         EPerson ePerson = context.getCurrentUser();
 
+        return authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject,
+            dSpaceRestPermission.getDspaceApiActionId(), true);
+    }
+
+    /**
+     * Checks that the specified eperson can perform the given action on each of the given rest objects, reading the
+     * policies of all the objects at once.
+     *
+     * @param context               DSpace context
+     * @param objects               The Rest objects to test the action against, null elements are never authorized
+     * @param dSpaceRestPermission  The permission to check
+     * @return for each object in the same order, whether the action is allowed by the logged in ePerson
+     * @throws SQLException
+     */
+    public List<Boolean> authorizeActionBoolean(Context context, List<? extends BaseObjectRest> objects,
+                                                DSpaceRestPermission dSpaceRestPermission)
+        throws SQLException {
+
+        List<DSpaceObject> dSpaceObjects = new ArrayList<>(objects.size());
+        for (BaseObjectRest object : objects) {
+            dSpaceObjects.add(object == null ? null : getObjectToCheck(context, object, dSpaceRestPermission));
+        }
+
+        return authorizeService.authorizeActionBoolean(context, context.getCurrentUser(), dSpaceObjects,
+            dSpaceRestPermission.getDspaceApiActionId(), true);
+    }
+
+    /**
+     * @return the DSpace object of the rest object to check the permission against, null if the permission is
+     * denied anyway
+     */
+    private DSpaceObject getObjectToCheck(Context context, BaseObjectRest object,
+                                          DSpaceRestPermission dSpaceRestPermission) throws SQLException {
+        DSpaceObject dSpaceObject = (DSpaceObject)utils.getDSpaceAPIObjectFromRest(context, object);
+        if (dSpaceObject == null) {
+            return null;
+        }
+
         // If the item is still inprogress we can process here only the READ permission.
         // Other actions need to be evaluated against the wrapper object (workspace or workflow item)
         if (dSpaceObject instanceof Item) {
             Item item = (Item) dSpaceObject;
             if (!DSpaceRestPermission.READ.equals(dSpaceRestPermission)
                 && (itemService.isInProgressSubmission(context, item) || Objects.nonNull(item.getTemplateItemOf()))) {
-                return false;
+                return null;
             }
         }
-
-        return authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject,
-            dSpaceRestPermission.getDspaceApiActionId(), true);
+        return dSpaceObject;
     }
 }
@@ -8,6 +8,8 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -53,6 +55,33 @@ public class AuthorizationFeatureServiceImpl implements AuthorizationFeatureServ
         return feature.isAuthorized(context, object);
     }
 
+    @Override
+    public List<Boolean> isAuthorized(Context context, AuthorizationFeature feature, List<BaseObjectRest> objects)
+        throws SQLException, SearchServiceException {
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(objects.size(), false));
+        if (feature == null) {
+            return results;
+        }
+
+        // only hand the supported objects to the feature
+        List<Integer> positions = new ArrayList<>();
+        List<BaseObjectRest> supported = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            BaseObjectRest object = objects.get(i);
+            if (object != null && ArrayUtils.contains(feature.getSupportedTypes(), object.getUniqueType())) {
+                positions.add(i);
+                supported.add(object);
+            }
+        }
+        if (!supported.isEmpty()) {
+            List<Boolean> authorized = feature.isAuthorized(context, supported);
+            for (int i = 0; i < positions.size(); i++) {
+                results.set(positions.get(i), authorized.get(i));
+            }
+        }
+        return results;
+    }
+
     @Override
     public List<AuthorizationFeature> findAll() {
         return features;
@@ -8,6 +8,8 @@
 package org.dspace.app.rest.authorization.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
@@ -55,6 +57,22 @@ public class DownloadFeature implements AuthorizationFeature {
                 return true;
             }
         }
+        return isAllowedByCrisSecurity(context, object);
+    }
+
+    @Override
+    public List<Boolean> isAuthorized(Context context, List<BaseObjectRest> objects) throws SQLException {
+        List<Boolean> results = new ArrayList<>(
+            authorizeServiceRestUtil.authorizeActionBoolean(context, objects, DSpaceRestPermission.READ));
+        for (int i = 0; i < objects.size(); i++) {
+            if (!results.get(i)) {
+                results.set(i, isAllowedByCrisSecurity(context, objects.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private boolean isAllowedByCrisSecurity(Context context, BaseObjectRest object) {
         try {
             DSpaceObject dSpaceObject = (DSpaceObject) utils.getDSpaceAPIObjectFromRest(context, object);
             if (dSpaceObject == null) {
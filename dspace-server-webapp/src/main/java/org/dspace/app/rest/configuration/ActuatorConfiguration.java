@@ -9,7 +9,10 @@ package org.dspace.app.rest.configuration;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
@@ -17,13 +20,21 @@ import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverResultCache;
+import org.dspace.discovery.IndexFanoutService;
 import org.dspace.discovery.SolrSearchCore;
+import org.dspace.statistics.SolrLoggerServiceImpl;
 import org.dspace.statistics.SolrStatisticsCore;
+import org.dspace.statistics.UsageEventBuffer;
+import org.dspace.storage.bitstore.BitstreamStorageServiceImpl;
+import org.dspace.storage.bitstore.CachingBitStoreService;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
@@ -95,6 +106,66 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnProperty("discovery.search.cache.enabled")
+    public InfoContributor discoverResultCacheInfoContributor(DiscoverResultCache discoverResultCache) {
+        return builder -> builder.withDetail("discoveryResultCache", Map.of(
+            "hits", discoverResultCache.getHits(),
+            "misses", discoverResultCache.getMisses(),
+            "invalidations", discoverResultCache.getInvalidations()));
+    }
+
+    @Bean
+    @ConditionalOnProperty("discovery.index.fanout.enabled")
+    public InfoContributor indexFanoutInfoContributor(IndexFanoutService indexFanoutService) {
+        return builder -> {
+            Context context = new Context(Context.Mode.READ_ONLY);
+            try {
+                builder.withDetail("indexFanout", Map.of("pending", indexFanoutService.countPending(context)));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            } finally {
+                context.abort();
+            }
+        };
+    }
+
+    @Bean
+    public InfoContributor bitstoreCacheInfoContributor(BitstreamStorageServiceImpl bitstreamStorageService) {
+        return builder -> {
+            Map<String, Object> caches = new TreeMap<>();
+            bitstreamStorageService.getStores().forEach((number, store) -> {
+                if (store instanceof CachingBitStoreService cache) {
+                    caches.put(String.valueOf(number), Map.of(
+                        "hits", cache.getHits(),
+                        "misses", cache.getMisses(),
+                        "hitRate", cache.getHitRate(),
+                        "evictions", cache.getEvictions(),
+                        "validationFailures", cache.getValidationFailures(),
+                        "size", cache.getSize()));
+                }
+            });
+            if (!caches.isEmpty()) {
+                builder.withDetail("bitstoreCache", caches);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty("solr-statistics.buffer.enabled")
+    public InfoContributor usageEventBufferInfoContributor(SolrLoggerServiceImpl solrLoggerService) {
+        return builder -> {
+            UsageEventBuffer eventBuffer = solrLoggerService.getEventBuffer();
+            if (eventBuffer != null) {
+                builder.withDetail("usageEventBuffer", Map.of(
+                    "pending", eventBuffer.getPending(),
+                    "written", eventBuffer.getWritten(),
+                    "dropped", eventBuffer.getDropped(),
+                    "failed", eventBuffer.getFailed()));
+            }
+        };
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
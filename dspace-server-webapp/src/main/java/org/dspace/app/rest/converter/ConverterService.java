@@ -11,11 +11,14 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
@@ -32,7 +35,12 @@ import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.services.RequestService;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -88,6 +96,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private AuthorizeService authorizeService;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -206,6 +217,7 @@ public class ConverterService {
             pageable = utils.getPageable(pageable);
         }
         List<M> pageableObjects = utils.getPageObjectList(modelObjects, pageable);
+        prefetchPolicies(pageableObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : pageableObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -230,6 +242,7 @@ public class ConverterService {
      * @return the page.
      */
     public <M, R> Page<R> toRestPage(List<M> modelObjects, Pageable pageable, long total, Projection projection) {
+        prefetchPolicies(modelObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : modelObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -244,6 +257,29 @@ public class ConverterService {
     }
 
 
+    /**
+     * Reads at once the READ policies of the DSpace objects about to be converted, instead of letting the permission
+     * check of each rest object read them on its own. Other model objects are ignored.
+     *
+     * @param modelObjects the model objects about to be converted
+     */
+    public void prefetchPolicies(Collection<?> modelObjects) {
+        List<DSpaceObject> dsos = modelObjects.stream()
+                                              .filter(DSpaceObject.class::isInstance)
+                                              .map(DSpaceObject.class::cast)
+                                              .collect(Collectors.toList());
+        if (dsos.size() < 2 || requestService.getCurrentRequest() == null) {
+            return;
+        }
+        Context context = ContextUtil.obtainContext(requestService.getCurrentRequest().getHttpServletRequest());
+        try {
+            authorizeService.prefetchPolicies(context, dsos, Constants.READ);
+        } catch (SQLException e) {
+            // the permission checks read the policies themselves
+            log.warn("Unable to prefetch the policies of " + dsos.size() + " objects", e);
+        }
+    }
+
     /**
      * Gets the converter supporting the given class as input.
      *
@@ -9,6 +9,7 @@ package org.dspace.app.rest.converter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -64,6 +65,7 @@ public class DiscoverResultConverter {
         addFacetValues(context, searchResult, resultsRest, configuration, projection);
 
         resultsRest.setTotalNumberOfResults(searchResult.getTotalSearchResults());
+        resultsRest.setNextCursor(searchResult.getNextCursorMark());
 
         return resultsRest;
     }
@@ -75,6 +77,10 @@ public class DiscoverResultConverter {
 
     private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
                                   final Projection projection) {
+        // the permission checks of the results then share a single policy lookup
+        converter.prefetchPolicies(CollectionUtils.emptyIfNull(searchResult.getIndexableObjects()).stream()
+                                                  .map(IndexableObject::getIndexedObject)
+                                                  .collect(Collectors.toList()));
         for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
             SearchResultEntryRest resultEntry = new SearchResultEntryRest();
             resultEntry.setProjection(projection);
@@ -0,0 +1,132 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.rest.model.MetadataRest;
+import org.dspace.app.rest.model.MetadataValueRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.content.Item;
+import org.dspace.content.MetadataValue;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.content.security.service.MetadataSecurityService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.core.exception.SQLRuntimeException;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.indexobject.StoredItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * This is the converter from the items stored in the search index to the REST data model. The item only has the
+ * metadata stored in the index, see the discovery.index.projection property, filtered by the
+ * {@link MetadataSecurityService} like the metadata of the items loaded from the database.
+ */
+@Component
+public class StoredItemConverter implements IndexableObjectConverter<StoredItem, ItemRest> {
+
+    @Autowired
+    private MetadataValueDTOListConverter metadataConverter;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MetadataSecurityService metadataSecurityService;
+
+    @Override
+    public ItemRest convert(StoredItem obj, Projection projection) {
+        ItemRest item = new ItemRest();
+        item.setProjection(projection);
+        item.setUuid(obj.getID().toString());
+        item.setHandle(obj.getHandle());
+        item.setName(obj.getName());
+        item.setInArchive(obj.isArchived());
+        item.setDiscoverable(obj.isDiscoverable());
+        item.setWithdrawn(obj.isWithdrawn());
+        item.setLastModified(obj.getLastModified());
+        item.setEntityType(obj.getEntityType());
+
+        MetadataRest<MetadataValueRest> metadata =
+            metadataConverter.convert(getPermissionFilteredMetadata(ContextUtil.obtainCurrentRequestContext(), obj,
+                                                                    projection));
+        for (List<MetadataValueRest> values : metadata.getMap().values()) {
+            for (int place = 0; place < values.size(); place++) {
+                values.get(place).setPlace(place);
+            }
+        }
+        item.setMetadata(metadata);
+        return item;
+    }
+
+    /**
+     * Retrieves the stored metadata which the current user is allowed to see, i.e. the values also returned by the
+     * {@link MetadataSecurityService} for the item, see {@link ItemConverter#getPermissionFilteredMetadata}. The
+     * security levels of the values and the rights of the user on the item are not in the index, so the item is
+     * loaded for the check.
+     *
+     * @param context    The context
+     * @param obj        The stored item
+     * @param projection The projection(s) used into current request
+     * @return The stored metadata values allowed to the current user
+     */
+    private List<MetadataValueDTO> getPermissionFilteredMetadata(Context context, StoredItem obj,
+                                                                 Projection projection) {
+        Item item;
+        try {
+            item = itemService.find(context, obj.getID());
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+        if (item == null) {
+            return List.of();
+        }
+        List<MetadataValue> allowedValues = projection.isAllLanguages()
+            ? metadataSecurityService.getPermissionFilteredMetadataValues(context, item)
+            : metadataSecurityService.getPermissionAndLangFilteredMetadataFields(context, item);
+        Map<String, Integer> allowed = new HashMap<>();
+        for (MetadataValue value : allowedValues) {
+            allowed.merge(getKey(value.getMetadataField().toString('.'), value.getValue(), value.getLanguage()), 1,
+                          Integer::sum);
+        }
+        List<MetadataValueDTO> metadata = new ArrayList<>();
+        for (MetadataValueDTO value : obj.getMetadata()) {
+            String field = value.getSchema() + "." + value.getElement()
+                + (value.getQualifier() != null ? "." + value.getQualifier() : "");
+            String key = getKey(field, value.getValue(), value.getLanguage());
+            if (allowed.getOrDefault(key, 0) > 0) {
+                allowed.merge(key, -1, Integer::sum);
+                metadata.add(value);
+            }
+        }
+        return metadata;
+    }
+
+    private String getKey(String field, String value, String language) {
+        return field + "\u0000" + value + "\u0000" + Objects.toString(language, "");
+    }
+
+    @Override
+    public Class<StoredItem> getModelClass() {
+        return StoredItem.class;
+    }
+
+    @Override
+    public boolean supportsModel(IndexableObject idxo) {
+        return idxo.getIndexedObject() instanceof StoredItem;
+    }
+}
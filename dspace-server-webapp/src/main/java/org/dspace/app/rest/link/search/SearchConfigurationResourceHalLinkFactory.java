@@ -36,7 +36,7 @@ public class SearchConfigurationResourceHalLinkFactory
             list.add(buildLink(IanaLinkRelations.SELF.value(), getMethodOn()
                 .getSearchConfiguration(data.getScope(), data.getConfiguration())));
 
-            list.add(buildLink("objects", getMethodOn().getSearchObjects(null, null, null, null, null, null)));
+            list.add(buildLink("objects", getMethodOn().getSearchObjects(null, null, null, null, null, null, null)));
             list.add(buildLink("facets", getMethodOn().getFacets(null, null, null, null, null, null)));
         }
     }
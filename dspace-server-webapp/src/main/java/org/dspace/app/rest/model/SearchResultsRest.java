@@ -11,6 +11,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
@@ -28,6 +29,12 @@ public class SearchResultsRest extends DiscoveryResultsRest {
     @JsonIgnore
     List<SearchFacetEntryRest> facets;
 
+    /**
+     * The cursor of the next page, only set when the results are paged with a cursor
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
     public List<SearchResultEntryRest> getSearchResults() {
         return searchResults;
     }
@@ -53,6 +60,14 @@ public class SearchResultsRest extends DiscoveryResultsRest {
         this.totalNumberOfResults = totalNumberOfResults;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     public void addFacetEntry(final SearchFacetEntryRest facetEntry) {
         if (facets == null) {
             facets = new LinkedList<>();
@@ -127,4 +127,10 @@ public class CompositeProjection extends AbstractProjection {
         return projections.stream()
                           .anyMatch(Projection::isAllLanguages);
     }
+
+    @Override
+    public boolean isSolrOnly() {
+        return projections.stream()
+                          .anyMatch(Projection::isSolrOnly);
+    }
 }
@@ -195,4 +195,13 @@ public interface Projection {
     default boolean isAllLanguages() {
         return false;
     }
+
+    /**
+     * This method will check if the current Projection builds the item search results from the fields stored in
+     * the search index only, without loading the items from the database
+     * @return true if the search results are built from the index only, false otherwise
+     */
+    default boolean isSolrOnly() {
+        return false;
+    }
 }
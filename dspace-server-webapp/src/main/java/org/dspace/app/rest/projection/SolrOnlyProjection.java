@@ -0,0 +1,33 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.projection;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * This projection, when set on a discovery search, builds the item results from the fields stored in the search
+ * index (see the discovery.index.projection property) instead of the metadata of the items in the database. The items
+ * only have the stored metadata allowed to the current user, and no links to their bundles, owning collection, etc.
+ * are resolved.
+ * It is ignored when discovery.search.solr-only.enabled is false.
+ */
+@Component
+public class SolrOnlyProjection extends AbstractProjection {
+
+    public final static String NAME = "solrOnly";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isSolrOnly() {
+        return true;
+    }
+}
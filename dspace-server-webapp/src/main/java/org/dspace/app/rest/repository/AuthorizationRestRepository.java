@@ -14,6 +14,8 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,12 +32,18 @@ import org.dspace.app.rest.converter.ConverterService;
 import org.dspace.app.rest.exception.RepositoryMethodNotImplementedException;
 import org.dspace.app.rest.model.AuthorizationRest;
 import org.dspace.app.rest.model.BaseObjectRest;
+import org.dspace.app.rest.model.CollectionRest;
+import org.dspace.app.rest.model.CommunityRest;
+import org.dspace.app.rest.model.ItemRest;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.service.EPersonService;
+import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -54,6 +62,14 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * The types of the objects which can be read with a single query, and their type IDs
+     */
+    private static final Map<String, Integer> PREFETCHED_TYPES = Map.of(
+        ItemRest.CATEGORY + "." + ItemRest.PLURAL_NAME, Constants.ITEM,
+        CollectionRest.CATEGORY + "." + CollectionRest.PLURAL_NAME, Constants.COLLECTION,
+        CommunityRest.CATEGORY + "." + CommunityRest.PLURAL_NAME, Constants.COMMUNITY);
+
     @Autowired
     private AuthorizationFeatureService authorizationFeatureService;
 
@@ -215,22 +231,70 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
 
         List<Authorization> authorizations = new ArrayList<>();
 
+        prefetchObjects(context, type, uuidList);
         List<BaseObjectRest> objects = uuidList.stream()
             .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
+        if (objects.isEmpty()) {
+            return authorizations;
+        }
+
+        // a blank feature name stands for all the features supporting the type of the objects
+        List<AuthorizationFeature> features = new ArrayList<>();
+        for (String featureName : featureNames) {
+            if (isNotBlank(featureName)) {
+                features.add(authorizationFeatureService.find(featureName));
+            } else {
+                features.addAll(authorizationFeatureService.findByResourceType(objects.get(0).getUniqueType()));
+            }
+        }
+
+        // evaluate each feature for all the objects at once, so that it can share the lookups between them
+        // and resolve the groups and the administered objects of the user once for all the features
+        List<List<Boolean>> results = new ArrayList<>(features.size());
+        authorizeService.startBatch(context);
+        try {
+            for (AuthorizationFeature feature : features) {
+                results.add(authorizationFeatureService.isAuthorized(context, feature, objects));
+            }
+        } catch (Exception ex) {
+            log.error("An error occurred during authorizations check");
+            throw new RuntimeException(ex);
+        } finally {
+            authorizeService.endBatch(context);
+        }
 
-        objects.forEach(object ->
-            featureNames.forEach(featureName -> {
-                try {
-                    authorizations.addAll(authorizationsForObject(context, user, featureName, object));
-                } catch (Exception ex) {
-                    log.error("An error occurred during authorizations check");
-                    throw new RuntimeException(ex);
+        for (int i = 0; i < objects.size(); i++) {
+            for (int j = 0; j < features.size(); j++) {
+                if (results.get(j).get(i)) {
+                    authorizations.add(new Authorization(user, features.get(j), objects.get(i)));
                 }
-            }));
+            }
+        }
         return authorizations;
     }
 
+    /**
+     * Read the objects with a single query when their type allows it, so that they are then found in the session
+     * instead of being read one by one
+     */
+    private void prefetchObjects(Context context, String type, List<String> uuidList) {
+        Integer typeId = PREFETCHED_TYPES.get(type);
+        if (typeId == null) {
+            return;
+        }
+        List<UUID> uuids = uuidList.stream()
+            .map(UUIDUtils::fromString)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        try {
+            ContentServiceFactory.getInstance().getDSpaceObjectService(typeId).findByIds(context, uuids);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     private List<Authorization> findAuthorizationsForUri(
         Context context,
         EPerson user,
@@ -7,8 +7,10 @@
  */
 package org.dspace.app.rest.repository;
 
+import java.util.Base64;
 import java.util.List;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.rest.converter.DiscoverConfigurationConverter;
@@ -17,6 +19,7 @@ import org.dspace.app.rest.converter.DiscoverFacetResultsConverter;
 import org.dspace.app.rest.converter.DiscoverFacetsConverter;
 import org.dspace.app.rest.converter.DiscoverResultConverter;
 import org.dspace.app.rest.converter.DiscoverSearchSupportConverter;
+import org.dspace.app.rest.exception.DSpaceBadRequestException;
 import org.dspace.app.rest.model.FacetConfigurationRest;
 import org.dspace.app.rest.model.FacetResultsRest;
 import org.dspace.app.rest.model.SearchConfigurationRest;
@@ -35,6 +38,7 @@ import org.dspace.discovery.SearchServiceException;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationService;
 import org.dspace.discovery.configuration.DiscoveryRelatedItemConfiguration;
+import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -80,6 +84,9 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
     @Autowired
     private DiscoverFacetsConverter discoverFacetsConverter;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     public SearchConfigurationRest getSearchConfiguration(final String dsoScope, final String configuration) {
         Context context = obtainContext();
 
@@ -93,7 +100,7 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
     public SearchResultsRest getSearchObjects(final String query, final List<String> dsoTypes, final String dsoScope,
                                               final String configuration,
                                               final List<SearchFilter> searchFilters, final Pageable page,
-                                              final Projection projection) {
+                                              final String cursor, final Projection projection) {
         Context context = obtainContext();
         IndexableObject scopeObject = scopeResolver.resolveScope(context, dsoScope);
         DiscoveryConfiguration discoveryConfiguration = searchConfigurationService
@@ -101,12 +108,20 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
 
         boolean isRelatedItem = discoveryConfiguration instanceof DiscoveryRelatedItemConfiguration;
 
+        if (cursor != null && !isValidCursor(cursor)) {
+            throw new DSpaceBadRequestException("Invalid cursor: " + cursor);
+        }
+
         DiscoverResult searchResult;
         DiscoverQuery discoverQuery;
 
         try {
             discoverQuery = queryBuilder
                 .buildQuery(context, scopeObject, discoveryConfiguration, query, searchFilters, dsoTypes, page);
+            discoverQuery.setStoredFieldsOnly(projection.isSolrOnly()
+                && configurationService.getBooleanProperty("discovery.search.solr-only.enabled", false));
+            // a cursor replaces the page number, so that deep pages cost as much as the first one
+            discoverQuery.setCursorMark(cursor);
             if (isRelatedItem) {
                 searchResult = searchService.search(context, discoverQuery);
             } else {
@@ -114,6 +129,10 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
             }
 
         } catch (SearchServiceException e) {
+            if (cursor != null && StringUtils.containsIgnoreCase(e.getMessage(), "cursor")) {
+                // a well formed cursor which doesn't match the sort of the query
+                throw new DSpaceBadRequestException("Invalid cursor: " + cursor, e);
+            }
             log.error("Error while searching with Discovery", e);
             throw new IllegalArgumentException("Error while searching with Discovery: " + e.getMessage());
         }
@@ -123,6 +142,21 @@ public class DiscoveryRestRepository extends AbstractDSpaceRestRepository {
                      discoveryConfiguration, projection);
     }
 
+    /**
+     * Check that a cursor is either the start cursor "*" or a cursor returned by a previous search, which is
+     * encoded in Base64
+     */
+    private boolean isValidCursor(String cursor) {
+        if ("*".equals(cursor)) {
+            return true;
+        }
+        try {
+            return !cursor.isEmpty() && Base64.getDecoder().decode(cursor).length > 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     public FacetConfigurationRest getFacetsConfiguration(final String dsoScope, final String configuration) {
         Context context = obtainContext();
 
@@ -0,0 +1,91 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream over the content of a bitstream which is only retrieved from the asset store on the first read.
+ * The bytes skipped before the first read are not retrieved at all: the content is retrieved from the position
+ * reached, up to the end of the range expected by the reader, so that e.g. the HTTP Range requests served by Spring
+ * (which skip to the start of the range, then read it) only transfer the requested bytes from the asset store.
+ */
+class BitstreamRangeInputStream extends InputStream {
+
+    /**
+     * Retrieves a range of the content of the bitstream
+     */
+    @FunctionalInterface
+    interface RangeRetriever {
+        InputStream retrieve(long offset, long length) throws IOException;
+    }
+
+    private final long length;
+
+    private final long rangeEnd;
+
+    private final RangeRetriever retriever;
+
+    private long position = 0;
+
+    private InputStream in;
+
+    /**
+     * @param length    the length of the content
+     * @param rangeEnd  the (exclusive) end of the range the reader is expected to read, the length of the content if
+     *                  unknown
+     * @param retriever the retriever of the content
+     */
+    BitstreamRangeInputStream(long length, long rangeEnd, RangeRetriever retriever) {
+        this.length = length;
+        this.rangeEnd = rangeEnd;
+        this.retriever = retriever;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return open().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return open().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (in != null) {
+            return in.skip(n);
+        }
+        long skipped = Math.max(0, Math.min(n, length - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return in == null ? 0 : in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    private InputStream open() throws IOException {
+        if (in == null) {
+            // read up to the end of the content if the reader does not read the expected range
+            long end = rangeEnd > position ? rangeEnd : length;
+            in = retriever.retrieve(position, end - position);
+        }
+        return in;
+    }
+}
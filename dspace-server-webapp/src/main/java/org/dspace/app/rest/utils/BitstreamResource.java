@@ -10,6 +10,7 @@ package org.dspace.app.rest.utils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
@@ -28,6 +29,7 @@ import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.utils.DSpace;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpRange;
 import org.springframework.util.DigestUtils;
 
 /**
@@ -56,6 +58,11 @@ public class BitstreamResource extends AbstractResource {
 
     protected BitstreamDocument document;
 
+    /**
+     * The single range requested by the client, if any
+     */
+    protected HttpRange requestedRange;
+
     public BitstreamResource(String name, UUID uuid, UUID currentUserUUID, Set<UUID> currentSpecialGroups,
                              boolean shouldGenerateCoverPage) {
         this.name = name;
@@ -105,7 +112,70 @@ public class BitstreamResource extends AbstractResource {
     public InputStream getInputStream() throws IOException {
         fetchDocument();
 
-        return document.inputStream();
+        if (document.content() != null) {
+            return new ByteArrayInputStream(document.content());
+        }
+        long rangeEnd = requestedRange != null ? requestedRange.getRangeEnd(document.length()) + 1
+            : document.length();
+        return new BitstreamRangeInputStream(document.length(), rangeEnd, this::retrieve);
+    }
+
+    /**
+     * Set the single range requested by the client, so that only this range is retrieved from the asset store when
+     * Spring serves it.
+     *
+     * @param requestedRange the requested range
+     */
+    public void setRequestedRange(HttpRange requestedRange) {
+        this.requestedRange = requestedRange;
+    }
+
+    /**
+     * Retrieve a range of the bitstream content, or all of it, with a new context.
+     *
+     * @param offset the position of the first byte to retrieve
+     * @param length the number of bytes to retrieve
+     * @return the stream of the range
+     * @throws IOException if the content cannot be retrieved
+     */
+    InputStream retrieve(long offset, long length) throws IOException {
+        try (Context context = initializeRetrievalContext()) {
+            Bitstream bitstream = bitstreamService.find(context, uuid);
+            if (offset == 0 && length >= bitstream.getSizeBytes()) {
+                return bitstreamService.retrieve(context, bitstream);
+            }
+            return bitstreamService.retrieve(context, bitstream, offset, length);
+        } catch (SQLException | AuthorizeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Get the local file holding the bitstream content, so that it can be sent without copying it through the JVM.
+     *
+     * @return the path of the local file, or null if the content is generated (e.g. with a cover page) or its asset
+     *         store is not local
+     * @throws IOException if the file cannot be located
+     */
+    public Path getLocalPath() throws IOException {
+        fetchDocument();
+
+        if (document.content() != null) {
+            return null;
+        }
+        try (Context context = initializeRetrievalContext()) {
+            return bitstreamService.retrievePath(context, bitstreamService.find(context, uuid));
+        } catch (SQLException | AuthorizeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @return the context used to retrieve the bitstream content
+     * @throws SQLException if database error
+     */
+    Context initializeRetrievalContext() throws SQLException {
+        return initializeContext();
     }
 
     @Override
@@ -138,11 +208,12 @@ public class BitstreamResource extends AbstractResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        coverPage);
             } else {
+                // the content is only retrieved when read, see getInputStream()
                 this.document = new BitstreamDocument(bitstream.getChecksum(),
                         bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                        null);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -200,5 +271,8 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    /**
+     * @param content the generated content, e.g. with a cover page, or null if the bitstream content is served
+     */
+    record BitstreamDocument(String etag, long length, byte[] content) {}
 }
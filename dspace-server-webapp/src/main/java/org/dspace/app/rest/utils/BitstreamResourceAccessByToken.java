@@ -7,7 +7,6 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Set;
@@ -89,11 +88,12 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
 
                 this.document = new BitstreamDocument(etag(bitstream),
                         coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        coverPage);
             } else {
+                // the content is only retrieved when read, see getInputStream()
                 this.document = new BitstreamDocument(bitstream.getChecksum(),
                         bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
+                        null);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -102,4 +102,15 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * The access token was authorised when the document was fetched, so the content is retrieved with the
+     * authorisation system turned off.
+     */
+    @Override
+    Context initializeRetrievalContext() throws SQLException {
+        Context context = initializeContext();
+        context.turnOffAuthorisationSystem();
+        return context;
+    }
+
 }
\ No newline at end of file
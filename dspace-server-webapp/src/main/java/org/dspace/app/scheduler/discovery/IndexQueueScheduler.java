@@ -0,0 +1,51 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.scheduler.discovery;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Processes the asynchronous discovery index queue (see {@link IndexQueueService}) in the background.
+ * Can be enabled via the configuration property {@code discovery.index.async.enabled}
+ */
+@Service
+@ConditionalOnProperty(prefix = "discovery.index.async", name = "enabled", havingValue = "true")
+public class IndexQueueScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexQueueScheduler.class);
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    /**
+     * Processes the queue until it is empty.
+     * This task is scheduled to be run with the delay defined in the configuration file.
+     */
+    @Scheduled(fixedDelayString = "${discovery.index.async.poll-delay:5000}")
+    protected void processIndexQueue() {
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+        try {
+            while (indexQueueService.processQueue(context) > 0) {
+                context.clear();
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+        } catch (Exception e) {
+            context.abort();
+            log.error("Failed to process the discovery index queue", e);
+        }
+    }
+}
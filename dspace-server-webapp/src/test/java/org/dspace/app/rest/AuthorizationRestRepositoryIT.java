@@ -7,6 +7,7 @@
  */
 package org.dspace.app.rest;
 
+import static com.jayway.jsonpath.JsonPath.read;
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.hasJsonPath;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
@@ -15,11 +16,17 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -2901,6 +2908,60 @@ public class AuthorizationRestRepositoryIT extends AbstractControllerIntegration
             .andExpect(status().isInternalServerError());
     }
 
+    /**
+     * Verify that the authorizations found for multiple objects and features are the same found for each object on
+     * its own, for a user administering only some of the objects, for an administrator and for anonymous users
+     *
+     * @throws Exception
+     */
+    @Test
+    public void findByMultipleObjectsAndFeaturesMatchesFindByObjectTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection administeredCollection = CollectionBuilder.createCollection(context, community)
+            .withAdminGroup(eperson).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        List<Item> items = List.of(ItemBuilder.createItem(context, administeredCollection).build(),
+                                   ItemBuilder.createItem(context, collection).build(),
+                                   ItemBuilder.createItem(context, administeredCollection).build(),
+                                   ItemBuilder.createItem(context, collection).build());
+        context.restoreAuthSystemState();
+
+        List<String> features = List.of(alwaysTrue.getName(), trueForAdmins.getName(), "canEditMetadata",
+                                        "canDelete", "canManagePolicies", "canMove");
+
+        for (String token : Arrays.asList(getAuthToken(eperson.getEmail(), password),
+                                          getAuthToken(admin.getEmail(), password), null)) {
+            MockHttpServletRequestBuilder objectsRequest = get("/api/authz/authorizations/search/objects")
+                .param("type", "core.items");
+            Set<String> expected = new HashSet<>();
+            for (Item item : items) {
+                objectsRequest.param("uuid", item.getID().toString());
+                String uri = utils.linkToSingleResource(itemConverter.convert(item, DefaultProjection.DEFAULT),
+                                                        "self").getHref();
+                for (String feature : features) {
+                    expected.addAll(findAuthorizationIds(token, get("/api/authz/authorizations/search/object")
+                        .param("uri", uri)
+                        .param("feature", feature)));
+                }
+            }
+            for (String feature : features) {
+                objectsRequest.param("feature", feature);
+            }
+
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, findAuthorizationIds(token, objectsRequest));
+        }
+    }
+
+    private Set<String> findAuthorizationIds(String token, MockHttpServletRequestBuilder request) throws Exception {
+        String content = getClient(token).perform(request.param("size", "100"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        List<String> ids = read(content, "$..authorizations[*].id");
+        return new HashSet<>(ids);
+    }
+
     /**
      * This test will check that special group are correctly used to verify
      * authorization for the current logged-in user but not inherited from the
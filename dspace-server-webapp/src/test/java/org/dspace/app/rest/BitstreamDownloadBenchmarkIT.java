@@ -0,0 +1,130 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Measures the throughput (MB/sec), the CPU time per download and the garbage collections of the bitstream
+ * downloads of {@link BitstreamRestController}: the content streamed through the JVM by
+ * {@link org.dspace.app.rest.utils.BitstreamResource}, the content left to the sendfile support of the servlet
+ * container, and Range requests, read from their offset in the local asset store.
+ * <p>
+ * With sendfile the container copies the file after the controller returns, which MockMvc does not do: that part of
+ * the benchmark measures what is left in the JVM, i.e. the work saved by sendfile.
+ * <p>
+ * The benchmark is skipped unless the benchmark.download system property is set to true. The sizes can be changed
+ * with the benchmark.download.size (in bytes) and benchmark.download.iterations system properties, e.g.
+ * {@code mvn install -DskipIntegrationTests=false -Dit.test=BitstreamDownloadBenchmarkIT -Dbenchmark.download=true
+ * -Dbenchmark.download.size=104857600}
+ */
+public class BitstreamDownloadBenchmarkIT extends AbstractControllerIntegrationTest {
+
+    private static final Logger log = LogManager.getLogger(BitstreamDownloadBenchmarkIT.class);
+
+    @Test
+    public void benchmarkDownload() throws Exception {
+        assumeTrue("Set -Dbenchmark.download=true to run the benchmark", Boolean.getBoolean("benchmark.download"));
+
+        int size = Integer.getInteger("benchmark.download.size", 16 * 1024 * 1024);
+        int iterations = Integer.getInteger("benchmark.download.iterations", 20);
+
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+
+        context.turnOffAuthorisationSystem();
+        Collection collection = CollectionBuilder.createCollection(context,
+                                                                   CommunityBuilder.createCommunity(context).build())
+                                                 .withName("Benchmark collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Benchmark item")
+                               .build();
+        Bitstream bitstream;
+        try (InputStream is = new ByteArrayInputStream(content)) {
+            bitstream = BitstreamBuilder.createBitstream(context, item, is)
+                                        .withName("Benchmark bitstream")
+                                        .withMimeType("application/octet-stream")
+                                        .build();
+        }
+        context.restoreAuthSystemState();
+
+        String url = "/api/core/bitstreams/" + bitstream.getID() + "/content";
+        MockMvc client = getClient();
+
+        // Warm up, and check the responses
+        assertArrayEquals(content, client.perform(get(url)).andExpect(status().isOk())
+                                         .andReturn().getResponse().getContentAsByteArray());
+        assertEquals(0, client.perform(get(url).requestAttr("org.apache.tomcat.sendfile.support", true))
+                              .andExpect(status().isOk())
+                              .andReturn().getResponse().getContentAsByteArray().length);
+        assertArrayEquals(Arrays.copyOfRange(content, size / 2, size),
+                          client.perform(get(url).header("Range", "bytes=" + size / 2 + "-"))
+                                .andExpect(status().isPartialContent())
+                                .andReturn().getResponse().getContentAsByteArray());
+
+        measure("Streamed", client, get(url), size, iterations);
+        measure("Sendfile", client, get(url).requestAttr("org.apache.tomcat.sendfile.support", true), size,
+                iterations);
+        measure("Range of the second half", client, get(url).header("Range", "bytes=" + size / 2 + "-"),
+                size - size / 2, iterations);
+    }
+
+    private static void measure(String name, MockMvc client, RequestBuilder request, long bytes, int iterations)
+        throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long cpuTimeBefore = threadMXBean.getThreadCpuTime(threadId);
+        long collectionsBefore = getCollectionCount();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            client.perform(request);
+        }
+        long elapsed = System.nanoTime() - start;
+        long cpuTime = threadMXBean.getThreadCpuTime(threadId) - cpuTimeBefore;
+        long collections = getCollectionCount() - collectionsBefore;
+
+        log.info("{}: {} downloads of {} bytes, {} MB/sec, {} CPU microseconds per download, {} garbage collections",
+                 name, iterations, bytes, String.format("%.1f", bytes * iterations / 1048576.0 / (elapsed / 1e9)),
+                 cpuTime / 1000 / iterations, collections);
+    }
+
+    private static long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, garbageCollector.getCollectionCount());
+        }
+        return count;
+    }
+}
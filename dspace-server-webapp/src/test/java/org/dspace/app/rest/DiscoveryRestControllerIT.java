@@ -37,8 +37,10 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.time.Period;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.matchers.JsonPathMatchers;
 import org.apache.commons.codec.CharEncoding;
 import org.apache.commons.io.IOUtils;
@@ -2408,6 +2410,60 @@ public class DiscoveryRestControllerIT extends AbstractControllerIntegrationTest
 
     }
 
+    @Test
+    public void discoverSearchObjectsSolrOnlyTestForPrivateItemsAndSecuredMetadata() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                .withName("Parent Community")
+                .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //1. A public item with an author only visible to the administrators and owners of the item
+        Item publicItem = ItemBuilder.createItem(context, col1)
+                .withTitle("Public item")
+                .withAuthor("Smith, Donald")
+                .withSecuredMetadata("dc", "contributor", "author", "Secret, Author", 2)
+                .build();
+
+        //2. An embargoed item, not readable by Anonymous
+        ItemBuilder.createItem(context, col1)
+                .withTitle("Embargoed item")
+                .withAuthor("Smith, Maria")
+                .withEmbargoPeriod(Period.ofMonths(12))
+                .build();
+
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("discovery.search.solr-only.enabled", true);
+        try {
+            //The anonymous user only gets the readable item, without the secured author
+            getClient().perform(get("/api/discover/search/objects")
+                    .param("dsoType", "ITEM")
+                    .param("projection", "solrOnly"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(1)))
+                    .andExpect(jsonPath("$._embedded.searchResult._embedded.objects", contains(
+                            SearchResultMatcher.matchOnItemName("item", "items", "Public item"))))
+                    .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[0]._embedded.indexableObject"
+                            + ".metadata['dc.contributor.author'][*].value", contains("Smith, Donald")));
+
+            //The administrator gets both items, with the secured author
+            String adminToken = getAuthToken(admin.getEmail(), password);
+            getClient(adminToken).perform(get("/api/discover/search/objects")
+                    .param("dsoType", "ITEM")
+                    .param("projection", "solrOnly"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(2)))
+                    .andExpect(jsonPath("$._embedded.searchResult._embedded.objects[?(@._embedded.indexableObject"
+                            + ".uuid == '" + publicItem.getID() + "')]._embedded.indexableObject"
+                            + ".metadata['dc.contributor.author'][*].value",
+                            containsInAnyOrder("Smith, Donald", "Secret, Author")));
+        } finally {
+            configurationService.setProperty("discovery.search.solr-only.enabled", false);
+        }
+    }
+
     //TODO Enable when solr fulltext indexing is policy-aware, see https://jira.duraspace.org/browse/DS-3758
     @Test
     @Ignore
@@ -6914,4 +6970,59 @@ public class DiscoveryRestControllerIT extends AbstractControllerIntegrationTest
                 "$._embedded.searchResult._embedded.objects[0].hitHighlights['dc.title']",
                 contains("This is a <a>test</a> <em>title</em>")));
     }
+
+    @Test
+    public void discoverSearchObjectsWithCursorTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        for (int i = 0; i < 3; i++) {
+            ItemBuilder.createItem(context, collection).withTitle("Cursor item " + i).build();
+        }
+        context.restoreAuthSystemState();
+
+        AtomicReference<String> cursor = new AtomicReference<>();
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("dsoType", "ITEM")
+                                .param("size", "2")
+                                .param("cursor", "*"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects", hasSize(2)))
+                   .andExpect(jsonPath("$._embedded.searchResult.page.totalElements", is(3)))
+                   .andDo(result -> cursor.set(
+                       JsonPath.read(result.getResponse().getContentAsString(), "$.nextCursor")));
+
+        // the next page is retrieved with the cursor, the page number is ignored
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("dsoType", "ITEM")
+                                .param("size", "2")
+                                .param("page", "5")
+                                .param("cursor", cursor.get()))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$._embedded.searchResult._embedded.objects", hasSize(1)))
+                   .andExpect(jsonPath("$.nextCursor", not(emptyOrNullString())));
+
+        // without cursor, no next cursor is returned
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("dsoType", "ITEM")
+                                .param("size", "2"))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    public void discoverSearchObjectsWithInvalidCursorTest() throws Exception {
+        // not a cursor at all
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("dsoType", "ITEM")
+                                .param("cursor", "not a cursor!"))
+                   .andExpect(status().isBadRequest());
+
+        // well formed, but not a cursor returned by a search
+        getClient().perform(get("/api/discover/search/objects")
+                                .param("dsoType", "ITEM")
+                                .param("cursor", "AoE/"))
+                   .andExpect(status().isBadRequest());
+    }
 }